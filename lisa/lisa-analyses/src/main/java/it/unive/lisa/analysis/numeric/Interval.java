@@ -28,6 +28,7 @@ import it.unive.lisa.symbolic.value.operator.unary.NumericNegation;
 import it.unive.lisa.symbolic.value.operator.unary.StringLength;
 import it.unive.lisa.symbolic.value.operator.unary.UnaryOperator;
 import it.unive.lisa.util.numeric.IntInterval;
+import it.unive.lisa.util.numeric.LongInterval;
 import it.unive.lisa.util.numeric.MathNumber;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
@@ -147,7 +148,7 @@ public class Interval implements BaseNonRelationalValueDomain<Interval>, Compara
 			SemanticOracle oracle) {
 		if (constant.getValue() instanceof Integer) {
 			Integer i = (Integer) constant.getValue();
-			return new Interval(new MathNumber(i), new MathNumber(i));
+			return new Interval(i, i);
 		}
 
 		return top();
@@ -273,6 +274,12 @@ public class Interval implements BaseNonRelationalValueDomain<Interval>, Compara
 	public Interval lubAux(
 			Interval other)
 			throws SemanticException {
+		LongInterval fast = interval.asLongInterval(), otherFast = other.interval.asLongInterval();
+		if (fast != null && otherFast != null) {
+			LongInterval lub = fast.lub(otherFast);
+			return lub == LongInterval.INFINITY ? top() : new Interval(lub.toIntInterval());
+		}
+
 		MathNumber newLow = interval.getLow().min(other.interval.getLow());
 		MathNumber newHigh = interval.getHigh().max(other.interval.getHigh());
 		return newLow.isMinusInfinity() && newHigh.isPlusInfinity() ? top() : new Interval(newLow, newHigh);
@@ -281,6 +288,14 @@ public class Interval implements BaseNonRelationalValueDomain<Interval>, Compara
 	@Override
 	public Interval glbAux(
 			Interval other) {
+		LongInterval fast = interval.asLongInterval(), otherFast = other.interval.asLongInterval();
+		if (fast != null && otherFast != null) {
+			LongInterval glb = fast.glb(otherFast);
+			if (glb == null)
+				return bottom();
+			return glb == LongInterval.INFINITY ? top() : new Interval(glb.toIntInterval());
+		}
+
 		MathNumber newLow = interval.getLow().max(other.interval.getLow());
 		MathNumber newHigh = interval.getHigh().min(other.interval.getHigh());
 
@@ -293,6 +308,12 @@ public class Interval implements BaseNonRelationalValueDomain<Interval>, Compara
 	public Interval wideningAux(
 			Interval other)
 			throws SemanticException {
+		LongInterval fast = interval.asLongInterval(), otherFast = other.interval.asLongInterval();
+		if (fast != null && otherFast != null) {
+			LongInterval widen = fast.widening(otherFast);
+			return widen == LongInterval.INFINITY ? top() : new Interval(widen.toIntInterval());
+		}
+
 		MathNumber newLow, newHigh;
 		if (other.interval.getHigh().compareTo(interval.getHigh()) > 0)
 			newHigh = MathNumber.PLUS_INFINITY;
@@ -231,8 +231,7 @@ public class Pentagon implements ValueDomain<Pentagon>, BaseLattice<Pentagon> {
 			Set<Identifier> closure = new HashSet<>();
 			for (Identifier id2 : intervals.getKeys())
 				if (!id1.equals(id2))
-					if (intervals.getState(id1).interval.getHigh()
-							.compareTo(intervals.getState(id2).interval.getLow()) < 0)
+					if (intervals.getState(id1).interval.precedes(intervals.getState(id2).interval))
 						closure.add(id2);
 			if (!closure.isEmpty())
 				// glb is the union
@@ -252,8 +251,8 @@ public class Pentagon implements ValueDomain<Pentagon>, BaseLattice<Pentagon> {
 		for (Entry<Identifier, UpperBounds> entry : upperBounds) {
 			Set<Identifier> closure = new HashSet<>();
 			for (Identifier bound : entry.getValue())
-				if (other.intervals.getState(entry.getKey()).interval.getHigh()
-						.compareTo(other.intervals.getState(bound).interval.getLow()) < 0)
+				if (other.intervals.getState(entry.getKey()).interval
+						.precedes(other.intervals.getState(bound).interval))
 					closure.add(bound);
 			if (!closure.isEmpty())
 				// glb is the union
@@ -264,8 +263,7 @@ public class Pentagon implements ValueDomain<Pentagon>, BaseLattice<Pentagon> {
 		for (Entry<Identifier, UpperBounds> entry : other.upperBounds) {
 			Set<Identifier> closure = new HashSet<>();
 			for (Identifier bound : entry.getValue())
-				if (intervals.getState(entry.getKey()).interval.getHigh()
-						.compareTo(intervals.getState(bound).interval.getLow()) < 0)
+				if (intervals.getState(entry.getKey()).interval.precedes(intervals.getState(bound).interval))
 					closure.add(bound);
 			if (!closure.isEmpty())
 				// glb is the union
@@ -292,8 +290,7 @@ public class Pentagon implements ValueDomain<Pentagon>, BaseLattice<Pentagon> {
 		for (Entry<Identifier, UpperBounds> entry : other.upperBounds)
 			for (Identifier bound : entry.getValue())
 				if (!(upperBounds.getState(entry.getKey()).contains(bound)
-						|| intervals.getState(entry.getKey()).interval.getHigh()
-								.compareTo(intervals.getState(bound).interval.getLow()) < 0))
+						|| intervals.getState(entry.getKey()).interval.precedes(intervals.getState(bound).interval)))
 					return false;
 
 		return true;
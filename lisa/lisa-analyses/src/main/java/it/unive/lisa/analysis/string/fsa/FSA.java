@@ -1,5 +1,6 @@
 package it.unive.lisa.analysis.string.fsa;
 
+import it.unive.lisa.AnalysisLifecycle;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.SemanticOracle;
@@ -16,6 +17,7 @@ import it.unive.lisa.symbolic.value.operator.ternary.StringReplace;
 import it.unive.lisa.symbolic.value.operator.ternary.TernaryOperator;
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.datastructures.automaton.AutomatonOperationCache;
 import it.unive.lisa.util.datastructures.automaton.CyclicAutomatonException;
 import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
@@ -49,6 +51,17 @@ public class FSA implements BaseNonRelationalValueDomain<FSA>, ContainsCharProvi
 	 */
 	public static final int WIDENING_TH = 5;
 
+	/**
+	 * The cache of the results of the operations on {@link SimpleAutomaton}s
+	 * performed by the lattice operations of this domain, shared by all its
+	 * instances. It is cleared when no analysis is running.
+	 */
+	private static final AutomatonOperationCache CACHE = new AutomatonOperationCache();
+
+	static {
+		AnalysisLifecycle.registerCleanup(CACHE::clear);
+	}
+
 	/**
 	 * Used to store the string representation
 	 */
@@ -72,25 +85,38 @@ public class FSA implements BaseNonRelationalValueDomain<FSA>, ContainsCharProvi
 		this.a = a;
 	}
 
+	/**
+	 * Yields the cache of the results of the operations on
+	 * {@link SimpleAutomaton}s performed by the lattice operations of this
+	 * domain, shared by all its instances and cleared when no analysis is
+	 * running. This can be used to inspect the statistics of the cache, or to
+	 * clear it.
+	 * 
+	 * @return the cache
+	 */
+	public static AutomatonOperationCache getOperationCache() {
+		return CACHE;
+	}
+
 	@Override
 	public FSA lubAux(
 			FSA other)
 			throws SemanticException {
-		return new FSA(this.a.union(other.a).minimize());
+		return new FSA(CACHE.minimize(CACHE.union(this.a, other.a)));
 	}
 
 	@Override
 	public FSA glbAux(
 			FSA other)
 			throws SemanticException {
-		return new FSA(this.a.intersection(other.a).minimize());
+		return new FSA(CACHE.minimize(CACHE.intersection(this.a, other.a)));
 	}
 
 	@Override
 	public FSA wideningAux(
 			FSA other)
 			throws SemanticException {
-		return new FSA(this.a.union(other.a).widening(getSizeDiffCapped(other)));
+		return new FSA(CACHE.widening(CACHE.union(this.a, other.a), getSizeDiffCapped(other)));
 	}
 
 	/**
@@ -119,7 +145,7 @@ public class FSA implements BaseNonRelationalValueDomain<FSA>, ContainsCharProvi
 	public boolean lessOrEqualAux(
 			FSA other)
 			throws SemanticException {
-		return this.a.isContained(other.a);
+		return CACHE.isContained(this.a, other.a);
 	}
 
 	@Override
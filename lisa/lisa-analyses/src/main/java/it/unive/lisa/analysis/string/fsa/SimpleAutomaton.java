@@ -3,6 +3,7 @@ package it.unive.lisa.analysis.string.fsa;
 import it.unive.lisa.analysis.numeric.Interval;
 import it.unive.lisa.util.datastructures.automaton.Automaton;
 import it.unive.lisa.util.datastructures.automaton.CyclicAutomatonException;
+import it.unive.lisa.util.datastructures.automaton.IndexedTransitions;
 import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
 import it.unive.lisa.util.datastructures.regex.Atom;
@@ -38,7 +39,7 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 	@Override
 	public SimpleAutomaton unknownString() {
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<StringSymbol>> newGamma = new TreeSet<>();
+		SortedSet<Transition<StringSymbol>> newGamma = new IndexedTransitions<>();
 		State initialState = new State(0, true, true);
 
 		newStates.add(initialState);
@@ -221,7 +222,7 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 				}
 
 			result.removeTransitions(toRemove);
-			result.getTransitions().addAll(toAdd);
+			toAdd.forEach(result::addTransition);
 
 			result.minimize();
 
@@ -264,7 +265,7 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 			}
 
 			result.removeTransitions(toRemove);
-			result.getTransitions().addAll(toAdd);
+			toAdd.forEach(result::addTransition);
 
 			result.minimize();
 
@@ -322,13 +323,13 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 		if (low.isMinusInfinity()) {
 			if (high.isPlusInfinity())
 				return epsilon.union(auxRepeat(new IntInterval(MathNumber.ONE, high), getInitialState(),
-						new TreeSet<Transition<StringSymbol>>(), emptyLanguage()));
+						new IndexedTransitions<StringSymbol>(), emptyLanguage()));
 
 			if (high.isZero())
 				return emptyString();
 			else
 				return epsilon.union(auxRepeat(new IntInterval(MathNumber.ONE, high), getInitialState(),
-						new TreeSet<Transition<StringSymbol>>(), emptyLanguage()));
+						new IndexedTransitions<StringSymbol>(), emptyLanguage()));
 		}
 
 		long lowInt = low.toLong();
@@ -337,12 +338,12 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 			// need exception
 			if (lowInt < 0)
 				return epsilon.union(auxRepeat(new IntInterval(MathNumber.ONE, high), getInitialState(),
-						new TreeSet<Transition<StringSymbol>>(), emptyLanguage()));
+						new IndexedTransitions<StringSymbol>(), emptyLanguage()));
 			if (low.isZero())
 				return epsilon.union(auxRepeat(new IntInterval(MathNumber.ONE, high), getInitialState(),
-						new TreeSet<Transition<StringSymbol>>(), emptyLanguage()));
+						new IndexedTransitions<StringSymbol>(), emptyLanguage()));
 			if (lowInt > 0)
-				return epsilon.union(auxRepeat(i.interval, getInitialState(), new TreeSet<Transition<StringSymbol>>(),
+				return epsilon.union(auxRepeat(i.interval, getInitialState(), new IndexedTransitions<StringSymbol>(),
 						emptyLanguage()));
 		}
 
@@ -356,7 +357,7 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 				return emptyString();
 			else
 				return epsilon.union(auxRepeat(new IntInterval(MathNumber.ONE, high), getInitialState(),
-						new TreeSet<Transition<StringSymbol>>(), emptyLanguage()));
+						new IndexedTransitions<StringSymbol>(), emptyLanguage()));
 		}
 
 		if (low.isZero()) {
@@ -365,11 +366,11 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 
 			if (highInt > 0)
 				return epsilon.union(auxRepeat(new IntInterval(MathNumber.ONE, high), getInitialState(),
-						new TreeSet<Transition<StringSymbol>>(), emptyLanguage()));
+						new IndexedTransitions<StringSymbol>(), emptyLanguage()));
 		}
 
 		if (lowInt > 0 && highInt > 0)
-			return auxRepeat(i.interval, getInitialState(), new TreeSet<Transition<StringSymbol>>(), emptyLanguage());
+			return auxRepeat(i.interval, getInitialState(), new IndexedTransitions<StringSymbol>(), emptyLanguage());
 
 		return emptyLanguage();
 	}
@@ -423,7 +424,7 @@ public final class SimpleAutomaton extends Automaton<SimpleAutomaton, StringSymb
 			SimpleAutomaton second,
 			SortedSet<State> connectOn,
 			boolean b) {
-		SortedSet<Transition<StringSymbol>> delta = new TreeSet<>();
+		SortedSet<Transition<StringSymbol>> delta = new IndexedTransitions<>();
 		SortedSet<State> states = new TreeSet<>();
 		HashMap<State, State> firstMapping = new HashMap<>();
 		HashMap<State, State> secondMapping = new HashMap<>();
@@ -2,6 +2,7 @@ package it.unive.lisa.analysis.string.tarsis;
 
 import it.unive.lisa.util.datastructures.automaton.Automaton;
 import it.unive.lisa.util.datastructures.automaton.CyclicAutomatonException;
+import it.unive.lisa.util.datastructures.automaton.IndexedTransitions;
 import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
 import it.unive.lisa.util.datastructures.regex.Atom;
@@ -47,7 +48,7 @@ public class RegexAutomaton extends Automaton<RegexAutomaton, RegularExpression>
 		states.add(q0);
 		states.add(q1);
 
-		SortedSet<Transition<RegularExpression>> delta = new TreeSet<>();
+		SortedSet<Transition<RegularExpression>> delta = new IndexedTransitions<>();
 		delta.add(new Transition<>(q0, q1, TopAtom.INSTANCE));
 
 		RegexAutomaton result = new RegexAutomaton(states, delta);
@@ -88,7 +89,7 @@ public class RegexAutomaton extends Automaton<RegexAutomaton, RegularExpression>
 		states.add(q0);
 		states.add(q1);
 
-		SortedSet<Transition<RegularExpression>> delta = new TreeSet<>();
+		SortedSet<Transition<RegularExpression>> delta = new IndexedTransitions<>();
 		delta.add(new Transition<>(q0, q1, new Atom(string)));
 
 		RegexAutomaton result = new RegexAutomaton(states, delta);
@@ -148,7 +149,7 @@ public class RegexAutomaton extends Automaton<RegexAutomaton, RegularExpression>
 		states.add(q0);
 		states.add(q1);
 
-		SortedSet<Transition<RegularExpression>> delta = new TreeSet<>();
+		SortedSet<Transition<RegularExpression>> delta = new IndexedTransitions<>();
 		delta.add(new Transition<>(q0, q1, Atom.EPSILON));
 
 		RegexAutomaton result = new RegexAutomaton(states, delta);
@@ -258,7 +259,7 @@ public class RegexAutomaton extends Automaton<RegexAutomaton, RegularExpression>
 	 */
 	public RegexAutomaton explode() {
 		SortedSet<State> exStates = new TreeSet<>();
-		SortedSet<Transition<RegularExpression>> exTransitions = new TreeSet<>();
+		SortedSet<Transition<RegularExpression>> exTransitions = new IndexedTransitions<>();
 		int counter = 0;
 		Map<State, State> mapping = new HashMap<>();
 
@@ -301,7 +302,7 @@ public class RegexAutomaton extends Automaton<RegexAutomaton, RegularExpression>
 		int code = 0;
 		Map<State, Pair<State, State>> stateMapping = new HashMap<>();
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<RegularExpression>> newDelta = new TreeSet<Transition<RegularExpression>>();
+		SortedSet<Transition<RegularExpression>> newDelta = new IndexedTransitions<RegularExpression>();
 
 		for (State s1 : states)
 			for (State s2 : other.states) {
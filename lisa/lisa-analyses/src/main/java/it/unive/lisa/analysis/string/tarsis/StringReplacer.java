@@ -1,5 +1,6 @@
 package it.unive.lisa.analysis.string.tarsis;
 
+import it.unive.lisa.util.datastructures.automaton.IndexedTransitions;
 import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
 import it.unive.lisa.util.datastructures.regex.Atom;
@@ -130,7 +131,7 @@ public class StringReplacer {
 		int maxId = origin.getStates().stream().mapToInt(s -> s.getId()).max().getAsInt();
 		AtomicInteger counter = new AtomicInteger(maxId + 1);
 		SortedSet<State> states = new TreeSet<>();
-		SortedSet<Transition<RegularExpression>> delta = new TreeSet<>();
+		SortedSet<Transition<RegularExpression>> delta = new IndexedTransitions<>();
 
 		// states will be a superset of the original ones,
 		// except that all final states are tuned non-final:
@@ -1,5 +1,6 @@
 package it.unive.lisa.analysis.string.tarsis;
 
+import it.unive.lisa.AnalysisLifecycle;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.SemanticOracle;
@@ -17,7 +18,9 @@ import it.unive.lisa.symbolic.value.operator.binary.StringConcat;
 import it.unive.lisa.symbolic.value.operator.binary.StringContains;
 import it.unive.lisa.symbolic.value.operator.ternary.StringReplace;
 import it.unive.lisa.symbolic.value.operator.ternary.TernaryOperator;
+import it.unive.lisa.util.datastructures.automaton.AutomatonOperationCache;
 import it.unive.lisa.util.datastructures.automaton.CyclicAutomatonException;
+import it.unive.lisa.util.datastructures.automaton.IndexedTransitions;
 import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
 import it.unive.lisa.util.datastructures.regex.RegularExpression;
@@ -56,6 +59,17 @@ public class Tarsis implements BaseNonRelationalValueDomain<Tarsis>, ContainsCha
 	 */
 	public static final int WIDENING_CAP = 5;
 
+	/**
+	 * The cache of the results of the operations on {@link RegexAutomaton}s
+	 * performed by the lattice operations of this domain, shared by all its
+	 * instances. It is cleared when no analysis is running.
+	 */
+	private static final AutomatonOperationCache CACHE = new AutomatonOperationCache();
+
+	static {
+		AnalysisLifecycle.registerCleanup(CACHE::clear);
+	}
+
 	/**
 	 * Used to store the string representation
 	 */
@@ -88,18 +102,31 @@ public class Tarsis implements BaseNonRelationalValueDomain<Tarsis>, ContainsCha
 		return a;
 	}
 
+	/**
+	 * Yields the cache of the results of the operations on
+	 * {@link RegexAutomaton}s performed by the lattice operations of this
+	 * domain, shared by all its instances and cleared when no analysis is
+	 * running. This can be used to inspect the statistics of the cache, or to
+	 * clear it.
+	 * 
+	 * @return the cache
+	 */
+	public static AutomatonOperationCache getOperationCache() {
+		return CACHE;
+	}
+
 	@Override
 	public Tarsis lubAux(
 			Tarsis other)
 			throws SemanticException {
-		return new Tarsis(this.a.union(other.a));
+		return new Tarsis(CACHE.union(this.a, other.a));
 	}
 
 	@Override
 	public Tarsis glbAux(
 			Tarsis other)
 			throws SemanticException {
-		return new Tarsis(this.a.intersection(other.a));
+		return new Tarsis(CACHE.intersection(this.a, other.a));
 	}
 
 	/**
@@ -128,14 +155,14 @@ public class Tarsis implements BaseNonRelationalValueDomain<Tarsis>, ContainsCha
 	public Tarsis wideningAux(
 			Tarsis other)
 			throws SemanticException {
-		return new Tarsis(this.a.union(other.a).widening(getSizeDiffCapped(other)));
+		return new Tarsis(CACHE.widening(CACHE.union(this.a, other.a), getSizeDiffCapped(other)));
 	}
 
 	@Override
 	public boolean lessOrEqualAux(
 			Tarsis other)
 			throws SemanticException {
-		return this.a.isContained(other.a);
+		return CACHE.isContained(this.a, other.a);
 	}
 
 	@Override
@@ -271,7 +298,7 @@ public class Tarsis implements BaseNonRelationalValueDomain<Tarsis>, ContainsCha
 				Satisfiability allSat = Satisfiability.UNKNOWN;
 				RegexAutomaton C = other.a.extractLongestString();
 				String longest = C.getLanguage().iterator().next();
-				RegexAutomaton withNoScc = a.minimize().makeAcyclic();
+				RegexAutomaton withNoScc = CACHE.minimize(a).makeAcyclic();
 				SortedSet<String> lang = withNoScc.getLanguage();
 				for (String a : lang)
 					allSat = allSat.glb(contains(a, longest));
@@ -412,8 +439,8 @@ public class Tarsis implements BaseNonRelationalValueDomain<Tarsis>, ContainsCha
 	 * @return the converted domain instance
 	 */
 	public FSA toFSA() {
-		RegexAutomaton exploded = this.a.minimize().explode();
-		SortedSet<Transition<StringSymbol>> fsaDelta = new TreeSet<>();
+		RegexAutomaton exploded = CACHE.minimize(this.a).explode();
+		SortedSet<Transition<StringSymbol>> fsaDelta = new IndexedTransitions<>();
 
 		if (!this.a.acceptsTopEventually()) {
 			for (Transition<RegularExpression> t : exploded.getTransitions())
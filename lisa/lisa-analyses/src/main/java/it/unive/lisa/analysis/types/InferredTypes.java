@@ -27,6 +27,7 @@ import it.unive.lisa.type.NullType;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.TypeTokenType;
+import it.unive.lisa.util.collections.externalSet.ExternalSet;
 import it.unive.lisa.util.representation.SetRepresentation;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
@@ -38,7 +39,11 @@ import java.util.stream.Collectors;
 
 /**
  * An {@link InferredValue} holding a set of {@link Type}s, representing the
- * inferred runtime types of an {@link Expression}.
+ * inferred runtime types of an {@link Expression}. Whenever a
+ * {@link TypeSystem} is available, the types are stored in an
+ * {@link ExternalSet} backed by {@link TypeSystem#getTypeCache()}, so that
+ * lattice operations between elements of the same program are performed
+ * word-wise.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
@@ -82,7 +87,13 @@ public class InferredTypes implements BaseNonRelationalTypeDomain<InferredTypes>
 	public InferredTypes(
 			TypeSystem typeSystem,
 			Set<Type> types) {
-		this(typeSystem != null && types.equals(typeSystem.getTypes()), types);
+		if (typeSystem == null) {
+			this.elements = types;
+			this.isTop = false;
+		} else {
+			this.elements = typeSystem.asTypeSet(types);
+			this.isTop = elements.equals(typeSystem.getTypes());
+		}
 	}
 
 	/**
@@ -264,7 +275,7 @@ public class InferredTypes implements BaseNonRelationalTypeDomain<InferredTypes>
 				if (lelems.size() == 1 && lelems.equals(relems))
 					// only one element, and it is the same
 					return Satisfiability.SATISFIED;
-				else if (intersection(lelems, relems).isEmpty()
+				else if (!intersects(lelems, relems)
 						&& !typeTokensIntersect(lfiltered, rfiltered))
 					// no common elements, they cannot be equal
 					return Satisfiability.NOT_SATISFIED;
@@ -272,7 +283,7 @@ public class InferredTypes implements BaseNonRelationalTypeDomain<InferredTypes>
 					// we don't know really
 					return Satisfiability.UNKNOWN;
 			} else {
-				if (intersection(lelems, relems).isEmpty() && !typeTokensIntersect(lfiltered, rfiltered))
+				if (!intersects(lelems, relems) && !typeTokensIntersect(lfiltered, rfiltered))
 					// no common elements, they cannot be equal
 					return Satisfiability.SATISFIED;
 				else if (lelems.size() == 1 && lelems.equals(relems))
@@ -332,10 +343,52 @@ public class InferredTypes implements BaseNonRelationalTypeDomain<InferredTypes>
 		return false;
 	}
 
+	/**
+	 * Yields the {@link ExternalSet} backing both the given sets, if they are
+	 * backed by the same {@link TypeSystem#getTypeCache()}.
+	 * 
+	 * @param first  the first set
+	 * @param second the second set
+	 * 
+	 * @return {@code first} as an {@link ExternalSet}, or {@code null} if the
+	 *             two sets are not bit vectors over the same cache
+	 */
+	private static ExternalSet<Type> sameCache(
+			Set<Type> first,
+			Set<Type> second) {
+		if (first instanceof ExternalSet
+				&& second instanceof ExternalSet
+				&& ((ExternalSet<Type>) first).getCache() == ((ExternalSet<Type>) second).getCache())
+			return (ExternalSet<Type>) first;
+		return null;
+	}
+
+	/**
+	 * Checks whether the two given sets of types have at least one element in
+	 * common, working on bit vectors if they are backed by the same cache.
+	 * 
+	 * @param first  the first set
+	 * @param second the second set
+	 * 
+	 * @return {@code true} if the sets intersect
+	 */
+	private static boolean intersects(
+			Set<Type> first,
+			Set<Type> second) {
+		ExternalSet<Type> set = sameCache(first, second);
+		if (set != null)
+			return set.intersects((ExternalSet<Type>) second);
+		return !intersection(first, second).isEmpty();
+	}
+
 	@Override
 	public InferredTypes lubAux(
 			InferredTypes other)
 			throws SemanticException {
+		ExternalSet<Type> set = sameCache(elements, other.elements);
+		if (set != null)
+			return new InferredTypes(null, set.union((ExternalSet<Type>) other.elements));
+
 		Set<Type> lub = new HashSet<>(elements);
 		lub.addAll(other.elements);
 		return new InferredTypes(null, lub);
@@ -345,6 +398,9 @@ public class InferredTypes implements BaseNonRelationalTypeDomain<InferredTypes>
 	public boolean lessOrEqualAux(
 			InferredTypes other)
 			throws SemanticException {
+		ExternalSet<Type> set = sameCache(other.elements, elements);
+		if (set != null)
+			return set.contains((ExternalSet<Type>) elements);
 		return other.elements.containsAll(elements);
 	}
 
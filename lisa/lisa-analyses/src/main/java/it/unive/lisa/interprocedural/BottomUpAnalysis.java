@@ -0,0 +1,802 @@
+package it.unive.lisa.interprocedural;
+
+import it.unive.lisa.analysis.AbstractState;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.FixpointInfo;
+import it.unive.lisa.analysis.OptimizedAnalyzedCFG;
+import it.unive.lisa.analysis.ScopeToken;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.StatementStore;
+import it.unive.lisa.analysis.heap.HeapDomain;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.CallGraphEdge;
+import it.unive.lisa.interprocedural.callgraph.CallGraphNode;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.CompilationUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.Unit;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CFGFingerprint;
+import it.unive.lisa.program.cfg.CodeMember;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.call.CFGCall;
+import it.unive.lisa.program.cfg.statement.call.OpenCall;
+import it.unive.lisa.symbolic.SymbolicExpression;
+import it.unive.lisa.symbolic.value.HeapLocation;
+import it.unive.lisa.symbolic.value.Identifier;
+import it.unive.lisa.symbolic.value.PushInv;
+import it.unive.lisa.util.StringUtilities;
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import it.unive.lisa.util.datastructures.graph.algorithms.SCCs;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A bottom-up, summary-based interprocedural analysis. The analysis first
+ * discovers the {@link CallGraph} of the program by analyzing each cfg in
+ * isolation, treating calls as open calls. Then, the call graph is condensed
+ * into its strongly connected components, that are analyzed in reverse
+ * topological order: each cfg is analyzed exactly once (or until its
+ * approximation stabilizes, if it belongs to a recursion) starting from an
+ * entry state where all formal parameters are unknown, and the resulting
+ * {@link AnalyzedCFG} is used as summary for all calls targeting it. The
+ * result of a call is computed by joining the pre-state of the call with the
+ * exit state of the summary of each target, thus avoiding re-analyzing the
+ * targets for each calling context.<br>
+ * <br>
+ * Since summaries are computed with unknown parameters, the memory locations
+ * written by a cfg are not the ones of its callers, unless the whole memory is
+ * abstracted by a single location (as {@link MonolithicHeap} does). With any
+ * other heap abstraction, what is known about memory locations is forgotten
+ * both in the pre-state of the call and in the exit states of the summaries
+ * before joining them: values stored in memory are thus unknown after a call,
+ * while the ones of local variables and the returned values are preserved.<br>
+ * <br>
+ * Components are grouped in layers of mutually independent ones (see
+ * {@link SCCs#buildBottomUpLayers(it.unive.lisa.util.datastructures.graph.Graph)}),
+ * and components belonging to the same layer are analyzed in parallel if
+ * {@link FixpointConfiguration#analysisParallelism} allows it. Calls whose
+ * targets were not discovered during the first phase are evaluated through
+ * the {@link OpenCallPolicy}.<br>
+ * <br>
+ * If {@link FixpointConfiguration#reuseBottomUpSummaries} is {@code true}, the
+ * analysis remembers the summaries it computed, together with a
+ * {@link CFGFingerprint} of each cfg, across executions of
+ * {@link #fixpoint(AnalysisState, FixpointConfiguration)}. When the same
+ * instance is used to analyze a new version of the program (e.g., when running
+ * {@link it.unive.lisa.LiSA} twice with the same configuration), cfgs whose
+ * fingerprint did not change are not re-analyzed while discovering the call
+ * graph (their calls are restored from the previous execution), and their
+ * summaries are reused as long as the summaries of all their callees are
+ * unchanged. Summaries are compared by their exit states, so that changes to a
+ * cfg that do not affect its exit state do not cause its callers to be
+ * re-analyzed. Summaries are never reused if the entry state, the fixpoint
+ * configuration, or the signatures and hierarchy of the program changed with
+ * respect to the previous execution. Reused summaries are moved to the cfgs of
+ * the new version of the program, pairing their statements through
+ * {@link CFGFingerprint#canonicalStatements(CFG)}, but abstract values that
+ * refer to elements of the program (e.g., allocation sites, or the types
+ * defined by its units) still refer to the previous version. Summaries are kept
+ * in memory only, and they are lost when the instance is discarded or when the
+ * process terminates. Call sites of cfgs that were not re-analyzed are not
+ * available through {@link CallGraph#getCallSites(CodeMember)}.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <A> the {@link AbstractState} of the analysis
+ */
+public class BottomUpAnalysis<A extends AbstractState<A>> extends CallGraphBasedAnalysis<A> {
+
+	private static final Logger LOG = LogManager.getLogger(BottomUpAnalysis.class);
+
+	private static final ScopeId ID = new UniqueScope();
+
+	private static final Comparator<CFG> ORDER = (
+			c1,
+			c2) -> c1.getDescriptor().getLocation().compareTo(c2.getDescriptor().getLocation());
+
+	/**
+	 * The results computed by this analysis.
+	 */
+	private FixpointResults<A> results;
+
+	/**
+	 * The fixpoint configuration.
+	 */
+	private FixpointConfiguration conf;
+
+	/**
+	 * The summaries of the cfgs belonging to already analyzed components. This
+	 * is {@code null} while the call graph is being discovered, and it is
+	 * never modified while components are being analyzed.
+	 */
+	private Map<CFG, AnalyzedCFG<A>> summaries;
+
+	/**
+	 * Whether or not the whole memory is abstracted by a single location that
+	 * is shared by all cfgs, meaning that the effects of a summary on memory
+	 * can be joined with the pre-state of a call.
+	 */
+	private boolean sharedMemory;
+
+	/**
+	 * When this analysis is a worker analyzing a single component, the cfgs
+	 * that are part of that component. This is {@code null} if this analysis
+	 * is not a worker.
+	 */
+	private final Set<CFG> members;
+
+	/**
+	 * When this analysis is a worker analyzing a single component, the current
+	 * approximations of the members of that component. This is {@code null} if
+	 * this analysis is not a worker.
+	 */
+	private final Map<CFG, AnalyzedCFG<A>> approximations;
+
+	/**
+	 * When this analysis is a worker analyzing a single component, whether or
+	 * not one of the members of that component has been called while it had
+	 * no approximation. This happens on the first iteration over a recursion,
+	 * but also when the recursion was not part of the call graph discovered
+	 * in the first phase (e.g., when the receiver of a call was unknown).
+	 */
+	private volatile boolean recursionFound;
+
+	/**
+	 * The summaries computed by the last execution of
+	 * {@link #fixpoint(AnalysisState, FixpointConfiguration)}, indexed by the
+	 * signature of their cfg. This is {@code null} if the last execution was
+	 * not incremental, or if the analysis was never executed.
+	 */
+	private Map<String, CachedSummary<A>> cache;
+
+	/**
+	 * The entry state used by the last execution of
+	 * {@link #fixpoint(AnalysisState, FixpointConfiguration)}.
+	 */
+	private AnalysisState<A> cachedEntryState;
+
+	/**
+	 * The configuration used by the last execution of
+	 * {@link #fixpoint(AnalysisState, FixpointConfiguration)}.
+	 */
+	private FixpointConfiguration cachedConf;
+
+	/**
+	 * The shape of the program analyzed by the last execution of
+	 * {@link #fixpoint(AnalysisState, FixpointConfiguration)} (see
+	 * {@link #shapeOf(Application)}).
+	 */
+	private String cachedShape;
+
+	/**
+	 * Builds the analysis.
+	 */
+	public BottomUpAnalysis() {
+		members = null;
+		approximations = null;
+	}
+
+	/**
+	 * Builds a worker for analyzing the given component.
+	 * 
+	 * @param other   the analysis that spawns the worker
+	 * @param members the cfgs that are part of the component
+	 */
+	private BottomUpAnalysis(
+			BottomUpAnalysis<A> other,
+			Collection<CFG> members) {
+		super(other);
+		this.conf = other.conf;
+		this.summaries = other.summaries;
+		this.sharedMemory = other.sharedMemory;
+		this.members = new HashSet<>(members);
+		this.approximations = new HashMap<>();
+	}
+
+	/**
+	 * A summary computed by a previous execution of the analysis.
+	 * 
+	 * @param <A> the {@link AbstractState} of the analysis
+	 */
+	private static class CachedSummary<A extends AbstractState<A>> {
+
+		private final String fingerprint;
+
+		private final AnalyzedCFG<A> summary;
+
+		private final Set<String> callees;
+
+		private CachedSummary(
+				String fingerprint,
+				AnalyzedCFG<A> summary,
+				Set<String> callees) {
+			this.fingerprint = fingerprint;
+			this.summary = summary;
+			this.callees = callees;
+		}
+	}
+
+	@Override
+	public boolean canReuseSummaries() {
+		return true;
+	}
+
+	@Override
+	public void init(
+			Application app,
+			CallGraph callgraph,
+			OpenCallPolicy policy)
+			throws InterproceduralAnalysisException {
+		super.init(app, callgraph, policy);
+		this.conf = null;
+		this.results = null;
+		this.summaries = null;
+	}
+
+	@Override
+	public void fixpoint(
+			AnalysisState<A> entryState,
+			FixpointConfiguration conf)
+			throws FixpointException {
+		this.conf = conf;
+		// new fixpoint execution: reset
+		this.results = null;
+		this.summaries = null;
+		this.sharedMemory = isMonolithic(entryState.getState());
+
+		Collection<CFG> sorted = new TreeSet<>(ORDER);
+		sorted.addAll(app.getAllCFGs());
+		if (sorted.isEmpty())
+			return;
+		List<CFG> all = new ArrayList<>(sorted);
+
+		AnalyzedCFG<A> graph = conf.optimize
+				? new OptimizedAnalyzedCFG<>(all.get(0), ID, entryState.bottom(), this)
+				: new AnalyzedCFG<>(all.get(0), ID, entryState);
+		CFGResults<A> value = new CFGResults<>(graph);
+		this.results = new FixpointResults<>(value.top());
+
+		Map<String, CodeMember> signatures = new HashMap<>();
+		Set<String> ambiguous = new HashSet<>();
+		Map<CFG, String> fingerprints = new HashMap<>();
+		String shape = null;
+		Set<CFG> clean = Collections.emptySet();
+		List<CFG> discover = all;
+		boolean incremental = conf.reuseBottomUpSummaries;
+		if (!incremental)
+			// nothing to reuse in the next execution
+			cache = null;
+		else {
+			for (CodeMember cm : app.getAllCodeCodeMembers())
+				if (signatures.put(key(cm), cm) != null)
+					ambiguous.add(key(cm));
+			for (CFG cfg : all)
+				fingerprints.put(cfg, CFGFingerprint.compute(cfg));
+			shape = shapeOf(app);
+			if (cache != null
+					&& entryState.equals(cachedEntryState)
+					&& conf.equals(cachedConf)
+					&& shape.equals(cachedShape)) {
+				clean = findClean(all, fingerprints, signatures, ambiguous);
+				discover = new ArrayList<>(all.size() - clean.size());
+				for (CFG cfg : all)
+					if (!clean.contains(cfg))
+						discover.add(cfg);
+			}
+		}
+
+		FixpointScheduler scheduler = new FixpointScheduler(conf.analysisParallelism);
+		try {
+			// first phase: while summaries are null, calls are only
+			// registered in the call graph
+			scheduler.run(LOG, discover, "Discovering the call graph", "cfgs", cfg -> analyze(cfg, entryState));
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while discovering the call graph", e);
+		}
+
+		List<List<List<CFG>>> layers = computeLayers(all);
+		summaries = new HashMap<>();
+		Set<CFG> changed = new HashSet<>();
+		int reused = 0;
+		for (int i = 0; i < layers.size(); i++) {
+			List<List<CFG>> layer = layers.get(i);
+			List<List<CFG>> unsolved = new ArrayList<>(layer.size());
+			for (List<CFG> scc : layer)
+				if (canReuse(scc, clean, changed)) {
+					for (CFG cfg : scc)
+						summaries.put(cfg, rebind(cache.get(key(cfg)).summary, cfg));
+					reused += scc.size();
+				} else
+					unsolved.add(scc);
+
+			List<Map<CFG, AnalyzedCFG<A>>> solved;
+			try {
+				solved = scheduler.run(LOG, unsolved,
+						"Analyzing " + StringUtilities.ordinal(i + 1) + " layer of the call graph", "components",
+						scc -> new BottomUpAnalysis<>(this, scc).solve(scc, entryState));
+			} catch (SemanticException e) {
+				throw new FixpointException("Error while analyzing the call graph", e);
+			}
+
+			// summaries are published only at the end of the layer, following
+			// the ordering of the components to make them deterministic
+			for (int j = 0; j < unsolved.size(); j++)
+				for (CFG cfg : unsolved.get(j)) {
+					AnalyzedCFG<A> summary = solved.get(j).get(cfg);
+					summaries.put(cfg, summary);
+					if (incremental && !sameSummary(cfg, summary))
+						changed.add(cfg);
+				}
+		}
+
+		if (incremental) {
+			Map<String, CachedSummary<A>> updated = new HashMap<>();
+			for (CFG cfg : all)
+				if (!ambiguous.contains(key(cfg))) {
+					Set<String> callees = new HashSet<>();
+					for (CodeMember callee : calleesOf(cfg))
+						callees.add(key(callee));
+					updated.put(key(cfg), new CachedSummary<>(fingerprints.get(cfg), summaries.get(cfg), callees));
+				}
+			cache = updated;
+			cachedEntryState = entryState;
+			cachedConf = conf;
+			cachedShape = shape;
+			LOG.info("Reused {} summaries out of {} from the previous analysis", reused, all.size());
+		}
+
+		try {
+			for (CFG cfg : all)
+				results.putResult(cfg, ID, summaries.get(cfg));
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while storing fixpoint results", e);
+		}
+	}
+
+	/**
+	 * Yields {@code true} if all the heap domains contained in the given state
+	 * are {@link MonolithicHeap}s.
+	 * 
+	 * @param state the state
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	@SuppressWarnings("rawtypes")
+	private static boolean isMonolithic(
+			AbstractState<?> state) {
+		Collection<HeapDomain> heaps = state.getAllDomainInstances(HeapDomain.class);
+		return !heaps.isEmpty() && heaps.stream().allMatch(MonolithicHeap.class::isInstance);
+	}
+
+	/**
+	 * Yields the code members called by the given cfg, or an empty collection
+	 * if the cfg is not part of the call graph (that is, if it does not
+	 * contain calls and it is never called).
+	 * 
+	 * @param cfg the cfg
+	 * 
+	 * @return the called code members
+	 */
+	private Collection<CodeMember> calleesOf(
+			CFG cfg) {
+		if (!callgraph.containsNode(new CallGraphNode(callgraph, cfg)))
+			return Collections.emptySet();
+		return callgraph.getCallees(cfg);
+	}
+
+	/**
+	 * Moves a summary computed on a previous version of the given cfg, having
+	 * the same {@link CFGFingerprint}, to the given cfg.
+	 * 
+	 * @param summary the summary
+	 * @param cfg     the cfg
+	 * 
+	 * @return the summary of {@code cfg}
+	 */
+	private AnalyzedCFG<A> rebind(
+			AnalyzedCFG<A> summary,
+			CFG cfg) {
+		List<Statement> previous = CFGFingerprint.canonicalStatements(summary);
+		List<Statement> current = CFGFingerprint.canonicalStatements(cfg);
+		Map<Statement, Statement> mapping = new HashMap<>(previous.size());
+		for (int i = 0; i < previous.size(); i++)
+			mapping.put(previous.get(i), current.get(i));
+		return summary.rebind(cfg, mapping);
+	}
+
+	private static String key(
+			CodeMember cm) {
+		return cm.getDescriptor().getFullSignature();
+	}
+
+	/**
+	 * Yields a textual representation of the signatures of all the code
+	 * members of the given application, and of the hierarchy of its units.
+	 * Summaries computed on an application cannot be reused on another one
+	 * with a different shape, since the targets of calls might have changed.
+	 * 
+	 * @param app the application
+	 * 
+	 * @return the shape of the application
+	 */
+	private static String shapeOf(
+			Application app) {
+		List<String> shape = new ArrayList<>();
+		for (CodeMember cm : app.getAllCodeCodeMembers())
+			shape.add(cm.getClass().getName() + " " + cm.getDescriptor().getFullSignatureWithParNames());
+		for (Program program : app.getPrograms())
+			for (Unit unit : program.getUnits()) {
+				List<String> ancestors = new ArrayList<>();
+				if (unit instanceof CompilationUnit)
+					for (CompilationUnit ancestor : ((CompilationUnit) unit).getImmediateAncestors())
+						ancestors.add(ancestor.getName());
+				Collections.sort(ancestors);
+				shape.add(unit.getClass().getName() + " " + unit.getName() + " " + ancestors);
+			}
+		Collections.sort(shape);
+		return String.join("\n", shape);
+	}
+
+	/**
+	 * Yields the cfgs whose fingerprint did not change since the last
+	 * execution of the analysis, and whose callees still exist, restoring
+	 * their calls in the call graph.
+	 * 
+	 * @param all          all the cfgs of the program
+	 * @param fingerprints the fingerprints of the cfgs
+	 * @param signatures   the code members of the program, indexed by
+	 *                         signature
+	 * @param ambiguous    the signatures shared by more than one code member
+	 * 
+	 * @return the cfgs that do not need to be analyzed for discovering the
+	 *             call graph
+	 */
+	private Set<CFG> findClean(
+			List<CFG> all,
+			Map<CFG, String> fingerprints,
+			Map<String, CodeMember> signatures,
+			Set<String> ambiguous) {
+		Set<CFG> clean = new HashSet<>();
+		for (CFG cfg : all) {
+			CachedSummary<A> cached = cache.get(key(cfg));
+			if (cached == null
+					|| ambiguous.contains(key(cfg))
+					|| !cached.fingerprint.equals(fingerprints.get(cfg))
+					|| !signatures.keySet().containsAll(cached.callees)
+					|| cached.callees.stream().anyMatch(ambiguous::contains))
+				continue;
+
+			clean.add(cfg);
+			boolean entry = app.getEntryPoints().contains(cfg);
+			CallGraphNode source = new CallGraphNode(callgraph, cfg);
+			if (!callgraph.containsNode(source))
+				callgraph.addNode(source, entry);
+			for (String callee : cached.callees) {
+				CallGraphNode target = new CallGraphNode(callgraph, signatures.get(callee));
+				if (!callgraph.containsNode(target))
+					callgraph.addNode(target, entry);
+				callgraph.addEdge(new CallGraphEdge(source, target));
+			}
+		}
+		return clean;
+	}
+
+	/**
+	 * Yields {@code true} if the summaries of the given component can be
+	 * reused from the last execution of the analysis, that is, if all its
+	 * members are unchanged and none of the cfgs it calls has a different
+	 * summary.
+	 * 
+	 * @param component the members of the component
+	 * @param clean     the cfgs whose fingerprint did not change
+	 * @param changed   the cfgs whose summary changed
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	private boolean canReuse(
+			List<CFG> component,
+			Set<CFG> clean,
+			Set<CFG> changed) {
+		if (!clean.containsAll(component))
+			return false;
+		for (CFG cfg : component)
+			for (CodeMember callee : calleesOf(cfg))
+				if (changed.contains(callee) && !component.contains(callee))
+					return false;
+		return true;
+	}
+
+	/**
+	 * Yields {@code true} if the given summary has the same exit state of the
+	 * one computed for the same cfg by the last execution of the analysis.
+	 * 
+	 * @param cfg     the cfg
+	 * @param summary the summary
+	 * 
+	 * @return {@code true} if that condition holds
+	 * 
+	 * @throws FixpointException if the exit states cannot be compared
+	 */
+	private boolean sameSummary(
+			CFG cfg,
+			AnalyzedCFG<A> summary)
+			throws FixpointException {
+		CachedSummary<A> cached = cache == null ? null : cache.get(key(cfg));
+		if (cached == null)
+			return false;
+		try {
+			AnalysisState<A> previous = cached.summary.getExitState();
+			AnalysisState<A> current = summary.getExitState();
+			return previous.lessOrEqual(current) && current.lessOrEqual(previous);
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while comparing the summaries of " + cfg, e);
+		}
+	}
+
+	/**
+	 * Condenses the call graph into its strongly connected components, and
+	 * partitions them into layers of independent ones. Cfgs that do not
+	 * appear in the call graph are placed in the first layer. Both the members
+	 * of each component and the components of each layer are sorted according
+	 * to their location.
+	 * 
+	 * @param all all the cfgs of the program, sorted by location
+	 * 
+	 * @return the layers of components
+	 */
+	private List<List<List<CFG>>> computeLayers(
+			List<CFG> all) {
+		List<List<List<CFG>>> layers = new ArrayList<>();
+		Set<CFG> covered = new HashSet<>();
+		for (List<Collection<CallGraphNode>> nodes : new SCCs<
+				CallGraph,
+				CallGraphNode,
+				CallGraphEdge>().buildBottomUpLayers(callgraph)) {
+			List<List<CFG>> layer = new ArrayList<>();
+			for (Collection<CallGraphNode> scc : nodes) {
+				List<CFG> component = new ArrayList<>();
+				for (CallGraphNode node : scc)
+					if (node.getCodeMember() instanceof CFG)
+						component.add((CFG) node.getCodeMember());
+				if (!component.isEmpty()) {
+					component.sort(ORDER);
+					covered.addAll(component);
+					layer.add(component);
+				}
+			}
+			layer.sort((
+					c1,
+					c2) -> ORDER.compare(c1.get(0), c2.get(0)));
+			layers.add(layer);
+		}
+
+		if (layers.isEmpty())
+			layers.add(new ArrayList<>());
+		for (CFG cfg : all)
+			if (!covered.contains(cfg))
+				layers.get(0).add(Collections.singletonList(cfg));
+		layers.get(0).sort((
+				c1,
+				c2) -> ORDER.compare(c1.get(0), c2.get(0)));
+		return layers;
+	}
+
+	/**
+	 * Analyzes the given cfg starting from the given entry state, where all
+	 * formal parameters are assigned to unknown values.
+	 * 
+	 * @param cfg        the cfg to analyze
+	 * @param entryState the entry state
+	 * 
+	 * @return the result of the fixpoint computation
+	 * 
+	 * @throws FixpointException if the fixpoint terminates abruptly
+	 */
+	private AnalyzedCFG<A> analyze(
+			CFG cfg,
+			AnalysisState<A> entryState)
+			throws FixpointException {
+		AnalysisState<A> prepared;
+		try {
+			prepared = prepareEntryStateOfEntryPoint(entryState, cfg);
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while creating the entrystate for " + cfg, e);
+		}
+		return cfg.fixpoint(prepared, this, WorkingSet.of(conf.fixpointWorkingSet), conf, ID);
+	}
+
+	/**
+	 * Computes the summaries of the given component. If the component is
+	 * recursive, its members are analyzed until their approximations
+	 * stabilize, applying widening after
+	 * {@link FixpointConfiguration#recursionWideningThreshold} iterations.
+	 * 
+	 * @param component  the members of the component
+	 * @param entryState the entry state for the analysis
+	 * 
+	 * @return the summary of each member of the component
+	 * 
+	 * @throws FixpointException if one of the fixpoints terminates abruptly
+	 * @throws SemanticException if an exception happens while joining the
+	 *                               approximations
+	 */
+	private Map<CFG, AnalyzedCFG<A>> solve(
+			List<CFG> component,
+			AnalysisState<A> entryState)
+			throws FixpointException,
+			SemanticException {
+		CFG first = component.get(0);
+		boolean recursive = component.size() > 1 || calleesOf(first).contains(first);
+		int iter = 0;
+		boolean changed;
+		do {
+			if (recursive)
+				conf.metrics.interproceduralIteration();
+			changed = false;
+			for (CFG cfg : component) {
+				AnalyzedCFG<A> result = analyze(cfg, entryState);
+				AnalyzedCFG<A> previous = approximations.get(cfg);
+				if (previous != null) {
+					if (conf.recursionWideningThreshold >= 0 && iter >= conf.recursionWideningThreshold)
+						result = previous.widening(result);
+					else
+						result = previous.lub(result);
+					if (result.lessOrEqual(previous))
+						continue;
+				}
+				approximations.put(cfg, result);
+				changed = true;
+			}
+			iter++;
+			// a recursion missing from the call graph is only found while
+			// analyzing the component
+			recursive |= recursionFound;
+		} while (changed && recursive);
+
+		return approximations;
+	}
+
+	@Override
+	public Collection<AnalyzedCFG<A>> getAnalysisResultsOf(
+			CFG cfg) {
+		if (results.contains(cfg))
+			return results.getState(cfg).getAll();
+		else
+			return Collections.emptySet();
+	}
+
+	@Override
+	public FixpointResults<A> getFixpointResults() {
+		return results;
+	}
+
+	@Override
+	public AnalysisState<A> getAbstractResultOf(
+			CFGCall call,
+			AnalysisState<A> entryState,
+			ExpressionSet[] parameters,
+			StatementStore<A> expressions)
+			throws SemanticException {
+		callgraph.registerCall(call);
+
+		if (summaries == null)
+			// we are still discovering the call graph
+			return openCall(call, entryState, parameters, expressions);
+
+		ScopeToken scope = new ScopeToken(call);
+		AnalysisState<A> result = entryState.bottom();
+		for (CFG cfg : call.getTargetedCFGs()) {
+			AnalyzedCFG<A> summary = approximations == null ? null : approximations.get(cfg);
+			if (summary == null)
+				summary = summaries.get(cfg);
+
+			if (summary == null) {
+				if (members == null || !members.contains(cfg))
+					// the call was not part of the call graph when it was
+					// condensed, so we do not have a summary for it
+					result = result.lub(openCall(call, entryState, parameters, expressions));
+				else
+					// otherwise, this is the first iteration over a recursion,
+					// and the target does not have an approximation yet: we
+					// leave its contribution to bottom
+					recursionFound = true;
+				continue;
+			}
+
+			AnalysisState<A> exit = summary.getExitState();
+			if (isInconclusive(call, exit)) {
+				// since the summary is computed with unknown parameters, a
+				// bottom exit state does not mean that the target never
+				// returns: the domains might not be able to process the
+				// unknown values (e.g., an array access on a parameter of
+				// unknown type), so we cannot trust it
+				result = result.lub(openCall(call, entryState, parameters, expressions));
+				continue;
+			}
+
+			// the summary is applied by joining the exit state of the target
+			// with the scoped pre-state, thus preserving the information on
+			// the caller while keeping the returned values on the stack
+			AnalysisState<A> callState = scope(entryState, scope, parameters).getLeft();
+			if (!sharedMemory) {
+				// the summary refers to the locations reachable from unknown
+				// parameters, that we cannot match with the ones of the
+				// caller: the target might have written any of them
+				callState = callState.forgetIdentifiersIf(HeapLocation.class::isInstance);
+				exit = exit.forgetIdentifiersIf(HeapLocation.class::isInstance);
+			}
+			// the returned values are unknown to the caller: binding them to
+			// bottom before the join keeps the exit values even when the
+			// caller knows nothing about its own variables, as joining with
+			// a top state would otherwise lose them
+			for (SymbolicExpression ret : exit.getComputedExpressions())
+				if (ret instanceof Identifier)
+					callState = callState.assign((Identifier) ret,
+							new PushInv(ret.getStaticType(), call.getLocation()), call);
+			AnalysisState<A> joined = callState.lub(exit);
+			joined = new AnalysisState<>(joined.getState(), exit.getComputedExpressions(),
+					joined.getFixpointInformation());
+			result = result.lub(unscope(call, scope, joined));
+		}
+
+		if (result.isBottom() && !returnsVoid(call, null))
+			return new AnalysisState<>(
+					entryState.getState().bottom(),
+					call.getMetaVariable(),
+					FixpointInfo.BOTTOM);
+		return result;
+	}
+
+	/**
+	 * Yields whether or not the given exit state of a summary does not carry
+	 * any information on the values returned to the given call, that is, if
+	 * the state is bottom or if one of the returned values has no runtime
+	 * type.
+	 * 
+	 * @param call the call
+	 * @param exit the exit state of the summary
+	 * 
+	 * @return {@code true} if that condition holds
+	 * 
+	 * @throws SemanticException if the runtime types cannot be computed
+	 */
+	private boolean isInconclusive(
+			CFGCall call,
+			AnalysisState<A> exit)
+			throws SemanticException {
+		if (exit.isBottom())
+			return true;
+		for (SymbolicExpression ret : exit.getComputedExpressions())
+			if (ret instanceof Identifier
+					&& exit.getState().getRuntimeTypesOf(ret, call, exit.getState()).isEmpty())
+				return true;
+		return false;
+	}
+
+	private AnalysisState<A> openCall(
+			CFGCall call,
+			AnalysisState<A> entryState,
+			ExpressionSet[] parameters,
+			StatementStore<A> expressions)
+			throws SemanticException {
+		OpenCall open = new OpenCall(call.getCFG(), call.getLocation(), call.getCallType(), call.getQualifier(),
+				call.getTargetName(), call.getStaticType(), call.getParameters());
+		return getAbstractResultOf(open, entryState, parameters, expressions);
+	}
+}
@@ -11,7 +11,6 @@ import it.unive.lisa.analysis.symbols.SymbolAliasing;
 import it.unive.lisa.conf.FixpointConfiguration;
 import it.unive.lisa.interprocedural.callgraph.CallGraph;
 import it.unive.lisa.interprocedural.callgraph.CallResolutionException;
-import it.unive.lisa.logging.IterationLogger;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.CodeLocation;
@@ -25,7 +24,9 @@ import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import org.apache.logging.log4j.LogManager;
@@ -75,41 +76,63 @@ public class ModularWorstCaseAnalysis<A extends AbstractState<A>> implements Int
 			throws FixpointException {
 		// new fixpoint iteration: restart
 		this.results = null;
+		conf.metrics.interproceduralIteration();
 
-		Collection<CFG> all = new TreeSet<>((
+		Collection<CFG> sorted = new TreeSet<>((
 				c1,
 				c2) -> c1.getDescriptor().getLocation()
 						.compareTo(c2.getDescriptor().getLocation()));
-		all.addAll(app.getAllCFGs());
-
-		for (CFG cfg : IterationLogger.iterate(LOG, all, "Computing fixpoint over the whole program",
-				"cfgs"))
-			try {
-				AnalysisState<A> st = entryState.bottom();
-				StatementStore<A> store = new StatementStore<>(st);
-
-				if (results == null) {
-					AnalyzedCFG<A> graph = conf.optimize
-							? new OptimizedAnalyzedCFG<>(cfg, ID, st, this)
-							: new AnalyzedCFG<>(cfg, ID, entryState);
-					CFGResults<A> value = new CFGResults<>(graph);
-					this.results = new FixpointResults<>(value.top());
-				}
-
-				AnalysisState<A> prepared = entryState;
-				for (Parameter arg : cfg.getDescriptor().getFormals()) {
-					CodeLocation loc = arg.getLocation();
-					Assignment a = new Assignment(cfg, loc,
-							new VariableRef(cfg, loc, arg.getName()),
-							arg.getStaticType().unknownValue(cfg, loc));
-					prepared = a.forwardSemantics(prepared, this, store);
-				}
-
-				results.putResult(cfg, ID,
-						cfg.fixpoint(prepared, this, WorkingSet.of(conf.fixpointWorkingSet), conf, ID));
-			} catch (SemanticException e) {
-				throw new FixpointException("Error while creating the entrystate for " + cfg, e);
+		sorted.addAll(app.getAllCFGs());
+		if (sorted.isEmpty())
+			return;
+		List<CFG> all = new ArrayList<>(sorted);
+
+		AnalysisState<A> st = entryState.bottom();
+		AnalyzedCFG<A> graph = conf.optimize
+				? new OptimizedAnalyzedCFG<>(all.get(0), ID, st, this)
+				: new AnalyzedCFG<>(all.get(0), ID, entryState);
+		CFGResults<A> value = new CFGResults<>(graph);
+		this.results = new FixpointResults<>(value.top());
+
+		// each cfg is analyzed in isolation, so fixpoints can be computed
+		// independently of each other; results are stored afterwards
+		// following the ordering of the cfgs to make them deterministic
+		FixpointScheduler scheduler = new FixpointScheduler(conf.analysisParallelism);
+		List<AnalyzedCFG<A>> fixpoints;
+		try {
+			fixpoints = scheduler.run(LOG, all, "Computing fixpoint over the whole program", "cfgs",
+					cfg -> cfg.fixpoint(prepareEntryState(entryState, cfg), this,
+							WorkingSet.of(conf.fixpointWorkingSet), conf, ID));
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while computing the fixpoint over the whole program", e);
+		}
+
+		try {
+			for (int i = 0; i < all.size(); i++)
+				results.putResult(all.get(i), ID, fixpoints.get(i));
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while storing fixpoint results", e);
+		}
+	}
+
+	private AnalysisState<A> prepareEntryState(
+			AnalysisState<A> entryState,
+			CFG cfg)
+			throws FixpointException {
+		try {
+			StatementStore<A> store = new StatementStore<>(entryState.bottom());
+			AnalysisState<A> prepared = entryState;
+			for (Parameter arg : cfg.getDescriptor().getFormals()) {
+				CodeLocation loc = arg.getLocation();
+				Assignment a = new Assignment(cfg, loc,
+						new VariableRef(cfg, loc, arg.getName()),
+						arg.getStaticType().unknownValue(cfg, loc));
+				prepared = a.forwardSemantics(prepared, this, store);
 			}
+			return prepared;
+		} catch (SemanticException e) {
+			throw new FixpointException("Error while creating the entrystate for " + cfg, e);
+		}
 	}
 
 	@Override
@@ -14,11 +14,13 @@ import it.unive.lisa.conf.FixpointConfiguration;
 import it.unive.lisa.interprocedural.CFGResults;
 import it.unive.lisa.interprocedural.CallGraphBasedAnalysis;
 import it.unive.lisa.interprocedural.FixpointResults;
+import it.unive.lisa.interprocedural.FixpointScheduler;
 import it.unive.lisa.interprocedural.InterproceduralAnalysisException;
 import it.unive.lisa.interprocedural.NoEntryPointException;
 import it.unive.lisa.interprocedural.OpenCallPolicy;
 import it.unive.lisa.interprocedural.ScopeId;
 import it.unive.lisa.interprocedural.callgraph.CallGraph;
+import it.unive.lisa.interprocedural.callgraph.CallGraphNode;
 import it.unive.lisa.interprocedural.context.recursion.Recursion;
 import it.unive.lisa.interprocedural.context.recursion.RecursionSolver;
 import it.unive.lisa.logging.IterationLogger;
@@ -33,13 +35,18 @@ import it.unive.lisa.program.cfg.statement.call.CFGCall;
 import it.unive.lisa.program.cfg.statement.call.Call;
 import it.unive.lisa.program.language.parameterassignment.ParameterAssigningStrategy;
 import it.unive.lisa.util.StringUtilities;
+import it.unive.lisa.util.collections.workset.VisitOnceFIFOWorkingSet;
+import it.unive.lisa.util.collections.workset.VisitOnceWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
@@ -93,6 +100,33 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 	 */
 	protected FixpointConfiguration conf;
 
+	/**
+	 * When this analysis is a worker processing a single entrypoint in
+	 * parallel with other ones, the results that were available when the
+	 * parallel processing started. These are shared among all workers and are
+	 * never modified while the workers run: new results are instead stored in
+	 * {@link #results} and are merged back at the end of the parallel
+	 * processing. This is {@code null} if this analysis is not a worker.
+	 */
+	private final FixpointResults<A> sharedResults;
+
+	/**
+	 * When this analysis is a worker, the callees of each code member as known
+	 * by the call graph when the parallel processing started. Together with
+	 * {@link #ownCallees}, this is used in place of the call graph (that is
+	 * concurrently updated by all workers) to detect recursions, making their
+	 * detection independent of the scheduling of the workers. This is
+	 * {@code null} if this analysis is not a worker.
+	 */
+	private final Map<CodeMember, Set<CodeMember>> sharedCallees;
+
+	/**
+	 * When this analysis is a worker, the callees of each code member
+	 * discovered by the calls evaluated by this worker. This is {@code null} if
+	 * this analysis is not a worker.
+	 */
+	private final Map<CodeMember, Set<CodeMember>> ownCallees;
+
 	/**
 	 * Builds the analysis, using {@link LastCallToken}s.
 	 */
@@ -110,6 +144,9 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			ContextSensitivityToken token) {
 		this.token = token;
 		triggers = new HashSet<>();
+		sharedResults = null;
+		sharedCallees = null;
+		ownCallees = null;
 	}
 
 	/**
@@ -126,6 +163,34 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		this.triggers = other.triggers;
 		this.workingSet = other.workingSet;
 		this.pendingRecursions = false;
+		this.sharedResults = other.sharedResults;
+		this.sharedCallees = other.sharedCallees;
+		this.ownCallees = other.ownCallees;
+	}
+
+	/**
+	 * Builds a worker for processing an entrypoint in parallel with other
+	 * ones.
+	 * 
+	 * @param other   the analysis that spawns the worker
+	 * @param token   the token to start the processing with
+	 * @param callees the callees of each code member, as known by the call
+	 *                    graph before the parallel processing started
+	 */
+	private ContextBasedAnalysis(
+			ContextBasedAnalysis<A> other,
+			ContextSensitivityToken token,
+			Map<CodeMember, Set<CodeMember>> callees) {
+		super(other);
+		this.conf = other.conf;
+		this.results = other.results.top();
+		this.token = token;
+		this.triggers = new HashSet<>();
+		this.workingSet = other.workingSet;
+		this.pendingRecursions = false;
+		this.sharedResults = other.results;
+		this.sharedCallees = callees;
+		this.ownCallees = new HashMap<>();
 	}
 
 	@Override
@@ -167,10 +232,14 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 
 		do {
 			LOG.info("Performing {} fixpoint iteration", StringUtilities.ordinal(iter + 1));
+			conf.metrics.interproceduralIteration();
 			triggers.clear();
 			pendingRecursions = false;
 
-			processEntrypoints(entryState, empty, entryPoints);
+			if (conf.analysisParallelism > 1)
+				processEntrypointsInParallel(entryState, empty, entryPoints);
+			else
+				processEntrypoints(entryState, empty, entryPoints);
 
 			if (pendingRecursions) {
 				Set<Recursion<A>> recursions = new HashSet<>();
@@ -291,6 +360,65 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			}
 	}
 
+	private void processEntrypointsInParallel(
+			AnalysisState<A> entryState,
+			ContextSensitivityToken empty,
+			Collection<CFG> entryPoints) {
+		if (results == null) {
+			CFG first = entryPoints.iterator().next();
+			AnalyzedCFG<A> graph = conf.optimize
+					? new OptimizedAnalyzedCFG<>(first, empty, entryState.bottom(), this)
+					: new AnalyzedCFG<>(first, empty, entryState);
+			CFGResults<A> value = new CFGResults<>(graph);
+			this.results = new FixpointResults<>(value.top());
+		}
+
+		Map<CodeMember, Set<CodeMember>> callees = new HashMap<>();
+		for (CallGraphNode node : callgraph.getNodes())
+			callees.put(node.getCodeMember(), new HashSet<>(callgraph.getCallees(node.getCodeMember())));
+
+		// each entrypoint is processed by a different worker that only sees
+		// the results computed before this iteration, together with its own
+		List<Pair<ContextBasedAnalysis<A>, AnalyzedCFG<A>>> outcomes;
+		try {
+			outcomes = new FixpointScheduler(conf.analysisParallelism).run(LOG, entryPoints,
+					"Processing entrypoints", "entries", cfg -> {
+						ContextBasedAnalysis<A> worker = new ContextBasedAnalysis<>(this, empty, callees);
+						try {
+							AnalysisState<A> entryStateCFG = worker.prepareEntryStateOfEntryPoint(entryState, cfg);
+							return Pair.of(worker,
+									cfg.fixpoint(entryStateCFG, worker, WorkingSet.of(workingSet), conf, empty));
+						} catch (SemanticException e) {
+							throw new AnalysisExecutionException("Error while creating the entrystate for " + cfg, e);
+						} catch (FixpointException e) {
+							throw new AnalysisExecutionException(
+									"Error while computing fixpoint for entrypoint " + cfg, e);
+						}
+					});
+		} catch (FixpointException | SemanticException e) {
+			throw new AnalysisExecutionException("Error while processing entrypoints", e);
+		}
+
+		// workers' results are merged following the ordering of the
+		// entrypoints, so that the outcome does not depend on scheduling
+		Iterator<CFG> entries = entryPoints.iterator();
+		for (Pair<ContextBasedAnalysis<A>, AnalyzedCFG<A>> outcome : outcomes) {
+			CFG cfg = entries.next();
+			ContextBasedAnalysis<A> worker = outcome.getLeft();
+			try {
+				for (Entry<CFG, CFGResults<A>> res : worker.results)
+					for (Entry<ScopeId, AnalyzedCFG<A>> r : res.getValue())
+						if (Boolean.TRUE.equals(results.putResult(res.getKey(), r.getKey(), r.getValue()).getLeft()))
+							triggers.add(res.getKey());
+				results.putResult(cfg, empty, outcome.getRight());
+			} catch (SemanticException e) {
+				throw new AnalysisExecutionException("Error while storing the results of entrypoint " + cfg, e);
+			}
+			triggers.addAll(worker.triggers);
+			pendingRecursions |= worker.pendingRecursions;
+		}
+	}
+
 	@Override
 	public Collection<AnalyzedCFG<A>> getAnalysisResultsOf(
 			CFG cfg) {
@@ -326,7 +454,7 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 				conf,
 				token);
 		if (shouldStoreFixpointResults()) {
-			Pair<Boolean, AnalyzedCFG<A>> res = results.putResult(cfg, token, fixpointResult);
+			Pair<Boolean, AnalyzedCFG<A>> res = storeResult(cfg, token, fixpointResult);
 			if (shouldStoreFixpointResults() && Boolean.TRUE.equals(res.getLeft()))
 				triggers.add(cfg);
 			fixpointResult = res.getRight();
@@ -334,6 +462,89 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		return fixpointResult;
 	}
 
+	/**
+	 * Stores the given result in {@link #results}. If this analysis is a
+	 * worker and this is the first result stored for the given cfg and token,
+	 * the shared result for them (if any) is stored first, so that the update
+	 * is performed against the complete set of results known to this worker.
+	 * 
+	 * @param cfg    the cfg
+	 * @param token  the scope identifier that identifies the computation
+	 * @param result the result to store
+	 * 
+	 * @return the result of
+	 *             {@link FixpointResults#putResult(CFG, ScopeId, AnalyzedCFG)}
+	 * 
+	 * @throws SemanticException if an exception happens while storing the
+	 *                               result
+	 */
+	private Pair<Boolean, AnalyzedCFG<A>> storeResult(
+			CFG cfg,
+			ScopeId token,
+			AnalyzedCFG<A> result)
+			throws SemanticException {
+		if (sharedResults != null) {
+			CFGResults<A> local = results.get(cfg);
+			if (local == null || !local.contains(token)) {
+				CFGResults<A> shared = sharedResults.get(cfg);
+				AnalyzedCFG<A> previous = shared == null ? null : shared.get(token);
+				if (previous != null)
+					results.putResult(cfg, token, previous);
+			}
+		}
+		return results.putResult(cfg, token, result);
+	}
+
+	/**
+	 * Yields the stored result for the given cfg and token, if any. If this
+	 * analysis is a worker, results computed by the worker itself take
+	 * precedence over shared ones.
+	 * 
+	 * @param cfg   the cfg
+	 * @param token the scope identifier that identifies the computation
+	 * 
+	 * @return the result, or {@code null}
+	 */
+	private AnalyzedCFG<A> getStoredResult(
+			CFG cfg,
+			ScopeId token) {
+		CFGResults<A> localResults = results.get(cfg);
+		AnalyzedCFG<A> states = localResults == null ? null : localResults.get(token);
+		if (states == null && sharedResults != null) {
+			CFGResults<A> shared = sharedResults.get(cfg);
+			states = shared == null ? null : shared.get(token);
+		}
+		return states;
+	}
+
+	/**
+	 * Yields {@code true} if the given call introduces a loop in the call
+	 * graph, that is, if the cfg containing it can be reached from one of its
+	 * targets.
+	 * 
+	 * @param call the call
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	private boolean isRecursive(
+			CFGCall call) {
+		if (sharedCallees == null)
+			return call.getTargetedCFGs().stream().anyMatch(call.getCFG()::equals)
+					|| callgraph.getCalleesTransitively(call.getTargets()).contains(call.getCFG());
+
+		ownCallees.computeIfAbsent(call.getCFG(), cm -> new HashSet<>()).addAll(call.getTargets());
+		VisitOnceWorkingSet<CodeMember> ws = VisitOnceFIFOWorkingSet.mk();
+		call.getTargets().forEach(ws::push);
+		while (!ws.isEmpty()) {
+			CodeMember current = ws.pop();
+			if (current.equals(call.getCFG()))
+				return true;
+			sharedCallees.getOrDefault(current, Collections.emptySet()).forEach(ws::push);
+			ownCallees.getOrDefault(current, Collections.emptySet()).forEach(ws::push);
+		}
+		return false;
+	}
+
 	/**
 	 * Whether or not this analysis can avoid computing a fixpoint for the given
 	 * cfg when it is invoked by a call, and shortcut to the result for the same
@@ -413,8 +624,7 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 			throws SemanticException {
 		callgraph.registerCall(call);
 
-		if (shouldCheckForRecursions() && (call.getTargetedCFGs().stream().anyMatch(call.getCFG()::equals)
-				|| callgraph.getCalleesTransitively(call.getTargets()).contains(call.getCFG()))) {
+		if (shouldCheckForRecursions() && isRecursive(call)) {
 			// this calls introduces a loop in the call graph -> recursion
 			// we need a special fixpoint to compute its result
 			// we compute that at the end of each fixpoint iteration
@@ -439,8 +649,7 @@ public class ContextBasedAnalysis<A extends AbstractState<A>> extends CallGraphB
 		// compute the result over all possible targets, and take the lub of
 		// the results
 		for (CFG cfg : call.getTargetedCFGs()) {
-			CFGResults<A> localResults = results.get(cfg);
-			AnalyzedCFG<A> states = localResults == null ? null : localResults.get(token);
+			AnalyzedCFG<A> states = getStoredResult(cfg, token);
 			Pair<AnalysisState<A>, ExpressionSet[]> prepared = prepareEntryState(
 					call,
 					entryState,
@@ -30,9 +30,13 @@ import it.unive.lisa.analysis.types.StaticTypes;
 import it.unive.lisa.conf.FixpointConfiguration;
 import it.unive.lisa.conf.LiSAConfiguration;
 import it.unive.lisa.imp.IMPFeatures;
+import it.unive.lisa.imp.types.ArrayType;
+import it.unive.lisa.imp.types.ClassType;
 import it.unive.lisa.imp.types.IMPTypeSystem;
+import it.unive.lisa.imp.types.InterfaceType;
 import it.unive.lisa.interprocedural.CFGResults;
 import it.unive.lisa.interprocedural.FixpointResults;
+import it.unive.lisa.interprocedural.callgraph.CallGraph;
 import it.unive.lisa.interprocedural.callgraph.CallGraphEdge;
 import it.unive.lisa.interprocedural.callgraph.CallGraphNode;
 import it.unive.lisa.interprocedural.context.ContextInsensitiveToken;
@@ -81,8 +85,18 @@ import it.unive.lisa.program.cfg.statement.call.Call.CallType;
 import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
 import it.unive.lisa.program.type.Int32Type;
 import it.unive.lisa.symbolic.SymbolicExpression;
+import it.unive.lisa.symbolic.heap.AccessChild;
+import it.unive.lisa.symbolic.heap.HeapDereference;
+import it.unive.lisa.symbolic.heap.HeapReference;
+import it.unive.lisa.symbolic.value.BinaryExpression;
+import it.unive.lisa.symbolic.value.Constant;
 import it.unive.lisa.symbolic.value.HeapLocation;
 import it.unive.lisa.symbolic.value.Identifier;
+import it.unive.lisa.symbolic.value.TernaryExpression;
+import it.unive.lisa.symbolic.value.UnaryExpression;
+import it.unive.lisa.symbolic.value.operator.binary.NumericNonOverflowingAdd;
+import it.unive.lisa.symbolic.value.operator.ternary.StringReplace;
+import it.unive.lisa.symbolic.value.operator.unary.NumericNegation;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeTokenType;
 import it.unive.lisa.type.Untyped;
@@ -104,6 +118,8 @@ import it.unive.lisa.util.datastructures.automaton.State;
 import it.unive.lisa.util.datastructures.automaton.Transition;
 import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix;
 import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix.NodeEdges;
+import it.unive.lisa.util.datastructures.graph.CompactAdjacencyMatrix;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder;
 import it.unive.lisa.util.datastructures.graph.code.NodeList;
 import it.unive.lisa.util.datastructures.regex.Atom;
 import it.unive.lisa.util.datastructures.regex.Comp;
@@ -116,7 +132,9 @@ import it.unive.lisa.util.datastructures.regex.TopAtom;
 import it.unive.lisa.util.datastructures.regex.symbolic.SymbolicChar;
 import it.unive.lisa.util.datastructures.regex.symbolic.SymbolicString;
 import it.unive.lisa.util.datastructures.regex.symbolic.UnknownSymbolicChar;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
 import it.unive.lisa.util.numeric.IntInterval;
+import it.unive.lisa.util.numeric.LongInterval;
 import it.unive.lisa.util.numeric.MathNumber;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
@@ -126,6 +144,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import nl.jqno.equalsverifier.EqualsVerifier;
@@ -156,12 +175,16 @@ public class EqualityContractVerificationTest {
 	private static final CodeMemberDescriptor descr2 = new CodeMemberDescriptor(loc, unit2, false, "fake2");
 	private static final CFG cfg1 = new CFG(descr1);
 	private static final CFG cfg2 = new CFG(descr2);
+	private static final WeakTopologicalOrder<CFG, Statement, Edge> wto1 = new WeakTopologicalOrder<>(cfg1);
+	private static final WeakTopologicalOrder<CFG, Statement, Edge> wto2 = new WeakTopologicalOrder<>(cfg2);
 	private static final CodeMemberDescriptor signDescr1 = new CodeMemberDescriptor(loc, interface1, true, "fake1");
 	private static final CodeMemberDescriptor signDescr2 = new CodeMemberDescriptor(loc, interface1, true, "fake2");
 	private static final AbstractCodeMember signCfg1 = new AbstractCodeMember(signDescr1);
 	private static final AbstractCodeMember signCfg2 = new AbstractCodeMember(signDescr2);
 	private static final NodeList<CFG, Statement, Edge> adj1 = new NodeList<>(new SequentialEdge());
 	private static final NodeList<CFG, Statement, Edge> adj2 = new NodeList<>(new SequentialEdge());
+	private static final AdjacencyMatrix<CallGraph, CallGraphNode, CallGraphEdge> matrix1 = new AdjacencyMatrix<>();
+	private static final AdjacencyMatrix<CallGraph, CallGraphNode, CallGraphEdge> matrix2 = new AdjacencyMatrix<>();
 
 	private static final RegularExpression re1 = new Atom("a");
 	private static final RegularExpression re2 = new Atom("b");
@@ -178,11 +201,26 @@ public class EqualityContractVerificationTest {
 	private static final Set<Type> s1 = Collections.singleton(Untyped.INSTANCE);
 	private static final Set<Type> s2 = Collections.singleton(Int32Type.INSTANCE);
 
+	private static final Constant c1 = new Constant(Int32Type.INSTANCE, 1, loc);
+	private static final Constant c2 = new Constant(Int32Type.INSTANCE, 2, loc);
+	private static final Map<Class<?>, SymbolicExpression> CACHED_HASHES = Map.of(
+			UnaryExpression.class, new UnaryExpression(Int32Type.INSTANCE, c1, NumericNegation.INSTANCE, loc),
+			BinaryExpression.class,
+			new BinaryExpression(Int32Type.INSTANCE, c1, c2, NumericNonOverflowingAdd.INSTANCE, loc),
+			TernaryExpression.class,
+			new TernaryExpression(Untyped.INSTANCE, c1, c2, c1, StringReplace.INSTANCE, loc),
+			HeapReference.class, new HeapReference(Untyped.INSTANCE, c1, loc),
+			HeapDereference.class, new HeapDereference(Untyped.INSTANCE, c1, loc),
+			AccessChild.class, new AccessChild(Untyped.INSTANCE, c1, c2, loc));
+
 	private static final Collection<Class<?>> tested = new HashSet<>();
 
 	@BeforeClass
 	public static void setup() {
 		adj1.addNode(new Ret(cfg1, loc));
+		matrix1.addNode(new CallGraphNode(null, cfg1));
+		matrix1.compact();
+		matrix2.compact();
 		g1.addNode("a");
 	}
 
@@ -208,6 +246,19 @@ public class EqualityContractVerificationTest {
 					// equality, but we fix the hashcode as it is still used in
 					// some filenames
 					&& clazz != ContextInsensitiveToken.class
+					// cache keys compare calls by identity and cached
+					// signatures by value, with a precomputed hash
+					&& !clazz.getName().equals("it.unive.lisa.interprocedural.callgraph.CallResolutionCache$Key")
+					// automata operation keys hold weak references to their
+					// operands, that are compared only while reachable
+					&& !clazz.getName().endsWith(".automaton.AutomatonOperationCache$Key")
+					// compact matrices are consistent only if built from an
+					// expanded one, and are compared to it in AdjacencyMatrixTest
+					&& clazz != CompactAdjacencyMatrix.class
+					// bit sets are mutable and memoize their hashcode, that
+					// equals verifier cannot check: hashcodes are compared
+					// with the ones of java sets in BitExternalSetTest
+					&& clazz != BitExternalSet.class
 					// some testing classes that we do not care about end up
 					// here
 					&& !clazz.getName().contains("Test"))
@@ -270,6 +321,7 @@ public class EqualityContractVerificationTest {
 				.withPrefabValues(InterfaceUnit.class, interface1, interface2)
 				.withPrefabValues(InterfaceUnit.class, interface1, interface2)
 				.withPrefabValues(NodeList.class, adj1, adj2)
+				.withPrefabValues(WeakTopologicalOrder.class, wto1, wto2)
 				.withPrefabValues(StructuredRepresentation.class, dr1, dr2)
 				.withPrefabValues(RegularExpression.class, re1, re2)
 				.withPrefabValues(Pair.class, Pair.of(1, 2), Pair.of(3, 4))
@@ -293,7 +345,9 @@ public class EqualityContractVerificationTest {
 	public void testConfiguration() {
 		verify(LiSAConfiguration.class, Warning.NONFINAL_FIELDS);
 		verify(DefaultConfiguration.class, Warning.NONFINAL_FIELDS);
-		verify(FixpointConfiguration.class);
+		verify(FixpointConfiguration.class,
+				verifier -> verifier.withPrefabValues(AnalysisMetrics.class, new AnalysisMetrics(true),
+						AnalysisMetrics.DISABLED));
 		verify(ConfigurableComponent.class);
 		verify(CronConfiguration.class, Warning.NONFINAL_FIELDS);
 	}
@@ -309,13 +363,28 @@ public class EqualityContractVerificationTest {
 		// caring about fields
 		verify(ExternalSetCache.class, Warning.INHERITED_DIRECTLY_FROM_OBJECT, Warning.ALL_FIELDS_SHOULD_BE_USED);
 		// suppress nullity: the cache will never be null
-		verify(BitExternalSet.class, false, Warning.NULL_FIELDS, Warning.NONFINAL_FIELDS);
-		verify(UniversalExternalSet.class, false, Warning.NULL_FIELDS);
-
-		verify(AdjacencyMatrix.class);
+		// the hashcode is computed from the elements, so the caches must
+		// contain the ones referred by the bits of the prefab sets, and
+		// their internal structure must be consistent
+		ExternalSetCache<String> cache1 = new ExternalSetCache<>();
+		ExternalSetCache<String> cache2 = new ExternalSetCache<>();
+		for (int i = 0; i < 128; i++) {
+			cache1.mkSingletonSet("a" + i);
+			cache2.mkSingletonSet("b" + i);
+		}
+		verify(UniversalExternalSet.class, false,
+				verifier -> verifier.withPrefabValues(ExternalSetCache.class, cache1, cache2),
+				Warning.NULL_FIELDS);
+
+		// the matrix is either expanded or compacted: exactly one of the two
+		// forms is not null, and only that one contributes to equality
+		verify(AdjacencyMatrix.class,
+				verifier -> verifier.withPrefabValues(CompactAdjacencyMatrix.class, matrix1.getCompactForm(),
+						matrix2.getCompactForm()),
+				Warning.NONFINAL_FIELDS, Warning.NULL_FIELDS, Warning.ALL_FIELDS_SHOULD_BE_USED);
 		verify(NodeEdges.class);
 		verify(NodeList.class,
-				verifier -> verifier.withIgnoredFields("sequentialSingleton"));
+				verifier -> verifier.withIgnoredFields("sequentialSingleton", "offsets", "adjacency", "modifications"));
 		verify(it.unive.lisa.util.datastructures.graph.code.NodeList.NodeEdges.class);
 
 		verify(ConcurrentFIFOWorkingSet.class);
@@ -347,14 +416,26 @@ public class EqualityContractVerificationTest {
 		verify(SymbolicChar.class);
 		verify(UnknownSymbolicChar.class);
 
-		verify(RegexAutomaton.class, Warning.ALL_FIELDS_SHOULD_BE_USED);
-		verify(SimpleAutomaton.class, Warning.ALL_FIELDS_SHOULD_BE_USED);
+		// automata memoize their hash code, computing it on first use
+		RegexAutomaton regex = RegexAutomaton.string("a");
+		regex.hashCode();
+		verify(RegexAutomaton.class,
+				verifier -> verifier.withCachedHashCode("hash", "computeHashCode", regex),
+				Warning.ALL_FIELDS_SHOULD_BE_USED);
+		SimpleAutomaton simple = new SimpleAutomaton("a");
+		simple.hashCode();
+		verify(SimpleAutomaton.class,
+				verifier -> verifier.withCachedHashCode("hash", "computeHashCode", simple),
+				Warning.ALL_FIELDS_SHOULD_BE_USED);
 		verify(StringSymbol.class);
 	}
 
 	@Test
 	public void testIntervalStructure() {
-		verify(IntInterval.class);
+		// bounds are either primitive or lazily built math numbers: only
+		// the primitive ones are used when available
+		verify(IntInterval.class, Warning.NONFINAL_FIELDS, Warning.ALL_FIELDS_SHOULD_BE_USED);
+		verify(LongInterval.class);
 		verify(MathNumber.class);
 	}
 
@@ -362,7 +443,12 @@ public class EqualityContractVerificationTest {
 	public void testTypes() {
 		Reflections scanner = mkReflections();
 		for (Class<? extends Type> type : scanner.getSubTypesOf(Type.class))
-			if (!type.getName().contains("BaseCallGraphTest"))
+			if (type == ClassType.class || type == InterfaceType.class || type == ArrayType.class)
+				// the type system owning the type is not part of its identity
+				verify(type, true, verifier -> verifier.withIgnoredFields("types")
+						.withPrefabValues(IMPTypeSystem.class, new IMPTypeSystem(), new IMPTypeSystem()),
+						Warning.STRICT_INHERITANCE);
+			else if (!type.getName().contains("BaseCallGraphTest"))
 				// type token is the only one with an eclipse-like equals
 				verify(type, type == TypeTokenType.class, Warning.STRICT_INHERITANCE);
 	}
@@ -377,12 +463,24 @@ public class EqualityContractVerificationTest {
 			else if (Identifier.class.isAssignableFrom(expr))
 				// identifiers use only their name for equality
 				verify(expr, verifier -> verifier.withOnlyTheseFields("name"));
+			else if (CACHED_HASHES.containsKey(expr))
+				// these expressions compute their hash code at construction
+				verifyCachedHash(expr);
 			else
 				// location is excluded on purpose: it only brings syntactic
 				// information
 				verify(expr, verifier -> verifier.withIgnoredFields("location"));
 	}
 
+	private static <T> void verifyCachedHash(
+			Class<T> expr) {
+		T example = expr.cast(CACHED_HASHES.get(expr));
+		// location is excluded on purpose: it only brings syntactic
+		// information
+		verify(expr, verifier -> verifier.withIgnoredFields("location")
+				.withCachedHashCode("hash", "computeHashCode", example));
+	}
+
 	@Test
 	public void testStatements() {
 		// suppress nullity: the verifier will try to pass in a code location
@@ -560,7 +658,8 @@ public class EqualityContractVerificationTest {
 	@Test
 	public void testOutputs() {
 		verify(JsonReport.class);
-		verify(LiSARunInfo.class);
+		// execution-dependent statistics are not part of the run info equality
+		verify(LiSARunInfo.class, verifier -> verifier.withIgnoredFields("callResolution", "metrics"));
 		verify(LiSAReport.class);
 
 		verify(SerializableGraph.class);
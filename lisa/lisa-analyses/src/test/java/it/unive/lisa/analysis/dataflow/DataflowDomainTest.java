@@ -0,0 +1,98 @@
+package it.unive.lisa.analysis.dataflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestParameterProvider;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.ProgramPoint;
+import it.unive.lisa.program.type.Int32Type;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.util.collections.externalSet.ExternalSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class DataflowDomainTest {
+
+	private final ProgramPoint fake = TestParameterProvider.provideParam(null, ProgramPoint.class);
+
+	private final Variable x = new Variable(Int32Type.INSTANCE, "x", SyntheticLocation.INSTANCE);
+
+	private final Variable y = new Variable(Int32Type.INSTANCE, "y", SyntheticLocation.INSTANCE);
+
+	private final Variable z = new Variable(Int32Type.INSTANCE, "z", SyntheticLocation.INSTANCE);
+
+	private Set<ReachingDefinitions> defs(
+			Variable... vars) {
+		Set<ReachingDefinitions> result = new HashSet<>();
+		for (Variable v : vars)
+			result.add(new ReachingDefinitions(v, fake));
+		return result;
+	}
+
+	private Set<AvailableExpressions> exprs(
+			Variable... vars) {
+		Set<AvailableExpressions> result = new HashSet<>();
+		for (Variable v : vars)
+			result.add(new AvailableExpressions(v));
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <D extends DataflowDomain<D, E>, E extends DataflowElement<D, E>> D numbered(
+			D base,
+			Set<E> elements) {
+		// reuses the numbering of base
+		ExternalSet<E> set = ((ExternalSet<E>) base.getDataflowElements()).getCache().mkSet(elements);
+		return base.mk(base.domain, set, false, false);
+	}
+
+	@Test
+	public void testPossibleLatticeOperations()
+			throws SemanticException {
+		PossibleDataflowDomain<ReachingDefinitions> base = new PossibleDataflowDomain<>(new ReachingDefinitions());
+		PossibleDataflowDomain<ReachingDefinitions> xy = numbered(base, defs(x, y));
+		PossibleDataflowDomain<ReachingDefinitions> yz = numbered(base, defs(y, z));
+		// numbered independently from base
+		PossibleDataflowDomain<ReachingDefinitions> other = base.mk(base.domain, defs(y, z), false, false);
+
+		for (PossibleDataflowDomain<ReachingDefinitions> right : List.of(yz, other)) {
+			assertEquals(yz, right);
+			assertEquals(yz.hashCode(), right.hashCode());
+			assertEquals(defs(x, y, z), xy.lub(right).getDataflowElements());
+			assertEquals(defs(y), xy.glb(right).getDataflowElements());
+			assertFalse(xy.lessOrEqual(right));
+			assertTrue(xy.glb(right).lessOrEqual(right));
+			assertTrue(right.lessOrEqual(xy.lub(right)));
+		}
+
+		assertEquals(defs(y), xy.forgetIdentifier(x).getDataflowElements());
+		assertEquals(defs(x, y), xy.getDataflowElements());
+	}
+
+	@Test
+	public void testDefiniteLatticeOperations()
+			throws SemanticException {
+		DefiniteDataflowDomain<AvailableExpressions> base = new DefiniteDataflowDomain<>(new AvailableExpressions());
+		DefiniteDataflowDomain<AvailableExpressions> xy = numbered(base, exprs(x, y));
+		DefiniteDataflowDomain<AvailableExpressions> yz = numbered(base, exprs(y, z));
+		// numbered independently from base
+		DefiniteDataflowDomain<AvailableExpressions> other = base.mk(base.domain, exprs(y, z), false, false);
+
+		for (DefiniteDataflowDomain<AvailableExpressions> right : List.of(yz, other)) {
+			assertEquals(yz, right);
+			assertEquals(yz.hashCode(), right.hashCode());
+			assertEquals(exprs(y), xy.lub(right).getDataflowElements());
+			assertEquals(exprs(x, y, z), xy.glb(right).getDataflowElements());
+			assertFalse(xy.lessOrEqual(right));
+			assertTrue(xy.glb(right).lessOrEqual(right));
+			assertTrue(right.lessOrEqual(xy.lub(right)));
+		}
+
+		assertEquals(exprs(y), xy.forgetIdentifier(x).getDataflowElements());
+	}
+}
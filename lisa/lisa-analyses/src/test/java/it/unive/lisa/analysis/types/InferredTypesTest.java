@@ -2,6 +2,7 @@ package it.unive.lisa.analysis.types;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import it.unive.lisa.TestParameterProvider;
@@ -50,6 +51,7 @@ import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.TypeTokenType;
 import it.unive.lisa.type.Untyped;
+import it.unive.lisa.util.collections.externalSet.ExternalSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -519,4 +521,27 @@ public class InferredTypesTest {
 		satisfies(TypeCheck.INSTANCE, bool, right, Satisfiability.NOT_SATISFIED);
 		satisfies(TypeCheck.INSTANCE, bool_or_string, right, Satisfiability.UNKNOWN);
 	}
+
+	@Test
+	public void testBitsetBackedElements()
+			throws SemanticException {
+		for (InferredTypes t : combos.values()) {
+			assertTrue(t.getRuntimeTypes() instanceof ExternalSet);
+			assertSame(types.getTypeCache(), ((ExternalSet<Type>) t.getRuntimeTypes()).getCache());
+		}
+
+		InferredTypes lub = bool.lub(string);
+		assertEquals(bool_or_string, lub);
+		assertTrue(lub.getRuntimeTypes() instanceof ExternalSet);
+		assertTrue(bool.lessOrEqual(lub));
+		assertFalse(lub.lessOrEqual(bool));
+		assertTrue(numeric.lub(bool_or_string).lessOrEqual(all));
+
+		// elements not backed by the cache are still comparable
+		InferredTypes hashed = new InferredTypes(false, new HashSet<>(bool_or_string.getRuntimeTypes()));
+		assertEquals(bool_or_string, hashed);
+		assertEquals(bool_or_string.hashCode(), hashed.hashCode());
+		assertTrue(hashed.lessOrEqual(all));
+		assertEquals(all, hashed.lub(numeric));
+	}
 }
@@ -92,6 +92,44 @@ public class NumericAnalysesTest extends AnalysisTestExecutor {
 		perform(conf);
 	}
 
+	@Test
+	public void testIntervalWithWTO() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new Interval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.testDir = "numeric";
+		conf.testSubDir = "interval-wto";
+		conf.programFile = "numeric.imp";
+		conf.useWeakTopologicalOrder = true;
+		// results are the same of testInterval
+		perform(conf);
+	}
+
+	@Test
+	public void testNonRedundantSetOfIntervalWithWTO() {
+		CronConfiguration conf = new CronConfiguration();
+		conf.serializeResults = true;
+		conf.abstractState = DefaultConfiguration.simpleState(
+				DefaultConfiguration.defaultHeapDomain(),
+				new ValueEnvironment<>(new NonRedundantPowersetOfInterval()),
+				DefaultConfiguration.defaultTypeDomain());
+		conf.testDir = "numeric";
+		conf.testSubDir = "interval-set-wto";
+		conf.programFile = "numeric.imp";
+		conf.descendingPhaseType = DescendingPhaseType.GLB;
+		conf.glbThreshold = 5;
+		conf.useWeakTopologicalOrder = true;
+		// results differ from testNonRedundantSetOfInterval only on sat(),
+		// where widening is applied at different iterations: the working set
+		// merges [10, 10] and [12, 52] into [10, 52], while here they are kept
+		// apart. optimized runs do not use the weak topological order
+		conf.compareWithOptimization = false;
+		perform(conf);
+	}
+
 	@Test
 	public void testPentagons() {
 		CronConfiguration conf = new CronConfiguration();
@@ -0,0 +1,287 @@
+package it.unive.lisa.imp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.imp.antlr.IMPParser;
+import it.unive.lisa.imp.antlr.IMPParser.ConstructorDeclarationContext;
+import it.unive.lisa.imp.antlr.IMPParser.MethodDeclarationContext;
+import it.unive.lisa.imp.types.ClassType;
+import it.unive.lisa.imp.types.IMPTypeSystem;
+import it.unive.lisa.program.CompilationUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.ProgramUnit;
+import it.unive.lisa.program.Unit;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IMPFrontendTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String mkFile(
+			String name,
+			String content)
+			throws IOException {
+		File file = folder.newFile(name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	private List<String> mkProject()
+			throws IOException {
+		List<String> files = new ArrayList<>();
+		files.add(mkFile("a.imp", "class A extends B { main() { def b = new B(); b.bar(); } }"));
+		files.add(mkFile("b.imp", "class B implements I { bar() { } baz() { } }"));
+		files.add(mkFile("i.imp", "interface I { baz(); }"));
+		return files;
+	}
+
+	@Test
+	public void testCrossFileHierarchy()
+			throws IOException,
+			ParsingException {
+		List<String> files = mkProject();
+		for (int workers = 1; workers <= 3; workers++) {
+			Program p = IMPFrontend.processFiles(files, false, workers);
+			assertEquals(3, p.getUnits().size());
+
+			CompilationUnit a = (CompilationUnit) p.getUnit("A");
+			CompilationUnit b = (CompilationUnit) p.getUnit("B");
+			CompilationUnit i = (CompilationUnit) p.getUnit("I");
+			assertTrue(a.getImmediateAncestors().contains(b));
+			assertTrue(b.getImmediateAncestors().contains(i));
+			assertTrue(a.isInstanceOf(i));
+			assertEquals(3, p.getEntryPoints().size());
+
+			IMPTypeSystem types = (IMPTypeSystem) p.getTypes();
+			assertSame(ClassType.lookup(types, "A", null), types.getType("A"));
+			assertTrue(types.getType("A").canBeAssignedTo(types.getType("I")));
+		}
+	}
+
+	@Test
+	public void testOnlyMain()
+			throws IOException,
+			ParsingException {
+		Program p = IMPFrontend.processFiles(mkProject(), true, 2);
+		assertEquals(1, p.getEntryPoints().size());
+		CFG main = p.getEntryPoints().iterator().next();
+		assertEquals("A", main.getDescriptor().getUnit().getName());
+	}
+
+	@Test(expected = ParsingException.class)
+	public void testDuplicateUnitsAcrossFiles()
+			throws IOException,
+			ParsingException {
+		List<String> files = mkProject();
+		files.add(mkFile("b2.imp", "class B { }"));
+		IMPFrontend.processFiles(files, false, 2);
+	}
+
+	@Test(expected = ParsingException.class)
+	public void testMalformedFile()
+			throws IOException,
+			ParsingException {
+		List<String> files = mkProject();
+		files.add(mkFile("c.imp", "class C { foo( }"));
+		IMPFrontend.processFiles(files, false, 2);
+	}
+
+	@Test
+	public void testTypesAreScopedToPrograms()
+			throws Exception {
+		String code = "class A { foo() { def x = new int[5]; } }";
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Program>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++)
+				futures.add(pool.submit(() -> IMPFrontend.processText(code)));
+
+			List<Program> programs = new ArrayList<>();
+			for (Future<Program> future : futures)
+				programs.add(future.get());
+
+			IMPTypeSystem first = (IMPTypeSystem) programs.get(0).getTypes();
+			for (Program p : programs) {
+				IMPTypeSystem types = (IMPTypeSystem) p.getTypes();
+				assertEquals(first.getTypes().size(), types.getTypes().size());
+				assertSame(p.getUnit("A"), ((ClassType) types.getType("A")).getUnit());
+				if (p != programs.get(0))
+					assertNotSame(first.getType("A"), types.getType("A"));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static Set<String> describe(
+			CFG cfg) {
+		// cfgs of different programs are never equal, so we compare what
+		// they contain and where it comes from
+		Set<String> result = new TreeSet<>();
+		for (Statement node : cfg.getNodes())
+			result.add(node.getLocation() + " " + node);
+		for (Edge edge : cfg.getEdges())
+			result.add(edge.getSource().getLocation() + " " + edge + " " + edge.getDestination().getLocation());
+		for (Statement entry : cfg.getEntrypoints())
+			result.add("entry " + entry.getLocation());
+		return result;
+	}
+
+	private static void assertSameProgram(
+			Program expected,
+			Program actual) {
+		assertEquals(expected.getUnits().size(), actual.getUnits().size());
+		for (Unit unit : expected.getUnits()) {
+			Unit other = actual.getUnit(unit.getName());
+			assertNotNull("Missing unit " + unit.getName(), other);
+			assertEquals(unit.getClass(), other.getClass());
+			assertEquals(((ProgramUnit) unit).getLocation(), ((ProgramUnit) other).getLocation());
+		}
+
+		assertEquals(expected.getAllCFGs().size(), actual.getAllCFGs().size());
+		for (CFG cfg : expected.getAllCFGs()) {
+			String signature = cfg.getDescriptor().getFullSignatureWithParNames();
+			CFG other = actual.getAllCFGs().stream()
+					.filter(c -> c.getDescriptor().getFullSignatureWithParNames().equals(signature))
+					.findFirst()
+					.orElse(null);
+			assertNotNull("Missing code member " + signature, other);
+			// descriptors refer to units of different programs
+			assertEquals(cfg.getDescriptor().toString(), other.getDescriptor().toString());
+			assertEquals("Different code member " + signature, describe(cfg), describe(other));
+		}
+
+		assertEquals(expected.getEntryPoints().size(), actual.getEntryPoints().size());
+	}
+
+	@Test
+	public void testIncrementalBuildMatchesTreeBuild()
+			throws IOException,
+			ParsingException {
+		List<String> testcases;
+		try (Stream<Path> walk = Files.walk(Paths.get("imp-testcases"))) {
+			testcases = walk.map(Path::toString).filter(p -> p.endsWith(".imp")).collect(Collectors.toList());
+		}
+		assertFalse(testcases.isEmpty());
+
+		for (String file : testcases)
+			assertSameProgram(IMPFrontend.processFile(file, false), IMPFrontend.processFile(file, false, true));
+	}
+
+	@Test
+	public void testIncrementalMultiFile()
+			throws IOException,
+			ParsingException {
+		List<String> files = mkProject();
+		Program expected = IMPFrontend.processFiles(files, false, 1);
+		for (int workers = 1; workers <= 3; workers++)
+			assertSameProgram(expected, IMPFrontend.processFiles(files, false, workers, true));
+	}
+
+	@Test
+	public void testLLFallback()
+			throws IOException,
+			ParsingException {
+		String code = new String(Files.readAllBytes(Paths.get("imp-testcases", "heap", "heap-pp.imp")),
+				StandardCharsets.UTF_8);
+		Program expected = IMPFrontend.processText(code);
+		int members = expected.getAllCFGs().size();
+		assertTrue(members > 1);
+
+		// the sll attempt fails before parsing anything, halfway through the
+		// file and after having built all the members
+		for (int failure : new int[] { 0, members / 2, members })
+			for (boolean incremental : new boolean[] { false, true })
+				assertSameProgram(expected, IMPFrontend.processText(code, false, incremental,
+						parser -> new SLLFailure(parser, failure)));
+	}
+
+	@Test(expected = ParsingException.class)
+	public void testIncrementalMalformedText()
+			throws ParsingException {
+		IMPFrontend.processText("class C { foo() { def x = ; } }", false, true);
+	}
+
+	/**
+	 * A listener that makes the SLL parsing attempt fail right after a given
+	 * number of methods and constructors have been parsed, forcing the retry
+	 * with LL prediction. Attempts using LL prediction are never interrupted.
+	 */
+	private static class SLLFailure implements ParseTreeListener {
+
+		private final IMPParser parser;
+
+		private final int failure;
+
+		private int members;
+
+		private SLLFailure(
+				IMPParser parser,
+				int failure) {
+			this.parser = parser;
+			this.failure = failure;
+		}
+
+		@Override
+		public void visitTerminal(
+				TerminalNode node) {
+		}
+
+		@Override
+		public void visitErrorNode(
+				ErrorNode node) {
+		}
+
+		@Override
+		public void enterEveryRule(
+				ParserRuleContext ctx) {
+			if (failure == 0)
+				fail();
+		}
+
+		@Override
+		public void exitEveryRule(
+				ParserRuleContext ctx) {
+			if ((ctx instanceof MethodDeclarationContext || ctx instanceof ConstructorDeclarationContext)
+					&& ++members == failure)
+				fail();
+		}
+
+		private void fail() {
+			if (parser.getInterpreter().getPredictionMode() == PredictionMode.SLL)
+				throw new ParseCancellationException("Forced failure of SLL parsing");
+		}
+	}
+}
@@ -0,0 +1,395 @@
+package it.unive.lisa.interprocedural;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.AnalysisSetupException;
+import it.unive.lisa.LiSA;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.heap.pointbased.FieldSensitivePointBasedHeap;
+import it.unive.lisa.analysis.lattices.ExpressionSet;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.FixpointConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.ParsingException;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.interprocedural.context.ContextBasedAnalysis;
+import it.unive.lisa.interprocedural.context.FullStackToken;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.type.Untyped;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BottomUpAnalysisTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static AnalysisState<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>> mkState() {
+		return new AnalysisState<>(
+				new SimpleAbstractState<>(
+						new MonolithicHeap(),
+						new ValueEnvironment<>(new Interval()),
+						new TypeEnvironment<>(new InferredTypes())),
+				new ExpressionSet());
+	}
+
+	private static FixpointConfiguration mkConf(
+			int parallelism) {
+		LiSAConfiguration base = new LiSAConfiguration();
+		base.optimize = false;
+		base.analysisParallelism = parallelism;
+		return new FixpointConfiguration(base);
+	}
+
+	private static <I extends InterproceduralAnalysis<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>>> I run(
+					I analysis,
+					Program program,
+					int parallelism)
+					throws Exception {
+		Application app = new Application(program);
+		RTACallGraph callgraph = new RTACallGraph();
+		callgraph.init(app);
+		analysis.init(app, callgraph, WorstCasePolicy.INSTANCE);
+		analysis.fixpoint(mkState(), mkConf(parallelism));
+		return analysis;
+	}
+
+	private static AnalyzedCFG<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>, TypeEnvironment<InferredTypes>>> resultOf(
+					InterproceduralAnalysis<
+							SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+									TypeEnvironment<InferredTypes>>> analysis,
+					CFG cfg) {
+		Collection<AnalyzedCFG<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>>> results = analysis.getAnalysisResultsOf(cfg);
+		assertEquals("Wrong number of results for " + cfg, 1, results.size());
+		return results.iterator().next();
+	}
+
+	private static String valueAtExit(
+			BottomUpAnalysis<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> analysis,
+			Program program,
+			String cfg,
+			String variable)
+			throws SemanticException {
+		CFG target = program.getAllCFGs().stream()
+				.filter(c -> c.getDescriptor().getName().equals(cfg))
+				.findFirst()
+				.get();
+		return resultOf(analysis, target).getExitState()
+				.getState()
+				.getValueState()
+				.getState(new Variable(Untyped.INSTANCE, variable, SyntheticLocation.INSTANCE))
+				.toString();
+	}
+
+	@Test
+	public void testCalleesAreAnalyzedFirst()
+			throws Exception {
+		// more cfgs than the ones whose boxed indexes are cached by the sccs
+		StringBuilder code = new StringBuilder("class A { main() { def x = this.m0(); } ");
+		for (int i = 0; i < 150; i++)
+			code.append("m").append(i).append("() { return this.m").append(i + 1).append("(); } ");
+		code.append("m150() { return 1; } }");
+		Program program = IMPFrontend.processText(code.toString());
+
+		for (int parallelism = 1; parallelism <= 2; parallelism++) {
+			BottomUpAnalysis<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> analysis = run(new BottomUpAnalysis<>(), program,
+									parallelism);
+			assertEquals("[1, 1]", valueAtExit(analysis, program, "main", "x"));
+		}
+	}
+
+	@Test
+	public void testRecursion()
+			throws Exception {
+		Program program = IMPFrontend.processText("class A { "
+				+ "main() { def x = this.f(10); def y = this.even(10); } "
+				+ "f(n) { if (n <= 0) return 0; def m = n - 1; def r = this.f(m); return r + 1; } "
+				+ "even(n) { if (n <= 0) return 0; def m = n - 1; return this.odd(m); } "
+				+ "odd(n) { if (n <= 0) return 0; def m = n - 1; return this.even(m); } }");
+
+		BottomUpAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> analysis = run(new BottomUpAnalysis<>(), program, 1);
+		// the self recursion stabilizes through widening
+		assertEquals("[0, +Inf]", valueAtExit(analysis, program, "main", "x"));
+		// the mutual recursion is a single component
+		assertEquals("[0, 0]", valueAtExit(analysis, program, "main", "y"));
+	}
+
+	private static final String FIRST_VERSION = "class A { "
+			+ "main() { def x = this.f(); def y = this.g(); } "
+			+ "f() { return 1; } "
+			+ "g() { return 2; } }";
+
+	// f is moved, g is changed
+	private static final String SECOND_VERSION = "class A { "
+			+ "main() { def x = this.f(); def y = this.g(); } "
+			+ "g() { return 3; } "
+			+ "\n\n"
+			+ "f() { return 1; } }";
+
+	private static AnalysisState<
+			SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+					TypeEnvironment<InferredTypes>>> returnedBy(
+							BottomUpAnalysis<
+									SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+											TypeEnvironment<InferredTypes>>> analysis,
+							Program program,
+							String cfg) {
+		CFG target = program.getAllCFGs().stream()
+				.filter(c -> c.getDescriptor().getName().equals(cfg))
+				.findFirst()
+				.get();
+		Statement ret = target.getNormalExitpoints().iterator().next();
+		AnalyzedCFG<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> result = resultOf(analysis, target);
+		assertTrue("The result of " + cfg + " does not refer to the analyzed cfg", result.containsNode(ret));
+		return result.getAnalysisStateAfter(ret);
+	}
+
+	@Test(expected = AnalysisSetupException.class)
+	public void testSummaryReuseRejectedByOtherAnalyses()
+			throws Exception {
+		LiSAConfiguration conf = new LiSAConfiguration();
+		conf.workdir = folder.getRoot().getAbsolutePath();
+		conf.abstractState = mkState().getState();
+		conf.callGraph = new RTACallGraph();
+		conf.interproceduralAnalysis = new ContextBasedAnalysis<>();
+		conf.reuseBottomUpSummaries = true;
+		new LiSA(conf).run(IMPFrontend.processText(FIRST_VERSION));
+	}
+
+	@Test
+	public void testIncrementalRuns()
+			throws Exception {
+		for (boolean incremental : new boolean[] { false, true }) {
+			BottomUpAnalysis<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> analysis = new BottomUpAnalysis<>();
+			LiSAConfiguration conf = new LiSAConfiguration();
+			conf.workdir = folder.getRoot().getAbsolutePath();
+			conf.optimize = false;
+			conf.abstractState = mkState().getState();
+			conf.callGraph = new RTACallGraph();
+			conf.interproceduralAnalysis = analysis;
+			conf.reuseBottomUpSummaries = incremental;
+			LiSA lisa = new LiSA(conf);
+
+			Program first = IMPFrontend.processText(FIRST_VERSION);
+			lisa.run(first);
+			assertEquals("[1, 1]", valueAtExit(analysis, first, "main", "x"));
+			assertEquals("[2, 2]", valueAtExit(analysis, first, "main", "y"));
+			AnalysisState<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> f = returnedBy(analysis, first, "f");
+			AnalysisState<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> g = returnedBy(analysis, first, "g");
+
+			// the same configuration is used for analyzing the new version
+			Program second = IMPFrontend.processText(SECOND_VERSION);
+			lisa.run(second);
+			assertEquals("[1, 1]", valueAtExit(analysis, second, "main", "x"));
+			assertEquals("[3, 3]", valueAtExit(analysis, second, "main", "y"));
+			// the summary of f is reused only in incremental mode, and it is
+			// moved to the new cfg (types are not compared, since the ones of
+			// the two programs belong to different type systems)
+			assertEquals(f.getState().getValueState(), returnedBy(analysis, second, "f").getState().getValueState());
+			assertEquals(incremental, f == returnedBy(analysis, second, "f"));
+			assertFalse(g == returnedBy(analysis, second, "g"));
+		}
+	}
+
+	private static Interval valueAtExit(
+			InterproceduralAnalysis<
+					SimpleAbstractState<FieldSensitivePointBasedHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> analysis,
+			Program program,
+			String variable)
+			throws SemanticException {
+		CFG main = program.getAllCFGs().stream()
+				.filter(c -> c.getDescriptor().getName().equals("main"))
+				.findFirst()
+				.get();
+		Collection<AnalyzedCFG<
+				SimpleAbstractState<FieldSensitivePointBasedHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>>> results = analysis.getAnalysisResultsOf(main);
+		assertEquals("Wrong number of results for " + main, 1, results.size());
+		return results.iterator().next().getExitState()
+				.getState()
+				.getValueState()
+				.getState(new Variable(Untyped.INSTANCE, variable, SyntheticLocation.INSTANCE));
+	}
+
+	@Test
+	public void testMemoryWrittenByCallees()
+			throws Exception {
+		String code = "class A { "
+				+ "main() { def o = new A(); o.a = 1; def y = this.set(o); def x = o.a; } "
+				+ "set(p) { p.a = 5; return 2; } }";
+		Interval[] x = new Interval[2];
+		Interval[] y = new Interval[2];
+		for (int i = 0; i < 2; i++) {
+			InterproceduralAnalysis<
+					SimpleAbstractState<FieldSensitivePointBasedHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> analysis = i == 0
+									? new BottomUpAnalysis<>()
+									: new ContextBasedAnalysis<>(FullStackToken.getSingleton());
+			LiSAConfiguration conf = new LiSAConfiguration();
+			conf.workdir = folder.getRoot().getAbsolutePath();
+			conf.optimize = false;
+			conf.abstractState = new SimpleAbstractState<>(
+					new FieldSensitivePointBasedHeap(),
+					new ValueEnvironment<>(new Interval()),
+					new TypeEnvironment<>(new InferredTypes()));
+			conf.callGraph = new RTACallGraph();
+			conf.interproceduralAnalysis = analysis;
+			Program program = IMPFrontend.processText(code);
+			new LiSA(conf).run(program);
+			x[i] = valueAtExit(analysis, program, "x");
+			y[i] = valueAtExit(analysis, program, "y");
+		}
+
+		assertEquals("[5, 5]", x[1].toString());
+		// the summary of set writes a location that is different from the
+		// one of o, so the value of the field cannot be retained
+		assertTrue("The value written by the callee is lost: " + x[0], x[1].lessOrEqual(x[0]));
+		assertFalse("The value written by the caller is retained: " + x[0], x[0].lessOrEqual(new Interval(1, 1)));
+		// values that are not stored in memory are still precise
+		assertEquals("[2, 2]", y[0].toString());
+		assertEquals(y[1], y[0]);
+	}
+
+	@Test
+	public void testSoundWithRespectToOtherAnalyses()
+			throws Exception {
+		List<String> testcases;
+		try (Stream<Path> walk = Files.walk(Paths.get("imp-testcases", "interprocedural"))) {
+			testcases = walk.map(Path::toString).filter(p -> p.endsWith(".imp")).sorted()
+					.collect(Collectors.toList());
+		}
+		assertFalse(testcases.isEmpty());
+
+		for (String file : testcases)
+			checkAgainstOtherAnalyses(file);
+	}
+
+	private static void checkAgainstOtherAnalyses(
+			String file)
+			throws IOException,
+			ParsingException,
+			Exception {
+		// each analysis gets its own copy of the program, as analyses
+		// might leave information inside the cfgs they analyze
+		Program program = IMPFrontend.processFile(file, true);
+		if (program.getEntryPoints().isEmpty())
+			// modular programs are not meant to be analyzed from main
+			return;
+		BottomUpAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> bottomUp = run(new BottomUpAnalysis<>(), program, 1);
+		Program other = IMPFrontend.processFile(file, true);
+		ContextBasedAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> context = run(
+								new ContextBasedAnalysis<>(FullStackToken.getSingleton()), other, 1);
+		Program another = IMPFrontend.processFile(file, true);
+		ModularWorstCaseAnalysis<
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>>> worstCase = run(new ModularWorstCaseAnalysis<>(), another, 1);
+
+		for (CFG cfg : program.getEntryPoints()) {
+			AnalyzedCFG<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> bu = resultOf(bottomUp, cfg);
+			AnalyzedCFG<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> cb = resultOf(context, sameCFG(other, cfg));
+			AnalyzedCFG<
+					SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+							TypeEnvironment<InferredTypes>>> wc = resultOf(worstCase, sameCFG(another, cfg));
+			// entrypoints are analyzed from the same entry state: summaries
+			// are less precise than full contexts, but more precise than
+			// not knowing anything about the callees
+			for (Statement node : cfg.getNodes()) {
+				String where = file + ": " + node + " at " + node.getLocation();
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>> state = bu.getAnalysisStateAfter(node).getState();
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>> precise = cb.getAnalysisStateAfter(sameNode(cb, node))
+								.getState();
+				SimpleAbstractState<MonolithicHeap, ValueEnvironment<Interval>,
+						TypeEnvironment<InferredTypes>> imprecise = wc.getAnalysisStateAfter(sameNode(wc, node))
+								.getState();
+				// heap locations and scoped identifiers depend on how calls
+				// are evaluated, so we only compare the local variables
+				for (Variable var : variablesOf(cfg)) {
+					Interval value = state.getValueState().getState(var);
+					assertTrue("Context-based value of " + var + " not included in " + where,
+							precise.getValueState().getState(var).lessOrEqual(value));
+					assertTrue("Bottom-up value of " + var + " not included in worst case one in " + where,
+							value.lessOrEqual(imprecise.getValueState().getState(var)));
+				}
+			}
+		}
+	}
+
+	private static Collection<Variable> variablesOf(
+			CFG cfg) {
+		return cfg.getDescriptor().getVariables().stream()
+				.map(v -> new Variable(Untyped.INSTANCE, v.getName(), SyntheticLocation.INSTANCE))
+				.collect(Collectors.toSet());
+	}
+
+	private static CFG sameCFG(
+			Program program,
+			CFG cfg) {
+		return program.getEntryPoints().stream()
+				.filter(c -> c.getDescriptor().getLocation().equals(cfg.getDescriptor().getLocation()))
+				.findFirst()
+				.get();
+	}
+
+	private static Statement sameNode(
+			CFG cfg,
+			Statement node) {
+		return cfg.getNodes().stream()
+				.filter(n -> n.getLocation().equals(node.getLocation()) && n.toString().equals(node.toString()))
+				.findFirst()
+				.get();
+	}
+}
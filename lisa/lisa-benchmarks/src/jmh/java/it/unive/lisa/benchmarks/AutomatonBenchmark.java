@@ -0,0 +1,111 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.analysis.string.fsa.SimpleAutomaton;
+import it.unive.lisa.util.datastructures.automaton.Automaton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the operations of {@link Automaton}s that dominate the cost
+ * of string analyses, that are {@link Automaton#determinize()},
+ * {@link Automaton#minimize()} and {@link Automaton#widening(int)}. Automata
+ * are built as the union of a growing number of random words over a small
+ * alphabet, as it happens when joining the abstractions of string constants.
+ * Words are generated with a fixed seed, so that all runs work on the same
+ * automata.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AutomatonBenchmark {
+
+	private static final String ALPHABET = "abcd";
+
+	private static final int MAX_WORD_LENGTH = 12;
+
+	private static final int WIDENING_PARAMETER = 3;
+
+	/**
+	 * The number of words recognized by the automata.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int words;
+
+	private SimpleAutomaton nondeterministic;
+
+	private SimpleAutomaton minimal;
+
+	/**
+	 * Builds the automata to operate on.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		List<SimpleAutomaton> automata = new ArrayList<>(words);
+		for (int i = 0; i < words; i++) {
+			StringBuilder word = new StringBuilder();
+			int length = 1 + random.nextInt(MAX_WORD_LENGTH);
+			for (int j = 0; j < length; j++)
+				word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			automata.add(new SimpleAutomaton(word.toString()));
+		}
+
+		// pairwise unions keep the operands small
+		while (automata.size() > 1) {
+			List<SimpleAutomaton> unions = new ArrayList<>((automata.size() + 1) / 2);
+			for (int i = 0; i < automata.size(); i += 2)
+				unions.add(i + 1 < automata.size() ? automata.get(i).union(automata.get(i + 1)) : automata.get(i));
+			automata = unions;
+		}
+		nondeterministic = automata.get(0);
+		minimal = nondeterministic.minimize();
+	}
+
+	/**
+	 * Determinizes the union of the words.
+	 * 
+	 * @return the deterministic automaton
+	 */
+	@Benchmark
+	public SimpleAutomaton determinize() {
+		return nondeterministic.determinize();
+	}
+
+	/**
+	 * Minimizes the union of the words.
+	 * 
+	 * @return the minimal automaton
+	 */
+	@Benchmark
+	public SimpleAutomaton minimize() {
+		return nondeterministic.minimize();
+	}
+
+	/**
+	 * Widens the minimal automaton recognizing the words.
+	 * 
+	 * @return the widened automaton
+	 */
+	@Benchmark
+	public SimpleAutomaton widening() {
+		return minimal.widening(WIDENING_PARAMETER);
+	}
+}
@@ -0,0 +1,180 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.ParsingException;
+import it.unive.lisa.interprocedural.callgraph.BaseCallGraph;
+import it.unive.lisa.interprocedural.callgraph.CHACallGraph;
+import it.unive.lisa.interprocedural.callgraph.CallGraphConstructionException;
+import it.unive.lisa.interprocedural.callgraph.CallResolutionException;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.ProgramValidationException;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.statement.Expression;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.call.Call;
+import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
+import it.unive.lisa.type.ReferenceType;
+import it.unive.lisa.type.Type;
+import it.unive.lisa.type.TypeSystem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link BaseCallGraph#resolve(UnresolvedCall, Set[],
+ * it.unive.lisa.analysis.symbols.SymbolAliasing)}, executed on synthetic IMP
+ * programs made of a chain of classes that override the same method, and of a
+ * procedure invoking that method on instances of every class. Since the
+ * receivers are untyped, each call can target any class of the program. The
+ * resolution of all calls is measured both with an empty resolution cache and
+ * with a cache that already contains all the results.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CallGraphBenchmark {
+
+	private static final int CALLS_PER_CLASS = 10;
+
+	/**
+	 * The number of classes of the program.
+	 */
+	@Param({ "10", "100" })
+	public int classes;
+
+	/**
+	 * The call graph to use, either {@code CHA} or {@code RTA}.
+	 */
+	@Param({ "CHA", "RTA" })
+	public String callgraph;
+
+	private BaseCallGraph graph;
+
+	private List<UnresolvedCall> calls;
+
+	private List<Set<Type>[]> types;
+
+	/**
+	 * Builds the program and initializes the call graph.
+	 * 
+	 * @throws ParsingException                if the program cannot be parsed
+	 * @throws ProgramValidationException      if the program cannot be
+	 *                                             finalized
+	 * @throws CallGraphConstructionException if the call graph cannot be
+	 *                                             initialized
+	 * @throws CallResolutionException         if a call cannot be resolved
+	 */
+	@Setup
+	public void setup()
+			throws ParsingException,
+			ProgramValidationException,
+			CallGraphConstructionException,
+			CallResolutionException {
+		StringBuilder code = new StringBuilder();
+		for (int i = 0; i < classes; i++) {
+			code.append("class C").append(i);
+			if (i > 0)
+				code.append(" extends C").append(i - 1);
+			code.append(" { foo(x) { return x; } }\n");
+		}
+		code.append("class tests {\n\tmain() {\n");
+		for (int i = 0; i < classes * CALLS_PER_CLASS; i++) {
+			code.append("\t\tdef a").append(i).append(" = new C").append(i % classes).append("();\n");
+			code.append("\t\ta").append(i).append(".foo(").append(i).append(");\n");
+		}
+		code.append("\t}\n}\n");
+
+		Program program = IMPFrontend.processText(code.toString());
+		TypeSystem ts = program.getTypes();
+		ts.registerType(ts.getBooleanType());
+		ts.registerType(ts.getStringType());
+		ts.registerType(ts.getIntegerType());
+		for (Type t : ts.getTypes())
+			if (ts.canBeReferenced(t))
+				ts.registerType(new ReferenceType(t));
+		program.getFeatures().getProgramValidationLogic().validateAndFinalize(program);
+
+		graph = callgraph.equals("RTA") ? new RTACallGraph() : new CHACallGraph();
+		Application app = new Application(program);
+		graph.init(app);
+
+		calls = new ArrayList<>();
+		types = new ArrayList<>();
+		for (CFG cfg : app.getAllCFGs())
+			for (Statement st : cfg.getNodes())
+				if (st instanceof UnresolvedCall) {
+					UnresolvedCall call = (UnresolvedCall) st;
+					Expression[] params = call.getParameters();
+					// call resolution takes runtime types as an array
+					@SuppressWarnings("unchecked")
+					Set<Type>[] paramTypes = new Set[params.length];
+					for (int i = 0; i < params.length; i++)
+						paramTypes[i] = params[i].getStaticType().allInstances(ts);
+					calls.add(call);
+					types.add(paramTypes);
+				}
+
+		// fills the cache for the cached resolution benchmark
+		for (int i = 0; i < calls.size(); i++)
+			graph.resolve(calls.get(i), types.get(i), null);
+	}
+
+	/**
+	 * Resolves all calls of the program, starting from an empty cache.
+	 * 
+	 * @param bh the blackhole consuming the resolved calls
+	 * 
+	 * @throws CallResolutionException if a call cannot be resolved
+	 */
+	@Benchmark
+	public void resolve(
+			Blackhole bh)
+			throws CallResolutionException {
+		graph.getResolutionCache().clear();
+		resolveAll(bh);
+	}
+
+	/**
+	 * Resolves all calls of the program, when all the resolutions are already
+	 * cached.
+	 * 
+	 * @param bh the blackhole consuming the resolved calls
+	 * 
+	 * @throws CallResolutionException if a call cannot be resolved
+	 */
+	@Benchmark
+	public void resolveCached(
+			Blackhole bh)
+			throws CallResolutionException {
+		resolveAll(bh);
+	}
+
+	private void resolveAll(
+			Blackhole bh)
+			throws CallResolutionException {
+		for (int i = 0; i < calls.size(); i++) {
+			Call resolved = graph.resolve(calls.get(i), types.get(i), null);
+			bh.consume(resolved);
+		}
+	}
+}
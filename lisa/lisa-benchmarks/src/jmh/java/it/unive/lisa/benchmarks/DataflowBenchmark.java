@@ -0,0 +1,167 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.DefaultConfiguration;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.SemanticOracle;
+import it.unive.lisa.analysis.dataflow.DataflowDomain;
+import it.unive.lisa.analysis.dataflow.PossibleDataflowDomain;
+import it.unive.lisa.analysis.dataflow.ReachingDefinitions;
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.ParsingException;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.ProgramPoint;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.type.Int32Type;
+import it.unive.lisa.symbolic.value.Constant;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.type.Untyped;
+import it.unive.lisa.util.collections.externalSet.ExternalSet;
+import it.unive.lisa.util.collections.externalSet.ExternalSetCache;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the bitvector representation of {@link DataflowDomain}s,
+ * measured on {@link ReachingDefinitions}. All the instances derived from the
+ * same domain share the numbering of their elements, that thus spans all the
+ * cfgs of the analysis: the bitvectors of the states of a cfg analyzed late
+ * are as long as the number of elements numbered before them, even if they
+ * contain few elements. This benchmark measures the cost of such trade-off,
+ * by numbering a growing amount of elements (standing for the definitions of
+ * the cfgs analyzed before) before the ones of the measured states. Running
+ * it with {@code -prof gc} also reports the bytes allocated by each
+ * operation.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataflowBenchmark {
+
+	private static final int VARIABLES = 32;
+
+	/**
+	 * The number of elements numbered before the ones of the measured states.
+	 */
+	@Param({ "0", "1000", "10000" })
+	public int numbered;
+
+	private ProgramPoint pp;
+
+	private SemanticOracle oracle;
+
+	private PossibleDataflowDomain<ReachingDefinitions> previous;
+
+	private PossibleDataflowDomain<ReachingDefinitions> current;
+
+	private Variable assigned;
+
+	private Constant value;
+
+	/**
+	 * Numbers the elements of the other cfgs and builds the states to
+	 * compare.
+	 *
+	 * @throws ParsingException if the program cannot be parsed
+	 */
+	@Setup
+	public void setup()
+			throws ParsingException {
+		// program points need to be part of a program to evaluate the
+		// runtime types of the assigned values
+		StringBuilder code = new StringBuilder("class bench {\n\tmain() {\n");
+		for (int i = 0; i < 2 * VARIABLES; i++)
+			code.append(i < VARIABLES ? "\t\tdef v" : "\t\tv").append(i % VARIABLES).append(" = ").append(i)
+					.append(";\n");
+		code.append("\t}\n}\n");
+		Program program = IMPFrontend.processText(code.toString());
+		List<Statement> points = new ArrayList<>(program.getAllCFGs().iterator().next().getNodes());
+		pp = points.get(0);
+		oracle = DefaultConfiguration.defaultAbstractState();
+
+		PossibleDataflowDomain<ReachingDefinitions> base = new PossibleDataflowDomain<>(new ReachingDefinitions());
+		@SuppressWarnings("unchecked")
+		ExternalSetCache<ReachingDefinitions> cache = ((ExternalSet<ReachingDefinitions>) base
+				.getDataflowElements()).getCache();
+		for (int i = 0; i < numbered; i++)
+			cache.mkSingletonSet(new ReachingDefinitions(variable("other" + i), pp));
+
+		Set<ReachingDefinitions> defs = new HashSet<>();
+		for (int i = 0; i < VARIABLES; i++)
+			defs.add(new ReachingDefinitions(variable("v" + i), points.get(i)));
+		previous = base.mk(base.domain, cache.mkSet(defs), false, false);
+
+		// the second state also holds new definitions of half of the
+		// variables
+		for (int i = 0; i < VARIABLES; i += 2)
+			defs.add(new ReachingDefinitions(variable("v" + i), points.get(VARIABLES + i)));
+		current = base.mk(base.domain, cache.mkSet(defs), false, false);
+
+		assigned = variable("v0");
+		value = new Constant(Int32Type.INSTANCE, 0, SyntheticLocation.INSTANCE);
+	}
+
+	private static Variable variable(
+			String name) {
+		return new Variable(Untyped.INSTANCE, name, SyntheticLocation.INSTANCE);
+	}
+
+	/**
+	 * Assigns a variable, killing its definitions and generating a new one on
+	 * a copy of the bitvector.
+	 *
+	 * @return the result of the operation
+	 *
+	 * @throws SemanticException if the operation fails
+	 */
+	@Benchmark
+	public PossibleDataflowDomain<ReachingDefinitions> assign()
+			throws SemanticException {
+		return current.assign(assigned, value, pp, oracle);
+	}
+
+	/**
+	 * Computes the least upper bound of the two states.
+	 *
+	 * @return the result of the operation
+	 *
+	 * @throws SemanticException if the operation fails
+	 */
+	@Benchmark
+	public PossibleDataflowDomain<ReachingDefinitions> lub()
+			throws SemanticException {
+		return previous.lub(current);
+	}
+
+	/**
+	 * Checks whether the first state is less or equal than the second one.
+	 *
+	 * @return the result of the operation
+	 *
+	 * @throws SemanticException if the operation fails
+	 */
+	@Benchmark
+	public boolean lessOrEqual()
+			throws SemanticException {
+		return previous.lessOrEqual(current);
+	}
+}
@@ -0,0 +1,168 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.imp.IMPFeatures;
+import it.unive.lisa.imp.types.IMPTypeSystem;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.NoOp;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import it.unive.lisa.util.datastructures.graph.algorithms.WTOFixpoint;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Fixpoint#fixpoint}, executed on synthetic
+ * {@link CFG}s of growing size made of a sequence of loops. The fixpoint
+ * computes, for each node, a counter that grows along the paths of the graph
+ * and saturates at a fixed bound, so that each loop has to be iterated several
+ * times before stabilizing. Both the worklist-based iteration strategy and the
+ * one following a {@link WeakTopologicalOrder} are measured.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FixpointBenchmark {
+
+	/**
+	 * The number of nodes in each loop of the synthetic cfgs.
+	 */
+	private static final int LOOP_SIZE = 8;
+
+	/**
+	 * The value at which the counters computed by the fixpoint saturate.
+	 */
+	private static final int BOUND = 16;
+
+	private static final FixpointImplementation<Statement, Edge, Integer> COUNTER = new FixpointImplementation<>() {
+
+		@Override
+		public Integer semantics(
+				Statement node,
+				Integer entrystate) {
+			return Math.min(entrystate + 1, BOUND);
+		}
+
+		@Override
+		public Integer traverse(
+				Edge edge,
+				Integer entrystate) {
+			return entrystate;
+		}
+
+		@Override
+		public Integer union(
+				Statement node,
+				Integer left,
+				Integer right) {
+			return Math.max(left, right);
+		}
+
+		@Override
+		public Integer operation(
+				Statement node,
+				Integer approx,
+				Integer old) {
+			return Math.max(approx, old);
+		}
+
+		@Override
+		public boolean equality(
+				Statement node,
+				Integer approx,
+				Integer old) {
+			return approx.equals(old);
+		}
+	};
+
+	/**
+	 * The number of nodes of the cfg.
+	 */
+	@Param({ "100", "1000", "10000" })
+	public int size;
+
+	/**
+	 * The iteration strategy, either {@code WORKLIST} or {@code WTO}.
+	 */
+	@Param({ "WORKLIST", "WTO" })
+	public String strategy;
+
+	private CFG cfg;
+
+	private Map<Statement, Integer> entrypoints;
+
+	private WeakTopologicalOrder<CFG, Statement, Edge> order;
+
+	/**
+	 * Builds the cfg to analyze.
+	 */
+	@Setup
+	public void setup() {
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		cfg = new CFG(new CodeMemberDescriptor(SyntheticLocation.INSTANCE, program, false, "bench"));
+
+		Statement previous = null;
+		for (int line = 0; line < size;) {
+			Statement head = new NoOp(cfg, new SourceCodeLocation("bench", line++, 0));
+			cfg.addNode(head, previous == null);
+			if (previous != null)
+				cfg.addEdge(new SequentialEdge(previous, head));
+
+			Statement last = head;
+			for (int i = 1; i < LOOP_SIZE && line < size; i++) {
+				Statement body = new NoOp(cfg, new SourceCodeLocation("bench", line++, 0));
+				cfg.addNode(body);
+				cfg.addEdge(new SequentialEdge(last, body));
+				last = body;
+			}
+			if (last != head)
+				cfg.addEdge(new SequentialEdge(last, head));
+			previous = head;
+		}
+
+		entrypoints = Collections.singletonMap(cfg.getEntrypoints().iterator().next(), 0);
+		order = new WeakTopologicalOrder<>(cfg);
+	}
+
+	/**
+	 * Runs the fixpoint.
+	 * 
+	 * @return the result of the fixpoint
+	 * 
+	 * @throws FixpointException if the fixpoint fails
+	 */
+	@Benchmark
+	public Map<Statement, Integer> fixpoint()
+			throws FixpointException {
+		Fixpoint<CFG, Statement, Edge, Integer> fixpoint = strategy.equals("WTO")
+				? new WTOFixpoint<>(cfg, false, order)
+				: new Fixpoint<>(cfg, false);
+		return fixpoint.fixpoint(entrypoints, FIFOWorkingSet.mk(), COUNTER);
+	}
+}
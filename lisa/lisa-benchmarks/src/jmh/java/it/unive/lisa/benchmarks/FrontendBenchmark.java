@@ -0,0 +1,165 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.ParsingException;
+import it.unive.lisa.program.Program;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link IMPFrontend#processFile(String)}, executed on the IMP
+ * testcases of the {@code lisa-analyses} project. The directory containing
+ * the testcases is read from the {@code lisa.benchmarks.testcases} system
+ * property, that is set by the build script of this project. Both the parsing
+ * of single files and the parsing of the whole set of testcases (either
+ * sequentially or concurrently, one program per file) are measured.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FrontendBenchmark {
+
+	private static Path testcases() {
+		return Paths.get(System.getProperty("lisa.benchmarks.testcases", "../lisa-analyses/imp-testcases"));
+	}
+
+	/**
+	 * The state for the parsing of a single file.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	@State(Scope.Benchmark)
+	public static class SingleFile {
+
+		/**
+		 * The path of the file to parse, relative to the testcases directory.
+		 */
+		@Param({
+				"numeric/numeric.imp",
+				"string/subs-domain/strings-subs.imp",
+				"taint/taint.imp",
+				"heap/heap-pp.imp",
+				"interprocedural/modular.imp" })
+		public String file;
+
+		/**
+		 * Whether or not code members are built while parsing, discarding the
+		 * parse tree of their bodies.
+		 */
+		@Param({ "false", "true" })
+		public boolean incremental;
+
+		private String path;
+
+		/**
+		 * Resolves the path of the file.
+		 */
+		@Setup
+		public void setup() {
+			path = testcases().resolve(file).toString();
+		}
+	}
+
+	/**
+	 * The state for the parsing of all the testcases.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	@State(Scope.Benchmark)
+	public static class AllFiles {
+
+		private List<String> paths;
+
+		/**
+		 * Collects the paths of all the testcases.
+		 * 
+		 * @throws IOException if the testcases directory cannot be visited
+		 */
+		@Setup
+		public void setup()
+				throws IOException {
+			try (Stream<Path> files = Files.walk(testcases())) {
+				paths = files
+						.filter(p -> p.toString().endsWith(".imp"))
+						.map(Path::toString)
+						.sorted()
+						.collect(Collectors.toList());
+			}
+		}
+	}
+
+	/**
+	 * Parses a single file.
+	 * 
+	 * @param state the state holding the file to parse
+	 * 
+	 * @return the parsed program
+	 * 
+	 * @throws ParsingException if the file cannot be parsed
+	 */
+	@Benchmark
+	public Program processFile(
+			SingleFile state)
+			throws ParsingException {
+		return IMPFrontend.processFile(state.path, false, state.incremental);
+	}
+
+	/**
+	 * Parses all the testcases.
+	 * 
+	 * @param state the state holding the files to parse
+	 * @param bh    the blackhole consuming the parsed programs
+	 * 
+	 * @throws ParsingException if a file cannot be parsed
+	 */
+	@Benchmark
+	public void processAllTestcases(
+			AllFiles state,
+			Blackhole bh)
+			throws ParsingException {
+		for (String path : state.paths)
+			bh.consume(IMPFrontend.processFile(path));
+	}
+
+	/**
+	 * Parses all the testcases concurrently, each one into its own program.
+	 * 
+	 * @param state the state holding the files to parse
+	 * @param bh    the blackhole consuming the parsed programs
+	 */
+	@Benchmark
+	public void processAllTestcasesInParallel(
+			AllFiles state,
+			Blackhole bh) {
+		// blackholes are not meant to be shared among threads
+		bh.consume(state.paths.parallelStream().map(path -> {
+			try {
+				return IMPFrontend.processFile(path);
+			} catch (ParsingException e) {
+				throw new IllegalStateException("Unable to parse " + path, e);
+			}
+		}).collect(Collectors.toList()));
+	}
+}
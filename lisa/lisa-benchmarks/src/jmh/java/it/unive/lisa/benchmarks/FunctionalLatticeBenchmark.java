@@ -0,0 +1,154 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.lattices.FunctionalLattice;
+import it.unive.lisa.analysis.lattices.GenericMapLattice;
+import it.unive.lisa.analysis.lattices.GenericSetLattice;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the updates of {@link FunctionalLattice}s, that simulate the
+ * fixpoint iterations over a loop whose body assigns one out of many live
+ * variables. Each iteration updates a single binding, joins the new state
+ * with the previous one, and checks whether the fixpoint has been reached.
+ * Functions with structural sharing (the default ones) are compared with
+ * functions that are fully copied at each update.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FunctionalLatticeBenchmark {
+
+	private static final int ITERATIONS = 2_000;
+
+	/**
+	 * The number of variables in the functions.
+	 */
+	@Param({ "100", "500" })
+	public int variables;
+
+	/**
+	 * The kind of functions to use, either {@code shared} or {@code copied}.
+	 */
+	@Param({ "shared", "copied" })
+	public String functions;
+
+	private GenericMapLattice<String, GenericSetLattice<Integer>> shared;
+
+	private CopyingMapLattice copied;
+
+	/**
+	 * Builds the function at the entry of the loop.
+	 *
+	 * @throws SemanticException if a binding cannot be added
+	 */
+	@Setup
+	public void setup()
+			throws SemanticException {
+		GenericSetLattice<Integer> values = new GenericSetLattice<Integer>().bottom();
+		if (functions.equals("copied"))
+			copied = init(new CopyingMapLattice(values, null));
+		else
+			shared = init(new GenericMapLattice<>(values));
+	}
+
+	private <F extends FunctionalLattice<F, String, GenericSetLattice<Integer>>> F init(
+			F function)
+			throws SemanticException {
+		for (int i = 0; i < variables; i++)
+			function = function.putState("v" + i, new GenericSetLattice<>(i));
+		return function;
+	}
+
+	/**
+	 * Runs the iterations over the loop.
+	 *
+	 * @return the function at the end of the iterations
+	 *
+	 * @throws SemanticException if a lattice operation fails
+	 */
+	@Benchmark
+	public Object loop()
+			throws SemanticException {
+		return copied != null ? loop(copied) : loop(shared);
+	}
+
+	private <F extends FunctionalLattice<F, String, GenericSetLattice<Integer>>> F loop(
+			F entry)
+			throws SemanticException {
+		F current = entry;
+		for (int i = 0; i < ITERATIONS; i++) {
+			String var = "v" + (i % variables);
+			F next = current.putState(var, current.getState(var).lub(new GenericSetLattice<>(-i)));
+			F lub = current.lub(next);
+			if (!lub.lessOrEqual(current))
+				current = lub;
+		}
+		return current;
+	}
+
+	/**
+	 * A functional lattice whose functions are {@link HashMap}s, fully copied
+	 * at each update.
+	 */
+	private static class CopyingMapLattice
+			extends
+			FunctionalLattice<CopyingMapLattice, String, GenericSetLattice<Integer>> {
+
+		private CopyingMapLattice(
+				GenericSetLattice<Integer> lattice,
+				Map<String, GenericSetLattice<Integer>> function) {
+			super(lattice, function);
+		}
+
+		@Override
+		public Map<String, GenericSetLattice<Integer>> mkNewFunction(
+				Map<String, GenericSetLattice<Integer>> other,
+				boolean preserveNull) {
+			if (other == null)
+				return preserveNull ? null : new HashMap<>();
+			return new HashMap<>(other);
+		}
+
+		@Override
+		public GenericSetLattice<Integer> stateOfUnknown(
+				String key) {
+			return isBottom() ? lattice.bottom() : lattice.top();
+		}
+
+		@Override
+		public CopyingMapLattice mk(
+				GenericSetLattice<Integer> lattice,
+				Map<String, GenericSetLattice<Integer>> function) {
+			return new CopyingMapLattice(lattice, function);
+		}
+
+		@Override
+		public CopyingMapLattice top() {
+			return new CopyingMapLattice(lattice.top(), null);
+		}
+
+		@Override
+		public CopyingMapLattice bottom() {
+			return new CopyingMapLattice(lattice.bottom(), null);
+		}
+	}
+}
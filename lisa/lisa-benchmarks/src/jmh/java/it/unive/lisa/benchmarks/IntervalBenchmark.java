@@ -0,0 +1,145 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.util.numeric.IntInterval;
+import it.unive.lisa.util.numeric.LongInterval;
+import it.unive.lisa.util.numeric.MathNumber;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the interval arithmetic of {@link IntInterval}s, comparing
+ * the primitive representation offered by {@link LongInterval} with a
+ * computation carried out on {@link MathNumber} bounds, that is how
+ * {@link IntInterval}s were implemented before the introduction of the
+ * primitive fast path. Each operation is applied to all pairs of a set of
+ * random intervals, a fifth of which have an infinite bound.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IntervalBenchmark {
+
+	private static final int INTERVALS = 64;
+
+	/**
+	 * The representation of the bounds, either {@code MATHNUMBER} or
+	 * {@code LONG}.
+	 */
+	@Param({ "MATHNUMBER", "LONG" })
+	public String representation;
+
+	private MathNumber[] lows;
+
+	private MathNumber[] highs;
+
+	private LongInterval[] fast;
+
+	/**
+	 * Builds the intervals to operate on.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		lows = new MathNumber[INTERVALS];
+		highs = new MathNumber[INTERVALS];
+		fast = new LongInterval[INTERVALS];
+		for (int i = 0; i < INTERVALS; i++) {
+			int low = random.nextInt(2000) - 1000;
+			int high = low + random.nextInt(1000);
+			lows[i] = i % 10 == 0 ? MathNumber.MINUS_INFINITY : new MathNumber(low);
+			highs[i] = i % 10 == 5 ? MathNumber.PLUS_INFINITY : new MathNumber(high);
+			fast[i] = LongInterval.of(lows[i], highs[i]);
+		}
+	}
+
+	/**
+	 * Sums all pairs of intervals.
+	 * 
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void plus(
+			Blackhole bh) {
+		for (int i = 0; i < INTERVALS; i++)
+			for (int j = 0; j < INTERVALS; j++)
+				if (representation.equals("LONG"))
+					bh.consume(fast[i].plus(fast[j]));
+				else {
+					bh.consume(lows[i].add(lows[j]));
+					bh.consume(highs[i].add(highs[j]));
+				}
+	}
+
+	/**
+	 * Multiplies all pairs of intervals.
+	 * 
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void mul(
+			Blackhole bh) {
+		for (int i = 0; i < INTERVALS; i++)
+			for (int j = 0; j < INTERVALS; j++)
+				if (representation.equals("LONG"))
+					bh.consume(fast[i].mul(fast[j]));
+				else {
+					MathNumber ll = lows[i].multiply(lows[j]);
+					MathNumber lh = lows[i].multiply(highs[j]);
+					MathNumber hl = highs[i].multiply(lows[j]);
+					MathNumber hh = highs[i].multiply(highs[j]);
+					bh.consume(ll.min(lh).min(hl).min(hh));
+					bh.consume(ll.max(lh).max(hl).max(hh));
+				}
+	}
+
+	/**
+	 * Computes the least upper bound of all pairs of intervals.
+	 * 
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void lub(
+			Blackhole bh) {
+		for (int i = 0; i < INTERVALS; i++)
+			for (int j = 0; j < INTERVALS; j++)
+				if (representation.equals("LONG"))
+					bh.consume(fast[i].lub(fast[j]));
+				else {
+					bh.consume(lows[i].min(lows[j]));
+					bh.consume(highs[i].max(highs[j]));
+				}
+	}
+
+	/**
+	 * Checks the inclusion between all pairs of intervals.
+	 * 
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void includes(
+			Blackhole bh) {
+		for (int i = 0; i < INTERVALS; i++)
+			for (int j = 0; j < INTERVALS; j++)
+				if (representation.equals("LONG"))
+					bh.consume(fast[i].includes(fast[j]));
+				else
+					bh.consume(lows[i].compareTo(lows[j]) <= 0 && highs[i].compareTo(highs[j]) >= 0);
+	}
+}
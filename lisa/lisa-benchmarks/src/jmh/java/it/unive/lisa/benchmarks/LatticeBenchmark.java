@@ -0,0 +1,107 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.lattices.FunctionalLattice;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.program.SyntheticLocation;
+import it.unive.lisa.symbolic.value.Variable;
+import it.unive.lisa.type.Untyped;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the lattice operations of {@link FunctionalLattice}s, measured
+ * on {@link ValueEnvironment}s of {@link Interval}s with a growing number of
+ * variables. The two environments that are compared mimic the states computed
+ * at a loop head in two consecutive iterations: half of the variables have
+ * the same value in both, while the other half has grown in the second one.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LatticeBenchmark {
+
+	/**
+	 * The number of variables in the environments.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int variables;
+
+	private ValueEnvironment<Interval> previous;
+
+	private ValueEnvironment<Interval> current;
+
+	/**
+	 * Builds the environments to compare.
+	 */
+	@Setup
+	public void setup() {
+		previous = new ValueEnvironment<>(new Interval());
+		for (int i = 0; i < variables; i++) {
+			Variable v = new Variable(Untyped.INSTANCE, "v" + i, SyntheticLocation.INSTANCE);
+			previous = previous.putState(v, new Interval(0, i));
+		}
+
+		current = previous;
+		for (int i = 0; i < variables; i += 2) {
+			Variable v = new Variable(Untyped.INSTANCE, "v" + i, SyntheticLocation.INSTANCE);
+			current = current.putState(v, new Interval(0, i + 1));
+		}
+	}
+
+	/**
+	 * Computes the least upper bound of the two environments.
+	 * 
+	 * @return the result of the operation
+	 * 
+	 * @throws SemanticException if the operation fails
+	 */
+	@Benchmark
+	public ValueEnvironment<Interval> lub()
+			throws SemanticException {
+		return previous.lub(current);
+	}
+
+	/**
+	 * Computes the widening of the two environments.
+	 * 
+	 * @return the result of the operation
+	 * 
+	 * @throws SemanticException if the operation fails
+	 */
+	@Benchmark
+	public ValueEnvironment<Interval> widening()
+			throws SemanticException {
+		return previous.widening(current);
+	}
+
+	/**
+	 * Checks whether the first environment is less or equal than the second
+	 * one.
+	 * 
+	 * @return the result of the operation
+	 * 
+	 * @throws SemanticException if the operation fails
+	 */
+	@Benchmark
+	public boolean lessOrEqual()
+			throws SemanticException {
+		return previous.lessOrEqual(current);
+	}
+}
@@ -0,0 +1,123 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.ParsingException;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.datastructures.graph.code.NodeList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the queries on the {@link NodeList} of a {@link CFG}, that
+ * fixpoints issue for each node at every iteration. The cfg is the one of a
+ * synthetic IMP procedure made of a sequence of conditionals, so that both
+ * sequential and non-sequential edges are present. Each benchmark queries
+ * all the nodes of the cfg once.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class NodeListBenchmark {
+
+	/**
+	 * The number of conditionals in the procedure.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int conditionals;
+
+	private NodeList<CFG, Statement, Edge> list;
+
+	private List<Statement> nodes;
+
+	/**
+	 * Builds the cfg to query.
+	 *
+	 * @throws ParsingException if the program cannot be parsed
+	 */
+	@Setup
+	public void setup()
+			throws ParsingException {
+		StringBuilder code = new StringBuilder("class bench {\n\tmain(x) {\n");
+		for (int i = 0; i < conditionals; i++) {
+			code.append("\t\tif (x > ").append(i).append(")\n");
+			code.append("\t\t\tx = x + 1;\n");
+			code.append("\t\telse\n");
+			code.append("\t\t\tx = x - 1;\n");
+		}
+		code.append("\t\treturn x;\n\t}\n}\n");
+
+		Program program = IMPFrontend.processText(code.toString());
+		CFG cfg = program.getAllCFGs().iterator().next();
+		list = cfg.getNodeList();
+		nodes = new ArrayList<>(list.getNodes());
+	}
+
+	/**
+	 * Yields the followers of each node.
+	 *
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void followers(
+			Blackhole bh) {
+		for (Statement node : nodes)
+			bh.consume(list.followersOf(node));
+	}
+
+	/**
+	 * Yields the predecessors of each node.
+	 *
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void predecessors(
+			Blackhole bh) {
+		for (Statement node : nodes)
+			bh.consume(list.predecessorsOf(node));
+	}
+
+	/**
+	 * Yields the ingoing edges of each node.
+	 *
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void ingoingEdges(
+			Blackhole bh) {
+		for (Statement node : nodes)
+			bh.consume(list.getIngoingEdges(node));
+	}
+
+	/**
+	 * Checks that each node is part of the list.
+	 *
+	 * @param bh the blackhole consuming the results
+	 */
+	@Benchmark
+	public void containsNode(
+			Blackhole bh) {
+		for (Statement node : nodes)
+			bh.consume(list.containsNode(node));
+	}
+}
@@ -0,0 +1,124 @@
+package it.unive.lisa.benchmarks;
+
+import it.unive.lisa.DefaultConfiguration;
+import it.unive.lisa.LiSA;
+import it.unive.lisa.LiSAReport;
+import it.unive.lisa.analysis.nonRedundantSet.NonRedundantPowersetOfInterval;
+import it.unive.lisa.analysis.nonrelational.value.ValueEnvironment;
+import it.unive.lisa.analysis.numeric.Interval;
+import it.unive.lisa.analysis.numeric.Pentagon;
+import it.unive.lisa.conf.LiSAConfiguration.DescendingPhaseType;
+import it.unive.lisa.imp.IMPFrontend;
+import it.unive.lisa.imp.ParsingException;
+import it.unive.lisa.program.Program;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the interval-based numeric domains, executed on the programs
+ * of the numeric testcases of the {@code lisa-analyses} project with the same
+ * configurations used by their tests. The directory containing the testcases
+ * is read from the {@code lisa.benchmarks.testcases} system property, that is
+ * set by the build script of this project. Since results are stored in a
+ * different file for each version of LiSA, this benchmark can be used to
+ * compare different implementations of the domains.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class NumericAnalysisBenchmark {
+
+	/**
+	 * The domain to use, either {@code interval}, {@code interval-set} or
+	 * {@code pentagons}.
+	 */
+	@Param({ "interval", "interval-set", "pentagons" })
+	public String domain;
+
+	private String path;
+
+	private Program program;
+
+	private DefaultConfiguration conf;
+
+	/**
+	 * Builds the configuration.
+	 * 
+	 * @throws IOException if the working directory cannot be created
+	 */
+	@Setup
+	public void setup()
+			throws IOException {
+		String testcases = System.getProperty("lisa.benchmarks.testcases", "../lisa-analyses/imp-testcases");
+		String file = domain.equals("pentagons") ? "pentagons.imp" : "numeric.imp";
+		path = Paths.get(testcases, "numeric", file).toString();
+
+		conf = new DefaultConfiguration();
+		conf.workdir = Files.createTempDirectory("lisa-bench").toString();
+		switch (domain) {
+		case "interval-set":
+			conf.abstractState = DefaultConfiguration.simpleState(
+					DefaultConfiguration.defaultHeapDomain(),
+					new ValueEnvironment<>(new NonRedundantPowersetOfInterval()),
+					DefaultConfiguration.defaultTypeDomain());
+			conf.descendingPhaseType = DescendingPhaseType.GLB;
+			conf.glbThreshold = 5;
+			break;
+		case "pentagons":
+			conf.abstractState = DefaultConfiguration.simpleState(
+					DefaultConfiguration.defaultHeapDomain(),
+					new Pentagon(),
+					DefaultConfiguration.defaultTypeDomain());
+			break;
+		case "interval":
+		default:
+			conf.abstractState = DefaultConfiguration.simpleState(
+					DefaultConfiguration.defaultHeapDomain(),
+					new ValueEnvironment<>(new Interval()),
+					DefaultConfiguration.defaultTypeDomain());
+			break;
+		}
+	}
+
+	/**
+	 * Parses the program to analyze. This happens before each invocation
+	 * since programs are finalized by the analysis, and parsing time is thus
+	 * excluded from the measurements.
+	 * 
+	 * @throws ParsingException if the program cannot be parsed
+	 */
+	@Setup(Level.Invocation)
+	public void parse()
+			throws ParsingException {
+		program = IMPFrontend.processFile(path);
+	}
+
+	/**
+	 * Runs the analysis.
+	 * 
+	 * @return the report of the analysis
+	 */
+	@Benchmark
+	public LiSAReport analyze() {
+		return new LiSA(conf).run(program);
+	}
+}
@@ -48,6 +48,7 @@ import it.unive.lisa.imp.expressions.IMPAssert;
 import it.unive.lisa.imp.expressions.IMPNewArray;
 import it.unive.lisa.imp.expressions.IMPNewObj;
 import it.unive.lisa.imp.types.ClassType;
+import it.unive.lisa.imp.types.IMPTypeSystem;
 import it.unive.lisa.program.SourceCodeLocation;
 import it.unive.lisa.program.annotations.Annotations;
 import it.unive.lisa.program.cfg.CFG;
@@ -133,6 +134,8 @@ class IMPCodeMemberVisitor extends IMPParserBaseVisitor<Object> {
 
 	private final CodeMemberDescriptor descriptor;
 
+	private final IMPTypeSystem types;
+
 	/**
 	 * Builds the visitor of an IMP method or constructor.
 	 * 
@@ -145,6 +148,7 @@ class IMPCodeMemberVisitor extends IMPParserBaseVisitor<Object> {
 			CodeMemberDescriptor descriptor) {
 		this.file = file;
 		this.descriptor = descriptor;
+		types = (IMPTypeSystem) descriptor.getUnit().getProgram().getTypes();
 		list = new NodeList<>(new SequentialEdge());
 		entrypoints = new HashSet<>();
 		cfs = new LinkedList<>();
@@ -688,7 +692,7 @@ class IMPCodeMemberVisitor extends IMPParserBaseVisitor<Object> {
 			NewReferenceTypeContext ctx) {
 		// null since we do not want to create a new one, class types should
 		// have been created during the preprocessing
-		Type base = ClassType.lookup(ctx.IDENTIFIER().getText(), null);
+		Type base = ClassType.lookup(types, ctx.IDENTIFIER().getText(), null);
 		if (ctx.arrayCreatorRest() != null)
 			return new IMPNewArray(cfg, file, getLine(ctx), getCol(ctx), base, true,
 					visitArrayCreatorRest(ctx.arrayCreatorRest()));
@@ -701,7 +705,7 @@ class IMPCodeMemberVisitor extends IMPParserBaseVisitor<Object> {
 			NewReferenceTypeContext ctx) {
 		// null since we do not want to create a new one, class types should
 		// have been created during the preprocessing
-		Type base = ClassType.lookup(ctx.IDENTIFIER().getText(), null);
+		Type base = ClassType.lookup(types, ctx.IDENTIFIER().getText(), null);
 		if (ctx.arrayCreatorRest() != null)
 			return new IMPNewArray(cfg, file, getLine(ctx), getCol(ctx), base, false,
 					visitArrayCreatorRest(ctx.arrayCreatorRest()));
@@ -28,7 +28,6 @@ import it.unive.lisa.imp.constructs.StringLength;
 import it.unive.lisa.imp.constructs.StringReplace;
 import it.unive.lisa.imp.constructs.StringStartsWith;
 import it.unive.lisa.imp.constructs.StringSubstring;
-import it.unive.lisa.imp.types.ArrayType;
 import it.unive.lisa.imp.types.ClassType;
 import it.unive.lisa.imp.types.IMPTypeSystem;
 import it.unive.lisa.imp.types.InterfaceType;
@@ -61,15 +60,32 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -102,7 +118,7 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 	public static Program processFile(
 			String file)
 			throws ParsingException {
-		return new IMPFrontend(file, false).work(null);
+		return processFile(file, false);
 	}
 
 	/**
@@ -122,7 +138,32 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 			String file,
 			boolean onlyMain)
 			throws ParsingException {
-		return new IMPFrontend(file, onlyMain).work(null);
+		return processFile(file, onlyMain, false);
+	}
+
+	/**
+	 * Parses a file using the {@link IMPLexer} and the {@link IMPParser}
+	 * produced by compiling the ANTLR4 grammar, and yields the {@link Program}
+	 * that corresponds to the one parsed from that file. If
+	 * {@code incremental} is {@code true}, code members are built while the
+	 * file is being parsed, and the parse tree of their bodies is discarded
+	 * right after: this reduces the memory needed to parse large files.
+	 * 
+	 * @param file        the complete path (relative or absolute) of the file
+	 *                        to parse
+	 * @param onlyMain    true iff the only entry point is the main method
+	 * @param incremental true iff code members should be built while parsing
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse the file
+	 */
+	public static Program processFile(
+			String file,
+			boolean onlyMain,
+			boolean incremental)
+			throws ParsingException {
+		return new IMPFrontend(file, onlyMain, incremental, null).work(null);
 	}
 
 	/**
@@ -162,13 +203,268 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 			String text,
 			boolean onlyMain)
 			throws ParsingException {
+		return processText(text, onlyMain, false);
+	}
+
+	/**
+	 * Parses a piece of IMP code using the {@link IMPLexer} and the
+	 * {@link IMPParser} produced by compiling the ANTLR4 grammar, and yields
+	 * the {@link Program} that corresponds to the one parsed from the given
+	 * text. If {@code incremental} is {@code true}, code members are built
+	 * while the text is being parsed, and the parse tree of their bodies is
+	 * discarded right after.
+	 * 
+	 * @param text        the IMP program to parse
+	 * @param onlyMain    true iff the only entry point is the main method
+	 * @param incremental true iff code members should be built while parsing
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse the text
+	 */
+	public static Program processText(
+			String text,
+			boolean onlyMain,
+			boolean incremental)
+			throws ParsingException {
+		return processText(text, onlyMain, incremental, null);
+	}
+
+	/**
+	 * Parses a piece of IMP code as
+	 * {@link #processText(String, boolean, boolean)} does, additionally
+	 * registering on the parser the listener built by {@code listener}. The
+	 * listener is registered after the ones of this frontend, and it is
+	 * notified during every parsing attempt.
+	 * 
+	 * @param text        the IMP program to parse
+	 * @param onlyMain    true iff the only entry point is the main method
+	 * @param incremental true iff code members should be built while parsing
+	 * @param listener    the function building the additional listener from
+	 *                        the parser it is registered on
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse the text
+	 */
+	static Program processText(
+			String text,
+			boolean onlyMain,
+			boolean incremental,
+			Function<IMPParser, ParseTreeListener> listener)
+			throws ParsingException {
 		try (InputStream is = new ByteArrayInputStream(text.getBytes())) {
-			return new IMPFrontend("in-memory.imp", onlyMain).work(is);
+			return new IMPFrontend("in-memory.imp", onlyMain, incremental, listener).work(is);
 		} catch (IOException e) {
 			throw new ParsingException("Exception while parsing the input text", e);
 		}
 	}
 
+	/**
+	 * Parses a set of files using the {@link IMPLexer} and the
+	 * {@link IMPParser} produced by compiling the ANTLR4 grammar, and yields
+	 * the {@link Program} containing all the units defined in those files.
+	 * Invoking this method is equivalent to invoking
+	 * {@link #processFiles(Collection, boolean)} passing {@code false} as
+	 * second parameter.
+	 * 
+	 * @param files the complete paths (relative or absolute) of the files to
+	 *                  parse
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse one of the
+	 *                              files
+	 */
+	public static Program processFiles(
+			Collection<String> files)
+			throws ParsingException {
+		return processFiles(files, false);
+	}
+
+	/**
+	 * Parses a set of files using the {@link IMPLexer} and the
+	 * {@link IMPParser} produced by compiling the ANTLR4 grammar, and yields
+	 * the {@link Program} containing all the units defined in those files.
+	 * Files are processed using as many workers as the available processors.
+	 * Invoking this method is equivalent to invoking
+	 * {@link #processFiles(Collection, boolean, int)} passing
+	 * {@link Runtime#availableProcessors()} as third parameter.
+	 * 
+	 * @param files    the complete paths (relative or absolute) of the files to
+	 *                     parse
+	 * @param onlyMain true iff the only entry points are the main methods
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse one of the
+	 *                              files
+	 */
+	public static Program processFiles(
+			Collection<String> files,
+			boolean onlyMain)
+			throws ParsingException {
+		return processFiles(files, onlyMain, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Parses a set of files using the {@link IMPLexer} and the
+	 * {@link IMPParser} produced by compiling the ANTLR4 grammar, and yields
+	 * the {@link Program} containing all the units defined in those files.
+	 * Invoking this method is equivalent to invoking
+	 * {@link #processFiles(Collection, boolean, int, boolean)} passing
+	 * {@code false} as fourth parameter.
+	 * 
+	 * @param files       the complete paths (relative or absolute) of the files
+	 *                        to parse
+	 * @param onlyMain    true iff the only entry points are the main methods
+	 * @param parallelism the number of workers to use; {@code 1} causes files
+	 *                        to be processed sequentially on the calling
+	 *                        thread
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse one of the
+	 *                              files
+	 */
+	public static Program processFiles(
+			Collection<String> files,
+			boolean onlyMain,
+			int parallelism)
+			throws ParsingException {
+		return processFiles(files, onlyMain, parallelism, false);
+	}
+
+	/**
+	 * Parses a set of files using the {@link IMPLexer} and the
+	 * {@link IMPParser} produced by compiling the ANTLR4 grammar, and yields
+	 * the {@link Program} containing all the units defined in those files.
+	 * Units defined in one file can freely reference (and inherit from) units
+	 * defined in other files.<br>
+	 * <br>
+	 * Files are lexed and parsed on {@code parallelism} workers. All units are
+	 * then registered sequentially, so that their types are known before code
+	 * members get built, and the code members of each file are built on the
+	 * workers. Inheritance and implemented interfaces, together with entry
+	 * points and types, are finally resolved sequentially, once all files have
+	 * been visited. If {@code incremental} is {@code true}, units are instead
+	 * registered by scanning the tokens of each file, and each file is parsed
+	 * on the workers building code members while parsing, discarding the parse
+	 * tree of their bodies right after.
+	 * 
+	 * @param files       the complete paths (relative or absolute) of the files
+	 *                        to parse
+	 * @param onlyMain    true iff the only entry points are the main methods
+	 * @param parallelism the number of workers to use; {@code 1} causes files
+	 *                        to be processed sequentially on the calling
+	 *                        thread
+	 * @param incremental true iff code members should be built while parsing
+	 * 
+	 * @return the resulting {@link Program}
+	 * 
+	 * @throws ParsingException if this frontend is unable to parse one of the
+	 *                              files
+	 */
+	public static Program processFiles(
+			Collection<String> files,
+			boolean onlyMain,
+			int parallelism,
+			boolean incremental)
+			throws ParsingException {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("The number of workers must be positive");
+
+		Program program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		Map<String, Pair<CompilationUnit, String>> inheritanceMap = new ConcurrentHashMap<>();
+		Map<String, Set<Pair<CompilationUnit, String>>> implementedInterfaces = new ConcurrentHashMap<>();
+		List<IMPFrontend> frontends = new ArrayList<>(files.size());
+		for (String file : files)
+			frontends.add(new IMPFrontend(file, onlyMain, incremental, program, inheritanceMap,
+					implementedInterfaces, null));
+
+		int workers = Math.min(parallelism, frontends.size());
+		ExecutorService pool = workers > 1 ? Executors.newFixedThreadPool(workers) : null;
+		try {
+			runPhase(pool, frontends, f -> f.read(null));
+			// units have to be registered before any code member is built,
+			// since types are resolved by name
+			runPhase(null, frontends, IMPFrontend::register);
+			runPhase(pool, frontends, IMPFrontend::build);
+		} finally {
+			if (pool != null)
+				pool.shutdownNow();
+		}
+
+		try {
+			for (IMPFrontend frontend : frontends)
+				frontend.entryPoints.forEach(program::addEntryPoint);
+			resolveHierarchy(inheritanceMap, implementedInterfaces);
+			addRuntime(program);
+		} catch (Exception e) {
+			log.error("Unable to resolve the units defined in " + files, e);
+			throw new ParsingException("Unable to resolve the units defined in " + files, e);
+		}
+
+		return program;
+	}
+
+	/**
+	 * A phase of the parsing process, executed on a single file.
+	 */
+	@FunctionalInterface
+	private interface Phase {
+
+		/**
+		 * Executes this phase on the file handled by the given frontend.
+		 * 
+		 * @param frontend the frontend handling the file
+		 * 
+		 * @throws Exception if something goes wrong while processing the file
+		 */
+		void run(
+				IMPFrontend frontend)
+				throws Exception;
+	}
+
+	private static void runPhase(
+			ExecutorService pool,
+			List<IMPFrontend> frontends,
+			Phase phase)
+			throws ParsingException {
+		if (pool == null) {
+			for (IMPFrontend frontend : frontends)
+				frontend.run(phase);
+			return;
+		}
+
+		List<Future<?>> futures = new ArrayList<>(frontends.size());
+		try {
+			for (IMPFrontend frontend : frontends)
+				futures.add(pool.submit(() -> {
+					frontend.run(phase);
+					return null;
+				}));
+
+			// waiting in submission order: the failure that is propagated
+			// does not depend on the scheduling of the workers
+			for (Future<?> future : futures)
+				future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ParsingException("Interrupted while parsing", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof ParsingException)
+				throw (ParsingException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new ParsingException("Parsing terminated abruptly", cause);
+		} finally {
+			for (Future<?> future : futures)
+				future.cancel(true);
+		}
+	}
+
 	private final String file;
 
 	private final Map<String, Pair<CompilationUnit, String>> inheritanceMap;
@@ -177,71 +473,98 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 
 	private final Program program;
 
+	private final IMPTypeSystem types;
+
+	private final Collection<CFG> entryPoints;
+
 	private CompilationUnit currentUnit;
 
 	private final boolean onlyMain;
 
+	private final boolean incremental;
+
+	private final Map<ParserRuleContext, CFG> built;
+
+	private CommonTokenStream tokens;
+
+	private FileContext tree;
+
+	private final Function<IMPParser, ParseTreeListener> listener;
+
+	private IMPFrontend(
+			String file,
+			boolean onlyMain,
+			boolean incremental,
+			Function<IMPParser, ParseTreeListener> listener) {
+		this(file, onlyMain, incremental, new Program(new IMPFeatures(), new IMPTypeSystem()), new HashMap<>(),
+				new HashMap<>(), listener);
+	}
+
 	private IMPFrontend(
 			String file,
-			boolean onlyMain) {
+			boolean onlyMain,
+			boolean incremental,
+			Program program,
+			Map<String, Pair<CompilationUnit, String>> inheritanceMap,
+			Map<String, Set<Pair<CompilationUnit, String>>> implementedInterfaces,
+			Function<IMPParser, ParseTreeListener> listener) {
 		this.file = file;
-		inheritanceMap = new HashMap<>();
-		implementedInterfaces = new HashMap<>();
-		program = new Program(new IMPFeatures(), new IMPTypeSystem());
+		this.inheritanceMap = inheritanceMap;
+		this.implementedInterfaces = implementedInterfaces;
+		this.program = program;
+		this.types = (IMPTypeSystem) program.getTypes();
 		this.onlyMain = onlyMain;
+		this.incremental = incremental;
+		this.listener = listener;
+		entryPoints = new LinkedList<>();
+		built = new IdentityHashMap<>();
 	}
 
 	private Program work(
 			InputStream inputStream)
 			throws ParsingException {
-		// first remove all cached types from previous executions
-		ClassType.clearAll();
-		ArrayType.clearAll();
-		InterfaceType.clearAll();
+		run(f -> {
+			f.read(inputStream);
+			f.register();
+			f.build();
+			f.entryPoints.forEach(f.program::addEntryPoint);
+			resolveHierarchy(f.inheritanceMap, f.implementedInterfaces);
+			addRuntime(f.program);
+		});
+		return program;
+	}
+
+	private void read(
+			InputStream inputStream)
+			throws IOException {
+		tokens = lex(inputStream);
+		if (incremental)
+			// lexing everything now, units will be registered from the tokens
+			tokens.fill();
+		else
+			tree = parse(tokens);
+	}
 
+	private void register() {
+		if (incremental)
+			registerUnits(tokens);
+		else
+			registerUnits(tree);
+	}
+
+	private void build() {
+		if (incremental)
+			tree = parse(tokens);
+		tokens = null;
+		populateUnits(tree);
+		tree = null;
+	}
+
+	private void run(
+			Phase phase)
+			throws ParsingException {
 		try {
-			log.info("Reading file... " + file);
-			IMPLexer lexer;
-			if (inputStream == null)
-				try (InputStream stream = new FileInputStream(file)) {
-					lexer = new IMPLexer(CharStreams.fromStream(stream, StandardCharsets.UTF_8));
-				}
-			else
-				lexer = new IMPLexer(CharStreams.fromStream(inputStream, StandardCharsets.UTF_8));
-
-			IMPParser parser = new IMPParser(new CommonTokenStream(lexer));
-
-			// this is needed to get an exception on malformed input
-			// otherwise an error is dumped to stderr and the partial
-			// parsing result is returned
-			parser.setErrorHandler(new BailErrorStrategy());
-			parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-
-			Program p = visitFile(parser.file());
-
-			// add constructs
-			SourceCodeLocation unknownLocation = new SourceCodeLocation("imp-runtime", 0, 0);
-			ClassUnit str = new ClassUnit(unknownLocation, program, "string", true);
-			str.addInstanceCodeMember(new StringContains(unknownLocation, str));
-			str.addInstanceCodeMember(new StringEndsWith(unknownLocation, str));
-			str.addInstanceCodeMember(new StringEquals(unknownLocation, str));
-			str.addInstanceCodeMember(new StringIndexOf(unknownLocation, str));
-			str.addInstanceCodeMember(new StringLength(unknownLocation, str));
-			str.addInstanceCodeMember(new StringReplace(unknownLocation, str));
-			str.addInstanceCodeMember(new StringStartsWith(unknownLocation, str));
-			str.addInstanceCodeMember(new StringSubstring(unknownLocation, str));
-			str.addInstanceCodeMember(new ArrayLength(unknownLocation, program));
-
-			// register all possible types
-			p.getTypes().registerType(BoolType.INSTANCE);
-			p.getTypes().registerType(Float32Type.INSTANCE);
-			p.getTypes().registerType(Int32Type.INSTANCE);
-			p.getTypes().registerType(StringType.INSTANCE);
-			ClassType.all().forEach(t -> p.getTypes().registerType(t));
-			ArrayType.all().forEach(t -> p.getTypes().registerType(t));
-			InterfaceType.all().forEach(t -> p.getTypes().registerType(t));
-
-			return p;
+			phase.run(this);
 		} catch (FileNotFoundException e) {
 			log.fatal(file + " does not exist", e);
 			throw new ParsingException("Target file '" + file + "' does not exist", e);
@@ -263,37 +586,77 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 		}
 	}
 
-	@Override
-	public Program visitFile(
-			FileContext ctx) {
-		for (UnitContext unit : ctx.unit()) {
-			// we add all the units first, so that type resolution an work
-			SourceCodeLocation loc = new SourceCodeLocation(file, getLine(ctx), getCol(ctx));
-			if (unit.classUnit() != null) {
-				ClassUnit u;
-				String name = unit.classUnit().name.getText();
-				if (unit.classUnit().ABSTRACT() == null)
-					u = new ClassUnit(loc, program, name, false);
-				else
-					u = new AbstractClassUnit(loc, program, name, false);
-				program.addUnit(u);
-				ClassType.lookup(u.getName(), u);
-
-				implementedInterfaces.put(name, new HashSet<>());
-			} else if (unit.interfaceUnit() != null) {
-				InterfaceUnit i = new InterfaceUnit(loc, program, unit.interfaceUnit().name.getText(), false);
-				program.addUnit(i);
-				InterfaceType.lookup(i.getName(), i);
-
-				implementedInterfaces.put(unit.interfaceUnit().name.getText(), new HashSet<>());
+	private CommonTokenStream lex(
+			InputStream inputStream)
+			throws IOException {
+		log.info("Reading file... " + file);
+		IMPLexer lexer;
+		if (inputStream == null)
+			try (InputStream stream = new FileInputStream(file)) {
+				lexer = new IMPLexer(CharStreams.fromStream(stream, StandardCharsets.UTF_8));
 			}
+		else
+			lexer = new IMPLexer(CharStreams.fromStream(inputStream, StandardCharsets.UTF_8));
+
+		return new CommonTokenStream(lexer);
+	}
 
+	private FileContext parse(
+			CommonTokenStream tokens) {
+		IMPParser parser = new IMPParser(tokens);
+
+		// this is needed to get an exception on malformed input
+		// otherwise an error is dumped to stderr and the partial
+		// parsing result is returned
+		parser.setErrorHandler(new BailErrorStrategy());
+		if (incremental)
+			parser.addParseListener(new CodeMemberBuilder());
+		if (listener != null)
+			parser.addParseListener(listener.apply(parser));
+
+		// SLL prediction is much faster, but it might fail on inputs that
+		// are well-formed but need full context to be disambiguated: in that
+		// case, parsing is repeated with full LL prediction, that only fails
+		// if the input is really malformed
+		parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+		try {
+			return parser.file();
+		} catch (ParseCancellationException e) {
+			log.debug("SLL parsing of " + file + " failed, retrying with LL prediction");
+			built.clear();
+			parser.reset();
+			parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+			return parser.file();
 		}
+	}
 
-		for (UnitContext unit : ctx.unit())
-			// now we populate each unit
-			visitUnit(unit);
+	private static void addRuntime(
+			Program program) {
+		// add constructs
+		SourceCodeLocation unknownLocation = new SourceCodeLocation("imp-runtime", 0, 0);
+		ClassUnit str = new ClassUnit(unknownLocation, program, "string", true);
+		str.addInstanceCodeMember(new StringContains(unknownLocation, str));
+		str.addInstanceCodeMember(new StringEndsWith(unknownLocation, str));
+		str.addInstanceCodeMember(new StringEquals(unknownLocation, str));
+		str.addInstanceCodeMember(new StringIndexOf(unknownLocation, str));
+		str.addInstanceCodeMember(new StringLength(unknownLocation, str));
+		str.addInstanceCodeMember(new StringReplace(unknownLocation, str));
+		str.addInstanceCodeMember(new StringStartsWith(unknownLocation, str));
+		str.addInstanceCodeMember(new StringSubstring(unknownLocation, str));
+		str.addInstanceCodeMember(new ArrayLength(unknownLocation, program));
+
+		// register all possible types
+		IMPTypeSystem types = (IMPTypeSystem) program.getTypes();
+		types.registerType(BoolType.INSTANCE);
+		types.registerType(Float32Type.INSTANCE);
+		types.registerType(Int32Type.INSTANCE);
+		types.registerType(StringType.INSTANCE);
+		types.registerAllTypes();
+	}
 
+	private static void resolveHierarchy(
+			Map<String, Pair<CompilationUnit, String>> inheritanceMap,
+			Map<String, Set<Pair<CompilationUnit, String>>> implementedInterfaces) {
 		// adding super units
 		for (Pair<CompilationUnit, String> unit : inheritanceMap.values())
 			if (unit.getRight() != null)
@@ -307,10 +670,149 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 					for (Pair<CompilationUnit, String> i : is)
 						unit.getLeft().addAncestor(i.getLeft());
 				}
+	}
 
+	@Override
+	public Program visitFile(
+			FileContext ctx) {
+		registerUnits(ctx);
+		populateUnits(ctx);
+		entryPoints.forEach(program::addEntryPoint);
+		resolveHierarchy(inheritanceMap, implementedInterfaces);
 		return program;
 	}
 
+	private void registerUnits(
+			FileContext ctx) {
+		for (UnitContext unit : ctx.unit()) {
+			// we add all the units first, so that type resolution an work
+			SourceCodeLocation loc = new SourceCodeLocation(file, getLine(ctx), getCol(ctx));
+			if (unit.classUnit() != null)
+				registerUnit(loc, unit.classUnit().name.getText(), true, unit.classUnit().ABSTRACT() != null);
+			else if (unit.interfaceUnit() != null)
+				registerUnit(loc, unit.interfaceUnit().name.getText(), false, false);
+		}
+	}
+
+	private void registerUnits(
+			CommonTokenStream tokens) {
+		// we register the units before the parse tree exists, so that code
+		// members can be built while parsing: the location of each unit is
+		// the one that the whole file would have
+		List<Token> visible = new ArrayList<>();
+		for (Token tok : tokens.getTokens())
+			if (tok.getChannel() == Token.DEFAULT_CHANNEL && tok.getType() != Token.EOF)
+				visible.add(tok);
+		if (visible.isEmpty())
+			return;
+
+		SourceCodeLocation loc = new SourceCodeLocation(file, getLine(visible.get(0)),
+				getCol(visible.get(visible.size() - 1)));
+		for (int i = 0; i < visible.size(); i++) {
+			int type = visible.get(i).getType();
+			if (type != IMPLexer.CLASS && type != IMPLexer.INTERFACE)
+				continue;
+
+			boolean isAbstract = i > 0 && visible.get(i - 1).getType() == IMPLexer.ABSTRACT;
+			// unitName: IDENTIFIER (DOT IDENTIFIER)*
+			StringBuilder name = new StringBuilder(visible.get(++i).getText());
+			while (i + 2 < visible.size() && visible.get(i + 1).getType() == IMPLexer.DOT)
+				name.append(visible.get(++i).getText()).append(visible.get(++i).getText());
+
+			registerUnit(loc, name.toString(), type == IMPLexer.CLASS, isAbstract);
+		}
+	}
+
+	private void registerUnit(
+			SourceCodeLocation loc,
+			String name,
+			boolean isClass,
+			boolean isAbstract) {
+		CompilationUnit u;
+		if (!isClass)
+			u = new InterfaceUnit(loc, program, name, false);
+		else if (!isAbstract)
+			u = new ClassUnit(loc, program, name, false);
+		else
+			u = new AbstractClassUnit(loc, program, name, false);
+
+		if (!program.addUnit(u))
+			throw new IMPSyntaxException("Duplicate unit: " + name);
+
+		if (isClass)
+			ClassType.lookup(types, name, u);
+		else
+			InterfaceType.lookup(types, name, (InterfaceUnit) u);
+
+		implementedInterfaces.put(name, new HashSet<>());
+	}
+
+	/**
+	 * A {@link ParseTreeListener} that builds the {@link CFG} of each method
+	 * and constructor as soon as its declaration has been parsed. The parse
+	 * tree of the body is then detached from the declaration, so that it can
+	 * be reclaimed before the rest of the file is parsed.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	private class CodeMemberBuilder implements ParseTreeListener {
+
+		@Override
+		public void visitTerminal(
+				TerminalNode node) {
+		}
+
+		@Override
+		public void visitErrorNode(
+				ErrorNode node) {
+		}
+
+		@Override
+		public void enterEveryRule(
+				ParserRuleContext ctx) {
+		}
+
+		@Override
+		public void exitEveryRule(
+				ParserRuleContext ctx) {
+			if (ctx.exception != null)
+				// rules are exited also when the parser bails out: we let
+				// the error propagate without building anything
+				return;
+
+			if (ctx instanceof MethodDeclarationContext) {
+				MethodDeclarationContext decl = (MethodDeclarationContext) ctx;
+				currentUnit = enclosingUnit(decl);
+				built.put(decl, visitMethodDeclaration(decl));
+				decl.children.remove(decl.code);
+				decl.code = null;
+			} else if (ctx instanceof ConstructorDeclarationContext) {
+				ConstructorDeclarationContext decl = (ConstructorDeclarationContext) ctx;
+				currentUnit = enclosingUnit(decl);
+				built.put(decl, visitConstructorDeclaration(decl));
+				decl.children.remove(decl.code);
+				decl.code = null;
+			}
+		}
+
+		private CompilationUnit enclosingUnit(
+				ParserRuleContext ctx) {
+			for (ParserRuleContext parent = ctx.getParent(); parent != null; parent = parent.getParent())
+				if (parent instanceof ClassUnitContext)
+					return (CompilationUnit) program.getUnit(((ClassUnitContext) parent).name.getText());
+				else if (parent instanceof InterfaceUnitContext)
+					return (CompilationUnit) program.getUnit(((InterfaceUnitContext) parent).name.getText());
+			throw new IMPSyntaxException("Code member declared outside of a unit");
+		}
+	}
+
+	private void populateUnits(
+			FileContext ctx) {
+		for (UnitContext unit : ctx.unit())
+			// now we populate each unit
+			visitUnit(unit);
+	}
+
 	@Override
 	public Unit visitUnit(
 			UnitContext ctx) {
@@ -387,7 +889,7 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 							&& cm.getDescriptor().matchesSignature(c.getDescriptor())))
 				throw new IMPSyntaxException("Duplicate code member: " + cm);
 			if (isEntryPoint(cm))
-				program.addEntryPoint((CFG) cm);
+				entryPoints.add((CFG) cm);
 		}
 
 		for (ConstantDeclarationContext decl : ctx.classMemberDeclarations().constantDeclaration())
@@ -436,6 +938,11 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 	@Override
 	public CFG visitConstructorDeclaration(
 			ConstructorDeclarationContext ctx) {
+		CFG cfg = built.remove(ctx);
+		if (cfg != null)
+			// already built while parsing
+			return cfg;
+
 		CodeMemberDescriptor descr = mkDescriptor(ctx);
 		if (!currentUnit.getName().equals(descr.getName()))
 			throw new IMPSyntaxException("Constructor does not have the same name as its containing class");
@@ -445,6 +952,11 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 	@Override
 	public CFG visitMethodDeclaration(
 			MethodDeclarationContext ctx) {
+		CFG cfg = built.remove(ctx);
+		if (cfg != null)
+			// already built while parsing
+			return cfg;
+
 		CodeMemberDescriptor descr = mkDescriptor(ctx);
 		return new IMPCodeMemberVisitor(file, descr).visitCodeMember(ctx.block());
 	}
@@ -502,7 +1014,7 @@ public class IMPFrontend extends IMPParserBaseVisitor<Object> {
 			FormalsContext ctx) {
 		Parameter[] formals = new Parameter[ctx.formal().size() + 1];
 		formals[0] = new Parameter(new SourceCodeLocation(file, getLine(ctx), getCol(ctx)), "this",
-				new ReferenceType(ClassType.lookup(this.currentUnit.getName(), this.currentUnit)));
+				new ReferenceType(ClassType.lookup(types, this.currentUnit.getName(), this.currentUnit)));
 		int i = 1;
 		for (FormalContext f : ctx.formal())
 			formals[i++] = visitFormal(f);
@@ -6,6 +6,7 @@ import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.StatementStore;
 import it.unive.lisa.analysis.lattices.ExpressionSet;
 import it.unive.lisa.imp.types.ArrayType;
+import it.unive.lisa.imp.types.IMPTypeSystem;
 import it.unive.lisa.interprocedural.InterproceduralAnalysis;
 import it.unive.lisa.program.SourceCodeLocation;
 import it.unive.lisa.program.cfg.CFG;
@@ -57,7 +58,9 @@ public class IMPNewArray extends NaryExpression {
 			boolean staticallyAllocated,
 			Expression[] dimensions) {
 		super(cfg, new SourceCodeLocation(sourceFile, line, col), (staticallyAllocated ? "" : "new ") + type + "[]",
-				ArrayType.lookup(type, dimensions.length), dimensions);
+				ArrayType.lookup((IMPTypeSystem) cfg.getDescriptor().getUnit().getProgram().getTypes(), type,
+						dimensions.length),
+				dimensions);
 		if (dimensions.length != 1)
 			throw new UnsupportedOperationException("Multidimensional arrays are not yet supported");
 		this.staticallyAllocated = staticallyAllocated;
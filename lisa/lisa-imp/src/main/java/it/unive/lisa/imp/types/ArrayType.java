@@ -23,8 +23,6 @@ import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.Untyped;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -32,36 +30,32 @@ import org.apache.commons.lang3.tuple.Pair;
  * A type representing an IMP array defined in an IMP program. ArrayTypes are
  * instances of {@link it.unive.lisa.type.ArrayType}, have a {@link Type} and a
  * dimension. To ensure uniqueness of ArrayType objects,
- * {@link #lookup(Type, int)} must be used to retrieve existing instances (or
- * automatically create one if no matching instance exists).
+ * {@link #lookup(IMPTypeSystem, Type, int)} must be used to retrieve existing
+ * instances (or automatically create one if no matching instance exists).
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
 public final class ArrayType implements it.unive.lisa.type.ArrayType {
 
-	private static final Map<Pair<Type, Integer>, ArrayType> types = new HashMap<>();
-
 	/**
-	 * Clears the cache of {@link ArrayType}s created up to now.
-	 */
-	public static void clearAll() {
-		types.clear();
-	}
-
-	/**
-	 * Yields all the {@link ArrayType}s defined up to now.
+	 * Yields all the {@link ArrayType}s defined up to now in the given type
+	 * system.
+	 * 
+	 * @param types the type system owning the array types
 	 * 
 	 * @return the collection of all the array types
 	 */
-	public static Collection<ArrayType> all() {
-		return types.values();
+	public static Collection<ArrayType> all(
+			IMPTypeSystem types) {
+		return types.getArrayTypes().values();
 	}
 
 	/**
 	 * Yields a unique instance (either an existing one or a fresh one) of
 	 * {@link ArrayType} representing an array with the given {@code base} type
-	 * and the given {@code dimensions}.
+	 * and the given {@code dimensions}, within the given type system.
 	 * 
+	 * @param types      the type system owning the array types
 	 * @param base       the base type of the array
 	 * @param dimensions the number of dimensions of this array
 	 * 
@@ -69,18 +63,24 @@ public final class ArrayType implements it.unive.lisa.type.ArrayType {
 	 *             with the given name
 	 */
 	public static ArrayType lookup(
+			IMPTypeSystem types,
 			Type base,
 			int dimensions) {
-		return types.computeIfAbsent(Pair.of(base, dimensions), x -> new ArrayType(base, dimensions));
+		return types.getArrayTypes().computeIfAbsent(Pair.of(base, dimensions),
+				x -> new ArrayType(types, base, dimensions));
 	}
 
+	private final IMPTypeSystem types;
+
 	private final Type base;
 
 	private final int dimensions;
 
 	private ArrayType(
+			IMPTypeSystem types,
 			Type base,
 			int dimensions) {
+		this.types = types;
 		this.base = base;
 		if (dimensions < 1)
 			throw new IllegalArgumentException("Cannot create an array type with less then 1 dimensions");
@@ -150,7 +150,7 @@ public final class ArrayType implements it.unive.lisa.type.ArrayType {
 	public Type getInnerType() {
 		if (dimensions == 1)
 			return base;
-		return lookup(base, dimensions - 1);
+		return lookup(types, base, dimensions - 1);
 	}
 
 	@Override
@@ -11,9 +11,7 @@ import it.unive.lisa.type.Untyped;
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -21,57 +19,59 @@ import java.util.Set;
  * A type representing an IMP class defined in an IMP program. ClassTypes are
  * instances of {@link PointerType} and {@link UnitType}, and are identified by
  * their name. To ensure uniqueness of ClassType objects,
- * {@link #lookup(String, CompilationUnit)} must be used to retrieve existing
- * instances (or automatically create one if no matching instance exists).
+ * {@link #lookup(IMPTypeSystem, String, CompilationUnit)} must be used to
+ * retrieve existing instances (or automatically create one if no matching
+ * instance exists).
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
 public final class ClassType implements InMemoryType, UnitType {
 
-	private static final Map<String, ClassType> types = new HashMap<>();
-
 	/**
-	 * Clears the cache of {@link ClassType}s created up to now.
-	 */
-	public static void clearAll() {
-		types.clear();
-	}
-
-	/**
-	 * Yields all the {@link ClassType}s defined up to now.
+	 * Yields all the {@link ClassType}s defined up to now in the given type
+	 * system.
+	 * 
+	 * @param types the type system owning the class types
 	 * 
 	 * @return the collection of all the class types
 	 */
-	public static Collection<ClassType> all() {
-		return types.values();
+	public static Collection<ClassType> all(
+			IMPTypeSystem types) {
+		return types.getClassTypes().values();
 	}
 
 	/**
 	 * Yields a unique instance (either an existing one or a fresh one) of
 	 * {@link ClassType} representing a class with the given {@code name},
-	 * representing the given {@code unit}.
+	 * representing the given {@code unit}, within the given type system.
 	 * 
-	 * @param name the name of the class
-	 * @param unit the unit underlying this type
+	 * @param types the type system owning the class types
+	 * @param name  the name of the class
+	 * @param unit  the unit underlying this type
 	 * 
 	 * @return the unique instance of {@link ClassType} representing the class
 	 *             with the given name
 	 */
 	public static ClassType lookup(
+			IMPTypeSystem types,
 			String name,
 			CompilationUnit unit) {
-		return types.computeIfAbsent(name, x -> new ClassType(name, unit));
+		return types.getClassTypes().computeIfAbsent(name, x -> new ClassType(types, name, unit));
 	}
 
+	private final IMPTypeSystem types;
+
 	private final String name;
 
 	private final CompilationUnit unit;
 
 	private ClassType(
+			IMPTypeSystem types,
 			String name,
 			CompilationUnit unit) {
 		Objects.requireNonNull(name, "The name of a class type cannot be null");
 		Objects.requireNonNull(unit, "The unit of a class type cannot be null");
+		this.types = types;
 		this.name = name;
 		this.unit = unit;
 	}
@@ -136,7 +136,7 @@ public final class ClassType implements InMemoryType, UnitType {
 				return current;
 
 			// null since we do not want to create new types here
-			current.unit.getImmediateAncestors().forEach(u -> ws.push(lookup(u.getName(), null)));
+			current.unit.getImmediateAncestors().forEach(u -> ws.push(lookup(types, u.getName(), null)));
 		}
 
 		return Untyped.INSTANCE;
@@ -184,7 +184,7 @@ public final class ClassType implements InMemoryType, UnitType {
 			TypeSystem types) {
 		Set<Type> instances = new HashSet<>();
 		for (Unit in : unit.getInstances())
-			instances.add(lookup(in.getName(), null));
+			instances.add(lookup(this.types, in.getName(), null));
 		return instances;
 	}
 }
@@ -7,14 +7,67 @@ import it.unive.lisa.type.BooleanType;
 import it.unive.lisa.type.NumericType;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.tuple.Pair;
 
 /**
- * THe {@link TypeSystem} for the IMP language.
+ * THe {@link TypeSystem} for the IMP language. Each instance also owns the
+ * registries of the {@link ClassType}s, {@link InterfaceType}s and
+ * {@link ArrayType}s created for the program it belongs to, so that programs
+ * parsed concurrently do not share (or reset) each other's types.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
 public class IMPTypeSystem extends TypeSystem {
 
+	private final Map<String, ClassType> classTypes = new ConcurrentHashMap<>();
+
+	private final Map<String, InterfaceType> interfaceTypes = new ConcurrentHashMap<>();
+
+	private final Map<Pair<Type, Integer>, ArrayType> arrayTypes = new ConcurrentHashMap<>();
+
+	/**
+	 * Yields the registry of the {@link ClassType}s created for this type
+	 * system, indexed by name.
+	 * 
+	 * @return the registry of class types
+	 */
+	Map<String, ClassType> getClassTypes() {
+		return classTypes;
+	}
+
+	/**
+	 * Yields the registry of the {@link InterfaceType}s created for this type
+	 * system, indexed by name.
+	 * 
+	 * @return the registry of interface types
+	 */
+	Map<String, InterfaceType> getInterfaceTypes() {
+		return interfaceTypes;
+	}
+
+	/**
+	 * Yields the registry of the {@link ArrayType}s created for this type
+	 * system, indexed by base type and dimensions.
+	 * 
+	 * @return the registry of array types
+	 */
+	Map<Pair<Type, Integer>, ArrayType> getArrayTypes() {
+		return arrayTypes;
+	}
+
+	/**
+	 * Registers (through {@link #registerType(Type)}) all the
+	 * {@link ClassType}s, {@link InterfaceType}s and {@link ArrayType}s created
+	 * for this type system up to now.
+	 */
+	public void registerAllTypes() {
+		classTypes.values().forEach(this::registerType);
+		arrayTypes.values().forEach(this::registerType);
+		interfaceTypes.values().forEach(this::registerType);
+	}
+
 	@Override
 	public BooleanType getBooleanType() {
 		return BoolType.INSTANCE;
@@ -9,9 +9,7 @@ import it.unive.lisa.type.Untyped;
 import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -19,57 +17,59 @@ import java.util.Set;
  * A type representing an IMP interface defined in an IMP program. Interface
  * type are instances of {@link UnitType}, and are identified by their name. To
  * ensure uniqueness of InterfaceType objects,
- * {@link #lookup(String, InterfaceUnit)} must be used to retrieve existing
- * instances (or automatically create one if no matching instance exists).
+ * {@link #lookup(IMPTypeSystem, String, InterfaceUnit)} must be used to
+ * retrieve existing instances (or automatically create one if no matching
+ * instance exists).
  * 
  * @author <a href="mailto:vincenzo.arceri@unipr.it">Vincenzo Arceri</a>
  */
 public final class InterfaceType implements UnitType {
 
-	private static final Map<String, InterfaceType> types = new HashMap<>();
-
 	/**
-	 * Clears the cache of {@link InterfaceType}s created up to now.
-	 */
-	public static void clearAll() {
-		types.clear();
-	}
-
-	/**
-	 * Yields all the {@link InterfaceType}s defined up to now.
+	 * Yields all the {@link InterfaceType}s defined up to now in the given type
+	 * system.
+	 * 
+	 * @param types the type system owning the interface types
 	 * 
 	 * @return the collection of all the interface types
 	 */
-	public static Collection<InterfaceType> all() {
-		return types.values();
+	public static Collection<InterfaceType> all(
+			IMPTypeSystem types) {
+		return types.getInterfaceTypes().values();
 	}
 
 	/**
 	 * Yields a unique instance (either an existing one or a fresh one) of
-	 * {@link InterfaceType} representing an interface with the given
-	 * {@code name}, representing the given {@code unit}.
+	 * {@link InterfaceType} representing an interface with the given {@code name},
+	 * representing the given {@code unit}, within the given type system.
 	 * 
-	 * @param name the name of the interface
-	 * @param unit the unit underlying this type
+	 * @param types the type system owning the interface types
+	 * @param name  the name of the interface
+	 * @param unit  the unit underlying this type
 	 * 
-	 * @return the unique instance of {@link InterfaceType} representing the
-	 *             interface with the given name
+	 * @return the unique instance of {@link InterfaceType} representing the interface
+	 *             with the given name
 	 */
 	public static InterfaceType lookup(
+			IMPTypeSystem types,
 			String name,
 			InterfaceUnit unit) {
-		return types.computeIfAbsent(name, x -> new InterfaceType(name, unit));
+		return types.getInterfaceTypes().computeIfAbsent(name, x -> new InterfaceType(types, name, unit));
 	}
 
+	private final IMPTypeSystem types;
+
 	private final String name;
 
 	private final InterfaceUnit unit;
 
 	private InterfaceType(
+			IMPTypeSystem types,
 			String name,
 			InterfaceUnit unit) {
 		Objects.requireNonNull(name, "The name of an interface type cannot be null");
 		Objects.requireNonNull(unit, "The unit of a interface type cannot be null");
+		this.types = types;
 		this.name = name;
 		this.unit = unit;
 	}
@@ -123,7 +123,7 @@ public final class InterfaceType implements UnitType {
 				return current;
 
 			// null since we do not want to create new types here
-			current.unit.getImmediateAncestors().forEach(u -> ws.push(lookup(u.getName(), null)));
+			current.unit.getImmediateAncestors().forEach(u -> ws.push(lookup(types, u.getName(), null)));
 		}
 
 		return Untyped.INSTANCE;
@@ -172,9 +172,9 @@ public final class InterfaceType implements UnitType {
 		Set<Type> instances = new HashSet<>();
 		for (Unit un : unit.getInstances())
 			if (un instanceof InterfaceUnit)
-				instances.add(lookup(un.getName(), null));
+				instances.add(lookup(this.types, un.getName(), null));
 			else
-				instances.add(ClassType.lookup(un.getName(), null));
+				instances.add(ClassType.lookup(this.types, un.getName(), null));
 		return instances;
 	}
 }
@@ -0,0 +1,66 @@
+package it.unive.lisa;
+
+import it.unive.lisa.program.Program;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tracks the analyses executed through {@link LiSA#run(Program...)}, and lets
+ * components that keep static data across analyses (e.g., caches shared by
+ * all the instances of a domain) release it once no analysis is running. This
+ * scopes such data to the analyses that use it: data computed by an analysis
+ * is dropped when it ends, unless other analyses are running concurrently in
+ * the same virtual machine, in which case it is dropped when the last of them
+ * ends.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public final class AnalysisLifecycle {
+
+	private static final List<Runnable> CLEANUPS = new CopyOnWriteArrayList<>();
+
+	private static int running = 0;
+
+	private AnalysisLifecycle() {
+		// this class is just a static holder
+	}
+
+	/**
+	 * Registers an action to execute every time that the last running analysis
+	 * ends. Actions are executed in registration order, and they should be
+	 * fast and never fail, as they are executed while holding the lock that
+	 * prevents other analyses from starting.
+	 *
+	 * @param cleanup the action to execute
+	 */
+	public static void registerCleanup(
+			Runnable cleanup) {
+		CLEANUPS.add(cleanup);
+	}
+
+	/**
+	 * Yields the number of analyses that are currently running.
+	 *
+	 * @return the number of running analyses
+	 */
+	public static synchronized int getRunningAnalyses() {
+		return running;
+	}
+
+	/**
+	 * Signals that an analysis has started.
+	 */
+	static synchronized void analysisStarted() {
+		running++;
+	}
+
+	/**
+	 * Signals that an analysis has ended, executing the registered cleanups if
+	 * no other analysis is running.
+	 */
+	static synchronized void analysisEnded() {
+		if (--running == 0)
+			for (Runnable cleanup : CLEANUPS)
+				cleanup.run();
+	}
+}
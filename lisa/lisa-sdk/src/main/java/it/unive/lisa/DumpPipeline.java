@@ -0,0 +1,219 @@
+package it.unive.lisa;
+
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.logging.Counter;
+import it.unive.lisa.logging.IterationLogger;
+import it.unive.lisa.outputs.serializableGraph.SerializableGraph;
+import it.unive.lisa.util.file.FileManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pipeline for dumping {@link SerializableGraph}s to files. Each element to
+ * dump goes through two stages: the construction of its graph, and the
+ * serialization of the graph to the output files. If the pipeline is parallel,
+ * the two stages are executed by different workers connected by a bounded
+ * queue, so that graphs are built while other ones are being written, and the
+ * number of graphs that are kept in memory at the same time is limited.
+ * Otherwise, elements are processed one at a time on the calling thread.<br>
+ * <br>
+ * Elements that would be dumped to files with the same name, after the name
+ * has been cleaned through {@link FileManager#cleanGraphFileName(String)}, are
+ * dumped only once, using the last of them in iteration order: this yields the
+ * same files that a sequential dump would produce, where later files overwrite
+ * earlier ones. If more than one element fails, the exception of the first one (in
+ * iteration order) is the one that is propagated.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+final class DumpPipeline {
+
+	/**
+	 * The number of graphs that can wait in the queue for each writer.
+	 */
+	private static final int QUEUE_SLOTS_PER_WRITER = 4;
+
+	/**
+	 * The consumer of the graphs built by a {@link DumpPipeline}.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 * 
+	 * @param <T> the type of the elements being dumped
+	 */
+	@FunctionalInterface
+	interface GraphSink<T> {
+
+		/**
+		 * Dumps the graph built for the given element.
+		 * 
+		 * @param element  the element
+		 * @param filename the cleaned name of the file, without extension
+		 * @param graph    the graph to dump
+		 */
+		void dump(
+				T element,
+				String filename,
+				SerializableGraph graph);
+	}
+
+	private final int parallelism;
+
+	/**
+	 * Builds the pipeline.
+	 * 
+	 * @param parallelism the number of workers to use; values lower than
+	 *                        {@code 2} cause elements to be dumped
+	 *                        sequentially on the calling thread (see
+	 *                        {@link LiSAConfiguration#dumpParallelism})
+	 */
+	DumpPipeline(
+			int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Dumps all the given elements, logging the progress at level
+	 * {@link Level#INFO} on the given logger.
+	 * 
+	 * @param <T>      the type of the elements
+	 * @param logger   the logger to log onto
+	 * @param elements the elements to dump
+	 * @param message  the message to display at each update
+	 * @param objects  the objects being processed
+	 * @param namer    the function computing the name of the file of each
+	 *                     element
+	 * @param builder  the function building the graph of each element
+	 * @param sink     the consumer writing graphs to files
+	 * 
+	 * @throws AnalysisExecutionException if the execution is interrupted
+	 */
+	<T> void dump(
+			Logger logger,
+			Collection<T> elements,
+			String message,
+			String objects,
+			Function<T, String> namer,
+			Function<T, SerializableGraph> builder,
+			GraphSink<T> sink) {
+		Map<String, T> jobs = new LinkedHashMap<>();
+		for (T element : elements)
+			jobs.put(FileManager.cleanGraphFileName(namer.apply(element)), element);
+
+		if (parallelism < 2 || jobs.size() < 2) {
+			for (Entry<String, T> job : IterationLogger.iterate(logger, jobs.entrySet(), message, objects))
+				sink.dump(job.getValue(), job.getKey(), builder.apply(job.getValue()));
+			return;
+		}
+
+		List<Entry<String, T>> list = new ArrayList<>(jobs.entrySet());
+		int builders = Math.max(1, parallelism / 2);
+		int writers = Math.max(1, parallelism - builders);
+		BlockingQueue<Job<T>> queue = new ArrayBlockingQueue<>(writers * QUEUE_SLOTS_PER_WRITER);
+		Job<T> poison = new Job<>(-1, null, null);
+		AtomicInteger next = new AtomicInteger();
+		AtomicBoolean failed = new AtomicBoolean();
+		// each slot is written by a single worker, and read only after all
+		// workers have terminated
+		Throwable[] failures = new Throwable[list.size()];
+
+		Counter counter = new Counter(logger, Level.INFO, message, objects, list.size(), 0.025);
+		ExecutorService pool = Executors.newFixedThreadPool(builders + writers);
+		List<Future<?>> building = new ArrayList<>(builders);
+		List<Future<?>> writing = new ArrayList<>(writers);
+		counter.on();
+		try {
+			for (int i = 0; i < writers; i++)
+				writing.add(pool.submit(() -> {
+					Job<T> job;
+					while ((job = queue.take()) != poison)
+						try {
+							if (!failed.get())
+								sink.dump(job.element, job.filename, job.graph);
+						} catch (Throwable t) {
+							failures[job.index] = t;
+							failed.set(true);
+						} finally {
+							counter.count();
+						}
+					return null;
+				}));
+
+			for (int i = 0; i < builders; i++)
+				building.add(pool.submit(() -> {
+					int index;
+					while (!failed.get() && (index = next.getAndIncrement()) < list.size()) {
+						Entry<String, T> entry = list.get(index);
+						Job<T> job = new Job<>(index, entry.getKey(), entry.getValue());
+						try {
+							job.graph = builder.apply(job.element);
+						} catch (Throwable t) {
+							failures[index] = t;
+							failed.set(true);
+							continue;
+						}
+						queue.put(job);
+					}
+					return null;
+				}));
+
+			for (Future<?> future : building)
+				future.get();
+			for (int i = 0; i < writers; i++)
+				queue.put(poison);
+			for (Future<?> future : writing)
+				future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AnalysisExecutionException("Interrupted while dumping " + objects, e);
+		} catch (ExecutionException e) {
+			// workers only fail if they are interrupted
+			throw new AnalysisExecutionException("Interrupted while dumping " + objects, e.getCause());
+		} finally {
+			pool.shutdownNow();
+			counter.off();
+		}
+
+		for (Throwable failure : failures)
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			else if (failure instanceof Error)
+				throw (Error) failure;
+			else if (failure != null)
+				throw new AnalysisExecutionException("Exception while dumping " + objects, failure);
+	}
+
+	private static final class Job<T> {
+
+		private final int index;
+
+		private final String filename;
+
+		private final T element;
+
+		private SerializableGraph graph;
+
+		private Job(
+				int index,
+				String filename,
+				T element) {
+			this.index = index;
+			this.filename = filename;
+			this.element = element;
+		}
+	}
+}
@@ -2,11 +2,14 @@ package it.unive.lisa;
 
 import it.unive.lisa.checks.warnings.Warning;
 import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.callgraph.BaseCallGraph;
+import it.unive.lisa.interprocedural.callgraph.CallResolutionCache;
 import it.unive.lisa.logging.TimerLogger;
 import it.unive.lisa.outputs.json.JsonReport;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.Program;
 import it.unive.lisa.util.file.FileManager;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
 import java.io.IOException;
 import java.util.Collection;
 import org.apache.logging.log4j.LogManager;
@@ -30,6 +33,12 @@ public class LiSA {
 	 */
 	public static final String REPORT_NAME = "report.json";
 
+	/**
+	 * The name of the json file containing the metrics collected during the
+	 * analysis, that LiSA can optionally dump.
+	 */
+	public static final String METRICS_NAME = "metrics.json";
+
 	/**
 	 * The {@link FileManager} instance that will be used during analyses
 	 */
@@ -69,22 +78,43 @@ public class LiSA {
 		LOG.info(conf.toString());
 
 		DateTime start = new DateTime();
+		AnalysisMetrics metrics = conf.collectMetrics ? new AnalysisMetrics(true) : AnalysisMetrics.DISABLED;
 		LiSARunner runner = new LiSARunner(
 				conf,
 				fileManager,
 				conf.interproceduralAnalysis,
 				conf.callGraph,
-				conf.abstractState);
+				conf.abstractState,
+				metrics);
 		Application app = new Application(programs);
 		Collection<Warning> warnings;
 
+		AnalysisLifecycle.analysisStarted();
 		try {
 			warnings = TimerLogger.execSupplier(LOG, "Analysis time", () -> runner.run(app));
 		} catch (AnalysisExecutionException e) {
 			throw new AnalysisException("LiSA has encountered an exception while executing the analysis", e);
+		} finally {
+			AnalysisLifecycle.analysisEnded();
+		}
+
+		CallResolutionCache cache = conf.callGraph instanceof BaseCallGraph
+				? ((BaseCallGraph) conf.callGraph).getResolutionCache()
+				: null;
+		if (metrics.isEnabled()) {
+			LOG.info("Dumping analysis metrics to '" + METRICS_NAME + "'");
+			try {
+				fileManager.mkOutputFile(METRICS_NAME, writer -> {
+					metrics.dump(writer);
+					LOG.info("Metrics file dumped to '" + METRICS_NAME + "'");
+				});
+			} catch (IOException e) {
+				LOG.error("Unable to dump metrics file", e);
+			}
 		}
 
-		LiSARunInfo stats = new LiSARunInfo(warnings, fileManager.createdFiles(), app, start, new DateTime());
+		LiSARunInfo stats = new LiSARunInfo(warnings, fileManager.createdFiles(), app, start, new DateTime(), cache,
+				metrics);
 		LOG.info("LiSA statistics:\n" + stats);
 
 		LiSAReport report = new LiSAReport(conf, stats, warnings, fileManager.createdFiles());
@@ -3,6 +3,7 @@ package it.unive.lisa;
 import it.unive.lisa.checks.semantic.SemanticCheck;
 import it.unive.lisa.checks.syntactic.SyntacticCheck;
 import it.unive.lisa.checks.warnings.Warning;
+import it.unive.lisa.interprocedural.callgraph.CallResolutionCache;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.Global;
 import it.unive.lisa.program.Program;
@@ -14,6 +15,7 @@ import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.util.datastructures.graph.GraphVisitor;
 import it.unive.lisa.util.file.FileManager;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
@@ -144,6 +146,24 @@ public class LiSARunInfo {
 	 */
 	public final String duration;
 
+	/**
+	 * The statistics of the {@link CallResolutionCache} used during the
+	 * analysis, or {@code null} if no such cache was used. This is not a
+	 * public field since its value depends on how the analysis was executed
+	 * rather than on the analyzed code, and it is thus not part of
+	 * {@link #toPropertyBag()}.
+	 */
+	private final String callResolution;
+
+	/**
+	 * The summary of the metrics collected during the analysis, as produced by
+	 * {@link AnalysisMetrics#toPropertyBag()}. This is not a public field since
+	 * its values depend on how the analysis was executed rather than on the
+	 * analyzed code. It is however included in {@link #toPropertyBag()}, so
+	 * that it ends up in the info section of json reports.
+	 */
+	private final Map<String, String> metrics;
+
 	/**
 	 * Builds the run info.
 	 * 
@@ -159,6 +179,50 @@ public class LiSARunInfo {
 			Application app,
 			DateTime start,
 			DateTime end) {
+		this(warnings, files, app, start, end, null);
+	}
+
+	/**
+	 * Builds the run info.
+	 * 
+	 * @param warnings the warnings generated by the analysis
+	 * @param files    the files generated by the analysis
+	 * @param app      the {@link Application} under analysis
+	 * @param start    the start time
+	 * @param end      the end time
+	 * @param cache    the cache used for resolving calls during the analysis
+	 *                     (can be {@code null})
+	 */
+	public LiSARunInfo(
+			Collection<Warning> warnings,
+			Collection<String> files,
+			Application app,
+			DateTime start,
+			DateTime end,
+			CallResolutionCache cache) {
+		this(warnings, files, app, start, end, cache, AnalysisMetrics.DISABLED);
+	}
+
+	/**
+	 * Builds the run info.
+	 * 
+	 * @param warnings the warnings generated by the analysis
+	 * @param files    the files generated by the analysis
+	 * @param app      the {@link Application} under analysis
+	 * @param start    the start time
+	 * @param end      the end time
+	 * @param cache    the cache used for resolving calls during the analysis
+	 *                     (can be {@code null})
+	 * @param metrics  the metrics collected during the analysis
+	 */
+	public LiSARunInfo(
+			Collection<Warning> warnings,
+			Collection<String> files,
+			Application app,
+			DateTime start,
+			DateTime end,
+			CallResolutionCache cache,
+			AnalysisMetrics metrics) {
 		this.version = VersionInfo.VERSION;
 		this.warnings = warnings.size();
 		this.files = files.size();
@@ -175,6 +239,8 @@ public class LiSARunInfo {
 		this.start = start.toString();
 		this.end = end.toString();
 		this.duration = PERIOD_FORMAT.print(new Period(start, end)).trim();
+		this.callResolution = cache == null ? null : cache.toString();
+		this.metrics = metrics.toPropertyBag();
 
 		StatementCounter counter = new StatementCounter();
 		app.getAllCFGs().forEach(c -> c.accept(counter, null));
@@ -182,6 +248,26 @@ public class LiSARunInfo {
 		this.expressions = counter.expressions;
 	}
 
+	/**
+	 * Yields the statistics of the {@link CallResolutionCache} used during the
+	 * analysis, that is, its hits, misses, hit rate, size and evictions.
+	 * 
+	 * @return the statistics, or {@code null} if no cache was used
+	 */
+	public String getCallResolutionStatistics() {
+		return callResolution;
+	}
+
+	/**
+	 * Yields the summary of the metrics collected during the analysis, as
+	 * produced by {@link AnalysisMetrics#toPropertyBag()}.
+	 * 
+	 * @return the summary, that is empty if no metrics were collected
+	 */
+	public Map<String, String> getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -270,12 +356,15 @@ public class LiSARunInfo {
 				"\nStatements: " + statements +
 				"\nExpressions: " + expressions +
 				"\nGenerated Warnings: " + warnings +
-				"\nGenerated Files: " + files;
+				"\nGenerated Files: " + files +
+				(callResolution == null ? "" : "\nCall Resolution Cache: " + callResolution) +
+				(metrics.isEmpty() ? "" : "\nMetrics: " + metrics);
 	}
 
 	/**
 	 * Converts this configuration to a property bag, that is, a map from keys
-	 * (fields of this class) to values (their values).
+	 * (fields of this class) to values (their values). The summary of the
+	 * collected metrics (see {@link #getMetrics()}) is also added to the bag.
 	 * 
 	 * @return the property bag
 	 */
@@ -292,6 +381,7 @@ public class LiSARunInfo {
 		} catch (IllegalArgumentException | IllegalAccessException e) {
 			throw new IllegalStateException("Cannot access one of this class' public fields", e);
 		}
+		bag.putAll(metrics);
 		return bag;
 	}
 }
@@ -16,7 +16,6 @@ import it.unive.lisa.interprocedural.InterproceduralAnalysis;
 import it.unive.lisa.interprocedural.InterproceduralAnalysisException;
 import it.unive.lisa.interprocedural.callgraph.CallGraph;
 import it.unive.lisa.interprocedural.callgraph.CallGraphConstructionException;
-import it.unive.lisa.logging.IterationLogger;
 import it.unive.lisa.logging.TimerLogger;
 import it.unive.lisa.outputs.serializableGraph.SerializableGraph;
 import it.unive.lisa.outputs.serializableGraph.SerializableValue;
@@ -32,9 +31,12 @@ import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
 import it.unive.lisa.util.file.FileManager;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 import org.apache.logging.log4j.LogManager;
@@ -62,6 +64,8 @@ public class LiSARunner<A extends AbstractState<A>> {
 
 	private final A state;
 
+	private final AnalysisMetrics metrics;
+
 	/**
 	 * Builds the runner.
 	 * 
@@ -70,18 +74,21 @@ public class LiSARunner<A extends AbstractState<A>> {
 	 * @param interproc   the interprocedural analysis to use
 	 * @param callGraph   the call graph to use
 	 * @param state       the abstract state to use for the analysis
+	 * @param metrics     the metrics collector for the analysis
 	 */
 	LiSARunner(
 			LiSAConfiguration conf,
 			FileManager fileManager,
 			InterproceduralAnalysis<A> interproc,
 			CallGraph callGraph,
-			A state) {
+			A state,
+			AnalysisMetrics metrics) {
 		this.conf = conf;
 		this.fileManager = fileManager;
 		this.interproc = interproc;
 		this.callGraph = callGraph;
 		this.state = state;
+		this.metrics = metrics;
 	}
 
 	/**
@@ -96,7 +103,7 @@ public class LiSARunner<A extends AbstractState<A>> {
 		finalize(app);
 
 		Collection<CFG> allCFGs = app.getAllCFGs();
-		FixpointConfiguration fixconf = new FixpointConfiguration(conf);
+		FixpointConfiguration fixconf = new FixpointConfiguration(conf, metrics);
 		CheckTool tool = new CheckTool(conf, fileManager);
 
 		if (conf.optimize)
@@ -106,7 +113,7 @@ public class LiSARunner<A extends AbstractState<A>> {
 			dumpInputs(allCFGs);
 
 		if (!conf.syntacticChecks.isEmpty())
-			ChecksExecutor.executeAll(tool, app, conf.syntacticChecks);
+			ChecksExecutor.executeAll(tool, app, conf.syntacticChecks, conf.checksParallelism);
 		else
 			LOG.warn("Skipping syntactic checks execution since none have been provided");
 
@@ -115,6 +122,11 @@ public class LiSARunner<A extends AbstractState<A>> {
 
 			analyze(fixconf);
 
+			if (callGraph != null)
+				// the call graph is complete: from now on it will only be
+				// queried, so we can switch to its compact form
+				callGraph.getAdjacencyMatrix().compact();
+
 			if (conf.serializeResults || conf.analysisGraphs != GraphType.NONE)
 				dumpResults(allCFGs, fixconf);
 
@@ -155,20 +167,23 @@ public class LiSARunner<A extends AbstractState<A>> {
 
 	private void dumpInputs(
 			Collection<CFG> allCFGs) {
-		for (CFG cfg : IterationLogger.iterate(LOG, allCFGs, "Dumping input cfgs", "cfgs")) {
-			SerializableGraph graph = cfg.toSerializableGraph();
-			String filename = cfg.getDescriptor().getFullSignatureWithParNames() + "_cfg";
-
-			try {
-				fileManager.mkJsonFile(filename, writer -> graph.dump(writer));
-
-				dumpSingleGraph(filename, graph);
-			} catch (IOException e) {
-				LOG.error("Exception while dumping the analysis results on {}",
-						cfg.getDescriptor().getFullSignature());
-				LOG.error(e);
-			}
-		}
+		new DumpPipeline(conf.dumpParallelism).dump(LOG, allCFGs, "Dumping input cfgs", "cfgs",
+				cfg -> cfg.getDescriptor().getFullSignatureWithParNames() + "_cfg",
+				CFG::toSerializableGraph,
+				(
+						cfg,
+						filename,
+						graph) -> {
+					try {
+						fileManager.mkJsonFile(filename, writer -> graph.dump(writer));
+
+						dumpSingleGraph(filename, graph);
+					} catch (IOException e) {
+						LOG.error("Exception while dumping the analysis results on {}",
+								cfg.getDescriptor().getFullSignature());
+						LOG.error(e);
+					}
+				});
 	}
 
 	private void init(
@@ -201,6 +216,10 @@ public class LiSARunner<A extends AbstractState<A>> {
 			throw new AnalysisSetupException(
 					"The provided interprocedural analysis needs a call graph to function, but none has been provided");
 
+		if (conf.reuseBottomUpSummaries && !interproc.canReuseSummaries())
+			throw new AnalysisSetupException(
+					"The provided interprocedural analysis cannot reuse summaries, but reuseBottomUpSummaries is set");
+
 		if (state == null) {
 			LOG.warn("Skipping analysis execution since no abstract sate has been provided");
 			return false;
@@ -214,6 +233,7 @@ public class LiSARunner<A extends AbstractState<A>> {
 		A state = this.state.top();
 		TimerLogger.execAction(LOG, "Computing fixpoint over the whole program",
 				() -> {
+					long start = metrics.start();
 					try {
 						interproc.fixpoint(
 								new AnalysisState<>(state, new Skip(SyntheticLocation.INSTANCE)),
@@ -222,6 +242,7 @@ public class LiSARunner<A extends AbstractState<A>> {
 						LOG.fatal("Exception during fixpoint computation", e);
 						throw new AnalysisExecutionException("Exception during fixpoint computation", e);
 					}
+					metrics.interproceduralFixpointComputed(start);
 				});
 	}
 
@@ -243,23 +264,32 @@ public class LiSARunner<A extends AbstractState<A>> {
 								.representation()
 								.toSerializableValue();
 
-		for (CFG cfg : IterationLogger.iterate(LOG, allCFGs, "Dumping analysis results", "cfgs"))
-			for (AnalyzedCFG<A> result : interproc.getAnalysisResultsOf(cfg)) {
-				SerializableGraph graph = result.toSerializableGraph(labeler);
-				String filename = cfg.getDescriptor().getFullSignatureWithParNames();
-				if (!result.getId().isStartingId())
-					filename += "_" + result.getId().hashCode();
-
-				try {
-					if (conf.serializeResults)
-						fileManager.mkJsonFile(filename, writer -> graph.dump(writer));
-					dumpSingleGraph(filename, graph);
-				} catch (IOException e) {
-					LOG.error("Exception while dumping the analysis results on {}",
-							cfg.getDescriptor().getFullSignature());
-					LOG.error(e);
-				}
-			}
+		List<AnalyzedCFG<A>> results = new ArrayList<>();
+		for (CFG cfg : allCFGs)
+			results.addAll(interproc.getAnalysisResultsOf(cfg));
+
+		new DumpPipeline(conf.dumpParallelism).dump(LOG, results, "Dumping analysis results", "results",
+				result -> {
+					String filename = result.getDescriptor().getFullSignatureWithParNames();
+					if (!result.getId().isStartingId())
+						filename += "_" + result.getId().hashCode();
+					return filename;
+				},
+				result -> result.toSerializableGraph(labeler),
+				(
+						result,
+						filename,
+						graph) -> {
+					try {
+						if (conf.serializeResults)
+							fileManager.mkJsonFile(filename, writer -> graph.dump(writer));
+						dumpSingleGraph(filename, graph);
+					} catch (IOException e) {
+						LOG.error("Exception while dumping the analysis results on {}",
+								result.getDescriptor().getFullSignature());
+						LOG.error(e);
+					}
+				});
 	}
 
 	private void dumpSingleGraph(
@@ -303,7 +333,7 @@ public class LiSARunner<A extends AbstractState<A>> {
 				tool,
 				results,
 				callGraph);
-		ChecksExecutor.executeAll(tool2, app, semanticChecks);
+		ChecksExecutor.executeAll(tool2, app, semanticChecks, conf.checksParallelism);
 		return tool2;
 	}
 
@@ -382,7 +382,7 @@ public class AnalysisState<A extends AbstractState<A>>
 	public AnalysisState<A> lubAux(
 			AnalysisState<A> other)
 			throws SemanticException {
-		return new AnalysisState<>(
+		return combine(other,
 				state.lub(other.state),
 				computedExpressions.lub(other.computedExpressions),
 				info == null ? other.info : info.lub(other.info));
@@ -392,7 +392,7 @@ public class AnalysisState<A extends AbstractState<A>>
 	public AnalysisState<A> glbAux(
 			AnalysisState<A> other)
 			throws SemanticException {
-		return new AnalysisState<>(
+		return combine(other,
 				state.glb(other.state),
 				computedExpressions.glb(other.computedExpressions),
 				info == null ? null : info.glb(other.info));
@@ -402,7 +402,7 @@ public class AnalysisState<A extends AbstractState<A>>
 	public AnalysisState<A> wideningAux(
 			AnalysisState<A> other)
 			throws SemanticException {
-		return new AnalysisState<>(
+		return combine(other,
 				state.widening(other.state),
 				computedExpressions.lub(other.computedExpressions),
 				info == null ? other.info : info.widening(other.info));
@@ -412,19 +412,37 @@ public class AnalysisState<A extends AbstractState<A>>
 	public AnalysisState<A> narrowingAux(
 			AnalysisState<A> other)
 			throws SemanticException {
-		return new AnalysisState<>(
+		return combine(other,
 				state.narrowing(other.state),
 				computedExpressions.glb(other.computedExpressions),
 				info == null ? null : info.narrowing(other.info));
 	}
 
+	/**
+	 * Builds the analysis state containing the given components, reusing
+	 * either {@code this} or {@code other} if they already contain exactly
+	 * those components.
+	 */
+	private AnalysisState<A> combine(
+			AnalysisState<A> other,
+			A state,
+			ExpressionSet computedExpressions,
+			FixpointInfo info) {
+		if (state == this.state && computedExpressions == this.computedExpressions && info == this.info)
+			return this;
+		if (state == other.state && computedExpressions == other.computedExpressions && info == other.info)
+			return other;
+		return new AnalysisState<>(state, computedExpressions, info);
+	}
+
 	@Override
 	public boolean lessOrEqualAux(
 			AnalysisState<A> other)
 			throws SemanticException {
-		return state.lessOrEqual(other.state)
-				&& computedExpressions.lessOrEqual(other.computedExpressions)
-				&& (info == null ? true : info.lessOrEqual(other.info));
+		return (state == other.state || state.lessOrEqual(other.state))
+				&& (computedExpressions == other.computedExpressions
+						|| computedExpressions.lessOrEqual(other.computedExpressions))
+				&& (info == null || info == other.info || info.lessOrEqual(other.info));
 	}
 
 	@Override
@@ -10,6 +10,7 @@ import it.unive.lisa.util.representation.StructuredRepresentation;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * A control flow graph, that has {@link Statement}s as nodes and {@link Edge}s
@@ -226,6 +227,49 @@ public class AnalyzedCFG<A extends AbstractState<A>>
 		return lub(this.getNormalExitpoints(), false);
 	}
 
+	/**
+	 * Yields a copy of this result that refers to the given cfg, where the
+	 * states computed for each statement of this result are moved to the
+	 * corresponding statement of {@code cfg}, as specified by
+	 * {@code mapping}. This is useful for reusing the results computed on a
+	 * cfg for a structurally identical one (see
+	 * {@link it.unive.lisa.program.cfg.CFGFingerprint}). States of statements
+	 * that are not part of the mapping are discarded.
+	 * 
+	 * @param cfg     the cfg that the returned result refers to
+	 * @param mapping the mapping from the statements of this result to the
+	 *                    ones of {@code cfg}, including nested expressions
+	 * 
+	 * @return the copy of this result
+	 */
+	public AnalyzedCFG<A> rebind(
+			CFG cfg,
+			Map<Statement, Statement> mapping) {
+		return new AnalyzedCFG<>(cfg, id, rebind(entryStates, mapping), rebind(results, mapping));
+	}
+
+	/**
+	 * Yields a copy of the given store where each statement is replaced by
+	 * the one it is mapped to in {@code mapping}.
+	 * 
+	 * @param <A>     the type of {@link AbstractState} contained in the store
+	 * @param store   the store to copy
+	 * @param mapping the mapping between statements
+	 * 
+	 * @return the copy of the store
+	 */
+	protected static <A extends AbstractState<A>> StatementStore<A> rebind(
+			StatementStore<A> store,
+			Map<Statement, Statement> mapping) {
+		StatementStore<A> result = new StatementStore<>(store.lattice);
+		for (Entry<Statement, AnalysisState<A>> entry : store) {
+			Statement target = mapping.get(entry.getKey());
+			if (target != null)
+				result.put(target, entry.getValue());
+		}
+		return result;
+	}
+
 	private AnalysisState<A> lub(
 			Collection<Statement> statements,
 			boolean entry)
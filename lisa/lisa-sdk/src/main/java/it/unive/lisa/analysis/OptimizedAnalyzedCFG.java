@@ -332,6 +332,14 @@ public class OptimizedAnalyzedCFG<A extends AbstractState<A>> extends AnalyzedCF
 		}
 	}
 
+	@Override
+	public OptimizedAnalyzedCFG<A> rebind(
+			CFG cfg,
+			Map<Statement, Statement> mapping) {
+		return new OptimizedAnalyzedCFG<>(cfg, id, rebind(entryStates, mapping), rebind(results, mapping),
+				expanded == null ? null : rebind(expanded, mapping), interprocedural);
+	}
+
 	@Override
 	public OptimizedAnalyzedCFG<A> lubAux(
 			AnalyzedCFG<A> other)
@@ -9,10 +9,11 @@ import it.unive.lisa.analysis.value.ValueDomain;
 import it.unive.lisa.program.cfg.ProgramPoint;
 import it.unive.lisa.symbolic.value.Identifier;
 import it.unive.lisa.symbolic.value.ValueExpression;
+import it.unive.lisa.util.collections.externalSet.ExternalSet;
+import it.unive.lisa.util.collections.externalSet.ExternalSetCache;
 import it.unive.lisa.util.representation.SetRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
@@ -21,7 +22,27 @@ import java.util.function.Predicate;
 /**
  * A dataflow domain that collects instances of {@link DataflowElement}. A
  * dataflow domain is a value domain that is represented as a set of elements,
- * that can be retrieved through {@link #getDataflowElements()}.
+ * that can be retrieved through {@link #getDataflowElements()}.<br>
+ * <br>
+ * Elements are stored in {@link ExternalSet}s: each element is numbered once
+ * by an {@link ExternalSetCache} shared by all the instances derived from the
+ * same domain (e.g., through {@link #top()}, {@link #mk} or the semantic
+ * operations), and each instance is a bitvector over such numbering. Thus,
+ * <i>gen</i> and <i>kill</i> operations only flip bits of a copy of the
+ * bitvector, while lattice operations between instances sharing the same
+ * numbering are computed word by word. The elements to <i>gen</i> and
+ * <i>kill</i> are still computed by the {@link DataflowElement}s at each
+ * evaluation of a statement, as they depend on the current state, and the
+ * order in which statements are evaluated is the one of the fixpoint in
+ * use.<br>
+ * <br>
+ * Note that the numbering is shared by all the cfgs of an analysis, since
+ * states flow from one cfg to another at calls and have to be comparable.
+ * Bitvectors are as long as the highest number of their elements: the states
+ * of a cfg whose elements are numbered after the ones of many other cfgs are
+ * long even when they contain few elements, and copying or comparing them
+ * costs proportionally more (this is measured by the
+ * {@code DataflowBenchmark} of the {@code lisa-benchmarks} project).
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -38,7 +59,7 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 
 	private final boolean isBottom;
 
-	private final Set<E> elements;
+	private final ExternalSet<E> elements;
 
 	/**
 	 * The underlying domain.
@@ -51,16 +72,20 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 	 * @param domain   a singleton instance to be used during semantic
 	 *                     operations to perform <i>kill</i> and <i>gen</i>
 	 *                     operations
-	 * @param elements the set of elements contained in this domain
+	 * @param elements the set of elements contained in this domain; if this
+	 *                     is not an {@link ExternalSet}, its elements are
+	 *                     numbered by a new {@link ExternalSetCache}
 	 * @param isTop    whether or not this domain is the top of the lattice
 	 * @param isBottom whether or not this domain is the bottom of the lattice
 	 */
+	@SuppressWarnings("unchecked")
 	public DataflowDomain(
 			E domain,
 			Set<E> elements,
 			boolean isTop,
 			boolean isBottom) {
-		this.elements = elements;
+		this.elements = elements instanceof ExternalSet ? (ExternalSet<E>) elements
+				: new ExternalSetCache<E>().mkSet(elements);
 		this.domain = domain;
 		this.isTop = isTop;
 		this.isBottom = isBottom;
@@ -129,7 +154,7 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		if (guard.getAsBoolean())
 			return (D) this;
 
-		Set<E> updated = new HashSet<>(getDataflowElements());
+		ExternalSet<E> updated = elements.copy();
 		for (E killed : kill.get())
 			updated.remove(killed);
 		for (E generated : gen.get())
@@ -138,6 +163,55 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		return mk(domain, updated, false, false);
 	}
 
+	private ExternalSet<E> numbered(
+			DataflowDomain<D, E> other) {
+		// instances built independently from each other number their elements
+		// differently, so we renumber the ones of other before combining them
+		if (other.elements.getCache() == elements.getCache())
+			return other.elements;
+		return elements.getCache().mkSet(other.elements);
+	}
+
+	/**
+	 * Yields the union of the elements of this domain instance and of the
+	 * given one, computed on their bitvectors.
+	 * 
+	 * @param other the other domain instance
+	 * 
+	 * @return the union of the elements
+	 */
+	protected final Set<E> union(
+			D other) {
+		return elements.union(numbered(other));
+	}
+
+	/**
+	 * Yields the intersection of the elements of this domain instance and of
+	 * the given one, computed on their bitvectors.
+	 * 
+	 * @param other the other domain instance
+	 * 
+	 * @return the intersection of the elements
+	 */
+	protected final Set<E> intersection(
+			D other) {
+		return elements.intersection(numbered(other));
+	}
+
+	/**
+	 * Yields whether or not the elements of this domain instance include all
+	 * the elements of the given one, computed on their bitvectors.
+	 * 
+	 * @param other the other domain instance
+	 * 
+	 * @return {@code true} if the elements of {@code other} are also elements
+	 *             of this instance, {@code false} otherwise
+	 */
+	protected final boolean includes(
+			D other) {
+		return elements.contains(numbered(other));
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public D assume(
@@ -165,8 +239,9 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		if (toRemove.isEmpty())
 			return (D) this;
 
-		Set<E> updated = new HashSet<>(elements);
-		updated.removeAll(toRemove);
+		ExternalSet<E> updated = elements.copy();
+		for (E e : toRemove)
+			updated.remove(e);
 		return mk(domain, updated, false, false);
 	}
 
@@ -186,8 +261,9 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		if (toRemove.isEmpty())
 			return (D) this;
 
-		Set<E> updated = new HashSet<>(elements);
-		updated.removeAll(toRemove);
+		ExternalSet<E> updated = elements.copy();
+		for (E e : toRemove)
+			updated.remove(e);
 		return mk(domain, updated, false, false);
 	}
 
@@ -245,7 +321,7 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 
 	@Override
 	public D top() {
-		return mk(domain, new HashSet<>(), true, false);
+		return mk(domain, elements.getCache().mkEmptySet(), true, false);
 	}
 
 	@Override
@@ -255,7 +331,7 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 
 	@Override
 	public D bottom() {
-		return mk(domain, new HashSet<>(), false, true);
+		return mk(domain, elements.getCache().mkEmptySet(), false, true);
 	}
 
 	@Override
@@ -280,7 +356,7 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		if (isTop() || isBottom())
 			return (D) this;
 
-		Set<E> result = new HashSet<>();
+		ExternalSet<E> result = elements.getCache().mkEmptySet();
 		E pushed;
 		for (E element : this.elements)
 			if ((pushed = element.pushScope(scope)) != null)
@@ -297,7 +373,7 @@ public abstract class DataflowDomain<D extends DataflowDomain<D, E>, E extends D
 		if (isTop() || isBottom())
 			return (D) this;
 
-		Set<E> result = new HashSet<>();
+		ExternalSet<E> result = elements.getCache().mkEmptySet();
 		E popped;
 		for (E element : this.elements)
 			if ((popped = element.popScope(scope)) != null)
@@ -2,9 +2,8 @@ package it.unive.lisa.analysis.dataflow;
 
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.lattices.InverseSetLattice;
-import java.util.HashSet;
+import it.unive.lisa.util.collections.externalSet.ExternalSetCache;
 import java.util.Set;
-import org.apache.commons.collections4.SetUtils;
 
 /**
  * A {@link DataflowDomain} for <b>definite</b> dataflow analysis. Being
@@ -27,7 +26,7 @@ public class DefiniteDataflowDomain<E extends DataflowElement<DefiniteDataflowDo
 	 */
 	public DefiniteDataflowDomain(
 			E domain) {
-		this(domain, new HashSet<>(), true, false);
+		this(domain, new ExternalSetCache<E>().mkEmptySet(), true, false);
 	}
 
 	private DefiniteDataflowDomain(
@@ -51,22 +50,20 @@ public class DefiniteDataflowDomain<E extends DataflowElement<DefiniteDataflowDo
 	public DefiniteDataflowDomain<E> lubAux(
 			DefiniteDataflowDomain<E> other)
 			throws SemanticException {
-		Set<E> intersection = SetUtils.intersection(this.getDataflowElements(), other.getDataflowElements());
-		return new DefiniteDataflowDomain<>(domain, intersection, false, false);
+		return new DefiniteDataflowDomain<>(domain, intersection(other), false, false);
 	}
 
 	@Override
 	public boolean lessOrEqualAux(
 			DefiniteDataflowDomain<E> other)
 			throws SemanticException {
-		return this.getDataflowElements().containsAll(other.getDataflowElements());
+		return includes(other);
 	}
 
 	@Override
 	public DefiniteDataflowDomain<E> glbAux(
 			DefiniteDataflowDomain<E> other)
 			throws SemanticException {
-		Set<E> intersection = SetUtils.union(this.getDataflowElements(), other.getDataflowElements());
-		return new DefiniteDataflowDomain<>(domain, intersection, false, false);
+		return new DefiniteDataflowDomain<>(domain, union(other), false, false);
 	}
 }
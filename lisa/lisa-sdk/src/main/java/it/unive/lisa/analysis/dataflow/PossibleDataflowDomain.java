@@ -2,9 +2,8 @@ package it.unive.lisa.analysis.dataflow;
 
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.lattices.SetLattice;
-import java.util.HashSet;
+import it.unive.lisa.util.collections.externalSet.ExternalSetCache;
 import java.util.Set;
-import org.apache.commons.collections4.SetUtils;
 
 /**
  * A {@link DataflowDomain} for <b>possible</b> dataflow analysis. Being
@@ -27,7 +26,7 @@ public class PossibleDataflowDomain<E extends DataflowElement<PossibleDataflowDo
 	 */
 	public PossibleDataflowDomain(
 			E domain) {
-		super(domain, new HashSet<>(), true, false);
+		super(domain, new ExternalSetCache<E>().mkEmptySet(), true, false);
 	}
 
 	private PossibleDataflowDomain(
@@ -51,22 +50,20 @@ public class PossibleDataflowDomain<E extends DataflowElement<PossibleDataflowDo
 	public PossibleDataflowDomain<E> lubAux(
 			PossibleDataflowDomain<E> other)
 			throws SemanticException {
-		Set<E> union = SetUtils.union(this.getDataflowElements(), other.getDataflowElements());
-		return new PossibleDataflowDomain<>(domain, union, false, false);
+		return new PossibleDataflowDomain<>(domain, union(other), false, false);
 	}
 
 	@Override
 	public boolean lessOrEqualAux(
 			PossibleDataflowDomain<E> other)
 			throws SemanticException {
-		return other.getDataflowElements().containsAll(this.getDataflowElements());
+		return other.includes(this);
 	}
 
 	@Override
 	public PossibleDataflowDomain<E> glbAux(
 			PossibleDataflowDomain<E> other)
 			throws SemanticException {
-		Set<E> intersection = SetUtils.intersection(this.getDataflowElements(), other.getDataflowElements());
-		return new PossibleDataflowDomain<>(domain, intersection, false, false);
+		return new PossibleDataflowDomain<>(domain, intersection(other), false, false);
 	}
 }
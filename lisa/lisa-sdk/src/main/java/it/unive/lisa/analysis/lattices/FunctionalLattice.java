@@ -3,12 +3,13 @@ package it.unive.lisa.analysis.lattices;
 import it.unive.lisa.analysis.BaseLattice;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.util.collections.PersistentHashMap;
 import it.unive.lisa.util.representation.MapRepresentation;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -66,7 +67,10 @@ public abstract class FunctionalLattice<F extends FunctionalLattice<F, K, V>, K,
 	/**
 	 * Creates a new instance of the underlying function. The purpose of this
 	 * method is to provide a common function implementation to every subclass
-	 * that does not have implementation-specific requirements.
+	 * that does not have implementation-specific requirements. By default,
+	 * functions are {@link PersistentHashMap}s: copying them takes constant
+	 * time, and the copy shares its structure with the original function
+	 * until one of them is modified.
 	 * 
 	 * @param other        an optional function to copy, can be {@code null}
 	 * @param preserveNull whether a null {@code other} should cause a
@@ -78,8 +82,8 @@ public abstract class FunctionalLattice<F extends FunctionalLattice<F, K, V>, K,
 			Map<K, V> other,
 			boolean preserveNull) {
 		if (other == null)
-			return preserveNull ? null : new HashMap<>();
-		return new HashMap<>(other);
+			return preserveNull ? null : new PersistentHashMap<>();
+		return new PersistentHashMap<>(other);
 	}
 
 	/**
@@ -276,7 +280,14 @@ public abstract class FunctionalLattice<F extends FunctionalLattice<F, K, V>, K,
 	}
 
 	/**
-	 * Yields the functional lift between {@code this} and {@code other}.
+	 * Yields the functional lift between {@code this} and {@code other}. If
+	 * both functions are {@link PersistentHashMap}s, bindings that are
+	 * identical in the two functions (that is, that have the same key and
+	 * value instances) are copied to the result without being lifted, as it
+	 * happens for idempotent operations such as lub, glb, widening and
+	 * narrowing. In this case, {@code keyLifter} only receives the keys of the
+	 * remaining bindings, and it must thus lift each key independently of the
+	 * ones of identical bindings.
 	 * 
 	 * @param other       the other functional lattice
 	 * @param missing     the lattice element to use for the lift when a key has
@@ -297,8 +308,22 @@ public abstract class FunctionalLattice<F extends FunctionalLattice<F, K, V>, K,
 			KeyFunctionalLift<K> keyLifter,
 			FunctionalLift<V> valueLifter)
 			throws SemanticException {
-		Map<K, V> function = mkNewFunction(null, false);
-		Set<K> keys = keyLifter.keyLift(this.getKeys(), other.getKeys());
+		Map<K, V> function;
+		Set<K> keys;
+		if (this.function instanceof PersistentHashMap && other.function instanceof PersistentHashMap) {
+			Set<K> first = new HashSet<>();
+			Set<K> second = new HashSet<>();
+			((PersistentHashMap<K, V>) this.function).diff((PersistentHashMap<K, V>) other.function, first, second);
+			// we start from the shared bindings, that are left untouched
+			function = mkNewFunction(this.function, false);
+			for (K key : first)
+				function.remove(key);
+			keys = keyLifter.keyLift(first, second);
+		} else {
+			function = mkNewFunction(null, false);
+			keys = keyLifter.keyLift(this.getKeys(), other.getKeys());
+		}
+
 		for (K key : keys)
 			try {
 				V s1 = getOtDefault(key, missing);
@@ -353,12 +378,22 @@ public abstract class FunctionalLattice<F extends FunctionalLattice<F, K, V>, K,
 	public boolean lessOrEqualAux(
 			F other)
 			throws SemanticException {
-		if (function != null)
-			for (K key : function.keySet()) {
-				V state = getState(key);
-				if (state != null && !state.lessOrEqual(other.getState(key)))
-					return false;
-			}
+		if (function == null)
+			return true;
+
+		Collection<K> keys = function.keySet();
+		if (function instanceof PersistentHashMap && other.function instanceof PersistentHashMap) {
+			// bindings that are identical in the two functions are trivially
+			// less or equal
+			keys = new ArrayList<>();
+			((PersistentHashMap<K, V>) function).diff((PersistentHashMap<K, V>) other.function, keys, null);
+		}
+
+		for (K key : keys) {
+			V state = getState(key);
+			if (state != null && !state.lessOrEqual(other.getState(key)))
+				return false;
+		}
 
 		return true;
 	}
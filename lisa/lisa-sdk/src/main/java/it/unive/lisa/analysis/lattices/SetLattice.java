@@ -71,18 +71,32 @@ public abstract class SetLattice<S extends SetLattice<S, E>, E> implements BaseL
 			Set<E> set);
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public S lubAux(
 			S other)
 			throws SemanticException {
+		// no need to build a new set if one contains the other
+		if (elements.size() >= other.elements.size() && elements.containsAll(other.elements))
+			return (S) this;
+		if (other.elements.size() >= elements.size() && other.elements.containsAll(elements))
+			return other;
+
 		Set<E> lub = new HashSet<>(elements);
 		lub.addAll(other.elements);
 		return mk(lub);
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public S glbAux(
 			S other)
 			throws SemanticException {
+		// no need to build a new set if one contains the other
+		if (elements.size() <= other.elements.size() && other.elements.containsAll(elements))
+			return (S) this;
+		if (other.elements.size() <= elements.size() && elements.containsAll(other.elements))
+			return other;
+
 		Set<E> glb = new HashSet<>(elements);
 		glb.retainAll(other.elements);
 		return mk(glb);
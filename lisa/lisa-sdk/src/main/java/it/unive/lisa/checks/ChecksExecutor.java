@@ -2,6 +2,9 @@ package it.unive.lisa.checks;
 
 import static it.unive.lisa.logging.IterationLogger.iterate;
 
+import it.unive.lisa.AnalysisExecutionException;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.logging.Counter;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.CompilationUnit;
 import it.unive.lisa.program.Global;
@@ -9,11 +12,27 @@ import it.unive.lisa.program.Program;
 import it.unive.lisa.program.Unit;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.CodeMember;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * Utility class that handles the execution of {@link Check}s.
+ * Utility class that handles the execution of {@link Check}s. Checks can be
+ * executed either sequentially or in parallel: in the latter case, the
+ * {@link CFG}s and the units of each program are visited concurrently by a
+ * fixed pool of workers, each one executing all checks on the element it is
+ * visiting. Globals of the programs, together with
+ * {@link Check#beforeExecution(Object)} and
+ * {@link Check#afterExecution(Object)}, are always executed on the calling
+ * thread.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
@@ -26,7 +45,7 @@ public final class ChecksExecutor {
 	}
 
 	/**
-	 * Executes all the given checks on the given inputs cfgs.
+	 * Executes all the given checks on the given inputs cfgs, sequentially.
 	 * 
 	 * @param <C>    the type of the checks to execute
 	 * @param <T>    the type of the auxiliary tool used by the check
@@ -38,10 +57,42 @@ public final class ChecksExecutor {
 			T tool,
 			Application app,
 			Iterable<C> checks) {
+		executeAll(tool, app, checks, 1);
+	}
+
+	/**
+	 * Executes all the given checks on the given inputs cfgs, using at most
+	 * {@code parallelism} workers. If more than one worker is used, the checks
+	 * and the tool must be thread-safe.
+	 * 
+	 * @param <C>         the type of the checks to execute
+	 * @param <T>         the type of the auxiliary tool used by the check
+	 * @param tool        the auxiliary tool to be used during the checks
+	 *                        execution
+	 * @param app         the application to analyze
+	 * @param checks      the checks to execute
+	 * @param parallelism the number of workers to use; values lower than
+	 *                        {@code 2} cause checks to be executed
+	 *                        sequentially on the calling thread (see
+	 *                        {@link LiSAConfiguration#checksParallelism})
+	 * 
+	 * @throws AnalysisExecutionException if the execution is interrupted
+	 */
+	public static <C extends Check<T>, T> void executeAll(
+			T tool,
+			Application app,
+			Iterable<C> checks,
+			int parallelism) {
 		checks.forEach(c -> c.beforeExecution(tool));
 
-		for (Program p : app.getPrograms())
-			visitProgram(tool, p, checks);
+		ExecutorService pool = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+		try {
+			for (Program p : app.getPrograms())
+				visitProgram(tool, p, checks, pool);
+		} finally {
+			if (pool != null)
+				pool.shutdownNow();
+		}
 
 		checks.forEach(c -> c.afterExecution(tool));
 	}
@@ -49,16 +100,66 @@ public final class ChecksExecutor {
 	private static <T, C extends Check<T>> void visitProgram(
 			T tool,
 			Program program,
-			Iterable<C> checks) {
+			Iterable<C> checks,
+			ExecutorService pool) {
 		for (Global global : iterate(LOG, program.getGlobals(), "Analyzing program globals...", "Globals"))
 			checks.forEach(c -> c.visitGlobal(tool, program, global, false));
 
-		for (CodeMember cm : iterate(LOG, program.getCodeMembers(), "Analyzing program cfgs...", "CFGs"))
+		List<CFG> cfgs = new ArrayList<>();
+		for (CodeMember cm : program.getCodeMembers())
 			if (cm instanceof CFG)
-				checks.forEach(c -> ((CFG) cm).accept(c, tool));
+				cfgs.add((CFG) cm);
+		visitAll(pool, cfgs, "Analyzing program cfgs...", "CFGs",
+				cfg -> checks.forEach(c -> cfg.accept(c, tool)));
 
-		for (Unit unit : iterate(LOG, program.getUnits(), "Analyzing compilation units...", "Units"))
-			checks.forEach(c -> visitUnit(tool, unit, c));
+		visitAll(pool, program.getUnits(), "Analyzing compilation units...", "Units",
+				unit -> checks.forEach(c -> visitUnit(tool, unit, c)));
+	}
+
+	private static <E> void visitAll(
+			ExecutorService pool,
+			Collection<E> elements,
+			String message,
+			String objects,
+			Consumer<E> visit) {
+		if (pool == null || elements.size() < 2) {
+			for (E element : iterate(LOG, elements, message, objects))
+				visit.accept(element);
+			return;
+		}
+
+		Counter counter = new Counter(LOG, Level.INFO, message, objects, elements.size(), 0.025);
+		List<Future<?>> futures = new ArrayList<>(elements.size());
+		counter.on();
+		try {
+			for (E element : elements)
+				futures.add(pool.submit(() -> {
+					try {
+						visit.accept(element);
+					} finally {
+						counter.count();
+					}
+				}));
+
+			// waiting in submission order: the failure that is propagated
+			// does not depend on the scheduling of the workers
+			for (Future<?> future : futures)
+				future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AnalysisExecutionException("Interrupted while executing checks", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new AnalysisExecutionException("Check execution terminated abruptly", cause);
+		} finally {
+			for (Future<?> future : futures)
+				future.cancel(true);
+			counter.off();
+		}
 	}
 
 	private static <C extends Check<T>, T> void visitUnit(
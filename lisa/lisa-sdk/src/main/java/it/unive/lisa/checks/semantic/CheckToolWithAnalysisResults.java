@@ -15,11 +15,14 @@ import it.unive.lisa.program.cfg.statement.call.Call;
 import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
 import it.unive.lisa.util.file.FileManager;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 /**
  * An extension of {@link CheckTool} that also contains the results of the
- * fixpoint computation.
+ * fixpoint computation. Results are exposed as read-only: the stored map is
+ * never modified after the tool is built, and can thus be queried by checks
+ * that are executed in parallel.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -46,7 +49,7 @@ public class CheckToolWithAnalysisResults<A extends AbstractState<A>> extends Ch
 			Map<CFG, Collection<AnalyzedCFG<A>>> results,
 			CallGraph callgraph) {
 		super(configuration, fileManager);
-		this.results = results;
+		this.results = Collections.unmodifiableMap(results);
 		this.callgraph = callgraph;
 	}
 
@@ -62,7 +65,7 @@ public class CheckToolWithAnalysisResults<A extends AbstractState<A>> extends Ch
 			Map<CFG, Collection<AnalyzedCFG<A>>> results,
 			CallGraph callgraph) {
 		super(other);
-		this.results = results;
+		this.results = Collections.unmodifiableMap(results);
 		this.callgraph = callgraph;
 	}
 
@@ -72,11 +75,13 @@ public class CheckToolWithAnalysisResults<A extends AbstractState<A>> extends Ch
 	 * 
 	 * @param cfg the cfg whose results are to be retrieved
 	 * 
-	 * @return the results on the given cfg
+	 * @return the read-only results on the given cfg, or {@code null} if no
+	 *             result is stored for it
 	 */
 	public Collection<AnalyzedCFG<A>> getResultOf(
 			CFG cfg) {
-		return results.get(cfg);
+		Collection<AnalyzedCFG<A>> res = results.get(cfg);
+		return res == null ? null : Collections.unmodifiableCollection(res);
 	}
 
 	/**
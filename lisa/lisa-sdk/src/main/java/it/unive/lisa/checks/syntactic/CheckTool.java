@@ -15,8 +15,10 @@ import it.unive.lisa.program.cfg.CodeMemberDescriptor;
 import it.unive.lisa.program.cfg.statement.Expression;
 import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.util.file.FileManager;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -183,12 +185,17 @@ public class CheckTool {
 	}
 
 	/**
-	 * Returns an <b>unmodifiable</b> view of the warnings that have been
-	 * generated up to now using this tool.
+	 * Returns an <b>unmodifiable</b> snapshot of the warnings that have been
+	 * generated up to now using this tool, sorted by their natural ordering.
+	 * Since warnings can be reported concurrently, the order in which they are
+	 * generated is not meaningful: sorting them makes the result independent
+	 * of how checks have been scheduled.
 	 * 
-	 * @return a view of the warnings
+	 * @return a snapshot of the warnings
 	 */
 	public Collection<Warning> getWarnings() {
-		return Collections.unmodifiableCollection(warnings);
+		List<Warning> sorted = new ArrayList<>(warnings);
+		Collections.sort(sorted);
+		return Collections.unmodifiableList(sorted);
 	}
 }
@@ -6,7 +6,10 @@ import java.lang.reflect.Modifier;
 import java.util.Objects;
 
 /**
- * A holder for the configuration of a {@link LiSA} analysis.
+ * A holder for the configuration of a {@link LiSA} analysis. Equality and
+ * hash codes are computed over all public, non-static fields, excluding the
+ * {@code transient} ones: these hold the state of an execution (e.g., the
+ * objects collecting its metrics) rather than a configuration parameter.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
@@ -18,7 +21,7 @@ public abstract class BaseConfiguration {
 		int result = 1;
 		try {
 			for (Field field : getClass().getFields())
-				if (!Modifier.isStatic(field.getModifiers()))
+				if (isParameter(field))
 					result = prime * result + Objects.hashCode(field.get(this));
 		} catch (IllegalArgumentException | IllegalAccessException e) {
 			throw new IllegalStateException("Cannot access one of this class' public fields", e);
@@ -37,7 +40,7 @@ public abstract class BaseConfiguration {
 			return false;
 		try {
 			for (Field field : getClass().getFields())
-				if (!Modifier.isStatic(field.getModifiers())) {
+				if (isParameter(field)) {
 					Object value = field.get(this);
 					Object ovalue = field.get(obj);
 					if (!Objects.equals(value, ovalue))
@@ -48,4 +51,9 @@ public abstract class BaseConfiguration {
 		}
 		return true;
 	}
-}
\ No newline at end of file
+
+	private static boolean isParameter(
+			Field field) {
+		return !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers());
+	}
+}
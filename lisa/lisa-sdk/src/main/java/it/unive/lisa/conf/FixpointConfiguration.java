@@ -3,6 +3,7 @@ package it.unive.lisa.conf;
 import it.unive.lisa.conf.LiSAConfiguration.DescendingPhaseType;
 import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
 import java.util.function.Predicate;
 
 /**
@@ -47,19 +48,56 @@ public class FixpointConfiguration extends BaseConfiguration {
 	 */
 	public final boolean useWideningPoints;
 
+	/**
+	 * Holder of {@link LiSAConfiguration#useWeakTopologicalOrder}.
+	 */
+	public final boolean useWeakTopologicalOrder;
+
 	/**
 	 * Holder of {@link LiSAConfiguration#hotspots}.
 	 */
 	public final Predicate<Statement> hotspots;
 
 	/**
-	 * Builds the configuration.
+	 * Holder of {@link LiSAConfiguration#analysisParallelism}.
+	 */
+	public final int analysisParallelism;
+
+	/**
+	 * Holder of {@link LiSAConfiguration#reuseBottomUpSummaries}.
+	 */
+	public final boolean reuseBottomUpSummaries;
+
+	/**
+	 * The {@link AnalysisMetrics} where fixpoints record their metrics, that
+	 * is enabled only if {@link LiSAConfiguration#collectMetrics} is
+	 * {@code true}. This is not a parameter of the configuration, and it is
+	 * thus not considered when comparing configurations.
+	 */
+	public final transient AnalysisMetrics metrics;
+
+	/**
+	 * Builds the configuration. If {@link LiSAConfiguration#collectMetrics} is
+	 * {@code true}, a new {@link AnalysisMetrics} is created.
 	 * 
 	 * @param parent the root configuration to draw data from.
 	 */
-	@SuppressWarnings("unchecked")
 	public FixpointConfiguration(
 			LiSAConfiguration parent) {
+		this(parent, parent.collectMetrics ? new AnalysisMetrics(true) : AnalysisMetrics.DISABLED);
+	}
+
+	/**
+	 * Builds the configuration.
+	 * 
+	 * @param parent  the root configuration to draw data from.
+	 * @param metrics the {@link AnalysisMetrics} where fixpoints record their
+	 *                    metrics
+	 */
+	@SuppressWarnings("unchecked")
+	public FixpointConfiguration(
+			LiSAConfiguration parent,
+			AnalysisMetrics metrics) {
 		this.fixpointWorkingSet = (Class<? extends WorkingSet<Statement>>) parent.fixpointWorkingSet;
 		this.wideningThreshold = parent.wideningThreshold;
 		this.recursionWideningThreshold = parent.recursionWideningThreshold;
@@ -68,5 +106,9 @@ public class FixpointConfiguration extends BaseConfiguration {
 		this.optimize = parent.optimize;
 		this.hotspots = parent.hotspots;
 		this.useWideningPoints = parent.useWideningPoints;
+		this.useWeakTopologicalOrder = parent.useWeakTopologicalOrder;
+		this.analysisParallelism = parent.analysisParallelism;
+		this.reuseBottomUpSummaries = parent.reuseBottomUpSummaries;
+		this.metrics = metrics;
 	}
 }
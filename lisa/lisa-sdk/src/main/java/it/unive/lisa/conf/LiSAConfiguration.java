@@ -1,6 +1,7 @@
 package it.unive.lisa.conf;
 
 import it.unive.lisa.LiSA;
+import it.unive.lisa.LiSARunInfo;
 import it.unive.lisa.analysis.AbstractState;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.checks.semantic.SemanticCheck;
@@ -122,6 +123,27 @@ public class LiSAConfiguration extends BaseConfiguration {
 	 */
 	public static final int DEFAULT_GLB_THRESHOLD = 5;
 
+	/**
+	 * The default number of workers that can be used for computing independent
+	 * fixpoints in parallel. A value of {@code 1} means that all fixpoints are
+	 * computed sequentially.
+	 */
+	public static final int DEFAULT_ANALYSIS_PARALLELISM = 1;
+
+	/**
+	 * The default number of workers that can be used for executing
+	 * {@link SyntacticCheck}s and {@link SemanticCheck}s in parallel. A value
+	 * of {@code 1} means that all checks are executed sequentially.
+	 */
+	public static final int DEFAULT_CHECKS_PARALLELISM = 1;
+
+	/**
+	 * The default number of workers that can be used for dumping input and
+	 * result graphs in parallel. A value of {@code 1} means that all graphs
+	 * are dumped sequentially.
+	 */
+	public static final int DEFAULT_DUMP_PARALLELISM = 1;
+
 	/**
 	 * The collection of {@link SyntacticCheck}s to execute. These checks will
 	 * be immediately executed after LiSA is started, as they do not require any
@@ -285,6 +307,42 @@ public class LiSAConfiguration extends BaseConfiguration {
 	 */
 	public boolean useWideningPoints = true;
 
+	/**
+	 * If {@code true}, forward fixpoints over {@link CFG}s that are not
+	 * optimized (see {@link #optimize}) will follow the recursive iteration
+	 * strategy defined by the weak topological order of each cfg (see
+	 * {@link CFG#getWeakTopologicalOrder()}) instead of using a
+	 * {@link #fixpointWorkingSet}: each component of the order (i.e., each
+	 * loop) is iterated until its head stabilizes before moving on, and only
+	 * the components affected by a change are processed again. In this case,
+	 * if {@link #useWideningPoints} is {@code true}, the widening points are
+	 * the heads of the components, which coincide with the loop conditions in
+	 * structured code.<br>
+	 * <br>
+	 * Results computed with this option are sound, but they are not
+	 * guaranteed to be identical to the ones computed with the working set.
+	 * The two strategies visit nodes in a different order: the working set
+	 * updates the head of a loop every time one of its predecessors changes,
+	 * while the weak topological order updates it once per iteration of the
+	 * whole loop body. Since {@link #wideningThreshold} counts the updates of
+	 * each widening point, widening is applied to different states, and the
+	 * ascending phase can reach a different post-fixpoint. The descending
+	 * phase (see {@link #descendingPhaseType}) always uses the working set.
+	 * Results coincide whenever widening behaves as the lub (e.g., for
+	 * domains of finite height), as both strategies then compute the least
+	 * fixpoint of monotone semantics, and whenever the widened states
+	 * stabilize to the same values: in the numeric test cases, signs,
+	 * parities, constant propagation, intervals and pentagons produce the
+	 * same results with both strategies, while non-redundant powersets of
+	 * intervals produce a different set of disjuncts on one loop (the working
+	 * set merges them into {@code [10, 52]}, while the weak topological order
+	 * keeps {@code [10, 10]} and {@code [12, 52]} apart). Since widening
+	 * operators are not monotone, the result of one strategy is not
+	 * guaranteed to be more precise than the one of the other. Defaults to
+	 * {@code false}.
+	 */
+	public boolean useWeakTopologicalOrder = false;
+
 	/**
 	 * When {@link #optimize} is {@code true}, this predicate will be used to
 	 * determine additional statements (also considering intermediate ones) for
@@ -306,6 +364,75 @@ public class LiSAConfiguration extends BaseConfiguration {
 	 */
 	public boolean dumpForcesUnwinding = false;
 
+	/**
+	 * The number of workers that {@link InterproceduralAnalysis}es can use for
+	 * computing fixpoints over independent {@link CFG}s in parallel (e.g.,
+	 * different entrypoints of the program). Results are merged in a fixed
+	 * order, and are thus independent of the scheduling of the workers. Values
+	 * lower than {@code 2} cause all fixpoints to be computed sequentially on
+	 * the thread running the analysis. Note that a parallel execution requires
+	 * all the components of the analysis (e.g., abstract domains, call graph,
+	 * open call policy) to be thread-safe. Defaults to
+	 * {@link #DEFAULT_ANALYSIS_PARALLELISM}.
+	 */
+	public int analysisParallelism = DEFAULT_ANALYSIS_PARALLELISM;
+
+	/**
+	 * If {@code true}, the {@link InterproceduralAnalysis} reuses the
+	 * summaries computed by its previous execution for the code that did not
+	 * change since then. This is only supported by analyses whose
+	 * {@link InterproceduralAnalysis#canReuseSummaries()} returns
+	 * {@code true} (i.e., the bottom-up one), and {@link LiSA} refuses to run
+	 * other analyses if this is set. Summaries are kept in memory by the
+	 * analysis instance stored in {@link #interproceduralAnalysis}, and they
+	 * are never persisted: they are only reused when {@link LiSA} is run
+	 * multiple times with the same configuration within the same process.
+	 * Defaults to {@code false}.
+	 */
+	public boolean reuseBottomUpSummaries = false;
+
+	/**
+	 * The number of workers that can be used for executing
+	 * {@link SyntacticCheck}s and {@link SemanticCheck}s in parallel, visiting
+	 * different {@link CFG}s and units of the program at the same time. Values
+	 * lower than {@code 2} cause all checks to be executed sequentially on the
+	 * thread running the analysis. Note that a parallel execution requires the
+	 * checks to be thread-safe. Defaults to
+	 * {@link #DEFAULT_CHECKS_PARALLELISM}.
+	 */
+	public int checksParallelism = DEFAULT_CHECKS_PARALLELISM;
+
+	/**
+	 * The number of workers that can be used for dumping input and result
+	 * graphs (see {@link #serializeInputs}, {@link #serializeResults} and
+	 * {@link #analysisGraphs}) in parallel. Workers are split between the
+	 * construction of the graphs and their serialization to files, so that
+	 * the two overlap, while a bounded queue limits the number of graphs that
+	 * are kept in memory. Values lower than {@code 2} cause all graphs to be
+	 * dumped sequentially on the thread running the analysis. Note that
+	 * building result graphs might require unwinding optimized results (see
+	 * {@link #dumpForcesUnwinding}), and a parallel dump thus requires all the
+	 * components of the analysis to be thread-safe. Defaults to
+	 * {@link #DEFAULT_DUMP_PARALLELISM}.
+	 */
+	public int dumpParallelism = DEFAULT_DUMP_PARALLELISM;
+
+	/**
+	 * Sets whether or not fine-grained metrics about the analysis should be
+	 * collected, that is, the time and number of iterations of the fixpoints
+	 * computed over each {@link CFG}, the time spent evaluating the semantics
+	 * of each {@link Statement}, the number of lattice operations applied by
+	 * the fixpoints (attributed to the abstract state and to each domain
+	 * nested inside it) and the number of iterations of the
+	 * {@link InterproceduralAnalysis}. If {@code true}, a summary of the
+	 * metrics is added to the {@link LiSARunInfo} of the analysis, while the
+	 * full metrics are dumped in the working directory to a file named
+	 * {@value LiSA#METRICS_NAME}. Collecting metrics introduces some overhead
+	 * in the analysis, and should thus be disabled when not needed. Defaults
+	 * to {@code false}.
+	 */
+	public boolean collectMetrics = false;
+
 	@Override
 	public String toString() {
 		StringBuilder res = new StringBuilder();
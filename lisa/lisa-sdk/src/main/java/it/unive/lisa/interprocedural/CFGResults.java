@@ -8,12 +8,16 @@ import it.unive.lisa.analysis.lattices.FunctionalLattice;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.tuple.Pair;
 
 /**
  * A {@link FunctionalLattice} from {@link ScopeId}s to {@link AnalyzedCFG}s.
  * This class is meant to store fixpoint results on each token generated during
- * the interprocedural analysis.
+ * the interprocedural analysis. Instances of this class can be safely updated
+ * and queried through {@link #putResult(ScopeId, AnalyzedCFG)},
+ * {@link #contains(ScopeId)}, {@link #get(ScopeId)} and {@link #getAll()} by
+ * fixpoints running on parallel threads.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -67,7 +71,7 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @throws SemanticException if something goes wrong during the update
 	 */
-	public Pair<Boolean, AnalyzedCFG<A>> putResult(
+	public synchronized Pair<Boolean, AnalyzedCFG<A>> putResult(
 			ScopeId token,
 			AnalyzedCFG<A> result)
 			throws SemanticException {
@@ -111,7 +115,7 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @return {@code true} if that condition holds
 	 */
-	public boolean contains(
+	public synchronized boolean contains(
 			ScopeId token) {
 		return function != null && function.containsKey(token);
 	}
@@ -126,7 +130,7 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @return the result, or {@code null}
 	 */
-	public AnalyzedCFG<A> get(
+	public synchronized AnalyzedCFG<A> get(
 			ScopeId token) {
 		return function == null ? null : function.get(token);
 	}
@@ -137,7 +141,7 @@ public class CFGResults<A extends AbstractState<A>>
 	 * 
 	 * @return the results
 	 */
-	public Collection<AnalyzedCFG<A>> getAll() {
+	public synchronized Collection<AnalyzedCFG<A>> getAll() {
 		return function == null ? Collections.emptySet() : function.values();
 	}
 
@@ -151,6 +155,15 @@ public class CFGResults<A extends AbstractState<A>>
 		return new CFGResults<>(lattice.bottom());
 	}
 
+	@Override
+	public Map<ScopeId, AnalyzedCFG<A>> mkNewFunction(
+			Map<ScopeId, AnalyzedCFG<A>> other,
+			boolean preserveNull) {
+		if (other == null)
+			return preserveNull ? null : new ConcurrentHashMap<>();
+		return new ConcurrentHashMap<>(other);
+	}
+
 	@Override
 	public CFGResults<A> mk(
 			AnalyzedCFG<A> lattice,
@@ -7,12 +7,17 @@ import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.analysis.lattices.FunctionalLattice;
 import it.unive.lisa.program.cfg.CFG;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.tuple.Pair;
 
 /**
  * A {@link FunctionalLattice} from {@link CFG}s to {@link CFGResults}s. This
  * class is meant to store all fixpoint results on all token generated during
- * the interprocedural analysis for each cfg under analysis.
+ * the interprocedural analysis for each cfg under analysis. Instances of this
+ * class can be safely updated and queried through
+ * {@link #putResult(CFG, ScopeId, AnalyzedCFG)}, {@link #contains(CFG)},
+ * {@link #get(CFG)} and {@link #forget(CFG)} by fixpoints running on parallel
+ * threads.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -59,9 +64,13 @@ public class FixpointResults<A extends AbstractState<A>>
 			ScopeId token,
 			AnalyzedCFG<A> result)
 			throws SemanticException {
-		if (function == null)
-			function = mkNewFunction(null, false);
-		CFGResults<A> res = function.computeIfAbsent(cfg, c -> new CFGResults<>(result.top()));
+		CFGResults<A> res;
+		synchronized (this) {
+			if (function == null)
+				function = mkNewFunction(null, false);
+			res = function.computeIfAbsent(cfg, c -> new CFGResults<>(result.top()));
+		}
+		// the update is synchronized on the cfg-specific results
 		return res.putResult(token, result);
 	}
 
@@ -72,7 +81,7 @@ public class FixpointResults<A extends AbstractState<A>>
 	 * 
 	 * @return {@code true} if that condition holds
 	 */
-	public boolean contains(
+	public synchronized boolean contains(
 			CFG cfg) {
 		return function != null && function.containsKey(cfg);
 	}
@@ -87,7 +96,7 @@ public class FixpointResults<A extends AbstractState<A>>
 	 * 
 	 * @return the result, or {@code null}
 	 */
-	public CFGResults<A> get(
+	public synchronized CFGResults<A> get(
 			CFG cfg) {
 		return function == null ? null : function.get(cfg);
 	}
@@ -107,7 +116,7 @@ public class FixpointResults<A extends AbstractState<A>>
 	 * 
 	 * @param cfg the cfg to forget
 	 */
-	public void forget(
+	public synchronized void forget(
 			CFG cfg) {
 		if (function == null)
 			return;
@@ -116,6 +125,15 @@ public class FixpointResults<A extends AbstractState<A>>
 			function = null;
 	}
 
+	@Override
+	public Map<CFG, CFGResults<A>> mkNewFunction(
+			Map<CFG, CFGResults<A>> other,
+			boolean preserveNull) {
+		if (other == null)
+			return preserveNull ? null : new ConcurrentHashMap<>();
+		return new ConcurrentHashMap<>(other);
+	}
+
 	@Override
 	public FixpointResults<A> mk(
 			CFGResults<A> lattice,
@@ -0,0 +1,166 @@
+package it.unive.lisa.interprocedural;
+
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.logging.Counter;
+import it.unive.lisa.logging.IterationLogger;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A scheduler for independent fixpoint computations (typically,
+ * {@link CFG#fixpoint} invocations on different {@link CFG}s). Depending on its
+ * parallelism, the scheduler either runs all tasks sequentially on the calling
+ * thread or dispatches them to a fixed pool with the given number of worker
+ * threads. In both cases, results are returned in the iteration order of the
+ * input collection, and if more than one task fails, the exception of the first
+ * one (in iteration order) is the one that is propagated. This makes the
+ * outcome independent of how tasks are interleaved, as long as the tasks
+ * themselves are independent.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class FixpointScheduler {
+
+	/**
+	 * A task to be executed by a {@link FixpointScheduler}.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 * 
+	 * @param <T> the type of the elements the task is executed on
+	 * @param <R> the type of the results produced by the task
+	 */
+	@FunctionalInterface
+	public interface FixpointTask<T, R> {
+
+		/**
+		 * Executes the task on the given element.
+		 * 
+		 * @param element the element
+		 * 
+		 * @return the result of the task
+		 * 
+		 * @throws FixpointException if a fixpoint computation fails
+		 * @throws SemanticException if a semantic operation fails
+		 */
+		R compute(
+				T element)
+				throws FixpointException,
+				SemanticException;
+	}
+
+	private final int parallelism;
+
+	/**
+	 * Builds the scheduler.
+	 * 
+	 * @param parallelism the number of workers to use; values lower than
+	 *                        {@code 2} cause tasks to be executed sequentially
+	 *                        on the calling thread (see
+	 *                        {@link LiSAConfiguration#analysisParallelism})
+	 */
+	public FixpointScheduler(
+			int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Yields the number of workers used by this scheduler.
+	 * 
+	 * @return the number of workers
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Yields {@code true} if this scheduler executes tasks on more than one
+	 * thread.
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isParallel() {
+		return parallelism > 1;
+	}
+
+	/**
+	 * Executes {@code task} on each element of {@code elements}, logging the
+	 * progress at level {@link Level#INFO} on the given logger.
+	 * 
+	 * @param <T>      the type of the elements
+	 * @param <R>      the type of the results
+	 * @param logger   the logger to log onto
+	 * @param elements the elements to process
+	 * @param message  the message to display at each update
+	 * @param objects  the objects being processed
+	 * @param task     the task to execute on each element
+	 * 
+	 * @return the results of the task, in the iteration order of
+	 *             {@code elements}
+	 * 
+	 * @throws FixpointException if one of the tasks throws it, or if the
+	 *                               execution is interrupted
+	 * @throws SemanticException if one of the tasks throws it
+	 */
+	public <T, R> List<R> run(
+			Logger logger,
+			Collection<T> elements,
+			String message,
+			String objects,
+			FixpointTask<T, R> task)
+			throws FixpointException,
+			SemanticException {
+		List<R> results = new ArrayList<>(elements.size());
+		if (!isParallel() || elements.size() < 2) {
+			for (T element : IterationLogger.iterate(logger, elements, message, objects))
+				results.add(task.compute(element));
+			return results;
+		}
+
+		Counter counter = new Counter(logger, Level.INFO, message, objects, elements.size(), 0.025);
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+		List<Future<R>> futures = new ArrayList<>(elements.size());
+		counter.on();
+		try {
+			for (T element : elements)
+				futures.add(pool.submit(() -> {
+					try {
+						return task.compute(element);
+					} finally {
+						counter.count();
+					}
+				}));
+
+			for (Future<R> future : futures)
+				results.add(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FixpointException("Interrupted while waiting for fixpoint tasks", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof FixpointException)
+				throw (FixpointException) cause;
+			if (cause instanceof SemanticException)
+				throw (SemanticException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new FixpointException("Fixpoint task terminated abruptly", cause);
+		} finally {
+			pool.shutdownNow();
+			counter.off();
+		}
+
+		return results;
+	}
+}
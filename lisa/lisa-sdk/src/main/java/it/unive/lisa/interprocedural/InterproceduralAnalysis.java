@@ -54,6 +54,19 @@ public interface InterproceduralAnalysis<A extends AbstractState<A>> {
 	 */
 	boolean needsCallGraph();
 
+	/**
+	 * Yields {@code true} if this analysis can reuse the summaries computed by
+	 * its previous execution when
+	 * {@link it.unive.lisa.conf.LiSAConfiguration#reuseBottomUpSummaries} is
+	 * set. If this method returns {@code false} and the option is set, LiSA
+	 * refuses to run the analysis. Defaults to {@code false}.
+	 * 
+	 * @return whether or not this analysis can reuse summaries
+	 */
+	default boolean canReuseSummaries() {
+		return false;
+	}
+
 	/**
 	 * Initializes the interprocedural analysis of the given program. A call to
 	 * this method should effectively re-initialize the interprocedural analysis
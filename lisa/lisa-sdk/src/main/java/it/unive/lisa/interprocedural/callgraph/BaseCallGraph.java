@@ -4,6 +4,7 @@ import it.unive.lisa.analysis.symbols.Aliases;
 import it.unive.lisa.analysis.symbols.NameSymbol;
 import it.unive.lisa.analysis.symbols.QualifiedNameSymbol;
 import it.unive.lisa.analysis.symbols.QualifierSymbol;
+import it.unive.lisa.analysis.symbols.Symbol;
 import it.unive.lisa.analysis.symbols.SymbolAliasing;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.CompilationUnit;
@@ -26,15 +27,17 @@ import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
 import it.unive.lisa.program.language.hierarchytraversal.HierarcyTraversalStrategy;
 import it.unive.lisa.program.language.resolution.ParameterMatchingStrategy;
 import it.unive.lisa.type.Type;
+import it.unive.lisa.type.TypeSystem;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -45,7 +48,22 @@ import org.apache.logging.log4j.Logger;
  * <br>
  * The graph underlying this call graph is built lazily through each call to
  * resolve: querying for information about the graph before the completion of
- * the analysis might lead to wrong results.
+ * the analysis might lead to wrong results. Calls can be registered and
+ * resolved concurrently by fixpoints running on parallel threads: resolutions
+ * are computed and looked up in the {@link CallResolutionCache} without
+ * locking, and only the insertion of nodes and edges in the graph is
+ * serialized.<br>
+ * <br>
+ * Candidate targets of calls are looked up through tables indexing code
+ * members by name: non-instance members are indexed once per
+ * {@link Application} when the call graph is initialized, while instance
+ * members are indexed lazily, once per {@link CompilationUnit}. Thus,
+ * {@link #checkMember(UnresolvedCall, Set[], Collection, Collection, SymbolAliasing, CodeMember, boolean)}
+ * is invoked only on code members whose name (or qualifier, if aliased)
+ * might match the one of the call. The tables assume that
+ * {@link #matchCodeMemberName(UnresolvedCall, String, String)} only matches
+ * equal names: subclasses overriding it do not use them, and all code members
+ * are checked instead.
  *
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a> and
  *             <a href="mailto:pietro.ferrara@unive.it">Pietro Ferrara</a>
@@ -56,9 +74,35 @@ public abstract class BaseCallGraph extends CallGraph {
 
 	private Application app;
 
-	private final Map<CodeMember, Collection<Call>> callsites = new HashMap<>();
+	private final Map<CodeMember, Collection<Call>> callsites = new ConcurrentHashMap<>();
+
+	private volatile CallResolutionCache resolvedCache = new CallResolutionCache();
+
+	/**
+	 * The non-instance code members of the application, indexed by name.
+	 */
+	private final Map<String, Collection<CodeMember>> membersByName = new HashMap<>();
+
+	/**
+	 * The non-instance code members of the application, indexed by the name
+	 * of their unit.
+	 */
+	private final Map<String, Collection<CodeMember>> membersByQualifier = new HashMap<>();
+
+	/**
+	 * The instance code members defined in each unit (without traversing the
+	 * hierarchy), indexed by name. Units are added to this map the first time
+	 * they are traversed when resolving an instance call.
+	 */
+	private final Map<CompilationUnit, Map<String, Collection<CodeMember>>> instanceMembers = new ConcurrentHashMap<>();
 
-	private final Map<UnresolvedCall, Map<List<Set<Type>>, Call>> resolvedCache = new IdentityHashMap<>();
+	/**
+	 * Whether or not candidate targets are looked up through the tables
+	 * indexing code members by name, that is, if
+	 * {@link #matchCodeMemberName(UnresolvedCall, String, String)} is not
+	 * overridden.
+	 */
+	private final boolean nameIndexed = !overridesNameMatching(getClass());
 
 	@Override
 	public void init(
@@ -68,6 +112,50 @@ public abstract class BaseCallGraph extends CallGraph {
 		this.app = app;
 		this.callsites.clear();
 		this.resolvedCache.clear();
+		this.membersByName.clear();
+		this.membersByQualifier.clear();
+		this.instanceMembers.clear();
+		if (nameIndexed)
+			for (CodeMember cm : app.getAllCodeCodeMembers())
+				if (!cm.getDescriptor().isInstance()) {
+					membersByName.computeIfAbsent(cm.getDescriptor().getName(), n -> new LinkedList<>()).add(cm);
+					membersByQualifier.computeIfAbsent(cm.getDescriptor().getUnit().getName(),
+							q -> new LinkedList<>()).add(cm);
+				}
+	}
+
+	private static boolean overridesNameMatching(
+			Class<?> type) {
+		try {
+			return type.getMethod("matchCodeMemberName", UnresolvedCall.class, String.class, String.class)
+					.getDeclaringClass() != BaseCallGraph.class;
+		} catch (NoSuchMethodException e) {
+			// the method is public, this cannot happen
+			return true;
+		}
+	}
+
+	/**
+	 * Yields the cache used to store the resolutions of
+	 * {@link UnresolvedCall}s.
+	 * 
+	 * @return the cache
+	 */
+	public CallResolutionCache getResolutionCache() {
+		return resolvedCache;
+	}
+
+	/**
+	 * Sets the cache used to store the resolutions of {@link UnresolvedCall}s,
+	 * replacing the default one with {@link CallResolutionCache#DEFAULT_CAPACITY}
+	 * capacity. Note that the cache is cleared when this call graph is
+	 * initialized.
+	 * 
+	 * @param cache the cache
+	 */
+	public void setResolutionCache(
+			CallResolutionCache cache) {
+		this.resolvedCache = cache;
 	}
 
 	@Override
@@ -78,17 +166,42 @@ public abstract class BaseCallGraph extends CallGraph {
 			// UnresolvedCall, and that one has already been registered
 			return;
 
+		addCalls(call, call.getTargetedCFGs(), Collections.emptyList());
+	}
+
+	/**
+	 * Adds the edges from the cfg containing the given call to the given
+	 * targets, registering the call as a call site of each target. This is
+	 * the only method that modifies the graph, and it is synchronized on this
+	 * call graph as {@link #getCallees(CodeMember)} and
+	 * {@link #getCallers(CodeMember)} are.
+	 * 
+	 * @param call    the call
+	 * @param targets the {@link CFG}s targeted by the call
+	 * @param natives the {@link NativeCFG}s targeted by the call
+	 */
+	private synchronized void addCalls(
+			Call call,
+			Collection<CFG> targets,
+			Collection<NativeCFG> natives) {
 		CallGraphNode source = new CallGraphNode(this, call.getCFG());
 		if (!adjacencyMatrix.containsNode(source))
 			addNode(source, app.getEntryPoints().contains(call.getCFG()));
 
-		for (CFG cfg : call.getTargetedCFGs()) {
-			callsites.computeIfAbsent(cfg, cm -> new HashSet<>()).add(call);
-
-			CallGraphNode t = new CallGraphNode(this, cfg);
+		for (CFG target : targets) {
+			CallGraphNode t = new CallGraphNode(this, target);
 			if (!adjacencyMatrix.containsNode(t))
 				addNode(t, app.getEntryPoints().contains(call.getCFG()));
 			addEdge(new CallGraphEdge(source, t));
+			callsites.computeIfAbsent(target, cm -> ConcurrentHashMap.newKeySet()).add(call);
+		}
+
+		for (NativeCFG target : natives) {
+			CallGraphNode t = new CallGraphNode(this, target);
+			if (!adjacencyMatrix.containsNode(t))
+				addNode(t, false);
+			addEdge(new CallGraphEdge(source, t));
+			callsites.computeIfAbsent(target, cm -> ConcurrentHashMap.newKeySet()).add(call);
 		}
 	}
 
@@ -99,10 +212,17 @@ public abstract class BaseCallGraph extends CallGraph {
 			Set<Type>[] types,
 			SymbolAliasing aliasing)
 			throws CallResolutionException {
-		List<Set<Type>> typeList = Arrays.asList(types);
-		Call cached = resolvedCache.getOrDefault(call, Map.of()).get(typeList);
+		// runtime types are turned into bit vectors over the program's type
+		// cache, so that cache keys are cheap to compare and memoize their
+		// hash. Types that are not in the type cache are interned in it, and
+		// never removed: the type cache thus grows with every distinct
+		// runtime type seen here (see TypeSystem.asTypeSet)
+		if (types != null)
+			types = asTypeSets(call.getProgram().getTypes(), types);
+		Call cached = resolvedCache.get(call, types);
 		if (cached != null)
 			return cached;
+		Set<Type>[] original = types;
 
 		Expression[] params = call.getParameters();
 		if (types == null || types.length != params.length)
@@ -191,27 +311,12 @@ public abstract class BaseCallGraph extends CallGraph {
 			resolved = new MultiCall(call, cfgcall, cfgcallnorec, nativecall, nativecallnorec);
 
 		resolved.setSource(call);
-		resolvedCache.computeIfAbsent(call, c -> new HashMap<>()).put(typeList, resolved);
-
-		CallGraphNode source = new CallGraphNode(this, call.getCFG());
-		if (!adjacencyMatrix.containsNode(source))
-			addNode(source, app.getEntryPoints().contains(call.getCFG()));
-
-		for (CFG target : targets) {
-			CallGraphNode t = new CallGraphNode(this, target);
-			if (!adjacencyMatrix.containsNode(t))
-				addNode(t, app.getEntryPoints().contains(call.getCFG()));
-			addEdge(new CallGraphEdge(source, t));
-			callsites.computeIfAbsent(target, cm -> new HashSet<>()).add(call);
-		}
-
-		for (NativeCFG target : nativeTargets) {
-			CallGraphNode t = new CallGraphNode(this, target);
-			if (!adjacencyMatrix.containsNode(t))
-				addNode(t, false);
-			addEdge(new CallGraphEdge(source, t));
-			callsites.computeIfAbsent(target, cm -> new HashSet<>()).add(call);
-		}
+		Call previous = resolvedCache.putIfAbsent(call, original, resolved);
+		addCalls(call, targets, nativeTargets);
+		if (previous != null)
+			// the same resolution has been computed concurrently: we yield
+			// the one that other threads are using, that has the same targets
+			return previous;
 
 		LOG.trace(
 				call + " [" + call.getLocation() + "] has been resolved to: " + ((ResolvedCall) resolved).getTargets());
@@ -317,6 +422,24 @@ public abstract class BaseCallGraph extends CallGraph {
 				&& nativeTargetsNoRec.isEmpty();
 	}
 
+	private static Set<Type>[] asTypeSets(
+			TypeSystem typeSystem,
+			Set<Type>[] types) {
+		Set<Type>[] result = types;
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] == null)
+				continue;
+			Set<Type> set = typeSystem.asTypeSet(types[i]);
+			if (set != types[i]) {
+				// we never modify the array of the caller
+				if (result == types)
+					result = Arrays.copyOf(types, types.length);
+				result[i] = set;
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Resolves the given call as regular (non-instance) call.
 	 * 
@@ -340,7 +463,10 @@ public abstract class BaseCallGraph extends CallGraph {
 			Collection<NativeCFG> natives,
 			SymbolAliasing aliasing)
 			throws CallResolutionException {
-		for (CodeMember cm : app.getAllCodeCodeMembers())
+		Collection<CodeMember> candidates = nameIndexed
+				? lookup(call, aliasing, membersByName, membersByQualifier::get)
+				: app.getAllCodeCodeMembers();
+		for (CodeMember cm : candidates)
 			checkMember(call, types, targets, natives, aliasing, cm, false);
 	}
 
@@ -383,11 +509,73 @@ public abstract class BaseCallGraph extends CallGraph {
 			Set<CompilationUnit> seen = new HashSet<>();
 			HierarcyTraversalStrategy strategy = call.getProgram().getFeatures().getTraversalStrategy();
 			for (CompilationUnit cu : strategy.traverse(call, unit))
-				if (seen.add(cu))
+				if (seen.add(cu)) {
 					// we inspect only the ones of the current unit
-					for (CodeMember cm : cu.getInstanceCodeMembers(false))
+					Collection<CodeMember> candidates = nameIndexed
+							? lookup(call, aliasing, instanceMembers.computeIfAbsent(cu, this::indexByName),
+									q -> q.equals(cu.getName()) ? cu.getInstanceCodeMembers(false) : null)
+							: cu.getInstanceCodeMembers(false);
+					for (CodeMember cm : candidates)
 						checkMember(call, types, targets, natives, aliasing, cm, true);
+				}
+		}
+	}
+
+	private Map<String, Collection<CodeMember>> indexByName(
+			CompilationUnit unit) {
+		Map<String, Collection<CodeMember>> index = new HashMap<>();
+		for (CodeMember cm : unit.getInstanceCodeMembers(false))
+			index.computeIfAbsent(cm.getDescriptor().getName(), n -> new LinkedList<>()).add(cm);
+		return index;
+	}
+
+	/**
+	 * A function yielding the code members defined in the unit with the given
+	 * name, or {@code null} if there are none.
+	 */
+	@FunctionalInterface
+	private interface QualifierLookup {
+		Collection<CodeMember> membersOf(
+				String qualifier);
+	}
+
+	/**
+	 * Yields the code members that might be targeted by the given call: these
+	 * are the ones named as the target of the call, plus the ones whose name
+	 * or qualifier are aliased in {@code aliasing}. Note that if
+	 * {@code aliasing} is top or bottom, it does not hold any alias.
+	 * 
+	 * @param call       the call
+	 * @param aliasing   the symbol aliasing information (possibly
+	 *                       {@code null})
+	 * @param byName     the code members to consider, indexed by name
+	 * @param qualifiers the function yielding the code members to consider,
+	 *                       given the name of their unit
+	 * 
+	 * @return the candidate targets
+	 */
+	private static Collection<CodeMember> lookup(
+			UnresolvedCall call,
+			SymbolAliasing aliasing,
+			Map<String, Collection<CodeMember>> byName,
+			QualifierLookup qualifiers) {
+		Collection<CodeMember> direct = byName.getOrDefault(call.getTargetName(), Collections.emptyList());
+		if (aliasing == null || aliasing.getKeys().isEmpty())
+			return direct;
+
+		Set<CodeMember> candidates = new LinkedHashSet<>(direct);
+		for (Symbol symbol : aliasing.getKeys()) {
+			Collection<CodeMember> aliased = null;
+			if (symbol instanceof QualifiedNameSymbol)
+				aliased = byName.get(((QualifiedNameSymbol) symbol).getName());
+			else if (symbol instanceof NameSymbol)
+				aliased = byName.get(((NameSymbol) symbol).getName());
+			else if (symbol instanceof QualifierSymbol)
+				aliased = qualifiers.membersOf(((QualifierSymbol) symbol).getQualifier());
+			if (aliased != null)
+				candidates.addAll(aliased);
 		}
+		return candidates;
 	}
 
 	/**
@@ -471,7 +659,9 @@ public abstract class BaseCallGraph extends CallGraph {
 
 	/**
 	 * Matches the name (qualifier + target name) of the given call against the
-	 * given code member.
+	 * given code member. Overriding this method disables the lookup of
+	 * candidate targets by name, since the ones matched by the overriding
+	 * method might have a different name.
 	 * 
 	 * @param call      the call to match
 	 * @param qualifier the qualifier (name of the defining unit) of the code
@@ -209,7 +209,7 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 * 
 	 * @return the collection of called code members
 	 */
-	public Collection<CodeMember> getCallees(
+	public synchronized Collection<CodeMember> getCallees(
 			CodeMember cm) {
 		return followersOf(new CallGraphNode(this, cm)).stream()
 				.map(CallGraphNode::getCodeMember)
@@ -225,7 +225,7 @@ public abstract class CallGraph extends BaseGraph<CallGraph, CallGraphNode, Call
 	 * 
 	 * @return the collection of callers code members
 	 */
-	public Collection<CodeMember> getCallers(
+	public synchronized Collection<CodeMember> getCallers(
 			CodeMember cm) {
 		return predecessorsOf(new CallGraphNode(this, cm)).stream()
 				.map(CallGraphNode::getCodeMember)
@@ -0,0 +1,333 @@
+package it.unive.lisa.interprocedural.callgraph;
+
+import it.unive.lisa.program.cfg.statement.call.Call;
+import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
+import it.unive.lisa.type.Type;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded cache of the resolutions of {@link UnresolvedCall}s, used by
+ * {@link BaseCallGraph}. Each entry is identified by the call being resolved
+ * (compared by identity) and by the runtime types of its parameters (compared
+ * by equality). When the number of entries exceeds the capacity of the cache,
+ * the least recently used ones are evicted. Runtime type signatures are
+ * interned, so that entries for different calls with the same signature share
+ * the same instance, and signatures that are no longer used by any entry can
+ * be garbage collected.<br>
+ * <br>
+ * Instances of this class can be safely used by concurrent resolutions.
+ * Lookups never block: entries are stored in a concurrent map, and each
+ * lookup only records the time of the access on the entry it finds. Only
+ * insertions that exceed the capacity take a lock, to evict the least
+ * recently used entries: to amortize the cost of finding them, a sixteenth of
+ * the capacity is evicted at once. The cache also keeps track of the number
+ * of hits, misses and evictions since it was last cleared.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class CallResolutionCache {
+
+	/**
+	 * The default capacity of the cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 10_000;
+
+	private final int capacity;
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+	private final Map<List<Set<Type>>, WeakReference<List<Set<Type>>>> signatures = new WeakHashMap<>();
+
+	/**
+	 * The logical clock used to order accesses to the entries.
+	 */
+	private final AtomicLong clock = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Builds a cache with {@link #DEFAULT_CAPACITY} capacity.
+	 */
+	public CallResolutionCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Builds a cache with the given capacity.
+	 * 
+	 * @param capacity the maximum number of entries of the cache
+	 * 
+	 * @throws IllegalArgumentException if {@code capacity} is not positive
+	 */
+	public CallResolutionCache(
+			int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("The capacity of the cache must be positive");
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Yields the resolution of the given call with the given runtime types of
+	 * its parameters, if it is in the cache.
+	 * 
+	 * @param call  the call
+	 * @param types the runtime types of the parameters of the call
+	 * 
+	 * @return the resolved call, or {@code null} if the resolution is not in
+	 *             the cache
+	 */
+	public Call get(
+			UnresolvedCall call,
+			Set<Type>[] types) {
+		Entry entry = entries.get(new Key(call, types == null ? null : Arrays.asList(types)));
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		entry.access = clock.incrementAndGet();
+		return entry.resolved;
+	}
+
+	/**
+	 * Stores the resolution of the given call with the given runtime types of
+	 * its parameters, possibly evicting the least recently used entries.
+	 * 
+	 * @param call     the call
+	 * @param types    the runtime types of the parameters of the call
+	 * @param resolved the resolved call
+	 */
+	public void put(
+			UnresolvedCall call,
+			Set<Type>[] types,
+			Call resolved) {
+		entries.put(new Key(call, intern(types)), new Entry(resolved, clock.incrementAndGet()));
+		if (entries.size() > capacity)
+			evict();
+	}
+
+	/**
+	 * Stores the resolution of the given call with the given runtime types of
+	 * its parameters, unless one is already in the cache. This possibly
+	 * evicts the least recently used entries.
+	 * 
+	 * @param call     the call
+	 * @param types    the runtime types of the parameters of the call
+	 * @param resolved the resolved call
+	 * 
+	 * @return the resolved call that was already in the cache, or
+	 *             {@code null} if {@code resolved} has been stored
+	 */
+	public Call putIfAbsent(
+			UnresolvedCall call,
+			Set<Type>[] types,
+			Call resolved) {
+		Entry previous = entries.putIfAbsent(new Key(call, intern(types)),
+				new Entry(resolved, clock.incrementAndGet()));
+		if (previous != null)
+			return previous.resolved;
+		if (entries.size() > capacity)
+			evict();
+		return null;
+	}
+
+	private synchronized void evict() {
+		int excess = entries.size() - capacity;
+		if (excess <= 0)
+			// another thread evicted the entries in the meantime
+			return;
+
+		// we keep the oldest entries in a max-heap, snapshotting their access
+		// time since concurrent lookups might update it
+		int count = Math.min(entries.size(), Math.max(excess, capacity / 16));
+		PriorityQueue<Victim> oldest = new PriorityQueue<>(count + 1,
+				Comparator.comparingLong((Victim v) -> v.access).reversed());
+		for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+			oldest.add(new Victim(entry.getKey(), entry.getValue()));
+			if (oldest.size() > count)
+				oldest.poll();
+		}
+
+		for (Victim victim : oldest)
+			if (entries.remove(victim.key, victim.entry))
+				evictions.increment();
+	}
+
+	private List<Set<Type>> intern(
+			Set<Type>[] types) {
+		if (types == null)
+			return null;
+		List<Set<Type>> signature = Arrays.asList(types);
+		synchronized (signatures) {
+			WeakReference<List<Set<Type>>> ref = signatures.get(signature);
+			List<Set<Type>> interned = ref == null ? null : ref.get();
+			if (interned == null) {
+				// we copy the signature to avoid sharing the array of the
+				// caller
+				interned = Collections.unmodifiableList(new ArrayList<>(signature));
+				signatures.put(interned, new WeakReference<>(interned));
+			}
+			return interned;
+		}
+	}
+
+	/**
+	 * Removes all entries from this cache, resetting its counters.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		synchronized (signatures) {
+			signatures.clear();
+		}
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Yields the maximum number of entries of this cache.
+	 * 
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Yields the number of entries currently in this cache.
+	 * 
+	 * @return the number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Yields the number of lookups that found an entry in this cache.
+	 * 
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Yields the number of lookups that did not find an entry in this cache.
+	 * 
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Yields the number of entries that have been evicted from this cache.
+	 * 
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Yields the ratio between the hits and the total number of lookups
+	 * performed on this cache, or {@code 0} if no lookup has been performed.
+	 * 
+	 * @return the hit rate
+	 */
+	public double getHitRate() {
+		long found = getHits();
+		long lookups = found + getMisses();
+		return lookups == 0 ? 0 : (double) found / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d hits, %d misses (%.2f%% hit rate), %d/%d entries, %d evictions",
+				getHits(), getMisses(), getHitRate() * 100, size(), capacity, getEvictions());
+	}
+
+	private static class Entry {
+
+		private final Call resolved;
+
+		/**
+		 * The value of the clock at the last access to this entry.
+		 */
+		private volatile long access;
+
+		private Entry(
+				Call resolved,
+				long access) {
+			this.resolved = resolved;
+			this.access = access;
+		}
+	}
+
+	private static class Victim {
+
+		private final Key key;
+
+		private final Entry entry;
+
+		private final long access;
+
+		private Victim(
+				Key key,
+				Entry entry) {
+			this.key = key;
+			this.entry = entry;
+			this.access = entry.access;
+		}
+	}
+
+	private static class Key {
+
+		private final UnresolvedCall call;
+
+		private final List<Set<Type>> signature;
+
+		private final int hash;
+
+		private Key(
+				UnresolvedCall call,
+				List<Set<Type>> signature) {
+			this.call = call;
+			this.signature = signature;
+			this.hash = 31 * System.identityHashCode(call) + Objects.hashCode(signature);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(
+				Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Key other = (Key) obj;
+			return call == other.call && Objects.equals(signature, other.signature);
+		}
+	}
+}
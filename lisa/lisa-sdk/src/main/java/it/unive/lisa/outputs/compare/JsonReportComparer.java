@@ -12,6 +12,7 @@ import it.unive.lisa.outputs.serializableGraph.SerializableObject;
 import it.unive.lisa.outputs.serializableGraph.SerializableString;
 import it.unive.lisa.outputs.serializableGraph.SerializableValue;
 import it.unive.lisa.util.collections.CollectionsDiffBuilder;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -42,14 +43,14 @@ import org.apache.logging.log4j.util.TriConsumer;
  * treating each field as a string</li>
  * <li>run information ({@link JsonReport#getInfo()}) are then compared,
  * treating each field as a string but ignoring timestamps (duration, start,
- * end) and LiSA's version</li>
+ * end), LiSA's version and the collected metrics</li>
  * <li>warnings ({@link JsonReport#getWarnings()}) are then compared, using
  * {@link JsonWarning#compareTo(JsonWarning)} method</li>
  * <li>the set of files produced during the analysis
  * ({@link JsonReport#getFiles()}) is then compared, matching their paths</li>
  * <li>finally, the contents of every file produced by both analyses are
- * compared, excluding the report itself ({@link LiSA#REPORT_NAME}) and
- * visualization-only files</li>
+ * compared, excluding the report itself ({@link LiSA#REPORT_NAME}), the
+ * metrics file ({@link LiSA#METRICS_NAME}) and visualization-only files</li>
  * </ol>
  * Comparison can be customized providing an implementation of
  * {@link DiffAlgorithm}.
@@ -432,7 +433,8 @@ public class JsonReportComparer {
 				throw new FileNotFoundException(format(MISSING_FILE, pair.getRight(), "second"));
 
 			String path = left.getName();
-			if (FilenameUtils.getName(path).equals(LiSA.REPORT_NAME))
+			if (FilenameUtils.getName(path).equals(LiSA.REPORT_NAME)
+					|| FilenameUtils.getName(path).equals(LiSA.METRICS_NAME))
 				continue;
 
 			if (diff.isJsonGraph(path))
@@ -498,8 +500,9 @@ public class JsonReportComparer {
 				// we are really only interested in code metrics here,
 				// information like timestamps and version are not useful - we
 				// still use a blacklist approach to ensure that new fields are
-				// tested by default
-				key -> INFO_BLACKLIST.contains(key));
+				// tested by default; metrics are also ignored, as they depend on
+				// how the analysis was executed
+				key -> INFO_BLACKLIST.contains(key) || key.startsWith(AnalysisMetrics.PREFIX));
 	}
 
 	private static boolean compareBags(
@@ -1,6 +1,8 @@
 package it.unive.lisa.outputs.serializableGraph;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import it.unive.lisa.outputs.DotGraph;
 import it.unive.lisa.outputs.GraphmlGraph;
@@ -8,6 +10,7 @@ import it.unive.lisa.outputs.HtmlGraph;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,6 +37,13 @@ import org.apache.commons.lang3.tuple.Pair;
  */
 public class SerializableGraph {
 
+	/**
+	 * The mapper used to serialize the elements of graphs. Mappers are
+	 * thread-safe once configured, and expensive to create.
+	 */
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+
 	private final String name;
 
 	private final String description;
@@ -176,7 +186,12 @@ public class SerializableGraph {
 	/**
 	 * Dumps this graph, in JSON format through the given {@link Writer}. If the
 	 * system property {@code lisa.json.indent} is set to any value, the json
-	 * will be formatted.
+	 * will be formatted.<br>
+	 * <br>
+	 * The graph is streamed to the writer through a {@link JsonGenerator}, one
+	 * element at a time, without building an intermediate representation of
+	 * the whole document. This method can be safely invoked by concurrent
+	 * threads on different graphs.
 	 * 
 	 * @param writer the writer to use for dumping the graph
 	 * 
@@ -185,9 +200,36 @@ public class SerializableGraph {
 	public void dump(
 			Writer writer)
 			throws IOException {
-		ObjectMapper mapper = new ObjectMapper();
-		mapper.configure(SerializationFeature.INDENT_OUTPUT, System.getProperty("lisa.json.indent") != null);
-		mapper.writeValue(writer, this);
+		ObjectWriter json = System.getProperty("lisa.json.indent") != null
+				? MAPPER.writerWithDefaultPrettyPrinter()
+				: MAPPER.writer();
+		try (JsonGenerator gen = json.createGenerator(writer)) {
+			gen.writeStartObject();
+			gen.writeStringField("name", name);
+			gen.writeStringField("description", description);
+			dumpElements(gen, "nodes", nodes);
+			dumpElements(gen, "edges", edges);
+			dumpElements(gen, "descriptions", descriptions);
+			gen.writeEndObject();
+		}
+	}
+
+	private static void dumpElements(
+			JsonGenerator gen,
+			String field,
+			Collection<?> elements)
+			throws IOException {
+		if (elements == null) {
+			gen.writeNullField(field);
+			return;
+		}
+
+		gen.writeArrayFieldStart(field);
+		// the mapper keeps the pretty printer of the generator, while an
+		// ObjectWriter would reset its indentation
+		for (Object element : elements)
+			MAPPER.writeValue(gen, element);
+		gen.writeEndArray();
 	}
 
 	/**
@@ -357,8 +399,7 @@ public class SerializableGraph {
 	public static SerializableGraph readGraph(
 			Reader reader)
 			throws IOException {
-		ObjectMapper mapper = new ObjectMapper();
-		return mapper.readValue(reader, SerializableGraph.class);
+		return MAPPER.readValue(reader, SerializableGraph.class);
 	}
 
 	/**
@@ -39,6 +39,8 @@ import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix;
 import it.unive.lisa.util.datastructures.graph.algorithms.BackwardFixpoint;
 import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint;
 import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import it.unive.lisa.util.datastructures.graph.algorithms.WTOFixpoint;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder;
 import it.unive.lisa.util.datastructures.graph.code.CodeGraph;
 import it.unive.lisa.util.datastructures.graph.code.NodeList;
 import java.util.Collection;
@@ -85,6 +87,14 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 	 */
 	private Map<Statement, Statement[]> basicBlocks;
 
+	/**
+	 * The lazily computed weak topological order of this cfg, together with
+	 * the number of modifications of the underlying {@link NodeList} at the
+	 * time it was computed. This is {@code null} if the order has never been
+	 * requested through {@link #getWeakTopologicalOrder()}.
+	 */
+	private volatile CachedOrder wto;
+
 	/**
 	 * Builds the control flow graph.
 	 * 
@@ -374,14 +384,30 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 			FixpointConfiguration conf,
 			ScopeId id)
 			throws FixpointException {
+		long start = conf.metrics.start();
 		// we disable optimizations for ascending phases if there is a
 		// descending one: the latter will need full results to start applying
 		// glbs/narrowings from a post-fixpoint
 		boolean isOptimized = conf.optimize && conf.descendingPhaseType == DescendingPhaseType.NONE;
-		Fixpoint<CFG, Statement, Edge, CompoundState<A>> fix = isOptimized
-				? new OptimizedFixpoint<>(this, false, conf.hotspots)
-				: new Fixpoint<>(this, false);
-		AscendingFixpoint<A> asc = new AscendingFixpoint<>(this, interprocedural, conf);
+		Fixpoint<CFG, Statement, Edge, CompoundState<A>> fix;
+		AscendingFixpoint<A> asc;
+		if (isOptimized) {
+			fix = new OptimizedFixpoint<>(this, false, conf.hotspots);
+			asc = new AscendingFixpoint<>(this, interprocedural, conf);
+		} else if (conf.useWeakTopologicalOrder) {
+			// widenings must happen at the heads of the components, as
+			// those are the ones that are iterated until stabilization.
+			// note that heads are updated once per iteration of their
+			// component, so widening might be applied to different states
+			// w.r.t. the working set-based fixpoint, leading to a different
+			// (but still sound) post-fixpoint
+			WeakTopologicalOrder<CFG, Statement, Edge> order = getWeakTopologicalOrder();
+			fix = new WTOFixpoint<>(this, false, order);
+			asc = new AscendingFixpoint<>(this, interprocedural, conf, order.getHeads());
+		} else {
+			fix = new Fixpoint<>(this, false);
+			asc = new AscendingFixpoint<>(this, interprocedural, conf);
+		}
 
 		Map<Statement, CompoundState<A>> starting = new HashMap<>();
 		StatementStore<A> bot = new StatementStore<>(singleton.bottom());
@@ -390,8 +416,10 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 				state) -> starting.put(st, CompoundState.of(state, bot)));
 		Map<Statement, CompoundState<A>> ascending = fix.fixpoint(starting, ws, asc);
 
-		if (conf.descendingPhaseType == DescendingPhaseType.NONE)
+		if (conf.descendingPhaseType == DescendingPhaseType.NONE) {
+			conf.metrics.fixpointComputed(this, start);
 			return flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending);
+		}
 
 		fix = conf.optimize ? new OptimizedFixpoint<>(this, true, conf.hotspots) : new Fixpoint<>(this, true);
 		Map<Statement, CompoundState<A>> descending;
@@ -411,6 +439,7 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 			break;
 		}
 
+		conf.metrics.fixpointComputed(this, start);
 		return flatten(conf.optimize, singleton, startingPoints, interprocedural, id, descending);
 	}
 
@@ -585,6 +614,7 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 			FixpointConfiguration conf,
 			ScopeId id)
 			throws FixpointException {
+		long start = conf.metrics.start();
 		// we disable optimizations for ascending phases if there is a
 		// descending one: the latter will need full results to start applying
 		// glbs/narrowings from a post-fixpoint
@@ -601,8 +631,10 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 				state) -> starting.put(st, CompoundState.of(state, bot)));
 		Map<Statement, CompoundState<A>> ascending = fix.fixpoint(starting, ws, asc);
 
-		if (conf.descendingPhaseType == DescendingPhaseType.NONE)
+		if (conf.descendingPhaseType == DescendingPhaseType.NONE) {
+			conf.metrics.fixpointComputed(this, start);
 			return flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending);
+		}
 
 		fix = conf.optimize ? new OptimizedBackwardFixpoint<>(this, true, conf.hotspots)
 				: new BackwardFixpoint<>(this, true);
@@ -623,6 +655,7 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 			break;
 		}
 
+		conf.metrics.fixpointComputed(this, start);
 		return flatten(conf.optimize, singleton, startingPoints, interprocedural, id, descending);
 	}
 
@@ -1071,6 +1104,28 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 		return result;
 	}
 
+	/**
+	 * Yields the weak topological order of the statements of this cfg that are
+	 * reachable from its entrypoints. The order is computed on the first
+	 * invocation of this method, and it is cached until the structure of this
+	 * cfg (i.e., its statements, edges or entrypoints) changes.
+	 * 
+	 * @return the weak topological order of this cfg
+	 */
+	public WeakTopologicalOrder<CFG, Statement, Edge> getWeakTopologicalOrder() {
+		CachedOrder cached = wto;
+		int modifications = list.getModificationCount();
+		if (cached != null
+				&& cached.modifications == modifications
+				&& cached.order.getRoots().containsAll(entrypoints)
+				&& entrypoints.containsAll(cached.order.getRoots()))
+			return cached.order;
+
+		WeakTopologicalOrder<CFG, Statement, Edge> order = new WeakTopologicalOrder<>(this);
+		wto = new CachedOrder(order, modifications);
+		return order;
+	}
+
 	/**
 	 * Computes the basic blocks of this cfg, that is, the sequences of
 	 * statements with no incoming branches (except to the first statement) and
@@ -1129,4 +1184,18 @@ public class CFG extends CodeGraph<CFG, Statement, Edge> implements CodeMember {
 			throw new IllegalStateException("Cannot retrieve basic blocks before computing them");
 		return basicBlocks;
 	}
+
+	private static class CachedOrder {
+
+		private final WeakTopologicalOrder<CFG, Statement, Edge> order;
+
+		private final int modifications;
+
+		private CachedOrder(
+				WeakTopologicalOrder<CFG, Statement, Edge> order,
+				int modifications) {
+			this.order = order;
+			this.modifications = modifications;
+		}
+	}
 }
@@ -0,0 +1,189 @@
+package it.unive.lisa.program.cfg;
+
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.datastructures.graph.GraphVisitor;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility methods for computing fingerprints of {@link CFG}s. A fingerprint
+ * is a digest of the descriptor, of the statements, and of the edges of a
+ * cfg: two cfgs with the same fingerprint have the same signature and
+ * structurally identical bodies, meaning that the results of an analysis of
+ * one of them can be reused for the other one as long as all the code they
+ * depend upon is unchanged.<br>
+ * <br>
+ * Fingerprints do not depend on the {@link CodeLocation}s of the cfg and of
+ * its statements, so that moving code around (e.g., adding a method before
+ * an existing one in the same file) does not change them. Instead, statements
+ * are identified through their position in a canonical visit of the cfg (see
+ * {@link #canonicalStatements(CFG)}), that can also be used to pair the
+ * statements of two cfgs with the same fingerprint.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class CFGFingerprint {
+
+	private static final String ALGORITHM = "SHA-256";
+
+	/**
+	 * Orders statements by their content, using locations only to
+	 * disambiguate statements with the same content.
+	 */
+	private static final Comparator<Statement> CONTENT = Comparator
+			.comparing((
+					Statement st) -> st.getClass().getName())
+			.thenComparing(Statement::toString)
+			.thenComparing(Statement::getLocation);
+
+	private static final Comparator<Edge> OUTGOING = Comparator
+			.comparing((
+					Edge e) -> e.getClass().getName())
+			.thenComparing(Edge::getDestination, CONTENT);
+
+	private CFGFingerprint() {
+	}
+
+	/**
+	 * Computes the fingerprint of the given cfg. The fingerprint covers the
+	 * signature of the cfg (including the names of its parameters), each
+	 * statement (its class and textual representation, that includes nested
+	 * expressions), each edge (its class and the positions of its endpoints in
+	 * the canonical visit of the cfg), and the entrypoints of the cfg.
+	 *
+	 * @param cfg the cfg
+	 *
+	 * @return the fingerprint, as an hexadecimal string
+	 */
+	public static String compute(
+			CFG cfg) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			// every java platform is required to support sha-256
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+
+		CodeMemberDescriptor descriptor = cfg.getDescriptor();
+		update(digest, descriptor.getFullSignatureWithParNames());
+		update(digest, String.valueOf(descriptor.isInstance()));
+
+		List<Statement> nodes = canonicalNodes(cfg);
+		Map<Statement, Integer> ranks = new HashMap<>(nodes.size());
+		for (Statement node : nodes) {
+			ranks.put(node, ranks.size());
+			update(digest, node.getClass().getName());
+			update(digest, node.toString());
+		}
+
+		List<String> edges = new ArrayList<>(cfg.getEdgesCount());
+		for (Edge edge : cfg.getEdges())
+			edges.add(edge.getClass().getName() + " " + ranks.get(edge.getSource()) + " -> "
+					+ ranks.get(edge.getDestination()));
+		Collections.sort(edges);
+		for (String edge : edges)
+			update(digest, edge);
+
+		List<Integer> entries = new ArrayList<>();
+		for (Statement entry : cfg.getEntrypoints())
+			entries.add(ranks.get(entry));
+		Collections.sort(entries);
+		for (Integer entry : entries)
+			update(digest, entry.toString());
+
+		StringBuilder result = new StringBuilder();
+		for (byte b : digest.digest())
+			result.append(String.format("%02x", b));
+		return result.toString();
+	}
+
+	/**
+	 * Yields all the statements of the given cfg, including the ones nested
+	 * inside its nodes, in a canonical order that does not depend on their
+	 * {@link CodeLocation}s. Nodes are ordered by a depth-first visit starting
+	 * from the entrypoints, where successors are visited ordered by edge kind
+	 * and content (nodes that are not reachable come last, ordered by
+	 * content), and each node is followed by the statements nested inside it.
+	 * Given two cfgs with the same fingerprint, statements at the same
+	 * position in their canonical orders correspond to each other.
+	 *
+	 * @param cfg the cfg
+	 *
+	 * @return the statements of the cfg, in canonical order
+	 */
+	public static List<Statement> canonicalStatements(
+			CFG cfg) {
+		List<Statement> result = new ArrayList<>(cfg.getNodesCount());
+		GraphVisitor<CFG, Statement, Edge, List<Statement>> collector = new GraphVisitor<>() {
+
+			@Override
+			public boolean visit(
+					List<Statement> tool,
+					CFG graph,
+					Statement node) {
+				tool.add(node);
+				return true;
+			}
+		};
+		for (Statement node : canonicalNodes(cfg))
+			node.accept(collector, result);
+		return result;
+	}
+
+	private static List<Statement> canonicalNodes(
+			CFG cfg) {
+		List<Statement> result = new ArrayList<>(cfg.getNodesCount());
+		Set<Statement> seen = new HashSet<>(cfg.getNodesCount());
+		List<Statement> entries = new ArrayList<>(cfg.getEntrypoints());
+		entries.sort(CONTENT);
+
+		Deque<Statement> stack = new ArrayDeque<>();
+		for (Statement entry : entries) {
+			stack.push(entry);
+			while (!stack.isEmpty()) {
+				Statement current = stack.pop();
+				if (!seen.add(current))
+					continue;
+				result.add(current);
+				List<Edge> outgoing = new ArrayList<>(cfg.getOutgoingEdges(current));
+				outgoing.sort(OUTGOING);
+				// pushed in reverse, so that the first successor is visited
+				// first
+				for (int i = outgoing.size() - 1; i >= 0; i--)
+					if (!seen.contains(outgoing.get(i).getDestination()))
+						stack.push(outgoing.get(i).getDestination());
+			}
+		}
+
+		if (result.size() < cfg.getNodesCount()) {
+			List<Statement> unreachable = new ArrayList<>(cfg.getNodesCount() - result.size());
+			for (Statement node : cfg.getNodes())
+				if (!seen.contains(node))
+					unreachable.add(node);
+			unreachable.sort(CONTENT);
+			result.addAll(unreachable);
+		}
+		return result;
+	}
+
+	private static void update(
+			MessageDigest digest,
+			String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		// separator, to avoid collisions between adjacent values
+		digest.update((byte) 0);
+	}
+}
@@ -10,7 +10,7 @@ import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.util.collections.workset.VisitOnceFIFOWorkingSet;
 import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.GraphVisitor;
-import it.unive.lisa.util.datastructures.graph.algorithms.Dominators;
+import it.unive.lisa.util.datastructures.graph.algorithms.DominatorTree;
 import it.unive.lisa.util.datastructures.graph.code.NodeList;
 import java.util.Collection;
 import java.util.Collections;
@@ -18,11 +18,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * An extractor of {@link ControlFlowStructure}s from {@link CFG}s. It uses
- * {@link Dominators} to extract {@link Loop}s, and a graph visiting heuristics
+ * {@link DominatorTree} to extract {@link Loop}s, and a graph visiting heuristics
  * to find {@link IfThenElse}s.<br>
  * <br>
  * Extracting control flows should be a last-resort: if the cfg contains
@@ -54,10 +53,10 @@ public class ControlFlowExtractor {
 		// https://www.cs.utexas.edu/~pingali/CS375/2010Sp/lectures/LoopOptimizations.pdf
 		// http://pages.cs.wisc.edu/~fischer/cs701.f14/finding.loops.html
 		Map<Statement, ControlFlowStructure> result = new HashMap<>();
-		Map<Statement, Set<Statement>> dominators = new Dominators<CFG, Statement, Edge>().build(target);
+		DominatorTree<CFG, Statement, Edge> dominators = new DominatorTree<>(target);
 		outer: for (Statement conditional : conditionals)
 			for (Statement pred : target.predecessorsOf(conditional))
-				if (dominators.get(pred).contains(conditional)) {
+				if (dominators.dominates(conditional, pred)) {
 					result.put(conditional, new LoopReconstructor(target, conditional, pred).build());
 					remaining.remove(conditional);
 					continue outer;
@@ -8,6 +8,7 @@ import it.unive.lisa.conf.FixpointConfiguration;
 import it.unive.lisa.interprocedural.InterproceduralAnalysis;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.metrics.AnalysisMetrics.Operation;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,9 +42,30 @@ public class AscendingFixpoint<A extends AbstractState<A>>
 			CFG target,
 			InterproceduralAnalysis<A> interprocedural,
 			FixpointConfiguration config) {
-		super(target, interprocedural);
+		this(target, interprocedural, config, config.useWideningPoints ? target.getCycleEntries() : null);
+	}
+
+	/**
+	 * Builds the fixpoint implementation, using the given statements as
+	 * widening points whenever {@link FixpointConfiguration#useWideningPoints}
+	 * is {@code true}. The given collection must contain at least one
+	 * statement for each cycle of the target cfg (e.g., the heads of the
+	 * components of its weak topological order) to ensure termination.
+	 * 
+	 * @param target          the target of the implementation
+	 * @param interprocedural the {@link InterproceduralAnalysis} to use for
+	 *                            semantics computations
+	 * @param config          the {@link FixpointConfiguration} to use
+	 * @param wideningPoints  the statements where widening can be applied
+	 */
+	public AscendingFixpoint(
+			CFG target,
+			InterproceduralAnalysis<A> interprocedural,
+			FixpointConfiguration config,
+			Collection<Statement> wideningPoints) {
+		super(target, interprocedural, config.metrics);
 		this.config = config;
-		this.wideningPoints = config.useWideningPoints ? target.getCycleEntries() : null;
+		this.wideningPoints = config.useWideningPoints ? wideningPoints : null;
 		this.lubs = new HashMap<>(config.useWideningPoints ? wideningPoints.size() : target.getNodesCount());
 	}
 
@@ -55,15 +77,17 @@ public class AscendingFixpoint<A extends AbstractState<A>>
 			throws SemanticException {
 		if (config.wideningThreshold < 0)
 			// invalid threshold means always lub
-			return old.lub(approx);
+			return lub(old, approx);
 
 		if (config.useWideningPoints && !wideningPoints.contains(node))
 			// optimization: never apply widening on normal instructions,
 			// save time and precision and only apply to widening points
-			return old.lub(approx);
+			return lub(old, approx);
 
 		int lub = lubs.computeIfAbsent(node, st -> config.wideningThreshold);
 		if (lub == 0) {
+			metrics.wideningApplied(node);
+			metrics.operationApplied(old.postState.getState(), Operation.WIDENING);
 			AnalysisState<A> post = old.postState.widening(approx.postState);
 			StatementStore<A> intermediate;
 			if (config.useWideningPoints)
@@ -77,7 +101,7 @@ public class AscendingFixpoint<A extends AbstractState<A>>
 		}
 
 		lubs.put(node, --lub);
-		return old.lub(approx);
+		return lub(old, approx);
 	}
 
 	@Override
@@ -86,6 +110,15 @@ public class AscendingFixpoint<A extends AbstractState<A>>
 			CompoundState<A> approx,
 			CompoundState<A> old)
 			throws SemanticException {
+		metrics.operationApplied(approx.postState.getState(), Operation.LESS_OR_EQUAL);
 		return approx.lessOrEqual(old);
 	}
+
+	private CompoundState<A> lub(
+			CompoundState<A> old,
+			CompoundState<A> approx)
+			throws SemanticException {
+		metrics.operationApplied(old.postState.getState(), Operation.LUB);
+		return old.lub(approx);
+	}
 }
@@ -9,6 +9,7 @@ import it.unive.lisa.interprocedural.InterproceduralAnalysis;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
 import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.util.metrics.AnalysisMetrics.Operation;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -42,7 +43,7 @@ public class BackwardAscendingFixpoint<A extends AbstractState<A>>
 			CFG target,
 			InterproceduralAnalysis<A> interprocedural,
 			FixpointConfiguration config) {
-		super(target, interprocedural);
+		super(target, interprocedural, config.metrics);
 		this.config = config;
 		this.wideningPoints = config.useWideningPoints ? target.getCycleEntries() : null;
 		this.lubs = new HashMap<>(config.useWideningPoints ? wideningPoints.size() : target.getNodesCount());
@@ -56,15 +57,17 @@ public class BackwardAscendingFixpoint<A extends AbstractState<A>>
 			throws SemanticException {
 		if (config.wideningThreshold < 0)
 			// invalid threshold means always lub
-			return old.lub(approx);
+			return lub(old, approx);
 
 		if (config.useWideningPoints && !wideningPoints.contains(node))
 			// optimization: never apply widening on normal instructions,
 			// save time and precision and only apply to widening points
-			return old.lub(approx);
+			return lub(old, approx);
 
 		int lub = lubs.computeIfAbsent(node, st -> config.wideningThreshold);
 		if (lub == 0) {
+			metrics.wideningApplied(node);
+			metrics.operationApplied(old.postState.getState(), Operation.WIDENING);
 			AnalysisState<A> post = old.postState.widening(approx.postState);
 			StatementStore<A> intermediate;
 			if (config.useWideningPoints)
@@ -78,7 +81,7 @@ public class BackwardAscendingFixpoint<A extends AbstractState<A>>
 		}
 
 		lubs.put(node, --lub);
-		return old.lub(approx);
+		return lub(old, approx);
 	}
 
 	@Override
@@ -87,6 +90,15 @@ public class BackwardAscendingFixpoint<A extends AbstractState<A>>
 			CompoundState<A> approx,
 			CompoundState<A> old)
 			throws SemanticException {
+		metrics.operationApplied(approx.postState.getState(), Operation.LESS_OR_EQUAL);
 		return approx.lessOrEqual(old);
 	}
+
+	private CompoundState<A> lub(
+			CompoundState<A> old,
+			CompoundState<A> approx)
+			throws SemanticException {
+		metrics.operationApplied(old.postState.getState(), Operation.LUB);
+		return old.lub(approx);
+	}
 }
@@ -14,6 +14,8 @@ import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.symbolic.SymbolicExpression;
 import it.unive.lisa.symbolic.value.Identifier;
 import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+import it.unive.lisa.util.metrics.AnalysisMetrics;
+import it.unive.lisa.util.metrics.AnalysisMetrics.Operation;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -41,7 +43,14 @@ public abstract class BackwardCFGFixpoint<A extends AbstractState<A>>
 	protected final InterproceduralAnalysis<A> interprocedural;
 
 	/**
-	 * Builds the fixpoint implementation.
+	 * The {@link AnalysisMetrics} where evaluations of the semantics of the
+	 * nodes and lattice operations are recorded.
+	 */
+	protected final AnalysisMetrics metrics;
+
+	/**
+	 * Builds the fixpoint implementation. No metrics will be recorded by this
+	 * implementation.
 	 * 
 	 * @param graph           the graph targeted by this implementation
 	 * @param interprocedural the {@link InterproceduralAnalysis} to use for
@@ -50,8 +59,25 @@ public abstract class BackwardCFGFixpoint<A extends AbstractState<A>>
 	public BackwardCFGFixpoint(
 			CFG graph,
 			InterproceduralAnalysis<A> interprocedural) {
+		this(graph, interprocedural, AnalysisMetrics.DISABLED);
+	}
+
+	/**
+	 * Builds the fixpoint implementation.
+	 * 
+	 * @param graph           the graph targeted by this implementation
+	 * @param interprocedural the {@link InterproceduralAnalysis} to use for
+	 *                            semantics invocation
+	 * @param metrics         the {@link AnalysisMetrics} where metrics are
+	 *                            recorded
+	 */
+	public BackwardCFGFixpoint(
+			CFG graph,
+			InterproceduralAnalysis<A> interprocedural,
+			AnalysisMetrics metrics) {
 		this.graph = graph;
 		this.interprocedural = interprocedural;
+		this.metrics = metrics;
 	}
 
 	@Override
@@ -59,12 +85,14 @@ public abstract class BackwardCFGFixpoint<A extends AbstractState<A>>
 			Statement node,
 			CompoundState<A> entrystate)
 			throws SemanticException {
+		long start = metrics.start();
 		StatementStore<A> expressions = new StatementStore<>(entrystate.postState.bottom());
 		AnalysisState<A> approx = node.backwardSemantics(entrystate.postState, interprocedural, expressions);
 		if (node instanceof Expression)
 			// we forget the meta variables now as the values are popped from
 			// the stack here
 			approx = approx.forgetIdentifiers(((Expression) node).getMetaVariables());
+		metrics.semanticsComputed(node, start);
 		return CompoundState.of(approx, expressions);
 	}
 
@@ -100,6 +128,7 @@ public abstract class BackwardCFGFixpoint<A extends AbstractState<A>>
 			CompoundState<A> left,
 			CompoundState<A> right)
 			throws SemanticException {
+		metrics.operationApplied(left.postState.getState(), Operation.LUB);
 		return left.lub(right);
 	}
 }
@@ -36,7 +36,7 @@ public class BackwardDescendingNarrowingFixpoint<A extends AbstractState<A>> ext
 			CFG target,
 			InterproceduralAnalysis<A> interprocedural,
 			FixpointConfiguration config) {
-		super(target, interprocedural);
+		super(target, interprocedural, config.metrics);
 		this.config = config;
 		this.wideningPoints = config.useWideningPoints ? target.getCycleEntries() : null;
 	}
@@ -35,7 +35,7 @@ public class DescendingGLBFixpoint<A extends AbstractState<A>> extends CFGFixpoi
 			CFG target,
 			InterproceduralAnalysis<A> interprocedural,
 			FixpointConfiguration config) {
-		super(target, interprocedural);
+		super(target, interprocedural, config.metrics);
 		this.maxGLBs = config.glbThreshold;
 		this.glbs = new HashMap<>(target.getNodesCount());
 	}
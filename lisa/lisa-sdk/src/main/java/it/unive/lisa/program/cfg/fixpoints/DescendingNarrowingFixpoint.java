@@ -35,7 +35,7 @@ public class DescendingNarrowingFixpoint<A extends AbstractState<A>> extends CFG
 			CFG target,
 			InterproceduralAnalysis<A> interprocedural,
 			FixpointConfiguration config) {
-		super(target, interprocedural);
+		super(target, interprocedural, config.metrics);
 		this.config = config;
 		this.wideningPoints = config.useWideningPoints ? target.getCycleEntries() : null;
 	}
@@ -24,6 +24,12 @@ public class AccessChild extends HeapExpression {
 	 */
 	private final SymbolicExpression child;
 
+	/**
+	 * The hash code of this expression, computed at construction and cached
+	 * since expressions are immutable.
+	 */
+	private final int hash;
+
 	/**
 	 * Builds the child access.
 	 * 
@@ -41,6 +47,7 @@ public class AccessChild extends HeapExpression {
 		super(staticType, location);
 		this.container = container;
 		this.child = child;
+		this.hash = computeHashCode();
 	}
 
 	/**
@@ -63,6 +70,10 @@ public class AccessChild extends HeapExpression {
 
 	@Override
 	public int hashCode() {
+		return hash;
+	}
+
+	private int computeHashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((container == null) ? 0 : container.hashCode());
@@ -79,6 +90,9 @@ public class AccessChild extends HeapExpression {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
+		if (hashCode() != obj.hashCode())
+			// hash codes are cached, so this is cheaper than a deep comparison
+			return false;
 		AccessChild other = (AccessChild) obj;
 		if (container == null) {
 			if (other.container != null)
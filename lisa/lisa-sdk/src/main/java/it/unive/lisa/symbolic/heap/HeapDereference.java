@@ -18,6 +18,12 @@ public class HeapDereference extends HeapExpression {
 	 */
 	private final SymbolicExpression toDeref;
 
+	/**
+	 * The hash code of this expression, computed at construction and cached
+	 * since expressions are immutable.
+	 */
+	private final int hash;
+
 	/**
 	 * Builds the heap dereference.
 	 * 
@@ -32,10 +38,15 @@ public class HeapDereference extends HeapExpression {
 			CodeLocation location) {
 		super(staticType, location);
 		this.toDeref = toDeref;
+		this.hash = computeHashCode();
 	}
 
 	@Override
 	public int hashCode() {
+		return hash;
+	}
+
+	private int computeHashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((toDeref == null) ? 0 : toDeref.hashCode());
@@ -51,6 +62,9 @@ public class HeapDereference extends HeapExpression {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
+		if (hashCode() != obj.hashCode())
+			// hash codes are cached, so this is cheaper than a deep comparison
+			return false;
 		HeapDereference other = (HeapDereference) obj;
 		if (toDeref == null) {
 			if (other.toDeref != null)
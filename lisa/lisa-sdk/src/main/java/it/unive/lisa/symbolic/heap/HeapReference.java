@@ -18,6 +18,12 @@ public class HeapReference extends HeapExpression {
 	 */
 	private final SymbolicExpression expression;
 
+	/**
+	 * The hash code of this expression, computed at construction and cached
+	 * since expressions are immutable.
+	 */
+	private final int hash;
+
 	/**
 	 * Builds the heap reference.
 	 * 
@@ -32,6 +38,7 @@ public class HeapReference extends HeapExpression {
 			CodeLocation location) {
 		super(staticType, location);
 		this.expression = expression;
+		this.hash = computeHashCode();
 	}
 
 	@Override
@@ -41,6 +48,10 @@ public class HeapReference extends HeapExpression {
 
 	@Override
 	public int hashCode() {
+		return hash;
+	}
+
+	private int computeHashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((expression == null) ? 0 : expression.hashCode());
@@ -65,6 +76,9 @@ public class HeapReference extends HeapExpression {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
+		if (hashCode() != obj.hashCode())
+			// hash codes are cached, so this is cheaper than a deep comparison
+			return false;
 		HeapReference other = (HeapReference) obj;
 		if (expression == null) {
 			if (other.expression != null)
@@ -31,6 +31,12 @@ public class BinaryExpression extends ValueExpression {
 	 */
 	private final BinaryOperator operator;
 
+	/**
+	 * The hash code of this expression, computed at construction and cached
+	 * since expressions are immutable.
+	 */
+	private final int hash;
+
 	/**
 	 * Builds the binary expression.
 	 * 
@@ -51,6 +57,7 @@ public class BinaryExpression extends ValueExpression {
 		this.left = left;
 		this.right = right;
 		this.operator = operator;
+		this.hash = computeHashCode();
 	}
 
 	/**
@@ -101,6 +108,10 @@ public class BinaryExpression extends ValueExpression {
 
 	@Override
 	public int hashCode() {
+		return hash;
+	}
+
+	private int computeHashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((left == null) ? 0 : left.hashCode());
@@ -118,6 +129,9 @@ public class BinaryExpression extends ValueExpression {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
+		if (hashCode() != obj.hashCode())
+			// hash codes are cached, so this is cheaper than a deep comparison
+			return false;
 		BinaryExpression other = (BinaryExpression) obj;
 		if (left == null) {
 			if (other.left != null)
@@ -36,6 +36,12 @@ public class TernaryExpression extends ValueExpression {
 	 */
 	private final TernaryOperator operator;
 
+	/**
+	 * The hash code of this expression, computed at construction and cached
+	 * since expressions are immutable.
+	 */
+	private final int hash;
+
 	/**
 	 * Builds the binary expression.
 	 * 
@@ -59,6 +65,7 @@ public class TernaryExpression extends ValueExpression {
 		this.middle = middle;
 		this.right = right;
 		this.operator = operator;
+		this.hash = computeHashCode();
 	}
 
 	/**
@@ -118,6 +125,10 @@ public class TernaryExpression extends ValueExpression {
 
 	@Override
 	public int hashCode() {
+		return hash;
+	}
+
+	private int computeHashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((left == null) ? 0 : left.hashCode());
@@ -136,6 +147,9 @@ public class TernaryExpression extends ValueExpression {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
+		if (hashCode() != obj.hashCode())
+			// hash codes are cached, so this is cheaper than a deep comparison
+			return false;
 		TernaryExpression other = (TernaryExpression) obj;
 		if (left == null) {
 			if (other.left != null)
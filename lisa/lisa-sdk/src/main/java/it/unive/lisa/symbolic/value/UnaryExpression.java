@@ -29,6 +29,12 @@ public class UnaryExpression extends ValueExpression {
 	 */
 	private final UnaryOperator operator;
 
+	/**
+	 * The hash code of this expression, computed at construction and cached
+	 * since expressions are immutable.
+	 */
+	private final int hash;
+
 	/**
 	 * Builds the unary expression.
 	 * 
@@ -46,6 +52,7 @@ public class UnaryExpression extends ValueExpression {
 		super(staticType, location);
 		this.expression = expression;
 		this.operator = operator;
+		this.hash = computeHashCode();
 	}
 
 	/**
@@ -106,6 +113,10 @@ public class UnaryExpression extends ValueExpression {
 
 	@Override
 	public int hashCode() {
+		return hash;
+	}
+
+	private int computeHashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((expression == null) ? 0 : expression.hashCode());
@@ -122,6 +133,9 @@ public class UnaryExpression extends ValueExpression {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
+		if (hashCode() != obj.hashCode())
+			// hash codes are cached, so this is cheaper than a deep comparison
+			return false;
 		UnaryExpression other = (UnaryExpression) obj;
 		if (expression == null) {
 			if (other.expression != null)
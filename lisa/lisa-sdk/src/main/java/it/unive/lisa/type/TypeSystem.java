@@ -1,7 +1,8 @@
 package it.unive.lisa.type;
 
 import it.unive.lisa.program.Program;
-import java.util.HashSet;
+import it.unive.lisa.util.collections.externalSet.ExternalSet;
+import it.unive.lisa.util.collections.externalSet.ExternalSetCache;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -12,7 +13,13 @@ import java.util.stream.Collectors;
  * A type system, knowing about the types that can appear in a {@link Program}.
  * Types have to be registered through {@link #registerType(Type)} before the
  * analysis begins for them to be known to the system, and consequently to the
- * rest of the analysis.
+ * rest of the analysis.<br>
+ * <br>
+ * Each type system owns an {@link ExternalSetCache} of types, and sets of types
+ * produced by it (e.g., {@link #getTypes()}, {@link #cast(Set, Set)} and
+ * {@link #convert(Set, Set)}) are {@link ExternalSet}s backed by that cache:
+ * unions, intersections and containment checks between them are performed
+ * word-wise on their bit vectors.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
@@ -23,22 +30,66 @@ public abstract class TypeSystem {
 	 */
 	private final Map<String, Type> types;
 
+	/**
+	 * The cache backing all the sets of types produced by this type system
+	 */
+	private final ExternalSetCache<Type> cache;
+
+	/**
+	 * The types registered in this type system, as a set backed by
+	 * {@link #cache}
+	 */
+	private final ExternalSet<Type> registered;
+
 	/**
 	 * Builds an empty type system, where only {@link #getBooleanType()},
 	 * {@link #getStringType()} and {@link #getIntegerType()} are registered.
 	 */
 	protected TypeSystem() {
 		this.types = new TreeMap<String, Type>();
+		this.cache = new ExternalSetCache<>();
+		this.registered = cache.mkEmptySet();
 	}
 
 	/**
 	 * Yields the collection of {@link Type}s that have been registered in this
-	 * type system.
+	 * type system. The returned set is a fresh copy backed by
+	 * {@link #getTypeCache()}, and can be freely modified.
 	 * 
 	 * @return the collection of types
 	 */
 	public Set<Type> getTypes() {
-		return new HashSet<>(types.values());
+		return registered.copy();
+	}
+
+	/**
+	 * Yields the {@link ExternalSetCache} backing the sets of types produced
+	 * by this type system.
+	 * 
+	 * @return the cache
+	 */
+	public ExternalSetCache<Type> getTypeCache() {
+		return cache;
+	}
+
+	/**
+	 * Yields an {@link ExternalSet} backed by {@link #getTypeCache()}
+	 * containing the given types. If {@code types} is already such a set, it
+	 * is returned as-is, without copying it. Note that types that are not in
+	 * the cache yet (e.g., types built during the analysis and never
+	 * registered in this type system) are added to it, and the cache never
+	 * removes its elements: it thus grows with every distinct type passed to
+	 * this method, and it is retained as long as this type system is.
+	 * 
+	 * @param types the types
+	 * 
+	 * @return the set of types backed by the cache of this type system
+	 */
+	public ExternalSet<Type> asTypeSet(
+			Set<Type> types) {
+		if (types instanceof ExternalSet && ((ExternalSet<Type>) types).getCache() == cache)
+			return (ExternalSet<Type>) types;
+		return cache.mkSet(types);
 	}
 
 	/**
@@ -64,7 +115,10 @@ public abstract class TypeSystem {
 	 */
 	public final boolean registerType(
 			Type type) {
-		return types.putIfAbsent(type.toString(), type) == null;
+		if (types.putIfAbsent(type.toString(), type) != null)
+			return false;
+		registered.add(type);
+		return true;
 	}
 
 	/**
@@ -116,7 +170,7 @@ public abstract class TypeSystem {
 		if (mightFail != null)
 			mightFail.set(false);
 
-		Set<Type> result = new HashSet<>();
+		Set<Type> result = cache.mkEmptySet();
 		Set<Type> filtered = tokens.stream().filter(Type::isTypeTokenType)
 				.flatMap(t -> t.asTypeTokenType().getTypes().stream())
 				.collect(Collectors.toSet());
@@ -147,7 +201,7 @@ public abstract class TypeSystem {
 	public Set<Type> convert(
 			Set<Type> types,
 			Set<Type> tokens) {
-		Set<Type> result = new HashSet<>();
+		Set<Type> result = cache.mkEmptySet();
 		Set<Type> filtered = tokens.stream().filter(Type::isTypeTokenType)
 				.flatMap(t -> t.asTypeTokenType().getTypes().stream())
 				.collect(Collectors.toSet());
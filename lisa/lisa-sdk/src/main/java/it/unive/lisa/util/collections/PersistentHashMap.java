@@ -0,0 +1,900 @@
+package it.unive.lisa.util.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Map} implemented as a hash array mapped trie, whose copies share
+ * their structure. Copying an instance through
+ * {@link #PersistentHashMap(Map)} costs constant time, since the copy and the
+ * original share the same trie: after the copy, each of them copies the nodes
+ * on the path to an entry the first time it modifies it, and then modifies
+ * its own copies in place. Updates thus cost time logarithmic in the number
+ * of entries, regardless of how many copies share the trie.<br>
+ * <br>
+ * This map supports {@code null} keys and values, and its iterators support
+ * {@link Iterator#remove()} and {@link java.util.Map.Entry#setValue(Object)}.
+ * Iterators are not fail-fast: modifications performed through means other
+ * than the iterator itself while the iteration is in progress can cause
+ * entries to be skipped or visited twice. As {@link java.util.HashMap}, this
+ * class is not synchronized. Copying a map only reads it: a map can be copied
+ * by several threads at once, as long as no thread modifies it at the same
+ * time.<br>
+ * <br>
+ * Each map owns a token, and can modify in place only the nodes created with
+ * it. Ownership of the shared trie is given up explicitly: copying a map
+ * marks the root of its trie as shared (a write-once volatile flag of the
+ * node, and never a field of the map being copied), and a map whose root is
+ * shared takes a fresh token before its next modification, thus copying all
+ * the nodes it needs to modify from then on.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int BITS = 5;
+
+	private static final int MASK = (1 << BITS) - 1;
+
+	/**
+	 * Seven levels of bitmap nodes consume the whole hash, and a collision
+	 * node can follow them.
+	 */
+	private static final int MAX_DEPTH = 8;
+
+	private static final Object NOT_FOUND = new Object();
+
+	private static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+
+	/**
+	 * The root of the trie.
+	 */
+	private Node root;
+
+	/**
+	 * The number of entries in this map.
+	 */
+	private int size;
+
+	/**
+	 * The token identifying the nodes that this map can modify in place. Nodes
+	 * owned by other tokens might be shared with other maps, and are copied
+	 * before being modified. This is only accessed by the thread modifying
+	 * this map: use {@link #owner()} to read it before a modification.
+	 */
+	private Object owner;
+
+	/**
+	 * Builds an empty map.
+	 */
+	public PersistentHashMap() {
+		this.root = EMPTY;
+		this.owner = new Object();
+	}
+
+	/**
+	 * Builds a map containing the same entries of the given one. If
+	 * {@code other} is a {@link PersistentHashMap}, this takes constant time
+	 * and the two maps share their structure until they are modified.
+	 * 
+	 * @param other the map to copy
+	 */
+	public PersistentHashMap(
+			Map<? extends K, ? extends V> other) {
+		this();
+		if (other instanceof PersistentHashMap) {
+			PersistentHashMap<?, ?> map = (PersistentHashMap<?, ?>) other;
+			Node shared = map.root;
+			// the original map can no longer modify the shared nodes in place:
+			// it will notice this through the root before its next modification
+			if (!shared.shared)
+				shared.shared = true;
+			this.root = shared;
+			this.size = map.size;
+		} else
+			putAll(other);
+	}
+
+	/**
+	 * Yields the token to use for modifying this map, taking a fresh one if
+	 * the current root of the trie is shared with a copy of this map.
+	 * 
+	 * @return the token
+	 */
+	private Object owner() {
+		// only the root is marked when copying: nodes owned by the current
+		// token are reachable only from the root, and thus they are shared
+		// only if the root is
+		if (root.owner == owner && root.shared)
+			owner = new Object();
+		return owner;
+	}
+
+	private static int hash(
+			Object key) {
+		int h = Objects.hashCode(key);
+		return h ^ (h >>> 16);
+	}
+
+	private static int bit(
+			int hash,
+			int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(
+			Object key) {
+		return root.find(key, hash(key), 0) != NOT_FOUND;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(
+			Object key) {
+		Object value = root.find(key, hash(key), 0);
+		return value == NOT_FOUND ? null : (V) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(
+			Object key,
+			V defaultValue) {
+		Object value = root.find(key, hash(key), 0);
+		return value == NOT_FOUND ? defaultValue : (V) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(
+			K key,
+			V value) {
+		Change change = new Change();
+		root = root.put(owner(), key, hash(key), value, 0, change);
+		if (change.old == NOT_FOUND) {
+			size++;
+			return null;
+		}
+		return (V) change.old;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(
+			Object key) {
+		Change change = new Change();
+		root = root.remove(owner(), key, hash(key), 0, change);
+		if (change.old == NOT_FOUND)
+			return null;
+		size--;
+		return (V) change.old;
+	}
+
+	@Override
+	public void clear() {
+		root = EMPTY;
+		size = 0;
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	/**
+	 * Collects the keys whose bindings differ between this map and the given
+	 * one, that is, the keys that are bound in only one of the two maps or
+	 * that are bound to different values. Keys and values are compared by
+	 * reference: bindings with equal but not identical keys or values are
+	 * considered different. Parts of the trie shared by the two maps are
+	 * skipped without being visited, making this method cheaper than a full
+	 * comparison when the two maps are copies of each other that underwent few
+	 * modifications.
+	 * 
+	 * @param other  the other map
+	 * @param first  the collection where to add the keys of the differing
+	 *                   bindings of this map, or {@code null} if those are
+	 *                   not needed
+	 * @param second the collection where to add the keys of the differing
+	 *                   bindings of {@code other}, or {@code null} if those
+	 *                   are not needed
+	 */
+	@SuppressWarnings("unchecked")
+	public void diff(
+			PersistentHashMap<K, ?> other,
+			Collection<K> first,
+			Collection<K> second) {
+		diff(root, other.root, (Collection<Object>) first, (Collection<Object>) second);
+	}
+
+	@Override
+	public boolean equals(
+			Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof PersistentHashMap))
+			return super.equals(o);
+
+		PersistentHashMap<?, ?> other = (PersistentHashMap<?, ?>) o;
+		if (size != other.size)
+			return false;
+		// since the sizes are the same, it is enough to check that the
+		// bindings of this map that are not shared are also in the other one
+		List<Object> keys = new ArrayList<>();
+		diff(root, other.root, keys, null);
+		for (Object key : keys) {
+			int hash = hash(key);
+			Object value = other.root.find(key, hash, 0);
+			if (value == NOT_FOUND || !Objects.equals(root.find(key, hash, 0), value))
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	/**
+	 * The outcome of a modification of the trie.
+	 */
+	private static class Change {
+
+		/**
+		 * The value previously associated with the modified key, or
+		 * {@link PersistentHashMap#NOT_FOUND} if there was none.
+		 */
+		private Object old = NOT_FOUND;
+	}
+
+	/**
+	 * A node of the trie.
+	 */
+	private abstract static class Node {
+
+		/**
+		 * The token of the map that can modify this node in place, if any.
+		 */
+		protected final Object owner;
+
+		/**
+		 * Whether this node is the root of the trie of a map that has been
+		 * copied. Once set, the map owning this node will no longer modify it,
+		 * nor any node reachable from it, in place. This only goes from
+		 * {@code false} to {@code true}, and can be set by any thread copying
+		 * the map.
+		 */
+		private volatile boolean shared;
+
+		private Node(
+				Object owner) {
+			this.owner = owner;
+		}
+
+		abstract Object find(
+				Object key,
+				int hash,
+				int shift);
+
+		abstract Node put(
+				Object owner,
+				Object key,
+				int hash,
+				Object value,
+				int shift,
+				Change change);
+
+		abstract Node remove(
+				Object owner,
+				Object key,
+				int hash,
+				int shift,
+				Change change);
+
+		abstract int payloadArity();
+
+		abstract Object keyAt(
+				int index);
+
+		abstract Object valueAt(
+				int index);
+
+		abstract int nodeArity();
+
+		abstract Node nodeAt(
+				int index);
+
+		boolean isSingleton() {
+			return payloadArity() == 1 && nodeArity() == 0;
+		}
+	}
+
+	/**
+	 * A node indexed by five bits of the hash of its keys. Entries are stored
+	 * as consecutive key-value pairs at the beginning of the content array,
+	 * while sub-nodes are stored in reverse order at its end.
+	 */
+	private static class BitmapNode extends Node {
+
+		private int dataMap;
+
+		private int nodeMap;
+
+		private Object[] content;
+
+		private BitmapNode(
+				Object owner,
+				int dataMap,
+				int nodeMap,
+				Object[] content) {
+			super(owner);
+			this.dataMap = dataMap;
+			this.nodeMap = nodeMap;
+			this.content = content;
+		}
+
+		private int dataIndex(
+				int bit) {
+			return Integer.bitCount(dataMap & (bit - 1));
+		}
+
+		private int nodeIndex(
+				int bit) {
+			return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+		}
+
+		private BitmapNode editable(
+				Object owner) {
+			if (this.owner == owner)
+				return this;
+			return new BitmapNode(owner, dataMap, nodeMap, content.clone());
+		}
+
+		private BitmapNode with(
+				Object owner,
+				int dataMap,
+				int nodeMap,
+				Object[] content) {
+			if (this.owner != owner)
+				return new BitmapNode(owner, dataMap, nodeMap, content);
+			this.dataMap = dataMap;
+			this.nodeMap = nodeMap;
+			this.content = content;
+			return this;
+		}
+
+		@Override
+		Object find(
+				Object key,
+				int hash,
+				int shift) {
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = 2 * dataIndex(bit);
+				return Objects.equals(content[i], key) ? content[i + 1] : NOT_FOUND;
+			}
+			if ((nodeMap & bit) != 0)
+				return ((Node) content[nodeIndex(bit)]).find(key, hash, shift + BITS);
+			return NOT_FOUND;
+		}
+
+		@Override
+		Node put(
+				Object owner,
+				Object key,
+				int hash,
+				Object value,
+				int shift,
+				Change change) {
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = 2 * dataIndex(bit);
+				Object k = content[i];
+				if (Objects.equals(k, key)) {
+					change.old = content[i + 1];
+					if (change.old == value)
+						return this;
+					BitmapNode node = editable(owner);
+					node.content[i + 1] = value;
+					return node;
+				}
+
+				Node sub = merge(owner, k, hash(k), content[i + 1], key, hash, value, shift + BITS);
+				return dataToNode(owner, bit, i, sub);
+			}
+
+			if ((nodeMap & bit) != 0) {
+				int i = nodeIndex(bit);
+				Node child = (Node) content[i];
+				Node updated = child.put(owner, key, hash, value, shift + BITS, change);
+				if (updated == child)
+					return this;
+				BitmapNode node = editable(owner);
+				node.content[i] = updated;
+				return node;
+			}
+
+			int i = 2 * dataIndex(bit);
+			Object[] result = new Object[content.length + 2];
+			System.arraycopy(content, 0, result, 0, i);
+			result[i] = key;
+			result[i + 1] = value;
+			System.arraycopy(content, i, result, i + 2, content.length - i);
+			return with(owner, dataMap | bit, nodeMap, result);
+		}
+
+		@Override
+		Node remove(
+				Object owner,
+				Object key,
+				int hash,
+				int shift,
+				Change change) {
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = 2 * dataIndex(bit);
+				if (!Objects.equals(content[i], key))
+					return this;
+				change.old = content[i + 1];
+				Object[] result = new Object[content.length - 2];
+				System.arraycopy(content, 0, result, 0, i);
+				System.arraycopy(content, i + 2, result, i, content.length - i - 2);
+				return with(owner, dataMap ^ bit, nodeMap, result);
+			}
+
+			if ((nodeMap & bit) != 0) {
+				int i = nodeIndex(bit);
+				Node child = (Node) content[i];
+				Node updated = child.remove(owner, key, hash, shift + BITS, change);
+				if (change.old == NOT_FOUND)
+					return this;
+				if (updated.isSingleton())
+					// sub-nodes always hold at least two entries
+					return nodeToData(owner, bit, i, updated.keyAt(0), updated.valueAt(0));
+				if (updated == child)
+					return this;
+				BitmapNode node = editable(owner);
+				node.content[i] = updated;
+				return node;
+			}
+
+			return this;
+		}
+
+		/**
+		 * Replaces the entry at index {@code i} with the given sub-node.
+		 */
+		private Node dataToNode(
+				Object owner,
+				int bit,
+				int i,
+				Node sub) {
+			int nodeMap = this.nodeMap | bit;
+			Object[] result = new Object[content.length - 1];
+			int pos = result.length - 1 - Integer.bitCount(this.nodeMap & (bit - 1));
+			System.arraycopy(content, 0, result, 0, i);
+			System.arraycopy(content, i + 2, result, i, pos - i);
+			result[pos] = sub;
+			System.arraycopy(content, pos + 2, result, pos + 1, content.length - pos - 2);
+			return with(owner, dataMap ^ bit, nodeMap, result);
+		}
+
+		/**
+		 * Replaces the sub-node at index {@code i} with the given entry.
+		 */
+		private Node nodeToData(
+				Object owner,
+				int bit,
+				int i,
+				Object key,
+				Object value) {
+			int pos = 2 * dataIndex(bit);
+			Object[] result = new Object[content.length + 1];
+			System.arraycopy(content, 0, result, 0, pos);
+			result[pos] = key;
+			result[pos + 1] = value;
+			System.arraycopy(content, pos, result, pos + 2, i - pos);
+			System.arraycopy(content, i + 1, result, i + 2, content.length - i - 1);
+			return with(owner, dataMap | bit, nodeMap ^ bit, result);
+		}
+
+		/**
+		 * Adds the keys and values stored in the slot of the given bit to the
+		 * given list.
+		 */
+		private void collect(
+				int bit,
+				List<Object> result) {
+			if ((dataMap & bit) != 0) {
+				int i = 2 * dataIndex(bit);
+				result.add(content[i]);
+				result.add(content[i + 1]);
+			} else if ((nodeMap & bit) != 0)
+				PersistentHashMap.collect((Node) content[nodeIndex(bit)], result);
+		}
+
+		@Override
+		int payloadArity() {
+			return Integer.bitCount(dataMap);
+		}
+
+		@Override
+		Object keyAt(
+				int index) {
+			return content[2 * index];
+		}
+
+		@Override
+		Object valueAt(
+				int index) {
+			return content[2 * index + 1];
+		}
+
+		@Override
+		int nodeArity() {
+			return Integer.bitCount(nodeMap);
+		}
+
+		@Override
+		Node nodeAt(
+				int index) {
+			return (Node) content[content.length - 1 - index];
+		}
+	}
+
+	/**
+	 * A node holding entries whose keys have the same hash.
+	 */
+	private static class CollisionNode extends Node {
+
+		private final int hash;
+
+		private Object[] content;
+
+		private CollisionNode(
+				Object owner,
+				int hash,
+				Object[] content) {
+			super(owner);
+			this.hash = hash;
+			this.content = content;
+		}
+
+		private int indexOf(
+				Object key) {
+			for (int i = 0; i < content.length; i += 2)
+				if (Objects.equals(content[i], key))
+					return i;
+			return -1;
+		}
+
+		private CollisionNode with(
+				Object owner,
+				Object[] content) {
+			if (this.owner != owner)
+				return new CollisionNode(owner, hash, content);
+			this.content = content;
+			return this;
+		}
+
+		@Override
+		Object find(
+				Object key,
+				int hash,
+				int shift) {
+			int i = indexOf(key);
+			return i < 0 ? NOT_FOUND : content[i + 1];
+		}
+
+		@Override
+		Node put(
+				Object owner,
+				Object key,
+				int hash,
+				Object value,
+				int shift,
+				Change change) {
+			int i = indexOf(key);
+			if (i >= 0) {
+				change.old = content[i + 1];
+				if (change.old == value)
+					return this;
+				Object[] result = this.owner == owner ? content : content.clone();
+				result[i + 1] = value;
+				return with(owner, result);
+			}
+
+			Object[] result = new Object[content.length + 2];
+			System.arraycopy(content, 0, result, 0, content.length);
+			result[content.length] = key;
+			result[content.length + 1] = value;
+			return with(owner, result);
+		}
+
+		@Override
+		Node remove(
+				Object owner,
+				Object key,
+				int hash,
+				int shift,
+				Change change) {
+			int i = indexOf(key);
+			if (i < 0)
+				return this;
+			change.old = content[i + 1];
+			Object[] result = new Object[content.length - 2];
+			System.arraycopy(content, 0, result, 0, i);
+			System.arraycopy(content, i + 2, result, i, content.length - i - 2);
+			return with(owner, result);
+		}
+
+		@Override
+		int payloadArity() {
+			return content.length / 2;
+		}
+
+		@Override
+		Object keyAt(
+				int index) {
+			return content[2 * index];
+		}
+
+		@Override
+		Object valueAt(
+				int index) {
+			return content[2 * index + 1];
+		}
+
+		@Override
+		int nodeArity() {
+			return 0;
+		}
+
+		@Override
+		Node nodeAt(
+				int index) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Builds a node containing the two given entries, whose keys are
+	 * different.
+	 */
+	private static Node merge(
+			Object owner,
+			Object k1,
+			int h1,
+			Object v1,
+			Object k2,
+			int h2,
+			Object v2,
+			int shift) {
+		if (shift >= Integer.SIZE)
+			// the whole hash has been consumed
+			return new CollisionNode(owner, h1, new Object[] { k1, v1, k2, v2 });
+
+		int b1 = (h1 >>> shift) & MASK;
+		int b2 = (h2 >>> shift) & MASK;
+		if (b1 == b2)
+			return new BitmapNode(owner, 0, 1 << b1,
+					new Object[] { merge(owner, k1, h1, v1, k2, h2, v2, shift + BITS) });
+
+		Object[] content = b1 < b2 ? new Object[] { k1, v1, k2, v2 } : new Object[] { k2, v2, k1, v1 };
+		return new BitmapNode(owner, (1 << b1) | (1 << b2), 0, content);
+	}
+
+	private static void diff(
+			Node first,
+			Node second,
+			Collection<Object> firstKeys,
+			Collection<Object> secondKeys) {
+		if (first == second)
+			return;
+
+		if (first instanceof BitmapNode && second instanceof BitmapNode) {
+			BitmapNode x = (BitmapNode) first;
+			BitmapNode y = (BitmapNode) second;
+			int bits = x.dataMap | x.nodeMap | y.dataMap | y.nodeMap;
+			while (bits != 0) {
+				int bit = Integer.lowestOneBit(bits);
+				bits ^= bit;
+				if ((x.nodeMap & bit) != 0 && (y.nodeMap & bit) != 0)
+					diff((Node) x.content[x.nodeIndex(bit)], (Node) y.content[y.nodeIndex(bit)], firstKeys,
+							secondKeys);
+				else {
+					List<Object> xs = new ArrayList<>();
+					List<Object> ys = new ArrayList<>();
+					x.collect(bit, xs);
+					y.collect(bit, ys);
+					diff(xs, ys, firstKeys, secondKeys);
+				}
+			}
+		} else {
+			// bitmap and collision nodes are never found at the same depth,
+			// so these are both collision nodes
+			List<Object> xs = new ArrayList<>();
+			List<Object> ys = new ArrayList<>();
+			collect(first, xs);
+			collect(second, ys);
+			diff(xs, ys, firstKeys, secondKeys);
+		}
+	}
+
+	/**
+	 * Compares two lists of alternating keys and values, where at least one
+	 * of the two lists is either empty or holds a single binding, or where
+	 * all keys have the same hash.
+	 */
+	private static void diff(
+			List<Object> first,
+			List<Object> second,
+			Collection<Object> firstKeys,
+			Collection<Object> secondKeys) {
+		boolean[] matched = new boolean[second.size() / 2];
+		for (int i = 0; i < first.size(); i += 2) {
+			boolean found = false;
+			for (int j = 0; j < second.size() && !found; j += 2)
+				if (first.get(i) == second.get(j) && first.get(i + 1) == second.get(j + 1)) {
+					matched[j / 2] = true;
+					found = true;
+				}
+			if (!found && firstKeys != null)
+				firstKeys.add(first.get(i));
+		}
+
+		if (secondKeys != null)
+			for (int j = 0; j < second.size(); j += 2)
+				if (!matched[j / 2])
+					secondKeys.add(second.get(j));
+	}
+
+	/**
+	 * Adds all the keys and values stored in the given node and in its
+	 * sub-nodes to the given list.
+	 */
+	private static void collect(
+			Node node,
+			List<Object> result) {
+		for (int i = 0; i < node.payloadArity(); i++) {
+			result.add(node.keyAt(i));
+			result.add(node.valueAt(i));
+		}
+		for (int i = 0; i < node.nodeArity(); i++)
+			collect(node.nodeAt(i), result);
+	}
+
+	private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+		@Override
+		public Iterator<Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(
+				Object o) {
+			if (!(o instanceof Entry))
+				return false;
+			Entry<?, ?> e = (Entry<?, ?>) o;
+			Object value = root.find(e.getKey(), hash(e.getKey()), 0);
+			return value != NOT_FOUND && Objects.equals(value, e.getValue());
+		}
+
+		@Override
+		public void clear() {
+			PersistentHashMap.this.clear();
+		}
+	}
+
+	private class EntryIterator implements Iterator<Entry<K, V>> {
+
+		private final Node[] nodes = new Node[MAX_DEPTH];
+
+		private final int[] positions = new int[MAX_DEPTH];
+
+		private int depth;
+
+		private MapEntry next;
+
+		private MapEntry last;
+
+		private boolean frozen;
+
+		private EntryIterator() {
+			nodes[0] = root;
+			advance();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void advance() {
+			next = null;
+			while (depth >= 0) {
+				Node node = nodes[depth];
+				int pos = positions[depth];
+				int payload = node.payloadArity();
+				if (pos < payload) {
+					positions[depth]++;
+					next = new MapEntry((K) node.keyAt(pos), (V) node.valueAt(pos));
+					return;
+				}
+
+				if (pos - payload < node.nodeArity()) {
+					positions[depth]++;
+					depth++;
+					nodes[depth] = node.nodeAt(pos - payload);
+					positions[depth] = 0;
+				} else
+					depth--;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			last = next;
+			advance();
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			if (last == null)
+				throw new IllegalStateException();
+			if (!frozen) {
+				// the nodes being visited must not be modified in place
+				owner = new Object();
+				frozen = true;
+			}
+			PersistentHashMap.this.remove(last.getKey());
+			last = null;
+		}
+	}
+
+	private class MapEntry extends SimpleEntry<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private MapEntry(
+				K key,
+				V value) {
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(
+				V value) {
+			put(getKey(), value);
+			return super.setValue(value);
+		}
+	}
+}
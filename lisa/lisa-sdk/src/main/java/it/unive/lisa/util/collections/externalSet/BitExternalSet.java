@@ -30,6 +30,12 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 	 */
 	private final ExternalSetCache<T> cache;
 
+	/**
+	 * The memoized hash code of this set, or {@code 0} if it has not been
+	 * computed since the last modification.
+	 */
+	private int hash;
+
 	/**
 	 * Builds an empty set connected to the given cache.
 	 * 
@@ -127,11 +133,13 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 			// of the element that we are adding
 			expand(1 + bitvector);
 			bits[pos >> 6] |= 1L << (pos % 64);
+			hash = 0;
 			return true;
 		} else if ((localbits[pos >> 6] & 1L << (pos % 64)) != 0L)
 			return false;
 
 		localbits[pos >> 6] |= 1L << (pos % 64);
+		hash = 0;
 		return true;
 	}
 
@@ -157,6 +165,7 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 
 			for (--otherlength; otherlength >= 0; otherlength--)
 				bits[otherlength] |= otherbits[otherlength];
+			hash = 0;
 		}
 	}
 
@@ -180,6 +189,7 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 			return false;
 
 		localbits[pos >> 6] &= ~(1L << (pos % 64));
+		hash = 0;
 		removeTrailingZeros();
 		return true;
 	}
@@ -231,10 +241,21 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + (cache == null ? 1 : cache.hashCode());
-		result = prime * result + Arrays.hashCode(bits);
+		// computing the hash requires visiting all the elements, so it is
+		// memoized until the next modification
+		int result = hash;
+		if (result == 0)
+			hash = result = computeHashCode();
+		return result;
+	}
+
+	private int computeHashCode() {
+		// as required by Set, this is the sum of the hashes of the elements:
+		// this is consistent with equals, that compares the contents of sets
+		// with different caches or that are not external sets
+		int result = 0;
+		for (T e : this)
+			result += e == null ? 0 : e.hashCode();
 		return result;
 	}
 
@@ -259,8 +280,12 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 			// we make them have the same cache and be backed by the a bitset
 			BitExternalSet o = (BitExternalSet) cache.mkSet(other);
 			return Arrays.equals(bits, o.bits);
-		} else
-			return Arrays.equals(bits, ((BitExternalSet) other).bits);
+		} else {
+			BitExternalSet o = (BitExternalSet) other;
+			if (hash != 0 && o.hash != 0 && hash != o.hash)
+				return false;
+			return Arrays.equals(bits, o.bits);
+		}
 	}
 
 	@Override
@@ -271,6 +296,7 @@ public final class BitExternalSet<T> implements ExternalSet<T> {
 	@Override
 	public void clear() {
 		this.bits = new long[1];
+		this.hash = 0;
 	}
 
 	@Override
@@ -1,15 +1,24 @@
 package it.unive.lisa.util.collections.externalSet;
 
-import java.util.ArrayList;
+import java.util.AbstractCollection;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A cache for creating {@link ExternalSet}s of the elements contained in this
- * cache.
+ * cache.<br>
+ * <br>
+ * The cache is an append-only interner that can be shared among threads
+ * without locking: the index of each element is stored in a
+ * {@link ConcurrentHashMap}, while elements are stored in a growable array made
+ * of chunks of increasing size, that are never moved once allocated. Reading
+ * from the cache (that is, retrieving the index of an element or the element at
+ * a given index, as done by {@link BitExternalSet}s) never blocks. Adding a new
+ * element only contends with threads adding the same element.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -18,24 +27,28 @@ import java.util.Map;
 public class ExternalSetCache<T> {
 
 	/**
-	 * The collection of elements in this cache
+	 * The size of the first chunk of elements, as a power of two. Each
+	 * subsequent chunk doubles the size of the previous one.
 	 */
-	private final List<T> elements = new ArrayList<>(16);
+	private static final int FIRST_CHUNK_BITS = 4;
 
 	/**
-	 * A map from the elements to their index
+	 * The maximum number of chunks, enough to cover all non-negative integer
+	 * indexes.
 	 */
-	private final Map<T, Integer> indexes = new HashMap<>(16);
+	private static final int MAX_CHUNKS = 32 - FIRST_CHUNK_BITS;
 
 	/**
-	 * The next index available for new elements
+	 * The object used to store {@code null} in {@link Store#indexes} and in
+	 * {@link Store#chunks}, since {@link ConcurrentHashMap} does not support
+	 * {@code null} keys and empty slots of the chunks are {@code null}.
 	 */
-	private int nextIndex = 0;
+	private static final Object NULL_KEY = new Object();
 
 	/**
-	 * The index assigned to the {@code null} key, if any.
+	 * The current contents of this cache, replaced when the cache is cleared.
 	 */
-	private int indexOfNull = -1;
+	private volatile Store<T> store = new Store<>();
 
 	/**
 	 * Builds an empty {@link ExternalSet} that uses this cache.
@@ -49,7 +62,7 @@ public class ExternalSetCache<T> {
 	/**
 	 * Builds an {@link ExternalSet} that uses this cache and contains the
 	 * elements of the given iterable.
-	 *
+	 * 
 	 * @param iterable the iterable
 	 * 
 	 * @return the set
@@ -83,19 +96,17 @@ public class ExternalSetCache<T> {
 	}
 
 	/**
-	 * Yields the index where the given element is stored in this cache.
+	 * Yields the index where the given element is stored in this cache. This
+	 * method never blocks.
 	 * 
 	 * @param e the element
 	 * 
 	 * @return the index of {@code e}, or {@code -1}
 	 */
-	protected final synchronized int indexOf(
+	protected final int indexOf(
 			T e) {
-		if (e == null)
-			return indexOfNull;
-
-		Integer result;
-		return (result = indexes.get(e)) == null ? -1 : result;
+		Integer result = store.indexes.get(e == null ? NULL_KEY : e);
+		return result == null ? -1 : result;
 	}
 
 	/**
@@ -106,46 +117,40 @@ public class ExternalSetCache<T> {
 	 * 
 	 * @return the index of {@code e}
 	 */
-	protected final synchronized int indexOfOrAdd(
+	protected final int indexOfOrAdd(
 			T e) {
-		if (e == null) {
-			if (indexOfNull == -1) {
-				elements.add(null);
-				indexOfNull = nextIndex++;
-			}
-			return indexOfNull;
-		}
-
-		Integer result = indexes.get(e);
-		if (result == null)
-			return indexes.computeIfAbsent(e, el -> {
-				elements.add(e);
-				return nextIndex++;
-			});
-
-		return result;
+		Store<T> local = store;
+		Object key = e == null ? NULL_KEY : e;
+		Integer result = local.indexes.get(key);
+		if (result != null)
+			return result;
+		// the mapping function is executed at most once per element, and only
+		// blocks threads adding the same element
+		return local.indexes.computeIfAbsent(key, k -> local.append(e));
 	}
 
 	/**
-	 * Yields the {@code pos}-th element of this cache.
-	 *
+	 * Yields the {@code pos}-th element of this cache. This method never
+	 * blocks.
+	 * 
 	 * @param pos the position
 	 * 
 	 * @return the element
+	 * 
+	 * @throws IndexOutOfBoundsException if {@code pos} is not a valid index
 	 */
-	protected final synchronized T get(
+	protected final T get(
 			int pos) {
-		return elements.get(pos);
+		return store.get(pos);
 	}
 
 	/**
-	 * Cleans the cache, removing all elements.
+	 * Cleans the cache, removing all elements. Sets created before the
+	 * invocation of this method should no longer be used, as the indexes they
+	 * refer to are no longer valid.
 	 */
-	public final synchronized void clear() {
-		elements.clear();
-		indexes.clear();
-		indexOfNull = -1;
-		nextIndex = 0;
+	public final void clear() {
+		store = new Store<>();
 	}
 
 	/**
@@ -153,22 +158,148 @@ public class ExternalSetCache<T> {
 	 * 
 	 * @return the number of elements
 	 */
-	public final synchronized int size() {
-		return elements.size();
+	public final int size() {
+		return store.published.get();
 	}
 
 	@Override
-	public final synchronized String toString() {
-		return elements.toString();
+	public final String toString() {
+		return getAllElements().toString();
 	}
 
 	/**
-	 * Yields an unmodifiable view of all the elements currently in the cache.
-	 * For a view that always stays up-to-date, use {@link #mkUniversalSet()}.
+	 * Yields an unmodifiable view of all the elements in the cache. The view
+	 * never blocks, and reflects the elements that have been published when
+	 * each of its methods is invoked.
 	 * 
 	 * @return a view of the elements inside this cache
 	 */
-	synchronized Collection<T> getAllElements() {
-		return Collections.unmodifiableCollection(elements);
+	Collection<T> getAllElements() {
+		return new AbstractCollection<T>() {
+
+			@Override
+			public Iterator<T> iterator() {
+				return store.iterator();
+			}
+
+			@Override
+			public int size() {
+				return ExternalSetCache.this.size();
+			}
+		};
+	}
+
+	/**
+	 * The contents of an {@link ExternalSetCache}.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 * 
+	 * @param <T> the type of elements stored
+	 */
+	private static class Store<T> {
+
+		/**
+		 * A map from the elements to their index
+		 */
+		private final ConcurrentHashMap<Object, Integer> indexes = new ConcurrentHashMap<>(16);
+
+		/**
+		 * The chunks holding the elements, allocated on demand. Slots whose
+		 * index has been reserved but whose element has not been stored yet
+		 * are {@code null}.
+		 */
+		private final AtomicReferenceArray<AtomicReferenceArray<Object>> chunks = new AtomicReferenceArray<>(
+				MAX_CHUNKS);
+
+		/**
+		 * The next index available for new elements
+		 */
+		private final AtomicInteger next = new AtomicInteger();
+
+		/**
+		 * The number of elements that have been stored
+		 */
+		private final AtomicInteger published = new AtomicInteger();
+
+		private static int chunkOf(
+				int pos) {
+			// chunk i covers indexes [2^(i+b) - 2^b, 2^(i+b+1) - 2^b)
+			return 31 - Integer.numberOfLeadingZeros((pos >>> FIRST_CHUNK_BITS) + 1);
+		}
+
+		private static int offsetIn(
+				int pos,
+				int chunk) {
+			return pos - ((1 << (chunk + FIRST_CHUNK_BITS)) - (1 << FIRST_CHUNK_BITS));
+		}
+
+		private AtomicReferenceArray<Object> chunk(
+				int chunk) {
+			AtomicReferenceArray<Object> result = chunks.get(chunk);
+			if (result != null)
+				return result;
+			// racing threads allocate the same chunk, only one wins
+			chunks.compareAndSet(chunk, null, new AtomicReferenceArray<>(1 << (chunk + FIRST_CHUNK_BITS)));
+			return chunks.get(chunk);
+		}
+
+		private int append(
+				T e) {
+			int pos = next.getAndIncrement();
+			if (pos < 0)
+				throw new IllegalStateException("Too many elements in the cache");
+			int chunk = chunkOf(pos);
+			chunk(chunk).set(offsetIn(pos, chunk), e == null ? NULL_KEY : e);
+			published.incrementAndGet();
+			return pos;
+		}
+
+		private Object slot(
+				int pos) {
+			int chunk = chunkOf(pos);
+			AtomicReferenceArray<Object> elements = chunks.get(chunk);
+			return elements == null ? null : elements.get(offsetIn(pos, chunk));
+		}
+
+		@SuppressWarnings("unchecked")
+		private T get(
+				int pos) {
+			if (pos < 0 || pos >= next.get())
+				throw new IndexOutOfBoundsException("Index " + pos + " out of bounds for length " + next.get());
+			Object element = slot(pos);
+			if (element == null)
+				throw new IndexOutOfBoundsException("Index " + pos + " has not been published yet");
+			return element == NULL_KEY ? null : (T) element;
+		}
+
+		private Iterator<T> iterator() {
+			// slots reserved by concurrent additions are skipped
+			int limit = next.get();
+			return new Iterator<T>() {
+
+				private int pos = advance(0);
+
+				private int advance(
+						int from) {
+					while (from < limit && slot(from) == null)
+						from++;
+					return from;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return pos < limit;
+				}
+
+				@Override
+				public T next() {
+					if (pos >= limit)
+						throw new NoSuchElementException();
+					T result = get(pos);
+					pos = advance(pos + 1);
+					return result;
+				}
+			};
+		}
 	}
 }
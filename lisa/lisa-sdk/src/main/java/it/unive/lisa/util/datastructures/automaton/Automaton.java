@@ -46,7 +46,10 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	protected final SortedSet<State> states;
 
 	/**
-	 * The transitions of this automaton.
+	 * The transitions of this automaton. If this is an instance of
+	 * {@link IndexedTransitions}, its per-state indexes are used by
+	 * {@link #getOutgoingTransitionsFrom(State)} and
+	 * {@link #getIngoingTransitionsFrom(State)}.
 	 */
 	protected final SortedSet<Transition<T>> transitions;
 
@@ -64,18 +67,27 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 */
 	protected Optional<Boolean> minimized;
 
+	/**
+	 * The memoized hash code of this automaton, or {@code 0} if it has not
+	 * been computed since the last modification performed through the methods
+	 * of this class.
+	 */
+	private int hash;
+
 	/**
 	 * Builds an empty automaton.
 	 */
 	protected Automaton() {
 		this.states = new TreeSet<>();
-		this.transitions = new TreeSet<>();
+		this.transitions = new IndexedTransitions<>();
 		this.deterministic = Optional.empty();
 		this.minimized = Optional.empty();
 	}
 
 	/**
 	 * Builds a new automaton with given {@code states} and {@code transitions}.
+	 * Transitions are indexed by state only if {@code transitions} is an
+	 * instance of {@link IndexedTransitions}.
 	 *
 	 * @param states      the set of states of the new automaton
 	 * @param transitions the set of the transitions of the new automaton
@@ -127,6 +139,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		states.add(s);
 		this.deterministic = Optional.empty();
 		this.minimized = Optional.empty();
+		this.hash = 0;
 	}
 
 	/**
@@ -155,6 +168,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		transitions.add(t);
 		this.deterministic = Optional.empty();
 		this.minimized = Optional.empty();
+		this.hash = 0;
 	}
 
 	/**
@@ -168,6 +182,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		transitions.removeAll(ts);
 		this.deterministic = Optional.empty();
 		this.minimized = Optional.empty();
+		this.hash = 0;
 	}
 
 	/**
@@ -180,11 +195,16 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		states.removeAll(ts);
 		this.deterministic = Optional.empty();
 		this.minimized = Optional.empty();
+		this.hash = 0;
 	}
 
 	/**
-	 * Yields a minimal automaton equivalent to this one through Brzozowski's
-	 * minimization algorithm. <br>
+	 * Yields a minimal automaton equivalent to this one. Deterministic
+	 * automata are minimized through Hopcroft's partition refinement
+	 * algorithm, while non-deterministic ones are minimized through
+	 * Brzozowski's algorithm. The latter is also used if the reverse of this
+	 * automaton is deterministic, as no subset construction is needed in that
+	 * case.<br>
 	 * <br>
 	 * This automaton is never modified.
 	 * 
@@ -195,13 +215,15 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		if (minimized.isPresent() && minimized.get())
 			return (A) this;
 		A a = (A) this;
-		if (!isDeterministic())
+		if (isDeterministic() && getInitialState() != null && !reverse().isDeterministic())
+			a = hopcroft();
+		else {
 			a = determinize();
-
-		a = a.reverse().determinize();
-		a = a.removeUnreachableStates();
-		a = a.reverse().determinize();
-		a = a.removeUnreachableStates();
+			a = a.reverse().determinize();
+			a = a.removeUnreachableStates();
+			a = a.reverse().determinize();
+			a = a.removeUnreachableStates();
+		}
 
 		a.deterministic = Optional.of(true);
 		a.minimized = Optional.of(true);
@@ -209,7 +231,193 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	}
 
 	/**
-	 * Yields the set of all outgoing transitions from the given state.
+	 * Minimizes this automaton, that must be deterministic, through Hopcroft's
+	 * algorithm. The automaton is first completed with a sink state, and then
+	 * its states are partitioned by iteratively splitting blocks of states
+	 * that disagree on the block reached through some symbol. States that are
+	 * not reachable from the initial one, as well as the ones that cannot
+	 * reach a final state, are not part of the result. States of the result
+	 * are numbered as Brzozowski's algorithm would number them.
+	 * 
+	 * @return a minimal automaton equivalent to this one
+	 */
+	private A hopcroft() {
+		// reachable states, numbered in breadth-first order
+		List<State> reachable = new ArrayList<>();
+		Map<State, Integer> codes = new HashMap<>();
+		SortedSet<T> alphabet = new TreeSet<>();
+		State init = getInitialState();
+		reachable.add(init);
+		codes.put(init, 0);
+		for (int i = 0; i < reachable.size(); i++)
+			for (Transition<T> t : getOutgoingTransitionsFrom(reachable.get(i))) {
+				alphabet.add(t.getSymbol());
+				if (!codes.containsKey(t.getDestination())) {
+					codes.put(t.getDestination(), reachable.size());
+					reachable.add(t.getDestination());
+				}
+			}
+
+		List<T> symbols = new ArrayList<>(alphabet);
+		Map<T, Integer> symbolCodes = new HashMap<>();
+		for (T symbol : symbols)
+			symbolCodes.put(symbol, symbolCodes.size());
+
+		// the last state is the sink, that completes the transition function
+		int k = symbols.size();
+		int sink = reachable.size();
+		int size = sink + 1;
+		int[] delta = new int[size * k];
+		Arrays.fill(delta, sink);
+		for (int i = 0; i < sink; i++)
+			for (Transition<T> t : getOutgoingTransitionsFrom(reachable.get(i)))
+				delta[i * k + symbolCodes.get(t.getSymbol())] = codes.get(t.getDestination());
+
+		// inverse transitions, stored contiguously for each (state, symbol)
+		int[] predStart = new int[size * k + 1];
+		for (int i = 0; i < size * k; i++)
+			predStart[delta[i] * k + i % k + 1]++;
+		for (int i = 0; i < size * k; i++)
+			predStart[i + 1] += predStart[i];
+		int[] preds = new int[size * k];
+		int[] filled = Arrays.copyOf(predStart, size * k);
+		for (int i = 0; i < size * k; i++)
+			preds[filled[delta[i] * k + i % k]++] = i / k;
+
+		Partition partition = new Partition(size);
+		int[] finals = new int[size];
+		for (int i = 0; i < sink; i++)
+			finals[i] = reachable.get(i).isFinal() ? 1 : 0;
+		partition.splitBy(finals);
+
+		boolean[] pending = new boolean[size * k];
+		Stack<int[]> splitters = new Stack<>();
+		if (partition.size() > 1)
+			for (int c = 0; c < k; c++) {
+				// block 1 is the smallest one
+				splitters.push(new int[] { 1, c });
+				pending[k + c] = true;
+			}
+
+		while (!splitters.isEmpty()) {
+			int[] splitter = splitters.pop();
+			int c = splitter[1];
+			pending[splitter[0] * k + c] = false;
+			for (int state : partition.elementsOf(splitter[0]))
+				for (int i = predStart[state * k + c]; i < predStart[state * k + c + 1]; i++)
+					partition.mark(preds[i]);
+
+			for (int[] split : partition.split())
+				// the new block is never larger than the original one: it has
+				// to be used as splitter both if the original one is already
+				// pending and if it is not
+				for (int a = 0; a < k; a++)
+					if (!pending[split[1] * k + a]) {
+						splitters.push(new int[] { split[1], a });
+						pending[split[1] * k + a] = true;
+					}
+		}
+
+		// blocks are visited breadth-first from the initial one, skipping the
+		// block of the sink
+		int dead = partition.blockOf(sink);
+		if (partition.blockOf(0) == dead) {
+			// the language is empty
+			SortedSet<State> empty = new TreeSet<>();
+			empty.add(new State(0, true, false));
+			return from(empty, new IndexedTransitions<>());
+		}
+
+		int[] representatives = new int[partition.size()];
+		int[] ids = new int[partition.size()];
+		Arrays.fill(ids, -1);
+		List<Integer> visit = new ArrayList<>();
+		int initBlock = partition.blockOf(0);
+		ids[initBlock] = 0;
+		visit.add(initBlock);
+		for (int i = 0; i < visit.size(); i++) {
+			int rep = representatives[visit.get(i)];
+			for (int c = 0; c < k; c++) {
+				int dest = delta[rep * k + c];
+				int block = partition.blockOf(dest);
+				if (block != dead && ids[block] == -1) {
+					representatives[block] = dest;
+					ids[block] = visit.size();
+					visit.add(block);
+				}
+			}
+		}
+
+		// if the result has a single final state and its reverse is
+		// deterministic, Brzozowski's algorithm would number the states
+		// following a breadth-first visit of the reverse automaton from the
+		// final state: we stick to that numbering to yield the same result
+		int[] predecessors = new int[partition.size() * k];
+		Arrays.fill(predecessors, -1);
+		int finalBlock = -1;
+		boolean reverseDeterministic = true;
+		for (int block : visit) {
+			int rep = representatives[block];
+			if (reachable.get(rep).isFinal())
+				if (finalBlock == -1)
+					finalBlock = block;
+				else
+					reverseDeterministic = false;
+			for (int c = 0; c < k; c++) {
+				int dest = partition.blockOf(delta[rep * k + c]);
+				if (dest == dead)
+					continue;
+				if (predecessors[dest * k + c] != -1)
+					reverseDeterministic = false;
+				predecessors[dest * k + c] = block;
+			}
+		}
+
+		if (reverseDeterministic && finalBlock != -1) {
+			List<Integer> reversedSymbols = new ArrayList<>();
+			for (int c = 0; c < k; c++)
+				reversedSymbols.add(c);
+			reversedSymbols.sort((c1, c2) -> symbols.get(c1).reverse().compareTo(symbols.get(c2).reverse()));
+
+			Arrays.fill(ids, -1);
+			List<Integer> reverseVisit = new ArrayList<>();
+			ids[finalBlock] = 0;
+			reverseVisit.add(finalBlock);
+			for (int i = 0; i < reverseVisit.size(); i++)
+				for (int c : reversedSymbols) {
+					int pred = predecessors[reverseVisit.get(i) * k + c];
+					if (pred != -1 && ids[pred] == -1) {
+						ids[pred] = reverseVisit.size();
+						reverseVisit.add(pred);
+					}
+				}
+		}
+
+		State[] blockStates = new State[partition.size()];
+		for (int block : visit)
+			blockStates[block] = new State(ids[block], block == initBlock,
+					reachable.get(representatives[block]).isFinal());
+
+		SortedSet<State> newStates = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
+		for (int block : visit) {
+			newStates.add(blockStates[block]);
+			int rep = representatives[block];
+			for (int c = 0; c < k; c++) {
+				int dest = partition.blockOf(delta[rep * k + c]);
+				if (dest != dead)
+					newDelta.add(new Transition<>(blockStates[block], blockStates[dest], symbols.get(c)));
+			}
+		}
+
+		return from(newStates, newDelta);
+	}
+
+	/**
+	 * Yields the set of all outgoing transitions from the given state. If the
+	 * transitions of this automaton are indexed, the returned set is a
+	 * read-only snapshot that is not affected by later modifications of this
+	 * automaton.
 	 * 
 	 * @param s the state
 	 * 
@@ -217,11 +425,16 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 */
 	public SortedSet<Transition<T>> getOutgoingTransitionsFrom(
 			State s) {
+		if (transitions instanceof IndexedTransitions)
+			return ((IndexedTransitions<T>) transitions).outgoing(s);
 		return new TreeSet<>(transitions.stream().filter(t -> t.getSource().equals(s)).collect(Collectors.toSet()));
 	}
 
 	/**
-	 * Yields the set of all ingoing transitions to the given state.
+	 * Yields the set of all ingoing transitions to the given state. If the
+	 * transitions of this automaton are indexed, the returned set is a
+	 * read-only snapshot that is not affected by later modifications of this
+	 * automaton.
 	 * 
 	 * @param s the state
 	 * 
@@ -229,6 +442,8 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 */
 	public SortedSet<Transition<T>> getIngoingTransitionsFrom(
 			State s) {
+		if (transitions instanceof IndexedTransitions)
+			return ((IndexedTransitions<T>) transitions).ingoing(s);
 		return new TreeSet<>(
 				transitions.stream().filter(t -> t.getDestination().equals(s)).collect(Collectors.toSet()));
 	}
@@ -284,7 +499,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 */
 	public A removeUnreachableStates() {
 		SortedSet<State> newStates = new TreeSet<>(states);
-		SortedSet<Transition<T>> newTransitions = new TreeSet<>(transitions);
+		SortedSet<Transition<T>> newTransitions = new IndexedTransitions<>(transitions);
 
 		Set<State> reachableStates = new HashSet<>();
 		Set<State> ws = new HashSet<>();
@@ -318,7 +533,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 *             {@code this}.
 	 */
 	public A reverse() {
-		SortedSet<Transition<T>> tr = new TreeSet<>();
+		SortedSet<Transition<T>> tr = new IndexedTransitions<>();
 		SortedSet<State> st = new TreeSet<>();
 		Map<State, State> revStates = new HashMap<>();
 
@@ -523,7 +738,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 			return (A) this;
 
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
 
 		Map<Set<State>, Boolean> marked = new HashMap<>();
 		Map<Set<State>, State> statesName = new HashMap<>();
@@ -581,7 +796,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 			return (A) this;
 
 		SortedSet<State> sts = new TreeSet<>();
-		SortedSet<Transition<T>> ts = new TreeSet<>();
+		SortedSet<Transition<T>> ts = new IndexedTransitions<>();
 
 		SortedSet<State> initStates = new TreeSet<>();
 
@@ -722,7 +937,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A totalize(
 			Set<T> sigma) {
 		SortedSet<State> newStates = new TreeSet<>(states);
-		SortedSet<Transition<T>> newTransitions = new TreeSet<>(transitions);
+		SortedSet<Transition<T>> newTransitions = new IndexedTransitions<>(transitions);
 
 		int code = 1 + states.stream().map(State::getId).max(Integer::compare).orElseGet(() -> -1);
 
@@ -754,7 +969,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A complement(
 			Set<T> sigma) {
 		SortedSet<State> sts = new TreeSet<>();
-		SortedSet<Transition<T>> delta = new TreeSet<>();
+		SortedSet<Transition<T>> delta = new IndexedTransitions<>();
 		Map<State, State> oldToNew = new HashMap<>();
 		A r = determinize().totalize(sigma != null ? sigma : getAlphabet());
 
@@ -789,7 +1004,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		int code = 0;
 		Map<State, Pair<State, State>> stateMapping = new HashMap<>();
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<Transition<T>>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<T>();
 
 		for (State s1 : states)
 			for (State s2 : other.states) {
@@ -909,7 +1124,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 */
 	public A copy() {
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<T>> newTransitions = new TreeSet<>();
+		SortedSet<Transition<T>> newTransitions = new IndexedTransitions<>();
 		HashMap<String, State> nameToStates = new HashMap<>();
 
 		for (State s : states) {
@@ -1015,7 +1230,10 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 
 	/**
 	 * Creates a new automaton that represent the widening operator applied on
-	 * the automaton {@code this}.
+	 * the automaton {@code this}. The states of {@code this} are partitioned
+	 * with respect to their {@code n}-bounded language (see
+	 * {@link #getNextSymbols(State, int)}), and each block of the partition
+	 * becomes a state of the widened automaton.
 	 * 
 	 * @param n the parameter of the widening operator.
 	 * 
@@ -1024,38 +1242,103 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A widening(
 			int n) {
 		Map<SortedSet<T>, SortedSet<State>> powerStates = new HashMap<>();
-		Map<State, SortedSet<T>> languages = new HashMap<>();
-		SortedSet<State> newStates = new TreeSet<>();
-		Map<SortedSet<State>, State> mapping = new HashMap<>();
 
 		// we partition the states wrt their n-bounded language
-		for (State s : states) {
-			SortedSet<T> lang = getNextSymbols(s, n);
-			languages.put(s, lang);
-			powerStates.computeIfAbsent(lang, k -> new TreeSet<>()).add(s);
-		}
+		if (isDeterministic())
+			// states that read the same sequences of symbols have the same
+			// language, so we only need to compute it once for each block
+			for (SortedSet<State> block : boundedLanguagePartition(n))
+				powerStates.computeIfAbsent(getNextSymbols(block.first(), n), k -> new TreeSet<>()).addAll(block);
+		else
+			for (State s : states)
+				powerStates.computeIfAbsent(getNextSymbols(s, n), k -> new TreeSet<>()).add(s);
 
 		int i = 0;
+		SortedSet<State> newStates = new TreeSet<>();
+		Map<State, State> mapping = new HashMap<>();
 		for (SortedSet<State> ps : powerStates.values()) {
 			State ns = new State(i++, containsInitialState(ps), containsFinalState(ps));
 			newStates.add(ns);
-			mapping.put(ps, ns);
+			for (State s : ps)
+				mapping.put(s, ns);
 		}
 
-		SortedSet<Transition<T>> newTransitions = new TreeSet<>();
-		for (Transition<T> t : transitions) {
-			Set<State> fromPartition = powerStates.get(languages.get(t.getSource()));
-			Set<State> toPartition = powerStates.get(languages.get(t.getDestination()));
+		SortedSet<Transition<T>> newTransitions = new IndexedTransitions<>();
+		for (Transition<T> t : transitions)
 			newTransitions.add(new Transition<>(
-					mapping.get(fromPartition),
-					mapping.get(toPartition),
+					mapping.get(t.getSource()),
+					mapping.get(t.getDestination()),
 					t.getSymbol()));
-		}
 
 		A automaton = from(newStates, newTransitions);
 		return automaton.minimize();
 	}
 
+	/**
+	 * Partitions the states of this automaton, that must be deterministic, so
+	 * that two states are in the same block only if they can read the same
+	 * sequences of at most {@code n} symbols. The partition is computed by
+	 * splitting states by the symbols they can read, and then by refining it
+	 * {@code n - 1} times, splitting states whose successors through the same
+	 * symbol are in different blocks. As the concatenation of different
+	 * sequences of symbols might yield the same symbol, states in different
+	 * blocks might still have the same {@code n}-bounded language.
+	 * 
+	 * @param n the maximum length of the sequences
+	 * 
+	 * @return the blocks of the partition
+	 */
+	private List<SortedSet<State>> boundedLanguagePartition(
+			int n) {
+		List<State> sts = new ArrayList<>(states);
+		Map<State, Integer> codes = new HashMap<>();
+		for (State s : sts)
+			codes.put(s, codes.size());
+		Map<T, Integer> symbolCodes = new HashMap<>();
+		for (Transition<T> t : transitions)
+			symbolCodes.putIfAbsent(t.getSymbol(), symbolCodes.size());
+
+		int size = sts.size();
+		int k = symbolCodes.size();
+		int[] delta = new int[size * k];
+		Arrays.fill(delta, -1);
+		for (Transition<T> t : transitions)
+			delta[codes.get(t.getSource()) * k + symbolCodes.get(t.getSymbol())] = codes.get(t.getDestination());
+
+		Partition partition = new Partition(size);
+		if (n > 0) {
+			int[] keys = new int[size];
+			for (int c = 0; c < k; c++) {
+				for (int s = 0; s < size; s++)
+					keys[s] = delta[s * k + c] == -1 ? 0 : 1;
+				partition.splitBy(keys);
+			}
+
+			int[] previous = new int[size];
+			for (int round = 1; round < n; round++) {
+				for (int s = 0; s < size; s++)
+					previous[s] = partition.blockOf(s);
+				boolean changed = false;
+				for (int c = 0; c < k; c++) {
+					for (int s = 0; s < size; s++)
+						keys[s] = delta[s * k + c] == -1 ? -1 : previous[delta[s * k + c]];
+					changed |= partition.splitBy(keys);
+				}
+				if (!changed)
+					break;
+			}
+		}
+
+		List<SortedSet<State>> result = new ArrayList<>(partition.size());
+		for (int block = 0; block < partition.size(); block++) {
+			SortedSet<State> members = new TreeSet<>();
+			for (int s : partition.elementsOf(block))
+				members.add(sts.get(s));
+			result.add(members);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return toRegex().simplify().toString();
@@ -1105,7 +1388,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A concat(
 			A other) {
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<T>> newTransitions = new TreeSet<>();
+		SortedSet<Transition<T>> newTransitions = new IndexedTransitions<>();
 
 		Map<State, State> thisMapping = new HashMap<>();
 		Map<State, State> otherMapping = new HashMap<>();
@@ -1163,7 +1446,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 
 		SortedSet<State> newStates = new TreeSet<>();
 		Map<Integer, State> nameToStates = new HashMap<Integer, State>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
 
 		int max = -1;
 		for (State s : states) {
@@ -1318,8 +1601,8 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 			State s2) {
 		SortedSet<Transition<T>> result = new TreeSet<>();
 
-		for (Transition<T> t : this.transitions)
-			if (t.getSource().equals(s1) && t.getDestination().equals(s2))
+		for (Transition<T> t : getOutgoingTransitionsFrom(s1))
+			if (t.getDestination().equals(s2))
 				result.add(t);
 
 		return result;
@@ -1331,7 +1614,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	 * @return the star automaton
 	 */
 	public A star() {
-		SortedSet<Transition<T>> tr = new TreeSet<>();
+		SortedSet<Transition<T>> tr = new IndexedTransitions<>();
 		SortedSet<State> st = new TreeSet<>();
 		Map<State, State> mapping = new HashMap<>();
 
@@ -1706,7 +1989,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 				}
 
 		SortedSet<State> newStates = new TreeSet<>();
-		SortedSet<Transition<T>> newTransitions = new TreeSet<>();
+		SortedSet<Transition<T>> newTransitions = new IndexedTransitions<>();
 		int counter = 0;
 		State last = new State(counter++, true, symbols.isEmpty());
 		newStates.add(last);
@@ -1733,7 +2016,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 				.collect(Collectors.toSet());
 
 		SortedSet<State> states = new TreeSet<>();
-		SortedSet<Transition<T>> delta = new TreeSet<>();
+		SortedSet<Transition<T>> delta = new IndexedTransitions<>();
 		for (List<State> p : paths)
 			for (State s : p) {
 				states.add(s);
@@ -1756,7 +2039,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A factors() {
 		SortedSet<State> newStates = new TreeSet<>();
 		Map<Integer, State> nameToStates = new HashMap<Integer, State>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
 
 		for (State s : states) {
 			State mock = new State(s.getId(), true, true);
@@ -1782,7 +2065,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A prefix() {
 		SortedSet<State> newStates = new TreeSet<>();
 		Map<Integer, State> nameToStates = new HashMap<Integer, State>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
 
 		for (State s : states) {
 			State mock = new State(s.getId(), s.isInitial(), true);
@@ -1808,7 +2091,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 	public A suffix() {
 		SortedSet<State> newStates = new TreeSet<>();
 		Map<Integer, State> nameToStates = new HashMap<Integer, State>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
 
 		for (State s : states) {
 			State mock = new State(s.getId(), true, s.isFinal());
@@ -1918,7 +2201,7 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 			State s) {
 		SortedSet<State> newStates = new TreeSet<>();
 		Map<Integer, State> nameToStates = new HashMap<Integer, State>();
-		SortedSet<Transition<T>> newDelta = new TreeSet<>();
+		SortedSet<Transition<T>> newDelta = new IndexedTransitions<>();
 
 		for (State q : states) {
 			State mock = new State(q.getId(), q == s ? true : false, true);
@@ -1934,8 +2217,24 @@ public abstract class Automaton<A extends Automaton<A, T>, T extends TransitionS
 		return from(newStates, newDelta).minimize();
 	}
 
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * The hash code is memoized, as automata are frequently used as keys of
+	 * caches (see {@link AutomatonOperationCache}): modifications of the sets
+	 * returned by {@link #getStates()} and {@link #getTransitions()} are not
+	 * tracked, and automata should be modified only through the methods of
+	 * this class.
+	 */
 	@Override
 	public int hashCode() {
+		int h = hash;
+		if (h == 0)
+			hash = h = computeHashCode();
+		return h;
+	}
+
+	private int computeHashCode() {
 		return Objects.hash(states, transitions);
 	}
 
@@ -0,0 +1,400 @@
+package it.unive.lisa.util.datastructures.automaton;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded memo table for the results of expensive operations on
+ * {@link Automaton}s, such as {@link Automaton#union(Automaton)},
+ * {@link Automaton#intersection(Automaton)},
+ * {@link Automaton#isContained(Automaton)}, {@link Automaton#minimize()},
+ * {@link Automaton#determinize()} and {@link Automaton#widening(int)}. Each
+ * entry is identified by the operation and by its operands, that are compared
+ * by equality: as minimal deterministic automata have a canonical form (see
+ * {@link Automaton#minimize()}), automata recognizing the same language are
+ * likely to hit the same entry if they are minimized. The hash code of the
+ * operands is computed once, when the entry is created, and automata memoize
+ * their own hash code. When the number of entries exceeds the capacity of the
+ * cache, the least recently used one is evicted.<br>
+ * <br>
+ * Operands and results that are automata are held through weak references:
+ * entries whose operands or results have been garbage collected are removed
+ * from the cache. Results are not held strongly since they are often operands
+ * of other entries (e.g., a union that is then minimized), that would
+ * otherwise never be collected. Note that automata are mutable: automata used
+ * as operands and the ones returned by this cache must not be modified, as
+ * they might be shared with other users of the cache. Caches that are shared
+ * by all the instances of a domain should be cleared when no analysis is
+ * running, registering {@link #clear()} with
+ * {@link it.unive.lisa.AnalysisLifecycle#registerCleanup(Runnable)}.<br>
+ * <br>
+ * All operations on this cache are synchronized, and instances of this class
+ * can thus be safely shared by concurrent analyses. Operations are computed
+ * outside of the synchronized blocks, so the same result might be computed by
+ * more than one thread at the same time. The cache also keeps track of the
+ * number of hits, misses and evictions since it was last cleared.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class AutomatonOperationCache {
+
+	/**
+	 * The default capacity of the cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 10_000;
+
+	private enum Operation {
+		UNION,
+		INTERSECTION,
+		IS_CONTAINED,
+		MINIMIZE,
+		DETERMINIZE,
+		WIDENING
+	}
+
+	private final int capacity;
+
+	private final LinkedHashMap<Key, Object> entries;
+
+	private final ReferenceQueue<Automaton<?, ?>> collected = new ReferenceQueue<>();
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * Builds a cache with {@link #DEFAULT_CAPACITY} capacity.
+	 */
+	public AutomatonOperationCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Builds a cache with the given capacity.
+	 * 
+	 * @param capacity the maximum number of entries of the cache
+	 * 
+	 * @throws IllegalArgumentException if {@code capacity} is not positive
+	 */
+	public AutomatonOperationCache(
+			int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("The capacity of the cache must be positive");
+		this.capacity = capacity;
+		// access order, for lru eviction
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Key, Object> eldest) {
+				if (size() <= AutomatonOperationCache.this.capacity)
+					return false;
+				evictions++;
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Yields the result of {@code first.union(second)}, computing it only if
+	 * it is not in the cache.
+	 * 
+	 * @param <A>    the concrete type of the automata
+	 * @param <T>    the concrete type of the symbols of the automata
+	 * @param first  the first automaton
+	 * @param second the second automaton
+	 * 
+	 * @return the union of the two automata
+	 */
+	public <A extends Automaton<A, T>, T extends TransitionSymbol<T>> A union(
+			A first,
+			A second) {
+		return compute(Operation.UNION, first, second, 0, () -> first.union(second));
+	}
+
+	/**
+	 * Yields the result of {@code first.intersection(second)}, computing it
+	 * only if it is not in the cache.
+	 * 
+	 * @param <A>    the concrete type of the automata
+	 * @param <T>    the concrete type of the symbols of the automata
+	 * @param first  the first automaton
+	 * @param second the second automaton
+	 * 
+	 * @return the intersection of the two automata
+	 */
+	public <A extends Automaton<A, T>, T extends TransitionSymbol<T>> A intersection(
+			A first,
+			A second) {
+		return compute(Operation.INTERSECTION, first, second, 0, () -> first.intersection(second));
+	}
+
+	/**
+	 * Yields the result of {@code first.isContained(second)}, computing it
+	 * only if it is not in the cache.
+	 * 
+	 * @param <A>    the concrete type of the automata
+	 * @param <T>    the concrete type of the symbols of the automata
+	 * @param first  the first automaton
+	 * @param second the second automaton
+	 * 
+	 * @return {@code true} if the language of {@code first} is contained in
+	 *             the one of {@code second}
+	 */
+	public <A extends Automaton<A, T>, T extends TransitionSymbol<T>> boolean isContained(
+			A first,
+			A second) {
+		return compute(Operation.IS_CONTAINED, first, second, 0, () -> first.isContained(second));
+	}
+
+	/**
+	 * Yields the result of {@code automaton.minimize()}, computing it only if
+	 * it is not in the cache.
+	 * 
+	 * @param <A>       the concrete type of the automaton
+	 * @param <T>       the concrete type of the symbols of the automaton
+	 * @param automaton the automaton
+	 * 
+	 * @return the minimized automaton
+	 */
+	public <A extends Automaton<A, T>, T extends TransitionSymbol<T>> A minimize(
+			A automaton) {
+		return compute(Operation.MINIMIZE, automaton, null, 0, automaton::minimize);
+	}
+
+	/**
+	 * Yields the result of {@code automaton.determinize()}, computing it only
+	 * if it is not in the cache.
+	 * 
+	 * @param <A>       the concrete type of the automaton
+	 * @param <T>       the concrete type of the symbols of the automaton
+	 * @param automaton the automaton
+	 * 
+	 * @return the determinized automaton
+	 */
+	public <A extends Automaton<A, T>, T extends TransitionSymbol<T>> A determinize(
+			A automaton) {
+		return compute(Operation.DETERMINIZE, automaton, null, 0, automaton::determinize);
+	}
+
+	/**
+	 * Yields the result of {@code automaton.widening(n)}, computing it only if
+	 * it is not in the cache.
+	 * 
+	 * @param <A>       the concrete type of the automaton
+	 * @param <T>       the concrete type of the symbols of the automaton
+	 * @param automaton the automaton
+	 * @param n         the parameter of the widening
+	 * 
+	 * @return the widened automaton
+	 */
+	public <A extends Automaton<A, T>, T extends TransitionSymbol<T>> A widening(
+			A automaton,
+			int n) {
+		return compute(Operation.WIDENING, automaton, null, n, () -> automaton.widening(n));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R> R compute(
+			Operation operation,
+			Automaton<?, ?> first,
+			Automaton<?, ?> second,
+			int parameter,
+			Supplier<R> computation) {
+		// hashing the operands is not free: we do it outside of the lock
+		Key key = new Key(operation, first, second, parameter, collected);
+		synchronized (this) {
+			Object cached = entries.get(key);
+			if (cached instanceof WeakAutomaton)
+				// null if the result has been collected
+				cached = ((WeakAutomaton) cached).get();
+			if (cached != null) {
+				hits++;
+				return (R) cached;
+			}
+			misses++;
+		}
+
+		R result = computation.get();
+		synchronized (this) {
+			expunge();
+			entries.put(key, result instanceof Automaton
+					? new WeakAutomaton((Automaton<?, ?>) result, collected, key, true)
+					: result);
+		}
+		return result;
+	}
+
+	private void expunge() {
+		Reference<? extends Automaton<?, ?>> ref;
+		while ((ref = collected.poll()) != null) {
+			WeakAutomaton weak = (WeakAutomaton) ref;
+			if (weak.result)
+				// the entry might have been replaced by a new one, with an
+				// equal key and a live result
+				entries.remove(weak.key, weak);
+			else
+				entries.remove(weak.key);
+		}
+	}
+
+	/**
+	 * Removes all entries from this cache, resetting its counters.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		while (collected.poll() != null)
+			;
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Yields the maximum number of entries of this cache.
+	 * 
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Yields the number of entries currently in this cache, after removing the
+	 * ones whose operands or results have been garbage collected.
+	 * 
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		expunge();
+		return entries.size();
+	}
+
+	/**
+	 * Yields the number of lookups that found an entry in this cache.
+	 * 
+	 * @return the number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Yields the number of lookups that did not find an entry in this cache.
+	 * 
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Yields the number of entries that have been evicted from this cache.
+	 * 
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Yields the ratio between the hits and the total number of lookups
+	 * performed on this cache, or {@code 0} if no lookup has been performed.
+	 * 
+	 * @return the hit rate
+	 */
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("%d hits, %d misses (%.2f%% hit rate), %d/%d entries, %d evictions",
+				hits, misses, getHitRate() * 100, entries.size(), capacity, evictions);
+	}
+
+	private static class WeakAutomaton extends WeakReference<Automaton<?, ?>> {
+
+		private final Key key;
+
+		private final boolean result;
+
+		private WeakAutomaton(
+				Automaton<?, ?> referent,
+				ReferenceQueue<Automaton<?, ?>> queue,
+				Key key,
+				boolean result) {
+			super(referent, queue);
+			this.key = key;
+			this.result = result;
+		}
+
+		private boolean sameAs(
+				WeakAutomaton other) {
+			Automaton<?, ?> mine = get();
+			Automaton<?, ?> theirs = other.get();
+			// collected operands never match
+			return mine != null && theirs != null && (mine == theirs || mine.equals(theirs));
+		}
+	}
+
+	private static class Key {
+
+		private final Operation operation;
+
+		private final WeakAutomaton first;
+
+		private final WeakAutomaton second;
+
+		private final int parameter;
+
+		private final int hash;
+
+		private Key(
+				Operation operation,
+				Automaton<?, ?> first,
+				Automaton<?, ?> second,
+				int parameter,
+				ReferenceQueue<Automaton<?, ?>> queue) {
+			this.operation = operation;
+			this.first = new WeakAutomaton(first, queue, this, false);
+			this.second = second == null ? null : new WeakAutomaton(second, queue, this, false);
+			this.parameter = parameter;
+			int result = operation.ordinal();
+			result = 31 * result + first.hashCode();
+			result = 31 * result + (second == null ? 0 : second.hashCode());
+			this.hash = 31 * result + parameter;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(
+				Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Key other = (Key) obj;
+			if (hash != other.hash || operation != other.operation || parameter != other.parameter)
+				return false;
+			if (!first.sameAs(other.first))
+				return false;
+			if (second == null)
+				return other.second == null;
+			return other.second != null && second.sameAs(other.second);
+		}
+	}
+}
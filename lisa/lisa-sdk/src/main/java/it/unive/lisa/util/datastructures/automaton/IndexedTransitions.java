@@ -0,0 +1,274 @@
+package it.unive.lisa.util.datastructures.automaton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The set of {@link Transition}s of an {@link Automaton}, that keeps per-state
+ * indexes of the outgoing and ingoing transitions. Indexes are lazily built on
+ * the first query after the last modification of the set, and are discarded at
+ * each modification. States are mapped to consecutive integers, that are used
+ * to access the adjacency tables in constant time.<br>
+ * <br>
+ * The sets returned by {@link #outgoing(State)} and {@link #ingoing(State)}
+ * are read-only, and they are never modified after being returned: they can
+ * thus be safely iterated while this set is modified. Subset views of this set
+ * are read-only as well, as modifications performed through them could not be
+ * tracked.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <T> the concrete type of {@link TransitionSymbol}s of the transitions
+ */
+public class IndexedTransitions<T extends TransitionSymbol<T>> extends TreeSet<Transition<T>> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The indexes of this set, or {@code null} if this set has been modified
+	 * since the last query.
+	 */
+	private transient Index<T> index;
+
+	/**
+	 * Builds an empty set.
+	 */
+	public IndexedTransitions() {
+		super();
+	}
+
+	/**
+	 * Builds a set containing all the given transitions.
+	 * 
+	 * @param transitions the transitions
+	 */
+	public IndexedTransitions(
+			Collection<Transition<T>> transitions) {
+		super();
+		addAll(transitions);
+	}
+
+	/**
+	 * Yields the read-only set of transitions leaving the given state.
+	 * 
+	 * @param state the state
+	 * 
+	 * @return the outgoing transitions
+	 */
+	public SortedSet<Transition<T>> outgoing(
+			State state) {
+		return getIndex().get(state, true);
+	}
+
+	/**
+	 * Yields the read-only set of transitions reaching the given state.
+	 * 
+	 * @param state the state
+	 * 
+	 * @return the ingoing transitions
+	 */
+	public SortedSet<Transition<T>> ingoing(
+			State state) {
+		return getIndex().get(state, false);
+	}
+
+	private Index<T> getIndex() {
+		Index<T> idx = index;
+		if (idx == null) {
+			idx = new Index<>(this);
+			index = idx;
+		}
+		return idx;
+	}
+
+	@Override
+	public boolean add(
+			Transition<T> e) {
+		boolean added = super.add(e);
+		if (added)
+			index = null;
+		return added;
+	}
+
+	@Override
+	public boolean addAll(
+			Collection<? extends Transition<T>> c) {
+		// TreeSet.addAll might bypass add
+		boolean changed = false;
+		for (Transition<T> t : c)
+			changed |= add(t);
+		return changed;
+	}
+
+	@Override
+	public boolean remove(
+			Object o) {
+		boolean removed = super.remove(o);
+		if (removed)
+			index = null;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		index = null;
+	}
+
+	@Override
+	public Transition<T> pollFirst() {
+		index = null;
+		return super.pollFirst();
+	}
+
+	@Override
+	public Transition<T> pollLast() {
+		index = null;
+		return super.pollLast();
+	}
+
+	@Override
+	public Iterator<Transition<T>> iterator() {
+		return new InvalidatingIterator(super.iterator());
+	}
+
+	@Override
+	public Iterator<Transition<T>> descendingIterator() {
+		return new InvalidatingIterator(super.descendingIterator());
+	}
+
+	@Override
+	public NavigableSet<Transition<T>> descendingSet() {
+		return Collections.unmodifiableNavigableSet(super.descendingSet());
+	}
+
+	@Override
+	public NavigableSet<Transition<T>> subSet(
+			Transition<T> fromElement,
+			boolean fromInclusive,
+			Transition<T> toElement,
+			boolean toInclusive) {
+		return Collections.unmodifiableNavigableSet(
+				super.subSet(fromElement, fromInclusive, toElement, toInclusive));
+	}
+
+	@Override
+	public NavigableSet<Transition<T>> headSet(
+			Transition<T> toElement,
+			boolean inclusive) {
+		return Collections.unmodifiableNavigableSet(super.headSet(toElement, inclusive));
+	}
+
+	@Override
+	public NavigableSet<Transition<T>> tailSet(
+			Transition<T> fromElement,
+			boolean inclusive) {
+		return Collections.unmodifiableNavigableSet(super.tailSet(fromElement, inclusive));
+	}
+
+	@Override
+	public SortedSet<Transition<T>> subSet(
+			Transition<T> fromElement,
+			Transition<T> toElement) {
+		return subSet(fromElement, true, toElement, false);
+	}
+
+	@Override
+	public SortedSet<Transition<T>> headSet(
+			Transition<T> toElement) {
+		return headSet(toElement, false);
+	}
+
+	@Override
+	public SortedSet<Transition<T>> tailSet(
+			Transition<T> fromElement) {
+		return tailSet(fromElement, true);
+	}
+
+	@Override
+	public Object clone() {
+		@SuppressWarnings("unchecked")
+		IndexedTransitions<T> clone = (IndexedTransitions<T>) super.clone();
+		clone.index = null;
+		return clone;
+	}
+
+	private class InvalidatingIterator implements Iterator<Transition<T>> {
+
+		private final Iterator<Transition<T>> it;
+
+		private InvalidatingIterator(
+				Iterator<Transition<T>> it) {
+			this.it = it;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return it.hasNext();
+		}
+
+		@Override
+		public Transition<T> next() {
+			return it.next();
+		}
+
+		@Override
+		public void remove() {
+			it.remove();
+			index = null;
+		}
+	}
+
+	private static class Index<T extends TransitionSymbol<T>> {
+
+		private final Map<State, Integer> codes;
+
+		private final List<SortedSet<Transition<T>>> outgoing;
+
+		private final List<SortedSet<Transition<T>>> ingoing;
+
+		private Index(
+				IndexedTransitions<T> transitions) {
+			codes = new HashMap<>();
+			for (Transition<T> t : transitions) {
+				codes.putIfAbsent(t.getSource(), codes.size());
+				codes.putIfAbsent(t.getDestination(), codes.size());
+			}
+
+			int size = codes.size();
+			List<SortedSet<Transition<T>>> out = new ArrayList<>(size);
+			List<SortedSet<Transition<T>>> in = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				out.add(new TreeSet<>());
+				in.add(new TreeSet<>());
+			}
+			for (Transition<T> t : transitions) {
+				out.get(codes.get(t.getSource())).add(t);
+				in.get(codes.get(t.getDestination())).add(t);
+			}
+
+			// the sets are exposed, so they are wrapped once they are full
+			out.replaceAll(Collections::unmodifiableSortedSet);
+			in.replaceAll(Collections::unmodifiableSortedSet);
+			outgoing = out;
+			ingoing = in;
+		}
+
+		private SortedSet<Transition<T>> get(
+				State state,
+				boolean out) {
+			Integer code = codes.get(state);
+			if (code == null)
+				return Collections.emptySortedSet();
+			return out ? outgoing.get(code) : ingoing.get(code);
+		}
+	}
+}
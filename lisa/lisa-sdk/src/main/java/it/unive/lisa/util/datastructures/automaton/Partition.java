@@ -0,0 +1,252 @@
+package it.unive.lisa.util.datastructures.automaton;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A partition of the integers in {@code [0, size)}, supporting the refinement
+ * operations needed by partition-refinement algorithms on automata (e.g.,
+ * Hopcroft's minimization). Elements of the same block are stored contiguously
+ * in an array, so that a block can be split in time proportional to the number
+ * of elements that are moved.<br>
+ * <br>
+ * Blocks can be split in two ways: either by marking some elements through
+ * {@link #mark(int)} and then separating marked and unmarked elements with
+ * {@link #split()}, or by separating elements that have different keys with
+ * {@link #splitBy(int[])}. Blocks are never merged, and the index of a block
+ * never changes: new blocks are always given the next free index.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+final class Partition {
+
+	/**
+	 * The elements, sorted so that the ones of the same block are contiguous.
+	 */
+	private final int[] elements;
+
+	/**
+	 * The position of each element inside {@link #elements}.
+	 */
+	private final int[] positions;
+
+	/**
+	 * The block of each element.
+	 */
+	private final int[] blocks;
+
+	/**
+	 * The position of the first element of each block.
+	 */
+	private final int[] first;
+
+	/**
+	 * The position after the last element of each block.
+	 */
+	private final int[] end;
+
+	/**
+	 * The position after the last marked element of each block. Marked
+	 * elements are always at the beginning of their block.
+	 */
+	private final int[] marked;
+
+	/**
+	 * The blocks containing at least one marked element.
+	 */
+	private final int[] touched;
+
+	private int touchedCount;
+
+	private int count;
+
+	/**
+	 * Builds a partition of {@code [0, size)} made of a single block. If
+	 * {@code size} is {@code 0}, the partition has no blocks.
+	 * 
+	 * @param size the number of elements
+	 */
+	Partition(
+			int size) {
+		elements = new int[size];
+		positions = new int[size];
+		blocks = new int[size];
+		first = new int[size];
+		end = new int[size];
+		marked = new int[size];
+		touched = new int[size];
+		for (int i = 0; i < size; i++) {
+			elements[i] = i;
+			positions[i] = i;
+		}
+		if (size > 0) {
+			end[0] = size;
+			count = 1;
+		}
+	}
+
+	/**
+	 * Yields the number of blocks of this partition.
+	 * 
+	 * @return the number of blocks
+	 */
+	int size() {
+		return count;
+	}
+
+	/**
+	 * Yields the block containing the given element.
+	 * 
+	 * @param element the element
+	 * 
+	 * @return the index of the block
+	 */
+	int blockOf(
+			int element) {
+		return blocks[element];
+	}
+
+	/**
+	 * Yields a copy of the elements of the given block.
+	 * 
+	 * @param block the index of the block
+	 * 
+	 * @return the elements
+	 */
+	int[] elementsOf(
+			int block) {
+		return Arrays.copyOfRange(elements, first[block], end[block]);
+	}
+
+	/**
+	 * Marks the given element, that will be separated from the unmarked
+	 * elements of its block at the next invocation of {@link #split()}.
+	 * 
+	 * @param element the element to mark
+	 */
+	void mark(
+			int element) {
+		int block = blocks[element];
+		int pos = positions[element];
+		int boundary = marked[block];
+		if (pos < boundary)
+			// already marked
+			return;
+		swap(pos, boundary);
+		if (boundary == first[block])
+			touched[touchedCount++] = block;
+		marked[block] = boundary + 1;
+	}
+
+	/**
+	 * Splits each block containing marked elements in two, one with the marked
+	 * elements and one with the unmarked ones. Blocks whose elements are all
+	 * marked are not split. After this call, no element is marked.
+	 * 
+	 * @return the list of splits that happened, each one represented by an
+	 *             array containing the index of the original block and the one
+	 *             of the new block
+	 */
+	List<int[]> split() {
+		List<int[]> splits = new ArrayList<>();
+		for (int i = 0; i < touchedCount; i++) {
+			int block = touched[i];
+			int boundary = marked[block];
+			marked[block] = first[block];
+			if (boundary == end[block])
+				// all elements are marked
+				continue;
+
+			// the smaller part becomes the new block
+			int created = count++;
+			if (boundary - first[block] <= end[block] - boundary) {
+				first[created] = first[block];
+				end[created] = boundary;
+				first[block] = boundary;
+			} else {
+				first[created] = boundary;
+				end[created] = end[block];
+				end[block] = boundary;
+			}
+			marked[block] = first[block];
+			marked[created] = first[created];
+			for (int pos = first[created]; pos < end[created]; pos++)
+				blocks[elements[pos]] = created;
+			splits.add(new int[] { block, created });
+		}
+		touchedCount = 0;
+		return splits;
+	}
+
+	/**
+	 * Splits each block so that two elements stay in the same block only if
+	 * they have the same key. The largest group of each block keeps the
+	 * original index.
+	 * 
+	 * @param keys the key of each element
+	 * 
+	 * @return {@code true} if at least one block has been split
+	 */
+	boolean splitBy(
+			int[] keys) {
+		boolean changed = false;
+		int blockCount = count;
+		for (int block = 0; block < blockCount; block++) {
+			int from = first[block], to = end[block];
+			if (to - from < 2)
+				continue;
+			Integer[] sorted = new Integer[to - from];
+			for (int pos = from; pos < to; pos++)
+				sorted[pos - from] = elements[pos];
+			Arrays.sort(sorted, (a, b) -> Integer.compare(keys[a], keys[b]));
+			if (keys[sorted[0]] == keys[sorted[sorted.length - 1]])
+				continue;
+
+			changed = true;
+			for (int pos = from; pos < to; pos++) {
+				elements[pos] = sorted[pos - from];
+				positions[elements[pos]] = pos;
+			}
+
+			// find the largest group, that keeps the original index
+			int largest = from, largestSize = 0;
+			for (int start = from, pos = from; pos <= to; pos++)
+				if (pos == to || keys[elements[pos]] != keys[elements[start]]) {
+					if (pos - start > largestSize) {
+						largest = start;
+						largestSize = pos - start;
+					}
+					start = pos;
+				}
+
+			for (int start = from, pos = from; pos <= to; pos++)
+				if (pos == to || keys[elements[pos]] != keys[elements[start]]) {
+					if (start == largest) {
+						first[block] = start;
+						end[block] = pos;
+						marked[block] = start;
+					} else {
+						int created = count++;
+						first[created] = start;
+						end[created] = pos;
+						marked[created] = start;
+						for (int p = start; p < pos; p++)
+							blocks[elements[p]] = created;
+					}
+					start = pos;
+				}
+		}
+		return changed;
+	}
+
+	private void swap(
+			int i,
+			int j) {
+		int a = elements[i], b = elements[j];
+		elements[i] = b;
+		elements[j] = a;
+		positions[b] = i;
+		positions[a] = j;
+	}
+}
@@ -19,7 +19,15 @@ import org.apache.commons.lang3.StringUtils;
 /**
  * An adjacency matrix for a graph that has {@link Node}s as nodes and
  * {@link Edge}s as edges. It is represented as a map between a node and a
- * {@link NodeEdges}.
+ * {@link NodeEdges}.<br>
+ * <br>
+ * Once a graph is complete, its matrix can be turned into a
+ * {@link CompactAdjacencyMatrix} through {@link #compact()}, that answers all
+ * queries using a fraction of the memory. The compact form is transparent to
+ * users of this class: all queries, including iteration, equality and hash
+ * codes, are answered by the compact form itself, while any modification that
+ * changes the structure of a compacted matrix restores the map-based
+ * representation first.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -33,9 +41,16 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 
 	/**
 	 * The matrix. The left set in the mapped value is the set of ingoing edges,
-	 * while the right one is the set of outgoing edges.
+	 * while the right one is the set of outgoing edges. This is {@code null}
+	 * if this matrix is compacted.
 	 */
-	private final Map<N, NodeEdges<G, N, E>> matrix;
+	private Map<N, NodeEdges<G, N, E>> matrix;
+
+	/**
+	 * The compact form of this matrix. This is {@code null} if this matrix is
+	 * not compacted.
+	 */
+	private CompactAdjacencyMatrix<G, N, E> compact;
 
 	/**
 	 * Builds a new matrix.
@@ -53,10 +68,54 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	public AdjacencyMatrix(
 			AdjacencyMatrix<G, N, E> other) {
 		matrix = new HashMap<>();
-		for (Map.Entry<N, NodeEdges<G, N, E>> entry : other.matrix.entrySet())
+		for (Entry<N, NodeEdges<G, N, E>> entry : other)
 			matrix.put(entry.getKey(), new NodeEdges<>(entry.getValue()));
 	}
 
+	/**
+	 * Turns this matrix into its compact form (see
+	 * {@link CompactAdjacencyMatrix}), dropping the per-node sets of edges.
+	 * This is meant to be invoked once the graph backed by this matrix is
+	 * complete: queries on the compacted matrix return unmodifiable
+	 * collections and are cheaper to execute, while modifications are still
+	 * allowed but cause the matrix to be expanded back to its original
+	 * representation. Invoking this method on an already compacted matrix has
+	 * no effect.
+	 */
+	public void compact() {
+		if (compact != null)
+			return;
+		compact = new CompactAdjacencyMatrix<>(matrix);
+		matrix = null;
+	}
+
+	/**
+	 * Yields {@code true} if this matrix is in its compact form (see
+	 * {@link #compact()}).
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isCompact() {
+		return compact != null;
+	}
+
+	/**
+	 * Yields the compact form of this matrix, if it has been compacted.
+	 * 
+	 * @return the compact form of this matrix, or {@code null} if it has not
+	 *             been compacted
+	 */
+	public CompactAdjacencyMatrix<G, N, E> getCompactForm() {
+		return compact;
+	}
+
+	private void expand() {
+		if (compact == null)
+			return;
+		matrix = compact.expand();
+		compact = null;
+	}
+
 	/**
 	 * Adds the given node to the set of nodes. Note that, if the given node is
 	 * already present in the matrix, all existing edges are kept.
@@ -65,6 +124,11 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public void addNode(
 			N node) {
+		if (compact != null) {
+			if (compact.indexOf(node) != -1)
+				return;
+			expand();
+		}
 		matrix.putIfAbsent(node, new NodeEdges<>());
 	}
 
@@ -79,6 +143,7 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 		if (!containsNode(node))
 			return;
 
+		expand();
 		NodeEdges<G, N, E> edges = matrix.get(node);
 		Set<E> union = new HashSet<>(edges.ingoing);
 		union.addAll(edges.outgoing);
@@ -92,6 +157,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 * @return the collection of nodes
 	 */
 	public Collection<N> getNodes() {
+		if (compact != null)
+			return compact.getNodes();
 		return matrix.keySet();
 	}
 
@@ -106,6 +173,16 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public void addEdge(
 			E e) {
+		if (compact != null) {
+			if (compact.containsEdge(e))
+				return;
+			if (compact.indexOf(e.getSource()) == -1)
+				throw new UnsupportedOperationException("The source node is not in the graph");
+			if (compact.indexOf(e.getDestination()) == -1)
+				throw new UnsupportedOperationException("The destination node is not in the graph");
+			expand();
+		}
+
 		if (!matrix.containsKey(e.getSource()))
 			throw new UnsupportedOperationException("The source node is not in the graph");
 
@@ -123,6 +200,12 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public void removeEdge(
 			E e) {
+		if (compact != null) {
+			if (!compact.containsEdge(e))
+				return;
+			expand();
+		}
+
 		if (!matrix.containsKey(e.getSource()) || !matrix.containsKey(e.getDestination()))
 			return;
 
@@ -144,10 +227,10 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	public E getEdgeConnecting(
 			N source,
 			N destination) {
-		if (!matrix.containsKey(source))
+		if (!containsNode(source))
 			return null;
 
-		for (E e : matrix.get(source).outgoing)
+		for (E e : getOutgoingEdges(source))
 			if (e.getDestination().equals(destination))
 				return e;
 
@@ -167,11 +250,11 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	public Collection<E> getEdgesConnecting(
 			N source,
 			N destination) {
-		if (!matrix.containsKey(source))
+		if (!containsNode(source))
 			return Collections.emptyList();
 
 		Set<E> edges = new HashSet<>();
-		for (E e : matrix.get(source).outgoing)
+		for (E e : getOutgoingEdges(source))
 			if (e.getDestination().equals(destination))
 				edges.add(e);
 
@@ -187,6 +270,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public Collection<E> getIngoingEdges(
 			N node) {
+		if (compact != null)
+			return compact.getIngoingEdges(node);
 		return matrix.get(node).ingoing;
 	}
 
@@ -199,6 +284,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public Collection<E> getOutgoingEdges(
 			N node) {
+		if (compact != null)
+			return compact.getOutgoingEdges(node);
 		return matrix.get(node).outgoing;
 	}
 
@@ -208,6 +295,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 * @return the collection of edges
 	 */
 	public Collection<E> getEdges() {
+		if (compact != null)
+			return compact.getEdges();
 		return matrix.values().stream()
 				.flatMap(c -> Stream.concat(c.ingoing.stream(), c.outgoing.stream()))
 				.distinct()
@@ -227,6 +316,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public Collection<N> followersOf(
 			N node) {
+		if (compact != null)
+			return compact.followersOf(node);
 		if (!matrix.containsKey(node))
 			throw new IllegalArgumentException("'" + node + "' is not in the graph");
 
@@ -246,6 +337,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public Collection<N> predecessorsOf(
 			N node) {
+		if (compact != null)
+			return compact.predecessorsOf(node);
 		if (!matrix.containsKey(node))
 			throw new IllegalArgumentException("'" + node + "' is not in the graph");
 
@@ -261,6 +354,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public boolean containsNode(
 			N node) {
+		if (compact != null)
+			return compact.indexOf(node) != -1;
 		return matrix.containsKey(node);
 	}
 
@@ -273,6 +368,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 */
 	public boolean containsEdge(
 			E edge) {
+		if (compact != null)
+			return compact.containsEdge(edge);
 		for (NodeEdges<G, N, E> edges : matrix.values())
 			for (E e : edges.outgoing)
 				if (e == edge || e.equals(edge))
@@ -281,8 +378,16 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * If this matrix is compacted, the {@link NodeEdges} returned by the
+	 * iterator are unmodifiable.
+	 */
 	@Override
 	public Iterator<Entry<N, NodeEdges<G, N, E>>> iterator() {
+		if (compact != null)
+			return compact.entries();
 		return matrix.entrySet().iterator();
 	}
 
@@ -290,7 +395,7 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	public int hashCode() {
 		int prime = 31;
 		int result = 1;
-		result = prime * result + ((matrix == null) ? 0 : matrix.hashCode());
+		result = prime * result + (compact == null ? matrix.hashCode() : compact.hashCode());
 		return result;
 	}
 
@@ -303,12 +408,22 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
-		AdjacencyMatrix<?, ?, ?> other = (AdjacencyMatrix<?, ?, ?>) obj;
-		if (matrix == null) {
-			if (other.matrix != null)
-				return false;
-		} else if (!matrix.equals(other.matrix))
+		@SuppressWarnings("unchecked")
+		AdjacencyMatrix<G, N, E> other = (AdjacencyMatrix<G, N, E>) obj;
+		if (compact == null && other.compact == null)
+			return matrix.equals(other.matrix);
+		if (compact != null && other.compact != null)
+			return compact.equals(other.compact);
+
+		// mixed representations: compare the edges of each node
+		Collection<N> nodes = getNodes();
+		if (nodes.size() != other.getNodes().size())
 			return false;
+		for (N node : nodes)
+			if (!other.containsNode(node)
+					|| !getOutgoingEdges(node).equals(other.getOutgoingEdges(node))
+					|| !getIngoingEdges(node).equals(other.getIngoingEdges(node)))
+				return false;
 		return true;
 	}
 
@@ -332,6 +447,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 * @return the entries nodes
 	 */
 	public Collection<N> getEntries() {
+		if (compact != null)
+			return compact.getEntries();
 		return matrix.entrySet().stream().filter(e -> e.getValue().ingoing.isEmpty()).map(Entry::getKey)
 				.collect(Collectors.toSet());
 	}
@@ -343,6 +460,8 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 * @return the exit nodes
 	 */
 	public Collection<N> getExits() {
+		if (compact != null)
+			return compact.getExits();
 		return matrix.entrySet().stream().filter(e -> e.getValue().outgoing.isEmpty()).map(Entry::getKey)
 				.collect(Collectors.toSet());
 	}
@@ -366,7 +485,7 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 		if (!containsNode(from) || !containsNode(to))
 			return -1;
 
-		Map<N, Integer> distances = new IdentityHashMap<>(matrix.size());
+		Map<N, Integer> distances = new IdentityHashMap<>(getNodes().size());
 
 		Queue<N> queue = new LinkedList<>();
 		distances.put(from, 0);
@@ -426,7 +545,7 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 		Collection<N> nodes = getNodes();
 
 		// all edges should be connected to statements inside the matrix
-		for (Entry<N, NodeEdges<G, N, E>> st : matrix.entrySet()) {
+		for (Entry<N, NodeEdges<G, N, E>> st : this) {
 			for (E in : st.getValue().ingoing)
 				validateEdge(nodes, in);
 
@@ -468,14 +587,48 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 		private final Set<E> outgoing;
 
 		private NodeEdges() {
-			ingoing = new HashSet<>();
-			outgoing = new HashSet<>();
+			this(new HashSet<>(), new HashSet<>());
 		}
 
 		private NodeEdges(
 				NodeEdges<G, N, E> other) {
-			ingoing = new HashSet<>(other.ingoing);
-			outgoing = new HashSet<>(other.outgoing);
+			this(new HashSet<>(other.ingoing), new HashSet<>(other.outgoing));
+		}
+
+		NodeEdges(
+				Collection<E> ingoing,
+				Collection<E> outgoing) {
+			this(new HashSet<>(ingoing), new HashSet<>(outgoing));
+		}
+
+		private NodeEdges(
+				Set<E> ingoing,
+				Set<E> outgoing) {
+			this.ingoing = ingoing;
+			this.outgoing = outgoing;
+		}
+
+		/**
+		 * Builds a {@link NodeEdges} that wraps the given sets without copying
+		 * them.
+		 * 
+		 * @param <G>      the type of the {@link BaseGraph}s the containing
+		 *                     matrix can be used in
+		 * @param <N>      the type of the {@link Node}s in the containing
+		 *                     matrix
+		 * @param <E>      the type of the {@link Edge}s in the containing
+		 *                     matrix
+		 * @param ingoing  the ingoing edges
+		 * @param outgoing the outgoing edges
+		 * 
+		 * @return the edges
+		 */
+		static <G extends BaseGraph<G, N, E>,
+				N extends Node<G, N, E>,
+				E extends Edge<G, N, E>> NodeEdges<G, N, E> view(
+						Set<E> ingoing,
+						Set<E> outgoing) {
+			return new NodeEdges<>(ingoing, outgoing);
 		}
 
 		/**
@@ -538,6 +691,7 @@ public class AdjacencyMatrix<G extends BaseGraph<G, N, E>, N extends Node<G, N,
 	 * Empties this matrix, removing all the nodes and the edges in it.
 	 */
 	public void clear() {
-		matrix.clear();
+		compact = null;
+		matrix = new HashMap<>();
 	}
 }
@@ -0,0 +1,599 @@
+package it.unive.lisa.util.datastructures.graph;
+
+import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix.NodeEdges;
+import java.util.AbstractList;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, compressed representation of an {@link AdjacencyMatrix}, in
+ * the form of a compressed sparse row matrix. Each node is assigned an integer
+ * index, and the edges of the matrix are stored in a single array, sorted by
+ * the index of their source. Offset arrays then mark, for each node, the slice
+ * of such array containing its outgoing edges, while a second pair of arrays
+ * hold the indexes of the ingoing edges of each node and the (distinct) indexes
+ * of its followers and predecessors. This avoids allocating two sets for each
+ * node, and makes iterating over the edges of a node a sequential scan of a
+ * contiguous slice of an array. The index of each node is found through an
+ * open-addressing hash table of primitive integers, so that no boxed index or
+ * map entry is allocated for each node.<br>
+ * <br>
+ * All the queries of {@link AdjacencyMatrix}, including iteration,
+ * {@link #hashCode()} and {@link #equals(Object)}, are answered directly on
+ * the arrays: the map-based representation is rebuilt (see {@link #expand()})
+ * only when the matrix is modified.<br>
+ * <br>
+ * Instances of this class are built by {@link AdjacencyMatrix#compact()} and
+ * are never modified after their creation: collections returned by their
+ * methods cannot be modified.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the {@link BaseGraph}s this matrix can be used in
+ * @param <N> the type of the {@link Node}s in this matrix
+ * @param <E> the type of the {@link Edge}s in this matrix
+ */
+public final class CompactAdjacencyMatrix<G extends BaseGraph<G, N, E>,
+		N extends Node<G, N, E>,
+		E extends Edge<G, N, E>> {
+
+	/**
+	 * The nodes of the matrix, where each node is placed at its index.
+	 */
+	private final Object[] nodes;
+
+	/**
+	 * Open-addressing hash table (with linear probing) mapping each node to its
+	 * index: a slot holds either {@code 0}, if it is empty, or the index of a
+	 * node plus one. The length of this array is a power of two.
+	 */
+	private final int[] slots;
+
+	/**
+	 * The edges of the matrix, sorted by the index of their source.
+	 */
+	private final Object[] edges;
+
+	/**
+	 * The outgoing edges of the node at index {@code i} are the ones stored
+	 * in {@link #edges} between {@code outOffsets[i]} (inclusive) and
+	 * {@code outOffsets[i + 1]} (exclusive).
+	 */
+	private final int[] outOffsets;
+
+	/**
+	 * The ingoing edges of the node at index {@code i} are the ones whose
+	 * indexes in {@link #edges} are stored in this array between
+	 * {@code inOffsets[i]} (inclusive) and {@code inOffsets[i + 1]}
+	 * (exclusive).
+	 */
+	private final int[] inEdges;
+
+	/**
+	 * The offsets of the slices of {@link #inEdges}.
+	 */
+	private final int[] inOffsets;
+
+	/**
+	 * The distinct indexes of the followers of the node at index {@code i} are
+	 * the ones stored in this array between {@code succOffsets[i]} (inclusive)
+	 * and {@code succOffsets[i + 1]} (exclusive).
+	 */
+	private final int[] succs;
+
+	/**
+	 * The offsets of the slices of {@link #succs}.
+	 */
+	private final int[] succOffsets;
+
+	/**
+	 * The distinct indexes of the predecessors of the node at index {@code i}
+	 * are the ones stored in this array between {@code predOffsets[i]}
+	 * (inclusive) and {@code predOffsets[i + 1]} (exclusive).
+	 */
+	private final int[] preds;
+
+	/**
+	 * The offsets of the slices of {@link #preds}.
+	 */
+	private final int[] predOffsets;
+
+	/**
+	 * The hash code of this matrix, computed lazily. This is {@code 0} if it
+	 * has not been computed yet.
+	 */
+	private int hash;
+
+	/**
+	 * Builds the compact representation of the given matrix.
+	 * 
+	 * @param matrix the matrix, represented as a mapping from each node to its
+	 *                   edges
+	 */
+	CompactAdjacencyMatrix(
+			Map<N, NodeEdges<G, N, E>> matrix) {
+		int size = matrix.size();
+		nodes = new Object[size];
+		// load factor of at most 0.5, to keep probe sequences short
+		slots = new int[Integer.highestOneBit(Math.max(size, 1)) << 2];
+		int count = 0;
+		int i = 0;
+		for (Entry<N, NodeEdges<G, N, E>> entry : matrix.entrySet()) {
+			nodes[i] = entry.getKey();
+			int slot = slot(entry.getKey());
+			while (slots[slot] != 0)
+				slot = (slot + 1) & (slots.length - 1);
+			slots[slot] = ++i;
+			count += entry.getValue().getOutgoing().size();
+		}
+
+		edges = new Object[count];
+		int[] sources = new int[count];
+		int[] targets = new int[count];
+		outOffsets = new int[size + 1];
+		int[] inCounts = new int[size + 1];
+		int e = 0;
+		for (i = 0; i < size; i++) {
+			outOffsets[i] = e;
+			for (E edge : matrix.get(nodes[i]).getOutgoing()) {
+				edges[e] = edge;
+				sources[e] = i;
+				targets[e] = indexOf(edge.getDestination());
+				inCounts[targets[e] + 1]++;
+				e++;
+			}
+		}
+		outOffsets[size] = e;
+
+		inOffsets = new int[size + 1];
+		for (i = 0; i < size; i++)
+			inOffsets[i + 1] = inOffsets[i] + inCounts[i + 1];
+		int[] ins = new int[count];
+		int[] fill = Arrays.copyOf(inOffsets, size);
+		for (e = 0; e < count; e++)
+			ins[fill[targets[e]]++] = e;
+		inEdges = ins;
+
+		succOffsets = new int[size + 1];
+		succs = distinct(size, outOffsets, j -> targets[j], succOffsets, count);
+		predOffsets = new int[size + 1];
+		preds = distinct(size, inOffsets, j -> sources[ins[j]], predOffsets, count);
+	}
+
+	@FunctionalInterface
+	private interface IntMapper {
+		int map(
+				int value);
+	}
+
+	private static int[] distinct(
+			int size,
+			int[] offsets,
+			IntMapper mapper,
+			int[] resultOffsets,
+			int max) {
+		int[] result = new int[max];
+		int[] lastSeen = new int[size];
+		Arrays.fill(lastSeen, -1);
+		int r = 0;
+		for (int i = 0; i < size; i++) {
+			resultOffsets[i] = r;
+			for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+				int n = mapper.map(j);
+				if (lastSeen[n] != i) {
+					lastSeen[n] = i;
+					result[r++] = n;
+				}
+			}
+		}
+		resultOffsets[size] = r;
+		return r == max ? result : Arrays.copyOf(result, r);
+	}
+
+	/**
+	 * Yields the number of nodes in this matrix.
+	 * 
+	 * @return the number of nodes
+	 */
+	public int getNodesCount() {
+		return nodes.length;
+	}
+
+	/**
+	 * Yields the number of edges in this matrix.
+	 * 
+	 * @return the number of edges
+	 */
+	public int getEdgesCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Yields the index of the given node, or {@code -1} if the node is not
+	 * part of this matrix.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the index of the node
+	 */
+	public int indexOf(
+			Object node) {
+		if (node == null)
+			return -1;
+		int slot = slot(node);
+		while (slots[slot] != 0) {
+			Object candidate = nodes[slots[slot] - 1];
+			if (candidate == node || candidate.equals(node))
+				return slots[slot] - 1;
+			slot = (slot + 1) & (slots.length - 1);
+		}
+		return -1;
+	}
+
+	private int slot(
+			Object node) {
+		int h = node.hashCode();
+		// spread the higher bits, as the table is indexed by the lower ones
+		return (h ^ (h >>> 16)) & (slots.length - 1);
+	}
+
+	/**
+	 * Yields the node at the given index.
+	 * 
+	 * @param index the index
+	 * 
+	 * @return the node
+	 */
+	@SuppressWarnings("unchecked")
+	public N getNode(
+			int index) {
+		return (N) nodes[index];
+	}
+
+	/**
+	 * Yields the nodes of this matrix, ordered by their index.
+	 * 
+	 * @return the nodes
+	 */
+	public List<N> getNodes() {
+		return new AbstractList<N>() {
+
+			@Override
+			public N get(
+					int index) {
+				return getNode(index);
+			}
+
+			@Override
+			public int size() {
+				return nodes.length;
+			}
+
+			@Override
+			public boolean contains(
+					Object o) {
+				return indexOf(o) != -1;
+			}
+		};
+	}
+
+	/**
+	 * Yields the nodes of this matrix that have no ingoing edges.
+	 * 
+	 * @return the entry nodes
+	 */
+	public Collection<N> getEntries() {
+		return nodesWithEmptySlice(inOffsets);
+	}
+
+	/**
+	 * Yields the nodes of this matrix that have no outgoing edges.
+	 * 
+	 * @return the exit nodes
+	 */
+	public Collection<N> getExits() {
+		return nodesWithEmptySlice(outOffsets);
+	}
+
+	private Collection<N> nodesWithEmptySlice(
+			int[] offsets) {
+		int count = 0;
+		int[] result = new int[nodes.length];
+		for (int i = 0; i < nodes.length; i++)
+			if (offsets[i] == offsets[i + 1])
+				result[count++] = i;
+		return new NodeSlice(result, 0, count);
+	}
+
+	/**
+	 * Yields an iterator over the pairs of each node of this matrix and its
+	 * edges, in the same form of the map-based representation of
+	 * {@link AdjacencyMatrix}. The {@link NodeEdges} returned by the iterator
+	 * are unmodifiable views over this matrix.
+	 * 
+	 * @return the iterator
+	 */
+	public Iterator<Entry<N, NodeEdges<G, N, E>>> entries() {
+		return new Iterator<Entry<N, NodeEdges<G, N, E>>>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < nodes.length;
+			}
+
+			@Override
+			public Entry<N, NodeEdges<G, N, E>> next() {
+				if (next >= nodes.length)
+					throw new NoSuchElementException();
+				int i = next++;
+				return new SimpleImmutableEntry<>(getNode(i), NodeEdges.view(
+						new EdgeSlice(inEdges, inOffsets[i], inOffsets[i + 1]),
+						new EdgeSlice(null, outOffsets[i], outOffsets[i + 1])));
+			}
+		};
+	}
+
+	/**
+	 * Yields all the edges of this matrix.
+	 * 
+	 * @return the edges
+	 */
+	public Collection<E> getEdges() {
+		return new EdgeSlice(null, 0, edges.length);
+	}
+
+	/**
+	 * Yields the outgoing edges of the given node.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the outgoing edges
+	 * 
+	 * @throws IllegalArgumentException if the node is not in the matrix
+	 */
+	public Collection<E> getOutgoingEdges(
+			N node) {
+		int idx = checkedIndexOf(node);
+		return new EdgeSlice(null, outOffsets[idx], outOffsets[idx + 1]);
+	}
+
+	/**
+	 * Yields the ingoing edges of the given node.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the ingoing edges
+	 * 
+	 * @throws IllegalArgumentException if the node is not in the matrix
+	 */
+	public Collection<E> getIngoingEdges(
+			N node) {
+		int idx = checkedIndexOf(node);
+		return new EdgeSlice(inEdges, inOffsets[idx], inOffsets[idx + 1]);
+	}
+
+	/**
+	 * Yields the followers of the given node.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the followers
+	 * 
+	 * @throws IllegalArgumentException if the node is not in the matrix
+	 */
+	public Collection<N> followersOf(
+			N node) {
+		int idx = checkedIndexOf(node);
+		return new NodeSlice(succs, succOffsets[idx], succOffsets[idx + 1]);
+	}
+
+	/**
+	 * Yields the predecessors of the given node.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the predecessors
+	 * 
+	 * @throws IllegalArgumentException if the node is not in the matrix
+	 */
+	public Collection<N> predecessorsOf(
+			N node) {
+		int idx = checkedIndexOf(node);
+		return new NodeSlice(preds, predOffsets[idx], predOffsets[idx + 1]);
+	}
+
+	/**
+	 * Yields {@code true} if the given edge is part of this matrix.
+	 * 
+	 * @param edge the edge
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean containsEdge(
+			E edge) {
+		int idx = indexOf(edge.getSource());
+		if (idx == -1)
+			return false;
+		for (int i = outOffsets[idx]; i < outOffsets[idx + 1]; i++)
+			if (edges[i] == edge || edges[i].equals(edge))
+				return true;
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * The hash code is the same of the map-based representation of this
+	 * matrix in {@link AdjacencyMatrix}, that is, the one of a map from each
+	 * node to its {@link NodeEdges}. It is computed once, as this matrix is
+	 * immutable.
+	 */
+	@Override
+	public int hashCode() {
+		int result = hash;
+		if (result == 0) {
+			for (int i = 0; i < nodes.length; i++) {
+				// same as NodeEdges.hashCode()
+				int value = 31 + new EdgeSlice(inEdges, inOffsets[i], inOffsets[i + 1]).hashCode();
+				value = 31 * value + new EdgeSlice(null, outOffsets[i], outOffsets[i + 1]).hashCode();
+				// same as Map.Entry.hashCode()
+				result += nodes[i].hashCode() ^ value;
+			}
+			hash = result;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(
+			Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CompactAdjacencyMatrix<?, ?, ?> other = (CompactAdjacencyMatrix<?, ?, ?>) obj;
+		if (nodes.length != other.nodes.length || edges.length != other.edges.length
+				|| hashCode() != other.hashCode())
+			return false;
+		for (int i = 0; i < nodes.length; i++) {
+			int j = other.indexOf(nodes[i]);
+			if (j == -1)
+				return false;
+			if (!new EdgeSlice(null, outOffsets[i], outOffsets[i + 1])
+					.equals(other.new EdgeSlice(null, other.outOffsets[j], other.outOffsets[j + 1])))
+				return false;
+			if (!new EdgeSlice(inEdges, inOffsets[i], inOffsets[i + 1])
+					.equals(other.new EdgeSlice(other.inEdges, other.inOffsets[j], other.inOffsets[j + 1])))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Rebuilds the mapping from each node to its edges represented by this
+	 * matrix.
+	 * 
+	 * @return the mapping
+	 */
+	Map<N, NodeEdges<G, N, E>> expand() {
+		Map<N, NodeEdges<G, N, E>> matrix = new HashMap<>(nodes.length * 4 / 3 + 1);
+		for (int i = 0; i < nodes.length; i++)
+			matrix.put(getNode(i), new NodeEdges<>(
+					new EdgeSlice(inEdges, inOffsets[i], inOffsets[i + 1]),
+					new EdgeSlice(null, outOffsets[i], outOffsets[i + 1])));
+		return matrix;
+	}
+
+	private int checkedIndexOf(
+			N node) {
+		int idx = indexOf(node);
+		if (idx == -1)
+			throw new IllegalArgumentException("'" + node + "' is not in the graph");
+		return idx;
+	}
+
+	/**
+	 * An unmodifiable view over a slice of {@link #edges}, either direct or
+	 * through an array of indexes.
+	 */
+	private class EdgeSlice extends AbstractSet<E> {
+		private final int[] indirection;
+		private final int from, to;
+
+		private EdgeSlice(
+				int[] indirection,
+				int from,
+				int to) {
+			this.indirection = indirection;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new Iterator<E>() {
+				private int next = from;
+
+				@Override
+				public boolean hasNext() {
+					return next < to;
+				}
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public E next() {
+					if (next >= to)
+						throw new NoSuchElementException();
+					int i = next++;
+					return (E) edges[indirection == null ? i : indirection[i]];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+
+	/**
+	 * An unmodifiable view over a slice of an array of node indexes.
+	 */
+	private class NodeSlice extends AbstractSet<N> {
+		private final int[] indexes;
+		private final int from, to;
+
+		private NodeSlice(
+				int[] indexes,
+				int from,
+				int to) {
+			this.indexes = indexes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public Iterator<N> iterator() {
+			return new Iterator<N>() {
+				private int next = from;
+
+				@Override
+				public boolean hasNext() {
+					return next < to;
+				}
+
+				@Override
+				public N next() {
+					if (next >= to)
+						throw new NoSuchElementException();
+					return getNode(indexes[next++]);
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(
+				Object o) {
+			for (int i = from; i < to; i++)
+				if (nodes[indexes[i]].equals(o))
+					return true;
+			return false;
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+}
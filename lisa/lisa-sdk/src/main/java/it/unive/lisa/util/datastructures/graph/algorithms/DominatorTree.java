@@ -0,0 +1,299 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import it.unive.lisa.util.datastructures.graph.Edge;
+import it.unive.lisa.util.datastructures.graph.Graph;
+import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dominator tree of a {@link Graph}. A node {@code d} dominates a node
+ * {@code n} if every path from an entry node to {@code n} must go through
+ * {@code d}, and it is the immediate dominator of {@code n} if it is the
+ * closest strict dominator of {@code n}. By definition, every node dominates
+ * itself. Only nodes that are reachable from the entrypoints of the graph are
+ * part of the tree, and each entrypoint is dominated only by itself.<br>
+ * <br>
+ * The tree is computed with the iterative algorithm by Cooper, Harvey and
+ * Kennedy, working on nodes indexed by their reverse postorder and storing the
+ * immediate dominators in an array. Nodes of the tree are then numbered with a
+ * pre- and post-order visit, so that {@link #dominates(Node, Node)} can be
+ * answered in constant time.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the target {@link Graph}s
+ * @param <N> the type of {@link Node}s in the target graphs
+ * @param <E> the type of {@link Edge}s in the target graphs
+ * 
+ * @see <a href=
+ *          "https://www.cs.tufts.edu/comp/150FP/archive/keith-cooper/dom14.pdf">K.
+ *          D. Cooper, T. J. Harvey, K. Kennedy, A Simple, Fast Dominance
+ *          Algorithm</a>
+ */
+public class DominatorTree<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends Edge<G, N, E>> {
+
+	/**
+	 * The index of the virtual root of the tree, that is the immediate
+	 * dominator of all the entrypoints.
+	 */
+	private static final int ROOT = 0;
+
+	/**
+	 * The nodes of the tree, indexed by their reverse postorder (starting from
+	 * {@code 1}, as {@link #ROOT} has index {@code 0}).
+	 */
+	private final List<N> nodes;
+
+	/**
+	 * The index of each node in {@link #nodes}.
+	 */
+	private final Map<N, Integer> indexes;
+
+	/**
+	 * The index of the immediate dominator of each node.
+	 */
+	private final int[] idoms;
+
+	/**
+	 * The preorder number of each node in the tree.
+	 */
+	private final int[] pre;
+
+	/**
+	 * The postorder number of each node in the tree.
+	 */
+	private final int[] post;
+
+	/**
+	 * Builds the dominator tree of the given graph.
+	 * 
+	 * @param graph the graph whose dominator tree is to be computed
+	 */
+	public DominatorTree(
+			G graph) {
+		indexes = new IdentityHashMap<>();
+		nodes = new ArrayList<>();
+		nodes.add(null);
+		int[][] preds = reversePostorder(graph);
+
+		int size = nodes.size();
+		idoms = new int[size];
+		Arrays.fill(idoms, -1);
+		idoms[ROOT] = ROOT;
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int node = 1; node < size; node++) {
+				int idom = -1;
+				for (int pred : preds[node])
+					if (idoms[pred] != -1)
+						// might not have been processed yet
+						idom = idom == -1 ? pred : intersect(pred, idom);
+				if (idoms[node] != idom) {
+					idoms[node] = idom;
+					changed = true;
+				}
+			}
+		}
+
+		pre = new int[size];
+		post = new int[size];
+		number();
+	}
+
+	private int[][] reversePostorder(
+			G graph) {
+		Set<N> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<N> visited = new ArrayList<>();
+		List<Iterator<N>> stack = new ArrayList<>();
+		List<N> path = new ArrayList<>();
+		for (N entry : graph.getEntrypoints())
+			if (seen.add(entry)) {
+				path.add(entry);
+				stack.add(graph.followersOf(entry).iterator());
+				while (!stack.isEmpty()) {
+					Iterator<N> followers = stack.get(stack.size() - 1);
+					if (followers.hasNext()) {
+						N next = followers.next();
+						if (seen.add(next)) {
+							path.add(next);
+							stack.add(graph.followersOf(next).iterator());
+						}
+					} else {
+						N done = path.remove(path.size() - 1);
+						stack.remove(stack.size() - 1);
+						visited.add(done);
+					}
+				}
+			}
+
+		int size = visited.size();
+		for (int i = size - 1; i >= 0; i--) {
+			N node = visited.get(i);
+			indexes.put(node, nodes.size());
+			nodes.add(node);
+		}
+
+		List<List<Integer>> predecessors = new ArrayList<>(size + 1);
+		for (int i = 0; i <= size; i++)
+			predecessors.add(new ArrayList<>());
+		for (N entry : graph.getEntrypoints())
+			predecessors.get(indexes.get(entry)).add(ROOT);
+		for (int i = 1; i <= size; i++)
+			for (N follower : graph.followersOf(nodes.get(i)))
+				predecessors.get(indexes.get(follower)).add(i);
+
+		int[][] preds = new int[size + 1][];
+		for (int i = 0; i <= size; i++)
+			preds[i] = predecessors.get(i).stream().mapToInt(Integer::intValue).toArray();
+		return preds;
+	}
+
+	private int intersect(
+			int first,
+			int second) {
+		int finger1 = first, finger2 = second;
+		while (finger1 != finger2) {
+			while (finger1 > finger2)
+				finger1 = idoms[finger1];
+			while (finger2 > finger1)
+				finger2 = idoms[finger2];
+		}
+		return finger1;
+	}
+
+	private void number() {
+		int size = nodes.size();
+		int[] childCount = new int[size];
+		for (int node = 1; node < size; node++)
+			childCount[idoms[node]]++;
+		int[][] children = new int[size][];
+		for (int node = 0; node < size; node++)
+			children[node] = new int[childCount[node]];
+		int[] filled = new int[size];
+		for (int node = 1; node < size; node++) {
+			int parent = idoms[node];
+			children[parent][filled[parent]++] = node;
+		}
+
+		int counter = 0;
+		int[] stack = new int[size];
+		int[] next = new int[size];
+		int top = 0;
+		stack[0] = ROOT;
+		pre[ROOT] = counter++;
+		while (top >= 0) {
+			int node = stack[top];
+			if (next[node] < children[node].length) {
+				int child = children[node][next[node]++];
+				pre[child] = counter++;
+				stack[++top] = child;
+			} else {
+				post[node] = counter++;
+				top--;
+			}
+		}
+	}
+
+	/**
+	 * Yields whether or not the given node is part of this tree, that is, if
+	 * it is reachable from the entrypoints of the graph.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return {@code true} if the node is part of this tree
+	 */
+	public boolean contains(
+			N node) {
+		return indexes.containsKey(node);
+	}
+
+	/**
+	 * Yields the nodes of this tree, sorted by their reverse postorder in the
+	 * graph.
+	 * 
+	 * @return the nodes
+	 */
+	public List<N> getNodes() {
+		return nodes.subList(1, nodes.size());
+	}
+
+	/**
+	 * Yields the immediate dominator of the given node.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the immediate dominator, or {@code null} if {@code node} is an
+	 *             entrypoint or it is not part of this tree
+	 */
+	public N getImmediateDominator(
+			N node) {
+		Integer index = indexes.get(node);
+		return index == null ? null : nodes.get(idoms[index]);
+	}
+
+	/**
+	 * Yields whether or not {@code dominator} dominates {@code node}. If any of
+	 * the two nodes is not part of this tree, this method returns
+	 * {@code false}.
+	 * 
+	 * @param dominator the candidate dominator
+	 * @param node      the node
+	 * 
+	 * @return {@code true} if {@code dominator} dominates {@code node}
+	 */
+	public boolean dominates(
+			N dominator,
+			N node) {
+		Integer d = indexes.get(dominator);
+		Integer n = indexes.get(node);
+		if (d == null || n == null)
+			return false;
+		return pre[d] <= pre[n] && post[n] <= post[d];
+	}
+
+	/**
+	 * Yields all the nodes that dominate the given one, including the node
+	 * itself.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return the dominators of {@code node}, or an empty set if it is not
+	 *             part of this tree
+	 */
+	public Set<N> getDominators(
+			N node) {
+		Set<N> res = new HashSet<>();
+		Integer index = indexes.get(node);
+		if (index == null)
+			return res;
+		for (int i = index; i != ROOT; i = idoms[i])
+			res.add(nodes.get(i));
+		return res;
+	}
+
+	/**
+	 * Yields, for each node of this tree, the set of nodes that dominate it.
+	 * 
+	 * @return a map containing, for each node of the tree, its dominators
+	 */
+	public Map<N, Set<N>> getAllDominators() {
+		Map<N, Set<N>> res = new IdentityHashMap<>();
+		// nodes are sorted in reverse postorder: immediate dominators are
+		// always processed before the nodes they dominate
+		for (int i = 1; i < nodes.size(); i++) {
+			Set<N> doms = idoms[i] == ROOT ? new HashSet<>() : new HashSet<>(res.get(nodes.get(idoms[i])));
+			doms.add(nodes.get(i));
+			res.put(nodes.get(i), doms);
+		}
+		return res;
+	}
+}
@@ -1,13 +1,8 @@
 package it.unive.lisa.util.datastructures.graph.algorithms;
 
-import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
-import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.Edge;
 import it.unive.lisa.util.datastructures.graph.Graph;
 import it.unive.lisa.util.datastructures.graph.Node;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -16,7 +11,12 @@ import java.util.Set;
  * An algorithms that evaluates the dominators of each node in a graph. A node
  * {@code d} dominates a node {@code n} if every path from an entry node to
  * {@code n} must go through {@code d}. By definition, every node dominates
- * itself.
+ * itself.<br>
+ * <br>
+ * Dominators are computed through a {@link DominatorTree}, and are then
+ * expanded to explicit sets of nodes: clients that only need to query whether
+ * a node dominates another one should use the tree directly, as it answers
+ * such queries in constant time without materializing the sets.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -65,47 +65,7 @@ public class Dominators<G extends Graph<G, N, E>, N extends Node<G, N, E>, E ext
 	public Map<N, Set<N>> build(
 			G graph) {
 		dominators.clear();
-		Collection<N> entries = graph.getEntrypoints();
-		WorkingSet<N> ws = FIFOWorkingSet.mk();
-		entries.forEach(ws::push);
-		while (!ws.isEmpty()) {
-			N current = ws.pop();
-
-			Set<N> res;
-			if (entries.contains(current))
-				res = new HashSet<>();
-			else
-				res = intersect(graph.predecessorsOf(current));
-			res.add(current);
-
-			if (!res.equals(dominators.get(current))) {
-				dominators.put(current, res);
-				graph.followersOf(current).forEach(ws::push);
-			}
-		}
-
+		dominators.putAll(new DominatorTree<G, N, E>(graph).getAllDominators());
 		return dominators;
 	}
-
-	private Set<N> intersect(
-			Collection<N> nodes) {
-		if (nodes == null || nodes.isEmpty())
-			return Collections.emptySet();
-
-		Set<N> res = null;
-		for (N node : nodes) {
-			Set<N> doms = dominators.get(node);
-			// might not have been processed yet
-			if (doms != null)
-				if (res == null)
-					res = new HashSet<>(doms);
-				else
-					res.retainAll(doms);
-			if (res != null && res.isEmpty())
-				// nothing more to do
-				break;
-		}
-
-		return res == null ? new HashSet<>() : res;
-	}
 }
@@ -5,9 +5,13 @@ import it.unive.lisa.util.collections.workset.WorkingSet;
 import it.unive.lisa.util.datastructures.graph.Edge;
 import it.unive.lisa.util.datastructures.graph.Graph;
 import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,7 +21,13 @@ import java.util.Set;
  * connected, that is, where there exist a path in both directions between any
  * two nodes of the set. This is implemented Tarjan's algorithm, computing
  * maximal non-trivial SCCs (i.e., containing at least one edge and such that no
- * other node could be added without breaking strong connectivity).
+ * other node could be added without breaking strong connectivity).<br>
+ * <br>
+ * Components are discovered, and thus returned, in reverse topological order
+ * of the condensation of the graph: each component is found after all the ones
+ * that are reachable from it. This is exploited by
+ * {@link #buildBottomUpLayers(Graph)} to partition components in layers of
+ * mutually independent ones.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  * 
@@ -40,14 +50,15 @@ public class SCCs<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends E
 	 * Builds the SCCs. To run the algorithm, use {@link #build(Graph)}.
 	 */
 	public SCCs() {
-		sccs = new HashSet<>();
+		sccs = new LinkedHashSet<>();
 	}
 
 	/**
 	 * Yields the last computed strongly connected components through
 	 * {@link #build(Graph)}. Note that, depending on the method used for
 	 * computing them, the returned value might contain <b>all</b> components,
-	 * including trivial single-node ones.
+	 * including trivial single-node ones. Components are returned in the order
+	 * they have been discovered, that is, in reverse topological order.
 	 * 
 	 * @return a set containing all the strongly connected components
 	 */
@@ -105,6 +116,52 @@ public class SCCs<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends E
 		return sccs;
 	}
 
+	/**
+	 * Builds the strongly connected components for the given graph (including
+	 * trivial single-node ones, see {@link #build(Graph)}) and partitions them
+	 * in layers following a bottom-up visit of the condensation of the graph.
+	 * The first layer contains all the components that have no edges going
+	 * outside of them, and each subsequent layer contains the components whose
+	 * edges only reach components of previous layers (or themselves). Each
+	 * component is placed in the lowest possible layer: components belonging
+	 * to the same layer are thus independent of each other, as no path exists
+	 * between them. Components in the same layer are sorted following the
+	 * order in which they are discovered.
+	 * 
+	 * @param graph the graph whose sccs are to be computed
+	 * 
+	 * @return the layers of sccs, ordered from the bottom one
+	 */
+	public List<List<Collection<N>>> buildBottomUpLayers(
+			G graph) {
+		build(graph);
+
+		Map<N, Collection<N>> owners = new HashMap<>();
+		for (Collection<N> scc : sccs)
+			for (N n : scc)
+				owners.put(n, scc);
+
+		// components are discovered after all the ones reachable from
+		// them, so the layers of their followers are already known
+		Map<Collection<N>, Integer> depths = new IdentityHashMap<>();
+		List<List<Collection<N>>> layers = new ArrayList<>();
+		for (Collection<N> scc : sccs) {
+			int depth = 0;
+			for (N n : scc)
+				for (N follower : graph.followersOf(n)) {
+					Collection<N> target = owners.get(follower);
+					if (target != scc)
+						depth = Math.max(depth, depths.get(target) + 1);
+				}
+			depths.put(scc, depth);
+			if (depth == layers.size())
+				layers.add(new ArrayList<>());
+			layers.get(depth).add(scc);
+		}
+
+		return layers;
+	}
+
 	private int strongconnect(
 			G graph,
 			Map<N, Integer> indexes,
@@ -124,7 +181,7 @@ public class SCCs<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends E
 			} else if (ws.getContents().contains(w))
 				lowlinks.put(v, Math.min(lowlinks.get(v), indexes.get(w)));
 
-		if (lowlinks.get(v) == indexes.get(v)) {
+		if (lowlinks.get(v).intValue() == indexes.get(v).intValue()) {
 			Set<N> scc = new HashSet<>();
 			N w = null;
 			do {
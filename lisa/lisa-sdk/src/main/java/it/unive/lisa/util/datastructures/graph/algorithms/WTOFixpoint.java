@@ -0,0 +1,191 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import static java.lang.String.format;
+
+import it.unive.lisa.util.collections.workset.WorkingSet;
+import it.unive.lisa.util.datastructures.graph.Edge;
+import it.unive.lisa.util.datastructures.graph.Graph;
+import it.unive.lisa.util.datastructures.graph.Node;
+import it.unive.lisa.util.datastructures.graph.algorithms.WeakTopologicalOrder.Element;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Fixpoint} that follows the <i>recursive iteration strategy</i>
+ * defined by a {@link WeakTopologicalOrder} of the target graph, instead of
+ * relying on a {@link WorkingSet}. Elements of the order are processed in
+ * sequence, and each component is iterated until the result computed at its
+ * head stabilizes: after the first iteration, the body of a component is
+ * processed again only if the result of its head changed. Nodes that do not
+ * have an entry state when they are reached (e.g., because none of their
+ * predecessors has been computed yet) are skipped.<br>
+ * <br>
+ * Termination is guaranteed as long as the
+ * {@link FixpointImplementation#operation(Object, Object, Object)} of the
+ * implementation eventually stabilizes at the heads of the components of the
+ * order (see {@link WeakTopologicalOrder#getHeads()}), as those are part of
+ * every cycle in the graph. Since nodes are visited in a different order
+ * w.r.t. the working set-based {@link Fixpoint}, the number of times
+ * {@link FixpointImplementation#operation(Object, Object, Object)} is invoked
+ * on each node also differs: implementations whose operation is not
+ * order-independent (e.g., ones applying widening after a fixed number of
+ * updates) might thus compute a different result.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the source {@link Graph}
+ * @param <N> the type of the {@link Node}s in the source graph
+ * @param <E> the type of the {@link Edge}s in the source graph
+ * @param <T> the type of data computed by the fixpoint
+ */
+public class WTOFixpoint<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends Edge<G, N, E>, T>
+		extends
+		Fixpoint<G, N, E, T> {
+
+	private final WeakTopologicalOrder<G, N, E> order;
+
+	/**
+	 * Builds a fixpoint for the given {@link Graph}, following the weak
+	 * topological order rooted at the entrypoints of the graph.
+	 * 
+	 * @param graph               the source graph
+	 * @param forceFullEvaluation whether or not the fixpoint should evaluate
+	 *                                all nodes independently of the fixpoint
+	 *                                implementation
+	 */
+	public WTOFixpoint(
+			G graph,
+			boolean forceFullEvaluation) {
+		this(graph, forceFullEvaluation, new WeakTopologicalOrder<>(graph));
+	}
+
+	/**
+	 * Builds a fixpoint for the given {@link Graph}, following the given weak
+	 * topological order. If the fixpoint is started from nodes that are not
+	 * part of the order, a new one is computed using both the roots of
+	 * {@code order} and the starting points as roots.
+	 * 
+	 * @param graph               the source graph
+	 * @param forceFullEvaluation whether or not the fixpoint should evaluate
+	 *                                all nodes independently of the fixpoint
+	 *                                implementation
+	 * @param order               the weak topological order of the graph
+	 */
+	public WTOFixpoint(
+			G graph,
+			boolean forceFullEvaluation,
+			WeakTopologicalOrder<G, N, E> order) {
+		super(graph, forceFullEvaluation);
+		this.order = order;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * The given working set is not used by this fixpoint, as nodes are
+	 * processed following the weak topological order of the graph.
+	 */
+	@Override
+	public Map<N, T> fixpoint(
+			Map<N, T> startingPoints,
+			WorkingSet<N> ws,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> initialResult)
+			throws FixpointException {
+		Map<N, T> result = initialResult == null ? new HashMap<>(graph.getNodesCount()) : new HashMap<>(initialResult);
+
+		WeakTopologicalOrder<G, N, E> wto = order;
+		for (N start : startingPoints.keySet()) {
+			if (start == null)
+				throw new FixpointException("null node encountered during fixpoint in '" + graph + "'");
+			if (!graph.containsNode(start))
+				throw new FixpointException("'" + start + "' is not part of '" + graph + "'");
+			if (!wto.contains(start)) {
+				Set<N> roots = new LinkedHashSet<>(order.getRoots());
+				roots.addAll(startingPoints.keySet());
+				wto = new WeakTopologicalOrder<>(graph, roots);
+				break;
+			}
+		}
+
+		Set<N> toProcess = null;
+		if (forceFullEvaluation)
+			toProcess = new HashSet<>(graph.getNodes());
+
+		for (Element<N> element : wto.getElements())
+			process(element, startingPoints, implementation, result, toProcess);
+
+		return result;
+	}
+
+	private void process(
+			Element<N> element,
+			Map<N, T> startingPoints,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result,
+			Set<N> toProcess)
+			throws FixpointException {
+		if (!element.isComponent()) {
+			update(element.getNode(), startingPoints, implementation, result, toProcess);
+			return;
+		}
+
+		boolean first = true;
+		// the body has to be processed at least once, even if the head
+		// does not have an entry state yet
+		while (update(element.getNode(), startingPoints, implementation, result, toProcess) || first) {
+			first = false;
+			for (Element<N> inner : element.getBody())
+				process(inner, startingPoints, implementation, result, toProcess);
+		}
+	}
+
+	private boolean update(
+			N current,
+			Map<N, T> startingPoints,
+			FixpointImplementation<N, E, T> implementation,
+			Map<N, T> result,
+			Set<N> toProcess)
+			throws FixpointException {
+		T entrystate = getEntryState(current, startingPoints.get(current), implementation, result);
+		if (entrystate == null)
+			// not reached yet
+			return false;
+
+		T newApprox;
+		try {
+			newApprox = implementation.semantics(current, entrystate);
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "computing semantics", current, graph), e);
+		}
+
+		T oldApprox = result.get(current);
+		if (oldApprox != null)
+			try {
+				newApprox = implementation.operation(current, newApprox, oldApprox);
+			} catch (Exception e) {
+				throw new FixpointException(format(ERROR, "joining states", current, graph), e);
+			}
+
+		try {
+			// we update the result if we were asked to analyze all nodes at
+			// least once
+			if ((forceFullEvaluation && toProcess.remove(current))
+					// or if this is the first time we analyze this node
+					|| oldApprox == null
+					// or if we got a result that should not be considered
+					// equal
+					|| !implementation.equality(current, newApprox, oldApprox)) {
+				result.put(current, newApprox);
+				return true;
+			}
+		} catch (Exception e) {
+			throw new FixpointException(format(ERROR, "updating result", current, graph), e);
+		}
+
+		return false;
+	}
+}
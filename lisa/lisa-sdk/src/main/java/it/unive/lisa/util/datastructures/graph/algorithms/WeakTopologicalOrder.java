@@ -0,0 +1,265 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import it.unive.lisa.util.datastructures.graph.Edge;
+import it.unive.lisa.util.datastructures.graph.Graph;
+import it.unive.lisa.util.datastructures.graph.Node;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A weak topological order of the nodes of a {@link Graph}, computed with
+ * Bourdoncle's algorithm. A weak topological order is a hierarchical ordering
+ * of the nodes reachable from a set of roots, made of vertices and of
+ * components: each component is composed of a head and of a body, that is in
+ * turn a weak topological order. Each cycle of the graph is contained in a
+ * component whose head belongs to the cycle: heads thus form an admissible set
+ * of widening points. Moreover, for each edge {@code u -> v}, {@code u}
+ * precedes {@code v} in the order unless {@code v} is the head of a component
+ * containing {@code u}.<br>
+ * <br>
+ * This order is meant to drive fixpoint iterations following the
+ * <i>recursive strategy</i> (see {@link WTOFixpoint}): elements are processed
+ * in order, and each component is iterated until its head stabilizes, thus
+ * reprocessing only the nodes belonging to the components affected by a
+ * change.
+ * 
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ * 
+ * @param <G> the type of the target {@link Graph}s
+ * @param <N> the type of {@link Node}s in the target graphs
+ * @param <E> the type of {@link Edge}s in the target graphs
+ * 
+ * @see <a href="https://doi.org/10.1007/BFb0039704">F. Bourdoncle, Efficient
+ *          chaotic iteration strategies with widenings</a>
+ */
+public class WeakTopologicalOrder<G extends Graph<G, N, E>, N extends Node<G, N, E>, E extends Edge<G, N, E>> {
+
+	/**
+	 * An element of a {@link WeakTopologicalOrder}, that is either a single
+	 * vertex or a component.
+	 * 
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 * 
+	 * @param <N> the type of {@link Node}s in the order
+	 */
+	public static final class Element<N> {
+
+		private final N node;
+
+		private final List<Element<N>> body;
+
+		private Element(
+				N node,
+				List<Element<N>> body) {
+			this.node = node;
+			this.body = body;
+		}
+
+		/**
+		 * Yields the node of this element: this is the vertex itself if this
+		 * element is not a component, or the head of the component otherwise.
+		 * 
+		 * @return the node
+		 */
+		public N getNode() {
+			return node;
+		}
+
+		/**
+		 * Yields whether or not this element is a component.
+		 * 
+		 * @return {@code true} if this element is a component, {@code false}
+		 *             if it is a single vertex
+		 */
+		public boolean isComponent() {
+			return body != null;
+		}
+
+		/**
+		 * Yields the elements of the body of this component, excluding its
+		 * head, in order. If this element is a vertex, the returned list is
+		 * empty.
+		 * 
+		 * @return the body of this component
+		 */
+		public List<Element<N>> getBody() {
+			return body == null ? Collections.emptyList() : body;
+		}
+
+		@Override
+		public String toString() {
+			if (body == null)
+				return String.valueOf(node);
+			StringBuilder res = new StringBuilder("(").append(node);
+			for (Element<N> e : body)
+				res.append(" ").append(e);
+			return res.append(")").toString();
+		}
+	}
+
+	private final Set<N> roots;
+
+	private final List<Element<N>> elements;
+
+	private final Set<N> nodes;
+
+	private final Set<N> heads;
+
+	/**
+	 * Builds the weak topological order of the nodes of the given graph that
+	 * are reachable from its entrypoints.
+	 * 
+	 * @param graph the graph
+	 */
+	public WeakTopologicalOrder(
+			G graph) {
+		this(graph, graph.getEntrypoints());
+	}
+
+	/**
+	 * Builds the weak topological order of the nodes of the given graph that
+	 * are reachable from the given roots.
+	 * 
+	 * @param graph the graph
+	 * @param roots the nodes where the visit of the graph starts
+	 */
+	public WeakTopologicalOrder(
+			G graph,
+			Collection<N> roots) {
+		this.roots = Collections.unmodifiableSet(new LinkedHashSet<>(roots));
+		this.nodes = new HashSet<>(graph.getNodesCount());
+		this.heads = new HashSet<>();
+
+		Builder builder = new Builder(graph);
+		Deque<Element<N>> partition = new ArrayDeque<>();
+		for (N root : this.roots)
+			if (builder.dfn.getOrDefault(root, 0) == 0)
+				builder.visit(root, partition);
+		this.elements = Collections.unmodifiableList(new ArrayList<>(partition));
+	}
+
+	/**
+	 * Yields the roots used to build this order.
+	 * 
+	 * @return the roots
+	 */
+	public Set<N> getRoots() {
+		return roots;
+	}
+
+	/**
+	 * Yields the top-level elements of this order.
+	 * 
+	 * @return the elements
+	 */
+	public List<Element<N>> getElements() {
+		return elements;
+	}
+
+	/**
+	 * Yields the heads of all the components of this order, including nested
+	 * ones.
+	 * 
+	 * @return the heads
+	 */
+	public Set<N> getHeads() {
+		return Collections.unmodifiableSet(heads);
+	}
+
+	/**
+	 * Yields whether or not the given node is part of this order, that is, if
+	 * it is reachable from one of the roots.
+	 * 
+	 * @param node the node
+	 * 
+	 * @return {@code true} if the node is part of this order
+	 */
+	public boolean contains(
+			N node) {
+		return nodes.contains(node);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder res = new StringBuilder();
+		for (Element<N> e : elements) {
+			if (res.length() > 0)
+				res.append(" ");
+			res.append(e);
+		}
+		return res.toString();
+	}
+
+	private class Builder {
+
+		private final G graph;
+
+		private final Map<N, Integer> dfn = new HashMap<>();
+
+		private final Deque<N> stack = new ArrayDeque<>();
+
+		private int num = 0;
+
+		private Builder(
+				G graph) {
+			this.graph = graph;
+		}
+
+		private int visit(
+				N v,
+				Deque<Element<N>> partition) {
+			stack.push(v);
+			int vnum = ++num;
+			dfn.put(v, vnum);
+			int head = vnum;
+			boolean loop = false;
+
+			for (N w : graph.followersOf(v)) {
+				int wnum = dfn.getOrDefault(w, 0);
+				int min = wnum == 0 ? visit(w, partition) : wnum;
+				if (min <= head) {
+					head = min;
+					loop = true;
+				}
+			}
+
+			if (head == vnum) {
+				// v is the head of a component (or a single vertex)
+				dfn.put(v, Integer.MAX_VALUE);
+				nodes.add(v);
+				N element = stack.pop();
+				if (loop) {
+					// the nodes of the component are visited again
+					// to compute its body
+					while (element != v) {
+						dfn.put(element, 0);
+						element = stack.pop();
+					}
+					heads.add(v);
+					partition.addFirst(component(v));
+				} else
+					partition.addFirst(new Element<>(v, null));
+			}
+
+			return head;
+		}
+
+		private Element<N> component(
+				N v) {
+			Deque<Element<N>> partition = new ArrayDeque<>();
+			for (N w : graph.followersOf(v))
+				if (dfn.getOrDefault(w, 0) == 0)
+					visit(w, partition);
+			return new Element<>(v, Collections.unmodifiableList(new ArrayList<>(partition)));
+		}
+	}
+}
@@ -43,6 +43,12 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	private final List<N> nodes;
 
+	/**
+	 * Mapping from each node to its position inside {@link #nodes}, used to
+	 * avoid linear scans of the list when querying the edges of a node.
+	 */
+	private final Map<N, Integer> offsets;
+
 	/**
 	 * The list of indexes of the nodes that are cutoff points for sequential
 	 * execution, meaning that its follower in {@link #nodes} is not a follower
@@ -61,6 +67,20 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	private final E sequentialSingleton;
 
+	/**
+	 * The followers and predecessors of each node, lazily computed on the
+	 * first query after the last modification of this list and discarded at
+	 * each modification. This is {@code null} if no query has been issued
+	 * since the last modification.
+	 */
+	private volatile Adjacency<N> adjacency;
+
+	/**
+	 * The number of structural modifications (i.e., additions and removals of
+	 * nodes and edges) performed on this list since its creation.
+	 */
+	private volatile int modifications;
+
 	/**
 	 * Builds a new list. Offsets of nodes added to this list will be set
 	 * automatically.
@@ -89,7 +109,8 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 			E sequentialSingleton,
 			boolean computeOffsets) {
 		this.sequentialSingleton = sequentialSingleton;
-		nodes = new LinkedList<>();
+		nodes = new ArrayList<>();
+		offsets = new HashMap<>();
 		cutoff = new HashSet<>();
 		extraEdges = new HashMap<>();
 	}
@@ -102,7 +123,8 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	public NodeList(
 			NodeList<G, N, E> other) {
 		sequentialSingleton = other.sequentialSingleton;
-		nodes = new LinkedList<>(other.nodes);
+		nodes = new ArrayList<>(other.nodes);
+		offsets = new HashMap<>(other.offsets);
 		cutoff = new HashSet<>(other.cutoff);
 		extraEdges = new HashMap<>();
 		for (Entry<N, NodeEdges<G, N, E>> entry : other.extraEdges.entrySet())
@@ -130,6 +152,8 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 		if (size != 0)
 			cutoff.add(size - 1);
 		nodes.add(node);
+		offsets.put(node, size);
+		invalidate();
 	}
 
 	/**
@@ -145,7 +169,7 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 		if (!containsNode(node))
 			return;
 
-		int target = nodes.indexOf(node);
+		int target = offsets.get(node);
 		NodeEdges<G, N, E> edges = extraEdges.get(node);
 		if (edges != null) {
 			Set<E> union = new HashSet<>(edges.ingoing);
@@ -154,7 +178,11 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 			cutoff.remove(target);
 		}
 
-		nodes.remove(node);
+		nodes.remove(target);
+		offsets.remove(node);
+		for (int i = target; i < nodes.size(); i++)
+			offsets.put(nodes.get(i), i);
+		invalidate();
 		// need to shift all successive cutoff back by one
 		List<Integer> interesting = cutoff.stream().filter(i -> i >= target).sorted().collect(Collectors.toList());
 		cutoff.removeAll(interesting);
@@ -199,14 +227,15 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public void addEdge(
 			E e) {
-		int src = nodes.indexOf(e.getSource());
+		int src = indexOf(e.getSource());
 		if (src == -1)
 			throw new UnsupportedOperationException("The source node is not in the graph");
 
-		int dest = nodes.indexOf(e.getDestination());
+		int dest = indexOf(e.getDestination());
 		if (dest == -1)
 			throw new UnsupportedOperationException("The destination node is not in the graph");
 
+		invalidate();
 		if (e.isUnconditional() && src == dest - 1)
 			// just remove the cutoff
 			cutoff.remove(src);
@@ -223,11 +252,12 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public void removeEdge(
 			E e) {
-		int src = nodes.indexOf(e.getSource());
-		int dest = nodes.indexOf(e.getDestination());
+		int src = indexOf(e.getSource());
+		int dest = indexOf(e.getDestination());
 		if (src == -1 || dest == -1)
 			return;
 
+		invalidate();
 		if (e.isUnconditional() && src == dest - 1)
 			// just add the cutoff
 			cutoff.add(src);
@@ -262,8 +292,8 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	public final E getEdgeConnecting(
 			N source,
 			N destination) {
-		int src = nodes.indexOf(source);
-		int dest = nodes.indexOf(destination);
+		int src = indexOf(source);
+		int dest = indexOf(destination);
 		if (src == -1 || dest == -1)
 			return null;
 
@@ -293,8 +323,8 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	public Collection<E> getEdgesConnecting(
 			N source,
 			N destination) {
-		int src = nodes.indexOf(source);
-		int dest = nodes.indexOf(destination);
+		int src = indexOf(source);
+		int dest = indexOf(destination);
 		if (src == -1 || dest == -1)
 			return Collections.emptySet();
 
@@ -320,7 +350,7 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public final Collection<E> getIngoingEdges(
 			N node) {
-		int src = nodes.indexOf(node);
+		int src = indexOf(node);
 		if (src == -1)
 			return Collections.emptySet();
 
@@ -344,7 +374,7 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public final Collection<E> getOutgoingEdges(
 			N node) {
-		int src = nodes.indexOf(node);
+		int src = indexOf(node);
 		if (src == -1)
 			return Collections.emptySet();
 
@@ -388,19 +418,11 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public final Collection<N> followersOf(
 			N node) {
-		int src = nodes.indexOf(node);
+		int src = indexOf(node);
 		if (src == -1)
 			throw new IllegalArgumentException("'" + node + "' is not in the graph");
 
-		Set<N> result = new HashSet<>();
-		if (src != nodes.size() - 1 && !cutoff.contains(src))
-			result.add(nodes.get(src + 1));
-
-		NodeEdges<G, N, E> edges = extraEdges.get(node);
-		if (edges != null)
-			result.addAll(edges.outgoing.stream().map(Edge::getDestination).collect(Collectors.toSet()));
-
-		return result.isEmpty() ? Collections.emptySet() : result;
+		return getAdjacency().followers.get(src);
 	}
 
 	/**
@@ -416,19 +438,68 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public final Collection<N> predecessorsOf(
 			N node) {
-		int src = nodes.indexOf(node);
+		int src = indexOf(node);
 		if (src == -1)
 			throw new IllegalArgumentException("'" + node + "' is not in the graph");
 
-		Set<N> result = new HashSet<>();
-		if (src != 0 && !cutoff.contains(src - 1))
-			result.add(nodes.get(src - 1));
+		return getAdjacency().predecessors.get(src);
+	}
 
-		NodeEdges<G, N, E> edges = extraEdges.get(node);
-		if (edges != null)
-			result.addAll(edges.ingoing.stream().map(Edge::getSource).collect(Collectors.toSet()));
+	private int indexOf(
+			N node) {
+		Integer offset = offsets.get(node);
+		return offset == null ? -1 : offset;
+	}
 
-		return result.isEmpty() ? Collections.emptySet() : result;
+	private void invalidate() {
+		adjacency = null;
+		modifications++;
+	}
+
+	/**
+	 * Yields the number of structural modifications (i.e., additions and
+	 * removals of nodes and edges) performed on this list since its creation.
+	 * Clients can use this value to detect whether information that they
+	 * derived from the structure of this list is still up-to-date: if the
+	 * value did not change since the information was computed, the list has
+	 * not been modified in the meantime.
+	 * 
+	 * @return the number of modifications
+	 */
+	public int getModificationCount() {
+		return modifications;
+	}
+
+	private Adjacency<N> getAdjacency() {
+		Adjacency<N> adj = adjacency;
+		if (adj != null)
+			return adj;
+
+		int size = nodes.size();
+		List<Set<N>> followers = new ArrayList<>(size);
+		List<Set<N>> predecessors = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			followers.add(new HashSet<>());
+			predecessors.add(new HashSet<>());
+		}
+
+		for (int i = 0; i < size - 1; i++)
+			if (!cutoff.contains(i)) {
+				followers.get(i).add(nodes.get(i + 1));
+				predecessors.get(i + 1).add(nodes.get(i));
+			}
+
+		for (Entry<N, NodeEdges<G, N, E>> entry : extraEdges.entrySet()) {
+			int idx = offsets.get(entry.getKey());
+			for (E out : entry.getValue().outgoing)
+				followers.get(idx).add(out.getDestination());
+			for (E in : entry.getValue().ingoing)
+				predecessors.get(idx).add(in.getSource());
+		}
+
+		adj = new Adjacency<>(followers, predecessors);
+		adjacency = adj;
+		return adj;
 	}
 
 	/**
@@ -524,7 +595,7 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public boolean containsNode(
 			N node) {
-		return nodes.contains(node);
+		return offsets.containsKey(node);
 	}
 
 	/**
@@ -536,8 +607,8 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	 */
 	public boolean containsEdge(
 			E edge) {
-		int src = nodes.indexOf(edge.getSource());
-		int dest = nodes.indexOf(edge.getDestination());
+		int src = indexOf(edge.getSource());
+		int dest = indexOf(edge.getDestination());
 		if (src == -1 || dest == -1)
 			return false;
 
@@ -775,13 +846,13 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 				continue;
 
 			for (E in : edges.ingoing)
-				validateEdge(nodes, in);
+				validateEdge(in);
 
 			for (E out : edges.outgoing)
-				validateEdge(nodes, out);
+				validateEdge(out);
 
 			// no deadcode
-			int idx = nodes.indexOf(node);
+			int idx = indexOf(node);
 			if (edges.ingoing.isEmpty()
 					&& (idx == 0 || cutoff.contains(idx - 1))
 					&& !entrypoints.contains(node))
@@ -791,17 +862,44 @@ public class NodeList<G extends CodeGraph<G, N, E>, N extends CodeNode<G, N, E>,
 	}
 
 	private void validateEdge(
-			Collection<N> nodes,
 			E edge)
 			throws ProgramValidationException {
-		if (!nodes.contains(edge.getSource()))
+		if (!containsNode(edge.getSource()))
 			throw new ProgramValidationException("Invalid edge: '" + edge
 					+ "' originates in a node that is not part of the graph");
-		else if (!nodes.contains(edge.getDestination()))
+		else if (!containsNode(edge.getDestination()))
 			throw new ProgramValidationException("Invalid edge: '" + edge
 					+ "' reaches a node that is not part of the graph");
 	}
 
+	/**
+	 * The followers and predecessors of all nodes of a list, indexed by their
+	 * position in the list. The collections are not modifiable, so that they
+	 * can be safely shared by all callers.
+	 * 
+	 * @param <N> the type of the nodes
+	 */
+	private static class Adjacency<N> {
+		private final List<Collection<N>> followers;
+		private final List<Collection<N>> predecessors;
+
+		private Adjacency(
+				List<Set<N>> followers,
+				List<Set<N>> predecessors) {
+			this.followers = new ArrayList<>(followers.size());
+			this.predecessors = new ArrayList<>(predecessors.size());
+			for (int i = 0; i < followers.size(); i++) {
+				this.followers.add(wrap(followers.get(i)));
+				this.predecessors.add(wrap(predecessors.get(i)));
+			}
+		}
+
+		private static <N> Collection<N> wrap(
+				Set<N> set) {
+			return set.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(set);
+		}
+	}
+
 	/**
 	 * Utility class for representing the edges tied to a node, split into two
 	 * sets: ingoing and outgoing.
@@ -19,7 +19,8 @@ import org.apache.commons.io.IOUtils;
 
 /**
  * A file manager that provides standard functionalities for communicating with
- * the file system.
+ * the file system. Files can be created concurrently by different threads, as
+ * long as their names are different.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
@@ -29,9 +30,9 @@ public class FileManager {
 
 	private final Collection<String> createdFiles = new TreeSet<>();
 
-	private boolean usedPlainCytoscape = false;
+	private volatile boolean usedPlainCytoscape = false;
 
-	private boolean usedCompoundCytoscape = false;
+	private volatile boolean usedCompoundCytoscape = false;
 
 	/**
 	 * Builds a new manager that will produce files in the given
@@ -267,10 +268,13 @@ public class FileManager {
 			parent = new File(workdir, cleanFileName(path, true));
 		File file = new File(parent, cleanFileName(name, false));
 
-		if (!parent.exists() && !parent.mkdirs())
+		// the directory might have been created by a concurrent call
+		if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory())
 			throw new IOException("Unable to create directory structure for " + file);
 
-		createdFiles.add(FilenameUtils.separatorsToUnix(workdir.toPath().relativize(file.toPath()).toString()));
+		synchronized (createdFiles) {
+			createdFiles.add(FilenameUtils.separatorsToUnix(workdir.toPath().relativize(file.toPath()).toString()));
+		}
 		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8.newEncoder())) {
 			if (bom)
 				writer.write('\ufeff');
@@ -300,6 +304,24 @@ public class FileManager {
 		return cleanName.toString();
 	}
 
+	/**
+	 * Yields the name, without extension, of the file that
+	 * {@link #mkDotFile(String, WriteAction)},
+	 * {@link #mkJsonFile(String, WriteAction)},
+	 * {@link #mkGraphmlFile(String, WriteAction)} and
+	 * {@link #mkHtmlFile(String, WriteAction)} create for the given name.
+	 * Different names might yield the same file name, and passing the returned
+	 * name to those methods creates the same file.
+	 *
+	 * @param name the name of the file
+	 *
+	 * @return the name of the file that is actually created
+	 */
+	public static String cleanGraphFileName(
+			String name) {
+		return cleanFileName(cleanupCFGName(name), false);
+	}
+
 	private static String cleanupCFGName(
 			String name) {
 		String result = name.replace(' ', '_');
@@ -0,0 +1,384 @@
+package it.unive.lisa.util.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import it.unive.lisa.analysis.SemanticDomain;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.InterproceduralAnalysis;
+import it.unive.lisa.logging.TimeFormat;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A collector of fine-grained metrics about the execution of an analysis,
+ * enabled through {@link LiSAConfiguration#collectMetrics}. Metrics are
+ * gathered while fixpoints are computed, and consist of:
+ * <ul>
+ * <li>for each {@link CFG}, the number of fixpoints computed over it, the
+ * overall time spent in such fixpoints, the number of fixpoint iterations
+ * (that is, of evaluations of the semantics of its nodes) and the number of
+ * widenings applied;</li>
+ * <li>for each {@link Statement}, the number of times its semantics has been
+ * evaluated and the overall time spent doing so;</li>
+ * <li>for each abstract domain used by the fixpoints, the number of
+ * {@link Operation}s that the fixpoints applied on its instances, either
+ * directly or through an abstract state containing them (e.g., the heap,
+ * value and type domains of an abstract state are all counted when the state
+ * is joined at a node);</li>
+ * <li>the number of iterations and the overall time of the
+ * {@link InterproceduralAnalysis}.</li>
+ * </ul>
+ * When the collector is disabled, all recording methods return immediately
+ * without reading the clock nor allocating memory. The collector is
+ * thread-safe, and can thus be shared among fixpoints running in parallel.
+ * Timings are expressed in nanoseconds, and the ones of fixpoints include the
+ * ones of the cfgs that they invoke. Note that operations are counted only
+ * when applied by the fixpoints (i.e., when the states of a node are joined,
+ * widened or compared across iterations): the ones applied by the semantics
+ * of the statements, or by the domains on their own components, are not
+ * recorded.
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public class AnalysisMetrics {
+
+	/**
+	 * The prefix of the keys produced by {@link #toPropertyBag()}.
+	 */
+	public static final String PREFIX = "metrics.";
+
+	/**
+	 * A shared collector that does not record any metric.
+	 */
+	public static final AnalysisMetrics DISABLED = new AnalysisMetrics(false);
+
+	/**
+	 * The lattice operations whose applications are counted for each abstract
+	 * domain.
+	 *
+	 * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+	 */
+	public enum Operation {
+
+		/**
+		 * The least upper bound.
+		 */
+		LUB("lub"),
+
+		/**
+		 * The widening.
+		 */
+		WIDENING("widening"),
+
+		/**
+		 * The partial order.
+		 */
+		LESS_OR_EQUAL("lessOrEqual");
+
+		private final String key;
+
+		private Operation(
+				String key) {
+			this.key = key;
+		}
+
+		@Override
+		public String toString() {
+			return key;
+		}
+	}
+
+	private static final class CFGMetrics {
+
+		private final LongAdder fixpoints = new LongAdder();
+
+		private final LongAdder time = new LongAdder();
+
+		private final LongAdder iterations = new LongAdder();
+
+		private final LongAdder widenings = new LongAdder();
+
+		private final Map<Statement, StatementMetrics> statements = new ConcurrentHashMap<>();
+	}
+
+	private static final class StatementMetrics {
+
+		private final LongAdder evaluations = new LongAdder();
+
+		private final LongAdder time = new LongAdder();
+	}
+
+	private final boolean enabled;
+
+	private final Map<CFG, CFGMetrics> cfgs;
+
+	private final Map<String, LongAdder[]> domains;
+
+	private final LongAdder interproceduralIterations;
+
+	private final LongAdder interproceduralTime;
+
+	/**
+	 * Builds the collector.
+	 *
+	 * @param enabled whether or not metrics should be recorded
+	 */
+	public AnalysisMetrics(
+			boolean enabled) {
+		this.enabled = enabled;
+		this.cfgs = enabled ? new ConcurrentHashMap<>() : Map.of();
+		this.domains = enabled ? new ConcurrentHashMap<>() : Map.of();
+		this.interproceduralIterations = new LongAdder();
+		this.interproceduralTime = new LongAdder();
+	}
+
+	/**
+	 * Yields whether or not this collector records metrics.
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Yields the timestamp to pass to the recording methods that measure a
+	 * duration, that is, the current value of {@link System#nanoTime()}. If
+	 * this collector is disabled, the clock is not read and {@code 0} is
+	 * returned instead.
+	 *
+	 * @return the timestamp
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	private CFGMetrics of(
+			CFG cfg) {
+		return cfgs.computeIfAbsent(cfg, c -> new CFGMetrics());
+	}
+
+	/**
+	 * Records the completion of a fixpoint over the given cfg.
+	 *
+	 * @param cfg   the cfg
+	 * @param start the timestamp of the beginning of the fixpoint, as returned
+	 *                  by {@link #start()}
+	 */
+	public void fixpointComputed(
+			CFG cfg,
+			long start) {
+		if (!enabled)
+			return;
+		long elapsed = System.nanoTime() - start;
+		CFGMetrics metrics = of(cfg);
+		metrics.fixpoints.increment();
+		metrics.time.add(elapsed);
+	}
+
+	/**
+	 * Records an evaluation of the semantics of the given node, that
+	 * corresponds to a fixpoint iteration over its cfg.
+	 *
+	 * @param node  the node
+	 * @param start the timestamp of the beginning of the evaluation, as
+	 *                  returned by {@link #start()}
+	 */
+	public void semanticsComputed(
+			Statement node,
+			long start) {
+		if (!enabled)
+			return;
+		long elapsed = System.nanoTime() - start;
+		CFGMetrics metrics = of(node.getCFG());
+		metrics.iterations.increment();
+		StatementMetrics st = metrics.statements.computeIfAbsent(node, n -> new StatementMetrics());
+		st.evaluations.increment();
+		st.time.add(elapsed);
+	}
+
+	/**
+	 * Records the application of a widening at the given node.
+	 *
+	 * @param node the node
+	 */
+	public void wideningApplied(
+			Statement node) {
+		if (!enabled)
+			return;
+		of(node.getCFG()).widenings.increment();
+	}
+
+	/**
+	 * Records the application of the given operation on an instance of the
+	 * given domain. If the domain is a {@link SemanticDomain}, the operation is
+	 * also recorded once for each class of the domains nested inside it (as
+	 * returned by {@link SemanticDomain#getAllDomainInstances(Class)}), since
+	 * applying the operation on the outer domain applies it on all of them.
+	 *
+	 * @param domain    the domain instance
+	 * @param operation the operation
+	 */
+	public void operationApplied(
+			Object domain,
+			Operation operation) {
+		if (!enabled)
+			return;
+		Set<String> classes = new HashSet<>();
+		classes.add(domain.getClass().getName());
+		if (domain instanceof SemanticDomain)
+			for (Object inner : ((SemanticDomain<?, ?, ?>) domain).getAllDomainInstances(SemanticDomain.class))
+				classes.add(inner.getClass().getName());
+		for (String name : classes)
+			domains.computeIfAbsent(name, d -> {
+				LongAdder[] res = new LongAdder[Operation.values().length];
+				for (int i = 0; i < res.length; i++)
+					res[i] = new LongAdder();
+				return res;
+			})[operation.ordinal()].increment();
+	}
+
+	/**
+	 * Records the beginning of a new iteration of the
+	 * {@link InterproceduralAnalysis}.
+	 */
+	public void interproceduralIteration() {
+		if (!enabled)
+			return;
+		interproceduralIterations.increment();
+	}
+
+	/**
+	 * Records the completion of the fixpoint of the
+	 * {@link InterproceduralAnalysis}.
+	 *
+	 * @param start the timestamp of the beginning of the fixpoint, as returned
+	 *                  by {@link #start()}
+	 */
+	public void interproceduralFixpointComputed(
+			long start) {
+		if (!enabled)
+			return;
+		interproceduralTime.add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Summarizes the recorded metrics into a property bag, that is, a map from
+	 * keys (all starting with {@link #PREFIX}) to values. The summary contains
+	 * the totals over all cfgs, the counters of each domain (with keys of the
+	 * form {@code metrics.<operation>.<domain>}) and the cfg where the most
+	 * time has been spent. If this collector is disabled, the returned map is
+	 * empty.
+	 *
+	 * @return the property bag
+	 */
+	public Map<String, String> toPropertyBag() {
+		Map<String, String> bag = new TreeMap<>();
+		if (!enabled)
+			return bag;
+
+		long fixpoints = 0, time = 0, iterations = 0, widenings = 0, semantics = 0;
+		CFG slowest = null;
+		long slowestTime = -1;
+		for (Entry<CFG, CFGMetrics> entry : cfgs.entrySet()) {
+			CFGMetrics metrics = entry.getValue();
+			fixpoints += metrics.fixpoints.sum();
+			iterations += metrics.iterations.sum();
+			widenings += metrics.widenings.sum();
+			long t = metrics.time.sum();
+			time += t;
+			for (StatementMetrics st : metrics.statements.values())
+				semantics += st.time.sum();
+			if (t > slowestTime) {
+				slowest = entry.getKey();
+				slowestTime = t;
+			}
+		}
+
+		bag.put(PREFIX + "fixpoints", String.valueOf(fixpoints));
+		bag.put(PREFIX + "fixpointTime", TimeFormat.UP_TO_SECONDS.format(time));
+		bag.put(PREFIX + "iterations", String.valueOf(iterations));
+		bag.put(PREFIX + "widenings", String.valueOf(widenings));
+		bag.put(PREFIX + "semanticsTime", TimeFormat.UP_TO_SECONDS.format(semantics));
+		bag.put(PREFIX + "interproceduralIterations", String.valueOf(interproceduralIterations.sum()));
+		bag.put(PREFIX + "interproceduralTime", TimeFormat.UP_TO_SECONDS.format(interproceduralTime.sum()));
+		if (slowest != null)
+			bag.put(PREFIX + "slowestCFG", slowest.getDescriptor().getFullSignatureWithParNames());
+		for (Entry<String, LongAdder[]> entry : domains.entrySet())
+			for (Operation op : Operation.values())
+				bag.put(PREFIX + op + "." + entry.getKey(), String.valueOf(entry.getValue()[op.ordinal()].sum()));
+		return bag;
+	}
+
+	/**
+	 * Dumps all the recorded metrics to the given {@link Writer} instance,
+	 * serializing them as a json object. Cfgs are sorted by signature, while
+	 * the statements of each cfg are sorted by decreasing evaluation time.
+	 *
+	 * @param writer the writer to write to
+	 *
+	 * @throws IOException if some I/O error happens while writing to the writer
+	 */
+	public void dump(
+			Writer writer)
+			throws IOException {
+		Map<String, Object> interprocedural = new LinkedHashMap<>();
+		interprocedural.put("iterations", interproceduralIterations.sum());
+		interprocedural.put("time", interproceduralTime.sum());
+
+		Map<String, Object> doms = new TreeMap<>();
+		for (Entry<String, LongAdder[]> entry : domains.entrySet()) {
+			Map<String, Object> ops = new LinkedHashMap<>();
+			for (Operation op : Operation.values())
+				ops.put(op.toString(), entry.getValue()[op.ordinal()].sum());
+			doms.put(entry.getKey(), ops);
+		}
+
+		Map<String, Object> graphs = new TreeMap<>();
+		for (Entry<CFG, CFGMetrics> entry : cfgs.entrySet()) {
+			CFGMetrics metrics = entry.getValue();
+			List<Entry<Statement, StatementMetrics>> sorted = new ArrayList<>(metrics.statements.entrySet());
+			sorted.sort(Comparator.comparingLong(
+					(
+							Entry<Statement, StatementMetrics> e) -> e.getValue().time.sum())
+					.reversed());
+			Map<String, Object> statements = new LinkedHashMap<>();
+			for (Entry<Statement, StatementMetrics> st : sorted) {
+				Map<String, Object> stmetrics = new LinkedHashMap<>();
+				stmetrics.put("evaluations", st.getValue().evaluations.sum());
+				stmetrics.put("time", st.getValue().time.sum());
+				statements.put(st.getKey().getLocation() + ": " + st.getKey(), stmetrics);
+			}
+
+			Map<String, Object> cfgmetrics = new LinkedHashMap<>();
+			cfgmetrics.put("fixpoints", metrics.fixpoints.sum());
+			cfgmetrics.put("time", metrics.time.sum());
+			cfgmetrics.put("iterations", metrics.iterations.sum());
+			cfgmetrics.put("widenings", metrics.widenings.sum());
+			cfgmetrics.put("statements", statements);
+			graphs.put(entry.getKey().getDescriptor().getFullSignatureWithParNames(), cfgmetrics);
+		}
+
+		Map<String, Object> root = new LinkedHashMap<>();
+		root.put("interprocedural", interprocedural);
+		root.put("domains", doms);
+		root.put("cfgs", graphs);
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		mapper.writeValue(writer, root);
+	}
+}
@@ -3,7 +3,14 @@ package it.unive.lisa.util.numeric;
 import java.util.Iterator;
 
 /**
- * An interval with integer bounds.
+ * An interval with integer bounds. Whenever possible (that is, when both bounds
+ * are either infinite or integers that fit in a {@code long}), the interval is
+ * backed by a {@link LongInterval}, and arithmetic and comparisons are
+ * performed on primitive values. The {@link MathNumber} bounds are then only
+ * built when they are requested through {@link #getLow()} and
+ * {@link #getHigh()}. Operations are promoted to {@link MathNumber}s only when
+ * the fast path overflows, producing the same results of a computation carried
+ * out entirely on {@link MathNumber}s.
  * 
  * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
  */
@@ -29,12 +36,26 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 */
 	public static final IntInterval MINUS_ONE = new IntInterval(-1, -1);
 
-	private final MathNumber low;
+	/**
+	 * The primitive representation of this interval, or {@code null} if its
+	 * bounds cannot be represented as {@code long}s.
+	 */
+	private final LongInterval fast;
+
+	/**
+	 * The lower bound, lazily built from {@link #fast} if this interval has a
+	 * primitive representation.
+	 */
+	private MathNumber low;
 
-	private final MathNumber high;
+	/**
+	 * The upper bound, lazily built from {@link #fast} if this interval has a
+	 * primitive representation.
+	 */
+	private MathNumber high;
 
 	private IntInterval() {
-		this(MathNumber.MINUS_INFINITY, MathNumber.PLUS_INFINITY);
+		this(LongInterval.INFINITY);
 	}
 
 	/**
@@ -48,7 +69,7 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	public IntInterval(
 			int low,
 			int high) {
-		this(new MathNumber(low), new MathNumber(high));
+		this(LongInterval.of(low, high));
 	}
 
 	/**
@@ -66,6 +87,16 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 				high == null ? MathNumber.PLUS_INFINITY : new MathNumber(high));
 	}
 
+	/**
+	 * Builds a new interval backed by the given primitive representation.
+	 * 
+	 * @param fast the primitive representation of the interval
+	 */
+	public IntInterval(
+			LongInterval fast) {
+		this.fast = fast;
+	}
+
 	/**
 	 * Builds a new interval. Order of the bounds is adjusted (i.e., if
 	 * {@code low} is greater then {@code high}, then the interval
@@ -87,6 +118,19 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 			this.low = high;
 			this.high = low;
 		}
+		this.fast = LongInterval.of(this.low, this.high);
+	}
+
+	/**
+	 * Yields the primitive representation of this interval, that is available
+	 * if both bounds are either infinite or integers that fit in a
+	 * {@code long}.
+	 * 
+	 * @return the primitive representation, or {@code null} if this interval
+	 *             does not have one
+	 */
+	public LongInterval asLongInterval() {
+		return fast;
 	}
 
 	/**
@@ -95,6 +139,9 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 * @return the upper bound of this interval
 	 */
 	public MathNumber getHigh() {
+		if (high == null)
+			// benign race: bounds are immutable and always equal
+			high = fast.getHighBound();
 		return high;
 	}
 
@@ -104,6 +151,9 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 * @return the lower bound of this interval
 	 */
 	public MathNumber getLow() {
+		if (low == null)
+			// benign race: bounds are immutable and always equal
+			low = fast.getLowBound();
 		return low;
 	}
 
@@ -114,6 +164,8 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 * @return {@code true} if that condition holds
 	 */
 	public boolean lowIsMinusInfinity() {
+		if (fast != null)
+			return fast.lowIsMinusInfinity();
 		return low.isMinusInfinity();
 	}
 
@@ -124,6 +176,8 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 * @return {@code true} if that condition holds
 	 */
 	public boolean highIsPlusInfinity() {
+		if (fast != null)
+			return fast.highIsPlusInfinity();
 		return high.isPlusInfinity();
 	}
 
@@ -164,6 +218,8 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 * @return {@code true} if that condition holds
 	 */
 	public boolean isSingleton() {
+		if (fast != null)
+			return fast.isSingleton();
 		return isFinite() && low.equals(high);
 	}
 
@@ -177,9 +233,22 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 */
 	public boolean is(
 			int n) {
+		if (fast != null)
+			return fast.is(n);
 		return isSingleton() && low.is(n);
 	}
 
+	private static IntInterval cached(
+			LongInterval i) {
+		if (i == LongInterval.ZERO)
+			return ZERO;
+		if (i == LongInterval.ONE)
+			return ONE;
+		if (i == LongInterval.MINUS_ONE)
+			return MINUS_ONE;
+		return new IntInterval(i);
+	}
+
 	private static IntInterval cacheAndRound(
 			IntInterval i) {
 		if (i.is(0))
@@ -188,7 +257,7 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 			return ONE;
 		if (i.is(-1))
 			return MINUS_ONE;
-		return new IntInterval(i.low.roundDown(), i.high.roundUp());
+		return new IntInterval(i.getLow().roundDown(), i.getHigh().roundUp());
 	}
 
 	/**
@@ -203,7 +272,13 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 		if (isInfinity() || other.isInfinity())
 			return INFINITY;
 
-		return cacheAndRound(new IntInterval(low.add(other.low), high.add(other.high)));
+		if (fast != null && other.fast != null) {
+			LongInterval res = fast.plus(other.fast);
+			if (res != null)
+				return cached(res);
+		}
+
+		return cacheAndRound(new IntInterval(getLow().add(other.getLow()), getHigh().add(other.getHigh())));
 	}
 
 	/**
@@ -218,7 +293,14 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 		if (isInfinity() || other.isInfinity())
 			return INFINITY;
 
-		return cacheAndRound(new IntInterval(low.subtract(other.high), high.subtract(other.low)));
+		if (fast != null && other.fast != null) {
+			LongInterval res = fast.diff(other.fast);
+			if (res != null)
+				return cached(res);
+		}
+
+		return cacheAndRound(
+				new IntInterval(getLow().subtract(other.getHigh()), getHigh().subtract(other.getLow())));
 	}
 
 	private static MathNumber min(
@@ -260,13 +342,21 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 		if (isInfinity() || other.isInfinity())
 			return INFINITY;
 
-		if (low.compareTo(MathNumber.ZERO) >= 0 && other.low.compareTo(MathNumber.ZERO) >= 0)
-			return cacheAndRound(new IntInterval(low.multiply(other.low), high.multiply(other.high)));
+		if (fast != null && other.fast != null) {
+			LongInterval res = fast.mul(other.fast);
+			if (res != null)
+				return cached(res);
+		}
 
-		MathNumber ll = low.multiply(other.low);
-		MathNumber lh = low.multiply(other.high);
-		MathNumber hl = high.multiply(other.low);
-		MathNumber hh = high.multiply(other.high);
+		MathNumber low = getLow(), high = getHigh();
+		MathNumber otherLow = other.getLow(), otherHigh = other.getHigh();
+		if (low.compareTo(MathNumber.ZERO) >= 0 && otherLow.compareTo(MathNumber.ZERO) >= 0)
+			return cacheAndRound(new IntInterval(low.multiply(otherLow), high.multiply(otherHigh)));
+
+		MathNumber ll = low.multiply(otherLow);
+		MathNumber lh = low.multiply(otherHigh);
+		MathNumber hl = high.multiply(otherLow);
+		MathNumber hh = high.multiply(otherHigh);
 		return cacheAndRound(new IntInterval(min(ll, lh, hl, hh), max(ll, lh, hl, hh)));
 	}
 
@@ -298,24 +388,26 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 			return ZERO;
 
 		if (!other.includes(ZERO))
-			return mul(new IntInterval(MathNumber.ONE.divide(other.high), MathNumber.ONE.divide(other.low)));
-		else if (other.high.isZero())
-			return mul(new IntInterval(MathNumber.MINUS_INFINITY, MathNumber.ONE.divide(other.low)));
-		else if (other.low.isZero())
-			return mul(new IntInterval(MathNumber.ONE.divide(other.high), MathNumber.PLUS_INFINITY));
+			return mul(new IntInterval(MathNumber.ONE.divide(other.getHigh()), MathNumber.ONE.divide(other.getLow())));
+		else if (other.getHigh().isZero())
+			return mul(new IntInterval(MathNumber.MINUS_INFINITY, MathNumber.ONE.divide(other.getLow())));
+		else if (other.getLow().isZero())
+			return mul(new IntInterval(MathNumber.ONE.divide(other.getHigh()), MathNumber.PLUS_INFINITY));
 		else if (ignoreZero)
-			return mul(new IntInterval(MathNumber.ONE.divide(other.low), MathNumber.ONE.divide(other.high)));
+			return mul(new IntInterval(MathNumber.ONE.divide(other.getLow()), MathNumber.ONE.divide(other.getHigh())));
 		else {
-			IntInterval lower = mul(new IntInterval(MathNumber.MINUS_INFINITY, MathNumber.ONE.divide(other.low)));
-			IntInterval higher = mul(new IntInterval(MathNumber.ONE.divide(other.high), MathNumber.PLUS_INFINITY));
+			IntInterval lower = mul(new IntInterval(MathNumber.MINUS_INFINITY, MathNumber.ONE.divide(other.getLow())));
+			IntInterval higher = mul(new IntInterval(MathNumber.ONE.divide(other.getHigh()), MathNumber.PLUS_INFINITY));
 
 			if (lower.includes(higher))
 				return lower;
 			else if (higher.includes(lower))
 				return higher;
-			else
-				return cacheAndRound(new IntInterval(lower.low.compareTo(higher.low) > 0 ? higher.low : lower.low,
-						lower.high.compareTo(higher.high) < 0 ? higher.high : lower.high));
+			else {
+				MathNumber ll = lower.getLow(), lh = lower.getHigh();
+				MathNumber hl = higher.getLow(), hh = higher.getHigh();
+				return cacheAndRound(new IntInterval(ll.compareTo(hl) > 0 ? hl : ll, lh.compareTo(hh) < 0 ? hh : lh));
+			}
 		}
 	}
 
@@ -328,7 +420,9 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 */
 	public boolean includes(
 			IntInterval other) {
-		return low.compareTo(other.low) <= 0 && high.compareTo(other.high) >= 0;
+		if (fast != null && other.fast != null)
+			return fast.includes(other.fast);
+		return getLow().compareTo(other.getLow()) <= 0 && getHigh().compareTo(other.getHigh()) >= 0;
 	}
 
 	/**
@@ -340,13 +434,38 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	 */
 	public boolean intersects(
 			IntInterval other) {
+		if (fast != null && other.fast != null)
+			return fast.intersects(other.fast);
+		MathNumber low = getLow(), high = getHigh();
+		MathNumber otherLow = other.getLow(), otherHigh = other.getHigh();
 		return includes(other) || other.includes(this)
-				|| (high.compareTo(other.low) >= 0 && high.compareTo(other.high) <= 0)
-				|| (other.high.compareTo(low) >= 0 && other.high.compareTo(high) <= 0);
+				|| (high.compareTo(otherLow) >= 0 && high.compareTo(otherHigh) <= 0)
+				|| (otherHigh.compareTo(low) >= 0 && otherHigh.compareTo(high) <= 0);
+	}
+
+	/**
+	 * Yields {@code true} if every element of this interval is strictly lower
+	 * than every element of the given one, that is, if the upper bound of
+	 * {@code this} is lower than the lower bound of {@code other}.
+	 * 
+	 * @param other the other interval
+	 * 
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean precedes(
+			IntInterval other) {
+		if (fast != null && other.fast != null)
+			return fast.precedes(other.fast);
+		return getHigh().compareTo(other.getLow()) < 0;
 	}
 
 	@Override
 	public int hashCode() {
+		// intervals that can be represented with longs are always backed by
+		// a LongInterval, so the two representations are never mixed between
+		// equal intervals
+		if (fast != null)
+			return fast.hashCode();
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((high == null) ? 0 : high.hashCode());
@@ -364,6 +483,8 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 		if (getClass() != obj.getClass())
 			return false;
 		IntInterval other = (IntInterval) obj;
+		if (fast != null || other.fast != null)
+			return fast != null && fast.equals(other.fast);
 		if (high == null) {
 			if (other.high != null)
 				return false;
@@ -379,11 +500,18 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 
 	@Override
 	public String toString() {
+		if (fast != null)
+			return fast.toString();
 		return "[" + low + ", " + high + "]";
 	}
 
 	@Override
 	public Iterator<Long> iterator() {
+		if (fast != null) {
+			if (!fast.isFinite())
+				throw new InfiniteIterationException(this);
+			return new IntIntervalIterator(fast.getLow(), fast.getHigh());
+		}
 		if (!low.isFinite() || !high.isFinite() || low.isNaN() || high.isNaN())
 			throw new InfiniteIterationException(this);
 		try {
@@ -396,9 +524,11 @@ public class IntInterval implements Iterable<Long>, Comparable<IntInterval> {
 	@Override
 	public int compareTo(
 			IntInterval o) {
+		if (fast != null && o.fast != null)
+			return fast.compareTo(o.fast);
 		int cmp;
-		if ((cmp = low.compareTo(o.low)) != 0)
+		if ((cmp = getLow().compareTo(o.getLow())) != 0)
 			return cmp;
-		return high.compareTo(o.high);
+		return getHigh().compareTo(o.getHigh());
 	}
 }
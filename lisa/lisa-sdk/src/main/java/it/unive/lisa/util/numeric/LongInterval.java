@@ -0,0 +1,562 @@
+package it.unive.lisa.util.numeric;
+
+/**
+ * An interval with integer bounds stored as primitive {@code long}s, used as
+ * the fast-path representation of {@link IntInterval}s. Infinite bounds are
+ * tracked through two flags, one for each bound: the lower bound can only be
+ * minus infinity and the upper bound can only be plus infinity. Finite bounds
+ * must lie strictly between {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE},
+ * as the two extremes are reserved to signal overflows.<br>
+ * <br>
+ * Arithmetic operations never allocate {@link MathNumber}s: whenever their
+ * result cannot be represented by an instance of this class, either because a
+ * bound overflows or because the result would contain {@link MathNumber#NaN},
+ * {@code null} is returned instead, and callers are expected to promote the
+ * computation to {@link MathNumber}s (as {@link IntInterval} does
+ * automatically).
+ *
+ * @author <a href="mailto:luca.negrini@unive.it">Luca Negrini</a>
+ */
+public final class LongInterval implements Comparable<LongInterval> {
+
+	/**
+	 * The interval {@code [-Inf, +Inf]}.
+	 */
+	public static final LongInterval INFINITY = new LongInterval(0, true, 0, true);
+
+	/**
+	 * The interval {@code [0, 0]}.
+	 */
+	public static final LongInterval ZERO = new LongInterval(0, false, 0, false);
+
+	/**
+	 * The interval {@code [1, 1]}.
+	 */
+	public static final LongInterval ONE = new LongInterval(1, false, 1, false);
+
+	/**
+	 * The interval {@code [-1, -1]}.
+	 */
+	public static final LongInterval MINUS_ONE = new LongInterval(-1, false, -1, false);
+
+	/**
+	 * The sign of the infinity resulting from a product between bounds, used
+	 * when the product is undefined (i.e., zero times infinity).
+	 */
+	private static final int UNDEFINED = 2;
+
+	private final long low;
+
+	private final long high;
+
+	private final boolean lowInf;
+
+	private final boolean highInf;
+
+	private LongInterval(
+			long low,
+			boolean lowInf,
+			long high,
+			boolean highInf) {
+		this.low = lowInf ? 0 : low;
+		this.lowInf = lowInf;
+		this.high = highInf ? 0 : high;
+		this.highInf = highInf;
+	}
+
+	/**
+	 * Yields the interval {@code [low, high]}. Order of the bounds is adjusted
+	 * (i.e., if {@code low} is greater then {@code high}, then the interval
+	 * {@code [high, low]} is created).
+	 *
+	 * @param low  the lower bound
+	 * @param high the upper bound
+	 *
+	 * @return the interval, or {@code null} if one of the bounds is
+	 *             {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE}
+	 */
+	public static LongInterval of(
+			long low,
+			long high) {
+		if (!representable(low) || !representable(high))
+			return null;
+		return low <= high ? cached(low, false, high, false) : cached(high, false, low, false);
+	}
+
+	/**
+	 * Yields the interval {@code [low, high]}, where infinite bounds are
+	 * expressed through flags.
+	 *
+	 * @param low     the lower bound (ignored if {@code lowInf} is
+	 *                    {@code true})
+	 * @param lowInf  whether or not the lower bound is minus infinity
+	 * @param high    the upper bound (ignored if {@code highInf} is
+	 *                    {@code true})
+	 * @param highInf whether or not the upper bound is plus infinity
+	 *
+	 * @return the interval, or {@code null} if one of the finite bounds is
+	 *             {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE}, or if the
+	 *             bounds are finite and {@code low > high}
+	 */
+	public static LongInterval of(
+			long low,
+			boolean lowInf,
+			long high,
+			boolean highInf) {
+		if ((!lowInf && !representable(low)) || (!highInf && !representable(high)))
+			return null;
+		if (!lowInf && !highInf && low > high)
+			return null;
+		return cached(low, lowInf, high, highInf);
+	}
+
+	/**
+	 * Yields the interval {@code [low, high]} if both bounds can be
+	 * represented with primitive {@code long}s. This happens if {@code low} is
+	 * either minus infinity or an integer with no fractional digits (i.e., with
+	 * scale 0) that is strictly between {@link Long#MIN_VALUE} and
+	 * {@link Long#MAX_VALUE}, and symmetrically for {@code high}. The
+	 * conversion is exact: the {@link MathNumber}s yielded by
+	 * {@link #getLowBound()} and {@link #getHighBound()} are equal to the given
+	 * ones.
+	 *
+	 * @param low  the lower bound
+	 * @param high the upper bound
+	 *
+	 * @return the interval, or {@code null} if one of the bounds cannot be
+	 *             represented or if {@code low > high}
+	 */
+	public static LongInterval of(
+			MathNumber low,
+			MathNumber high) {
+		if (low.isNaN() || high.isNaN() || low.isPlusInfinity() || high.isMinusInfinity())
+			return null;
+		boolean lowInf = low.isMinusInfinity();
+		boolean highInf = high.isPlusInfinity();
+		if ((!lowInf && !fitsLong(low)) || (!highInf && !fitsLong(high)))
+			return null;
+		return of(lowInf ? 0 : low.getNumber().longValue(), lowInf, highInf ? 0 : high.getNumber().longValue(),
+				highInf);
+	}
+
+	private static boolean fitsLong(
+			MathNumber n) {
+		return n.getNumber().scale() == 0 && n.getNumber().unscaledValue().bitLength() < Long.SIZE;
+	}
+
+	private static boolean representable(
+			long n) {
+		return n != Long.MIN_VALUE && n != Long.MAX_VALUE;
+	}
+
+	private static LongInterval cached(
+			long low,
+			boolean lowInf,
+			long high,
+			boolean highInf) {
+		if (lowInf && highInf)
+			return INFINITY;
+		if (!lowInf && !highInf && low == high)
+			if (low == 0)
+				return ZERO;
+			else if (low == 1)
+				return ONE;
+			else if (low == -1)
+				return MINUS_ONE;
+		return new LongInterval(low, lowInf, high, highInf);
+	}
+
+	/**
+	 * Yields the lower bound of this interval. The returned value is
+	 * meaningful only if {@link #lowIsMinusInfinity()} is {@code false}.
+	 *
+	 * @return the lower bound of this interval
+	 */
+	public long getLow() {
+		return low;
+	}
+
+	/**
+	 * Yields the upper bound of this interval. The returned value is
+	 * meaningful only if {@link #highIsPlusInfinity()} is {@code false}.
+	 *
+	 * @return the upper bound of this interval
+	 */
+	public long getHigh() {
+		return high;
+	}
+
+	/**
+	 * Yields the lower bound of this interval as a {@link MathNumber}.
+	 *
+	 * @return the lower bound of this interval
+	 */
+	public MathNumber getLowBound() {
+		return lowInf ? MathNumber.MINUS_INFINITY : toMathNumber(low);
+	}
+
+	/**
+	 * Yields the upper bound of this interval as a {@link MathNumber}.
+	 *
+	 * @return the upper bound of this interval
+	 */
+	public MathNumber getHighBound() {
+		return highInf ? MathNumber.PLUS_INFINITY : toMathNumber(high);
+	}
+
+	private static MathNumber toMathNumber(
+			long n) {
+		if (n == 0)
+			return MathNumber.ZERO;
+		if (n == 1)
+			return MathNumber.ONE;
+		if (n == -1)
+			return MathNumber.MINUS_ONE;
+		return new MathNumber(n);
+	}
+
+	/**
+	 * Yields {@code true} if the lower bound of this interval is set to minus
+	 * infinity.
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean lowIsMinusInfinity() {
+		return lowInf;
+	}
+
+	/**
+	 * Yields {@code true} if the upper bound of this interval is set to plus
+	 * infinity.
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean highIsPlusInfinity() {
+		return highInf;
+	}
+
+	/**
+	 * Yields {@code true} if this is interval is finite, that is, if neither
+	 * bound is set to infinity.
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isFinite() {
+		return !lowInf && !highInf;
+	}
+
+	/**
+	 * Yields {@code true} if this is a singleton interval, that is, if the
+	 * lower bound and the upper bound are the same.
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean isSingleton() {
+		return isFinite() && low == high;
+	}
+
+	/**
+	 * Yields {@code true} if this is a singleton interval containing only
+	 * {@code n}.
+	 *
+	 * @param n the integer to test
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean is(
+			long n) {
+		return isFinite() && low == n && high == n;
+	}
+
+	/**
+	 * Performs the interval addition between {@code this} and {@code other}.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return {@code this + other}, or {@code null} if one of the bounds
+	 *             overflows
+	 */
+	public LongInterval plus(
+			LongInterval other) {
+		boolean li = lowInf || other.lowInf;
+		boolean hi = highInf || other.highInf;
+		long l = 0, h = 0;
+		if (!li) {
+			l = low + other.low;
+			if (((low ^ l) & (other.low ^ l)) < 0 || !representable(l))
+				return null;
+		}
+		if (!hi) {
+			h = high + other.high;
+			if (((high ^ h) & (other.high ^ h)) < 0 || !representable(h))
+				return null;
+		}
+		return cached(l, li, h, hi);
+	}
+
+	/**
+	 * Performs the interval subtraction between {@code this} and {@code other}.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return {@code this - other}, or {@code null} if one of the bounds
+	 *             overflows
+	 */
+	public LongInterval diff(
+			LongInterval other) {
+		boolean li = lowInf || other.highInf;
+		boolean hi = highInf || other.lowInf;
+		long l = 0, h = 0;
+		if (!li) {
+			l = low - other.high;
+			if (((low ^ other.high) & (low ^ l)) < 0 || !representable(l))
+				return null;
+		}
+		if (!hi) {
+			h = high - other.low;
+			if (((high ^ other.low) & (high ^ h)) < 0 || !representable(h))
+				return null;
+		}
+		return cached(l, li, h, hi);
+	}
+
+	/**
+	 * Performs the interval multiplication between {@code this} and
+	 * {@code other}.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return {@code this * other}, or {@code null} if one of the bounds
+	 *             overflows or if the result is not a number (e.g., when
+	 *             multiplying a bound equal to zero with an infinite one)
+	 */
+	public LongInterval mul(
+			LongInterval other) {
+		if (is(0) || other.is(0))
+			return ZERO;
+
+		// each product is encoded as a pair (sign of the infinity, value),
+		// where the sign is 0 for finite values
+		if (!lowInf && low >= 0 && !other.lowInf && other.low >= 0) {
+			// both lower bounds are finite and non-negative
+			long ll = low * other.low;
+			if (overflows(low, other.low, ll))
+				return null;
+			int hhInf = product(highInf ? 1 : 0, high, other.highInf ? 1 : 0, other.high);
+			if (hhInf == UNDEFINED)
+				return null;
+			long hh = 0;
+			if (hhInf == 0) {
+				hh = high * other.high;
+				if (overflows(high, other.high, hh))
+					return null;
+			}
+			return cached(ll, false, hh, hhInf != 0);
+		}
+
+		long minV = 0, maxV = 0;
+		int minI = 0, maxI = 0;
+		for (int i = 0; i < 4; i++) {
+			boolean thisLow = i < 2, otherLow = (i & 1) == 0;
+			int ai = thisLow ? (lowInf ? -1 : 0) : (highInf ? 1 : 0);
+			long av = thisLow ? low : high;
+			int bi = otherLow ? (other.lowInf ? -1 : 0) : (other.highInf ? 1 : 0);
+			long bv = otherLow ? other.low : other.high;
+
+			int inf = product(ai, av, bi, bv);
+			if (inf == UNDEFINED)
+				return null;
+			long v = 0;
+			if (inf == 0) {
+				v = av * bv;
+				if (overflows(av, bv, v))
+					return null;
+			}
+
+			if (i == 0 || compare(inf, v, minI, minV) < 0) {
+				minI = inf;
+				minV = v;
+			}
+			if (i == 0 || compare(inf, v, maxI, maxV) > 0) {
+				maxI = inf;
+				maxV = v;
+			}
+		}
+
+		if (minI > 0 || maxI < 0)
+			// the lower bound cannot be plus infinity and the upper bound
+			// cannot be minus infinity
+			return null;
+		return cached(minV, minI < 0, maxV, maxI > 0);
+	}
+
+	private static int product(
+			int ai,
+			long av,
+			int bi,
+			long bv) {
+		if (ai == 0 && bi == 0)
+			return 0;
+		int as = ai != 0 ? ai : Long.signum(av);
+		int bs = bi != 0 ? bi : Long.signum(bv);
+		if (as == 0 || bs == 0)
+			// 0 times infinity is undefined
+			return UNDEFINED;
+		return as * bs;
+	}
+
+	private static boolean overflows(
+			long a,
+			long b,
+			long product) {
+		// the product fits in a long iff its upper half is the sign
+		// extension of the lower one
+		return Math.multiplyHigh(a, b) != (product >> 63) || !representable(product);
+	}
+
+	private static int compare(
+			int ai,
+			long av,
+			int bi,
+			long bv) {
+		if (ai != bi)
+			return Integer.compare(ai, bi);
+		return ai == 0 ? Long.compare(av, bv) : 0;
+	}
+
+	/**
+	 * Yields the smallest interval containing both {@code this} and
+	 * {@code other}.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return the least upper bound of the two intervals
+	 */
+	public LongInterval lub(
+			LongInterval other) {
+		boolean li = lowInf || other.lowInf;
+		boolean hi = highInf || other.highInf;
+		return cached(li ? 0 : Math.min(low, other.low), li, hi ? 0 : Math.max(high, other.high), hi);
+	}
+
+	/**
+	 * Yields the intersection between {@code this} and {@code other}.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return the greatest lower bound of the two intervals, or {@code null}
+	 *             if they do not intersect
+	 */
+	public LongInterval glb(
+			LongInterval other) {
+		boolean li = lowInf && other.lowInf;
+		boolean hi = highInf && other.highInf;
+		long l = li ? 0 : lowInf ? other.low : other.lowInf ? low : Math.max(low, other.low);
+		long h = hi ? 0 : highInf ? other.high : other.highInf ? high : Math.min(high, other.high);
+		if (!li && !hi && l > h)
+			return null;
+		return cached(l, li, h, hi);
+	}
+
+	/**
+	 * Yields the standard interval widening between {@code this} and
+	 * {@code other}: bounds of {@code other} that are not included in the ones
+	 * of {@code this} are pushed to infinity.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return the widening of the two intervals
+	 */
+	public LongInterval widening(
+			LongInterval other) {
+		boolean li = lowInf || other.lowInf || other.low < low;
+		boolean hi = highInf || other.highInf || other.high > high;
+		return cached(low, li, high, hi);
+	}
+
+	/**
+	 * Yields {@code true} if this interval includes the given one.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return {@code true} if it is included, {@code false} otherwise
+	 */
+	public boolean includes(
+			LongInterval other) {
+		return (lowInf || (!other.lowInf && low <= other.low))
+				&& (highInf || (!other.highInf && high >= other.high));
+	}
+
+	/**
+	 * Yields {@code true} if this interval intersects with the given one.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return {@code true} if those intersects, {@code false} otherwise
+	 */
+	public boolean intersects(
+			LongInterval other) {
+		return (lowInf || other.highInf || low <= other.high)
+				&& (other.lowInf || highInf || other.low <= high);
+	}
+
+	/**
+	 * Yields {@code true} if every element of this interval is strictly lower
+	 * than every element of the given one.
+	 *
+	 * @param other the other interval
+	 *
+	 * @return {@code true} if that condition holds
+	 */
+	public boolean precedes(
+			LongInterval other) {
+		return !highInf && !other.lowInf && high < other.low;
+	}
+
+	/**
+	 * Yields an {@link IntInterval} backed by this interval.
+	 *
+	 * @return the interval
+	 */
+	public IntInterval toIntInterval() {
+		return new IntInterval(this);
+	}
+
+	@Override
+	public int compareTo(
+			LongInterval o) {
+		int cmp;
+		if ((cmp = compare(lowInf ? -1 : 0, low, o.lowInf ? -1 : 0, o.low)) != 0)
+			return cmp;
+		return compare(highInf ? 1 : 0, high, o.highInf ? 1 : 0, o.high);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Long.hashCode(high);
+		result = prime * result + (highInf ? 1231 : 1237);
+		result = prime * result + Long.hashCode(low);
+		result = prime * result + (lowInf ? 1231 : 1237);
+		return result;
+	}
+
+	@Override
+	public boolean equals(
+			Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		LongInterval other = (LongInterval) obj;
+		return low == other.low && lowInf == other.lowInf && high == other.high && highInf == other.highInf;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + (lowInf ? "-Inf" : String.valueOf(low)) + ", " + (highInf ? "+Inf" : String.valueOf(high)) + "]";
+	}
+}
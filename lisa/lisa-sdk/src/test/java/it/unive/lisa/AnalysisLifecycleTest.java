@@ -0,0 +1,27 @@
+package it.unive.lisa;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class AnalysisLifecycleTest {
+
+	@Test
+	public void testCleanupsRunWhenLastAnalysisEnds() {
+		AtomicInteger cleanups = new AtomicInteger();
+		AnalysisLifecycle.registerCleanup(cleanups::incrementAndGet);
+		int running = AnalysisLifecycle.getRunningAnalyses();
+
+		AnalysisLifecycle.analysisStarted();
+		AnalysisLifecycle.analysisStarted();
+		assertEquals(running + 2, AnalysisLifecycle.getRunningAnalyses());
+
+		AnalysisLifecycle.analysisEnded();
+		assertEquals(0, cleanups.get());
+
+		AnalysisLifecycle.analysisEnded();
+		assertEquals(running, AnalysisLifecycle.getRunningAnalyses());
+		assertEquals(running == 0 ? 1 : 0, cleanups.get());
+	}
+}
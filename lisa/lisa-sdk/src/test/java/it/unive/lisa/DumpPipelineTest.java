@@ -0,0 +1,103 @@
+package it.unive.lisa;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import it.unive.lisa.outputs.serializableGraph.SerializableGraph;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+public class DumpPipelineTest {
+
+	private static final Logger LOG = LogManager.getLogger(DumpPipelineTest.class);
+
+	private static final int ELEMENTS = 500;
+
+	private static List<Integer> elements() {
+		List<Integer> elements = new ArrayList<>(ELEMENTS);
+		for (int i = 0; i < ELEMENTS; i++)
+			elements.add(i);
+		return elements;
+	}
+
+	private static Map<String, String> run(
+			int parallelism,
+			List<Integer> elements) {
+		Map<String, String> dumped = new ConcurrentHashMap<>();
+		new DumpPipeline(parallelism).dump(LOG, elements, "Dumping", "elements",
+				// names are shared by pairs of elements
+				i -> "file" + i / 2,
+				i -> new SerializableGraph("graph" + i, null, Collections.emptySortedSet(),
+						Collections.emptySortedSet(), Collections.emptySortedSet()),
+				(
+						i,
+						filename,
+						graph) -> {
+					if (dumped.put(filename, graph.getName()) != null)
+						throw new IllegalStateException(filename + " dumped twice");
+				});
+		return new TreeMap<>(dumped);
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		Map<String, String> expected = run(1, elements());
+		assertEquals(ELEMENTS / 2, expected.size());
+		// the last element with a given name is the one that is dumped
+		assertEquals("graph1", expected.get("file0"));
+		for (int parallelism : new int[] { 2, 3, 8 })
+			assertEquals(expected, run(parallelism, elements()));
+	}
+
+	@Test
+	public void testCleanedNamesAreDeduplicated() {
+		for (int parallelism : new int[] { 1, 4 }) {
+			Map<String, String> dumped = new ConcurrentHashMap<>();
+			new DumpPipeline(parallelism).dump(LOG, List.of(0, 1, 2), "Dumping", "elements",
+					// the first two names yield the same file
+					i -> i == 0 ? "foo::bar(x)" : i == 1 ? "foo.bar(x)" : "foo bar(x)",
+					i -> new SerializableGraph("graph" + i, null, Collections.emptySortedSet(),
+							Collections.emptySortedSet(), Collections.emptySortedSet()),
+					(
+							i,
+							filename,
+							graph) -> {
+						if (dumped.put(filename, graph.getName()) != null)
+							throw new IllegalStateException(filename + " dumped twice");
+					});
+			assertEquals(Map.of("foo.bar(x)", "graph1", "foo_bar(x)", "graph2"), dumped);
+		}
+	}
+
+	@Test
+	public void testFailuresArePropagated() {
+		for (int parallelism : new int[] { 1, 4 }) {
+			IllegalStateException failure = new IllegalStateException("failure");
+			try {
+				new DumpPipeline(parallelism).dump(LOG, elements(), "Dumping", "elements",
+						i -> "file" + i,
+						i -> {
+							if (i == 42)
+								throw failure;
+							return new SerializableGraph();
+						},
+						(
+								i,
+								filename,
+								graph) -> {
+						});
+				fail("The failure has not been propagated with " + parallelism + " workers");
+			} catch (IllegalStateException e) {
+				assertSame(failure, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package it.unive.lisa.analysis.lattices;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.analysis.SemanticException;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.Test;
+
+public class FunctionalLatticeTest {
+
+	private static final GenericSetLattice<Integer> BOTTOM = new GenericSetLattice<Integer>().bottom();
+
+	private static GenericMapLattice<String, GenericSetLattice<Integer>> copy(
+			GenericMapLattice<String, GenericSetLattice<Integer>> map) {
+		// hash maps do not share their structure
+		return new GenericMapLattice<>(map.lattice, new HashMap<>(map.function));
+	}
+
+	@Test
+	public void testSharedBindings() throws SemanticException {
+		Random random = new Random(42);
+		GenericMapLattice<String, GenericSetLattice<Integer>> base = new GenericMapLattice<>(BOTTOM);
+		for (int i = 0; i < 200; i++)
+			base = base.putState("v" + i, new GenericSetLattice<>(i));
+
+		for (int round = 0; round < 50; round++) {
+			GenericMapLattice<String, GenericSetLattice<Integer>> first = base;
+			GenericMapLattice<String, GenericSetLattice<Integer>> second = base;
+			for (int i = 0; i < 5; i++) {
+				first = first.putState("v" + random.nextInt(250), new GenericSetLattice<>(-i));
+				second = second.putState("v" + random.nextInt(250), new GenericSetLattice<>(-i - 10));
+			}
+
+			assertEquals(copy(first).lub(copy(second)), first.lub(second));
+			assertEquals(copy(first).glb(copy(second)), first.glb(second));
+			assertEquals(copy(first).widening(copy(second)), first.widening(second));
+			assertEquals(copy(first).narrowing(copy(second)), first.narrowing(second));
+			assertEquals(copy(first).lessOrEqual(copy(second)), first.lessOrEqual(second));
+			assertEquals(copy(second).lessOrEqual(copy(first)), second.lessOrEqual(first));
+			assertTrue(first.lessOrEqual(first.lub(second)));
+		}
+	}
+
+	@Test
+	public void testSetLatticeContainment() throws SemanticException {
+		GenericSetLattice<Integer> small = new GenericSetLattice<>(1);
+		GenericSetLattice<Integer> big = small.lub(new GenericSetLattice<>(2));
+		assertSame(big, big.lub(small));
+		assertSame(big, small.lub(big));
+		assertSame(small, big.glb(small));
+		assertSame(small, small.glb(big));
+		assertFalse(big.lessOrEqual(small));
+	}
+}
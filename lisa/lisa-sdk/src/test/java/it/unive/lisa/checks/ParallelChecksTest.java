@@ -0,0 +1,159 @@
+package it.unive.lisa.checks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.checks.syntactic.CheckTool;
+import it.unive.lisa.checks.syntactic.SyntacticCheck;
+import it.unive.lisa.checks.warnings.Warning;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.program.Application;
+import it.unive.lisa.program.ClassUnit;
+import it.unive.lisa.program.Global;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.Unit;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.util.file.FileManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ParallelChecksTest {
+
+	private static final int UNITS = 50;
+
+	private static final int CFGS = 20;
+
+	private static Application build() {
+		Program program = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+		for (int i = 0; i < CFGS; i++)
+			program.addCodeMember(new CFG(new CodeMemberDescriptor(
+					new SourceCodeLocation("program", i, 0), program, false, "cfg" + i)));
+		for (int u = 0; u < UNITS; u++) {
+			ClassUnit unit = new ClassUnit(new SourceCodeLocation("unit" + u, 0, 0), program, "unit" + u, false);
+			program.addUnit(unit);
+			unit.addGlobal(new Global(new SourceCodeLocation("unit" + u, 1, 0), unit, "global", false));
+			for (int i = 0; i < CFGS; i++)
+				unit.addCodeMember(new CFG(new CodeMemberDescriptor(
+						new SourceCodeLocation("unit" + u, i + 2, 0), unit, false, "cfg" + i)));
+		}
+		return new Application(program);
+	}
+
+	private static class CountingCheck implements SyntacticCheck {
+
+		private final AtomicInteger cfgs = new AtomicInteger();
+
+		private final AtomicInteger units = new AtomicInteger();
+
+		private final AtomicInteger globals = new AtomicInteger();
+
+		@Override
+		public boolean visitUnit(
+				CheckTool tool,
+				Unit unit) {
+			units.incrementAndGet();
+			tool.warnOn(unit, "unit");
+			return true;
+		}
+
+		@Override
+		public void visitGlobal(
+				CheckTool tool,
+				Unit unit,
+				Global global,
+				boolean instance) {
+			globals.incrementAndGet();
+			tool.warnOn(unit, global, "global");
+		}
+
+		@Override
+		public boolean visit(
+				CheckTool tool,
+				CFG graph) {
+			cfgs.incrementAndGet();
+			tool.warnOn(graph, "cfg");
+			return true;
+		}
+	}
+
+	private static List<Warning> run(
+			Application app,
+			int parallelism,
+			SyntacticCheck... checks) {
+		CheckTool tool = new CheckTool(new LiSAConfiguration(), new FileManager("foo"));
+		List<SyntacticCheck> list = new ArrayList<>();
+		Collections.addAll(list, checks);
+		ChecksExecutor.executeAll(tool, app, list, parallelism);
+		return new ArrayList<>(tool.getWarnings());
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		Application app = build();
+		CountingCheck seq = new CountingCheck();
+		List<Warning> expected = run(app, 1, seq);
+
+		for (int parallelism : new int[] { 2, 4, 16 }) {
+			CountingCheck par = new CountingCheck();
+			List<Warning> actual = run(app, parallelism, par);
+			assertEquals("Different warnings with " + parallelism + " workers", expected, actual);
+			assertEquals(seq.cfgs.get(), par.cfgs.get());
+			assertEquals(seq.units.get(), par.units.get());
+			assertEquals(seq.globals.get(), par.globals.get());
+		}
+
+		assertEquals(CFGS * (UNITS + 1), seq.cfgs.get());
+		assertEquals(UNITS, seq.units.get());
+		assertEquals(UNITS, seq.globals.get());
+	}
+
+	@Test
+	public void testWarningsAreSorted() {
+		List<Warning> warnings = run(build(), 4, new CountingCheck());
+		List<Warning> sorted = new ArrayList<>(warnings);
+		Collections.sort(sorted);
+		assertEquals(sorted, warnings);
+	}
+
+	@Test
+	public void testFailuresArePropagated() {
+		IllegalStateException failure = new IllegalStateException("failure");
+		SyntacticCheck failing = new SyntacticCheck() {
+			@Override
+			public boolean visit(
+					CheckTool tool,
+					CFG graph) {
+				if (graph.getDescriptor().getName().equals("cfg7"))
+					throw failure;
+				return true;
+			}
+		};
+
+		try {
+			run(build(), 4, failing);
+			fail("The failure of the check has not been propagated");
+		} catch (IllegalStateException e) {
+			assertSame(failure, e);
+		}
+	}
+
+	@Test
+	public void testWarningsAreReadOnly() {
+		Collection<Warning> warnings = new CheckTool(new LiSAConfiguration(), new FileManager("foo")).getWarnings();
+		try {
+			warnings.add(new Warning("foo"));
+			fail("Warnings can be modified");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package it.unive.lisa.interprocedural;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.util.datastructures.graph.algorithms.FixpointException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+public class FixpointSchedulerTest {
+
+	private static final Logger LOG = LogManager.getLogger(FixpointSchedulerTest.class);
+
+	private static List<Integer> elements(
+			int size) {
+		List<Integer> elements = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			elements.add(i);
+		return elements;
+	}
+
+	@Test
+	public void testSequential() throws FixpointException, SemanticException {
+		FixpointScheduler scheduler = new FixpointScheduler(1);
+		assertFalse(scheduler.isParallel());
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		List<Integer> results = scheduler.run(LOG, elements(100), "Test", "elements", i -> {
+			threads.add(Thread.currentThread());
+			return i * 2;
+		});
+		assertEquals(100, results.size());
+		for (int i = 0; i < 100; i++)
+			assertEquals(i * 2, results.get(i).intValue());
+		assertEquals(Set.of(Thread.currentThread()), threads);
+	}
+
+	@Test
+	public void testNonPositiveParallelism() {
+		assertEquals(1, new FixpointScheduler(0).getParallelism());
+		assertEquals(1, new FixpointScheduler(-4).getParallelism());
+	}
+
+	@Test
+	public void testParallelOrdering() throws FixpointException, SemanticException {
+		FixpointScheduler scheduler = new FixpointScheduler(4);
+		assertTrue(scheduler.isParallel());
+		List<Integer> results = scheduler.run(LOG, elements(1000), "Test", "elements", i -> {
+			if (i % 7 == 0)
+				Thread.yield();
+			return i * 2;
+		});
+		assertEquals(1000, results.size());
+		for (int i = 0; i < 1000; i++)
+			assertEquals(i * 2, results.get(i).intValue());
+	}
+
+	@Test
+	public void testFirstFailureIsPropagated() throws SemanticException {
+		FixpointScheduler scheduler = new FixpointScheduler(4);
+		try {
+			scheduler.run(LOG, elements(100), "Test", "elements", i -> {
+				if (i == 90)
+					throw new FixpointException("90");
+				if (i == 10) {
+					// give the other failure time to happen first
+					try {
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					throw new FixpointException("10");
+				}
+				return i;
+			});
+			fail("No exception was propagated");
+		} catch (FixpointException e) {
+			assertEquals("10", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testUncheckedFailureIsPropagated() throws FixpointException, SemanticException {
+		FixpointScheduler scheduler = new FixpointScheduler(2);
+		try {
+			scheduler.run(LOG, elements(10), "Test", "elements", i -> {
+				if (i == 5)
+					throw new IllegalStateException("5");
+				return i;
+			});
+			fail("No exception was propagated");
+		} catch (IllegalStateException e) {
+			assertEquals("5", e.getMessage());
+		}
+	}
+}
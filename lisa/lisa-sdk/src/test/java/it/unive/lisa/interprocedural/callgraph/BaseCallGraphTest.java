@@ -1,12 +1,14 @@
 package it.unive.lisa.interprocedural.callgraph;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import it.unive.lisa.TestCallGraph;
 import it.unive.lisa.TestLanguageFeatures;
 import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.analysis.symbols.NameSymbol;
 import it.unive.lisa.analysis.symbols.SymbolAliasing;
 import it.unive.lisa.program.Application;
 import it.unive.lisa.program.Program;
@@ -22,15 +24,22 @@ import it.unive.lisa.program.cfg.statement.VariableRef;
 import it.unive.lisa.program.cfg.statement.call.CFGCall;
 import it.unive.lisa.program.cfg.statement.call.Call;
 import it.unive.lisa.program.cfg.statement.call.Call.CallType;
+import it.unive.lisa.program.cfg.statement.call.OpenCall;
 import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
 import it.unive.lisa.type.BooleanType;
 import it.unive.lisa.type.StringType;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.Untyped;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 
 public class BaseCallGraphTest {
@@ -168,4 +177,156 @@ public class BaseCallGraphTest {
 		assertEquals(1, callees.size());
 		assertSame(cfg2_2, callees.iterator().next());
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testAliasedResolution()
+			throws CallResolutionException, ProgramValidationException, CallGraphConstructionException {
+		CallGraph cg = new TestCallGraph();
+
+		Program p = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+
+		CFG cfg1 = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("fake1", 0, 0), p, false, "cfg1"));
+		UnresolvedCall call = new UnresolvedCall(cfg1, new SourceCodeLocation("fake1", 1, 0), CallType.STATIC,
+				p.getName(), "alias");
+		cfg1.addNode(call, true);
+		Ret ret = new Ret(cfg1, new SourceCodeLocation("fake1", 2, 0));
+		cfg1.addNode(ret, false);
+		cfg1.addEdge(new SequentialEdge(call, ret));
+
+		CFG cfg2 = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("fake2", 0, 0), p, false, "cfg2"));
+		cfg2.addNode(new Ret(cfg2, new SourceCodeLocation("fake2", 1, 0)), true);
+
+		p.addCodeMember(cfg1);
+		p.addCodeMember(cfg2);
+		p.getFeatures().getProgramValidationLogic().validateAndFinalize(p);
+
+		Application app = new Application(p);
+		cg.init(app);
+
+		Call resolved = cg.resolve(call, new Set[0], new SymbolAliasing());
+		assertTrue(resolved instanceof OpenCall);
+
+		UnresolvedCall other = new UnresolvedCall(cfg1, new SourceCodeLocation("fake1", 1, 1), CallType.STATIC,
+				p.getName(), "alias");
+		SymbolAliasing aliasing = new SymbolAliasing().alias(new NameSymbol("cfg2"), new NameSymbol("alias"));
+		resolved = cg.resolve(other, new Set[0], aliasing);
+		assertFalse(resolved instanceof OpenCall);
+		Collection<CodeMember> callees = ((CFGCall) resolved).getTargets();
+		assertEquals(1, callees.size());
+		assertSame(cfg2, callees.iterator().next());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOverriddenNameMatching()
+			throws CallResolutionException, ProgramValidationException, CallGraphConstructionException {
+		Program p = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+
+		CFG cfg1 = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("fake1", 0, 0), p, false, "cfg1"));
+		UnresolvedCall call = new UnresolvedCall(cfg1, new SourceCodeLocation("fake1", 1, 0), CallType.STATIC,
+				p.getName(), "CFG2");
+		cfg1.addNode(call, true);
+		Ret ret = new Ret(cfg1, new SourceCodeLocation("fake1", 2, 0));
+		cfg1.addNode(ret, false);
+		cfg1.addEdge(new SequentialEdge(call, ret));
+
+		CFG cfg2 = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("fake2", 0, 0), p, false, "cfg2"));
+		cfg2.addNode(new Ret(cfg2, new SourceCodeLocation("fake2", 1, 0)), true);
+
+		p.addCodeMember(cfg1);
+		p.addCodeMember(cfg2);
+		p.getFeatures().getProgramValidationLogic().validateAndFinalize(p);
+		Application app = new Application(p);
+
+		CallGraph cg = new TestCallGraph();
+		cg.init(app);
+		assertTrue(cg.resolve(call, new Set[0], new SymbolAliasing()) instanceof OpenCall);
+
+		// names that differ from the one of the call are matched by the
+		// overriding method, and must not be filtered out beforehand
+		cg = new TestCallGraph() {
+			@Override
+			public boolean matchCodeMemberName(
+					UnresolvedCall call,
+					String qualifier,
+					String name) {
+				return name.equalsIgnoreCase(call.getTargetName())
+						&& (call.getQualifier() == null || qualifier.equalsIgnoreCase(call.getQualifier()));
+			}
+		};
+		cg.init(app);
+		Call resolved = cg.resolve(call, new Set[0], new SymbolAliasing());
+		assertFalse(resolved instanceof OpenCall);
+		Collection<CodeMember> callees = ((CFGCall) resolved).getTargets();
+		assertEquals(1, callees.size());
+		assertSame(cfg2, callees.iterator().next());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testConcurrentResolution()
+			throws ProgramValidationException,
+			CallGraphConstructionException,
+			InterruptedException,
+			ExecutionException {
+		Program p = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+
+		CFG caller = new CFG(new CodeMemberDescriptor(new SourceCodeLocation("fake1", 0, 0), p, false, "caller"));
+		List<UnresolvedCall> calls = new ArrayList<>();
+		for (int i = 0; i < 64; i++)
+			calls.add(new UnresolvedCall(caller, new SourceCodeLocation("fake1", i + 1, 0), CallType.STATIC,
+					p.getName(), "callee" + i % 4));
+		caller.addNode(calls.get(0), true);
+		for (int i = 1; i < calls.size(); i++) {
+			caller.addNode(calls.get(i), false);
+			caller.addEdge(new SequentialEdge(calls.get(i - 1), calls.get(i)));
+		}
+		Ret ret = new Ret(caller, new SourceCodeLocation("fake1", 100, 0));
+		caller.addNode(ret, false);
+		caller.addEdge(new SequentialEdge(calls.get(calls.size() - 1), ret));
+		p.addCodeMember(caller);
+
+		List<CFG> callees = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			CFG callee = new CFG(
+					new CodeMemberDescriptor(new SourceCodeLocation("fake2", i, 0), p, false, "callee" + i));
+			callee.addNode(new Ret(callee, new SourceCodeLocation("fake2", i, 1)), true);
+			p.addCodeMember(callee);
+			callees.add(callee);
+		}
+		p.getFeatures().getProgramValidationLogic().validateAndFinalize(p);
+
+		CallGraph cg = new TestCallGraph();
+		cg.init(new Application(p));
+
+		int workers = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		List<Future<List<Call>>> futures = new ArrayList<>();
+		try {
+			for (int w = 0; w < workers; w++)
+				futures.add(pool.submit(() -> {
+					List<Call> resolved = new ArrayList<>();
+					for (UnresolvedCall call : calls)
+						resolved.add(cg.resolve(call, new Set[0], new SymbolAliasing()));
+					return resolved;
+				}));
+
+			// all workers get the same resolutions
+			List<Call> expected = futures.get(0).get();
+			for (Future<List<Call>> future : futures) {
+				List<Call> resolved = future.get();
+				for (int i = 0; i < calls.size(); i++)
+					assertSame(expected.get(i), resolved.get(i));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertEquals(4, cg.getCallees(caller).size());
+		for (int i = 0; i < callees.size(); i++) {
+			assertEquals(Collections.singletonList(caller), cg.getCallers(callees.get(i)));
+			assertEquals(calls.size() / 4, cg.getCallSites(callees.get(i)).size());
+		}
+	}
 }
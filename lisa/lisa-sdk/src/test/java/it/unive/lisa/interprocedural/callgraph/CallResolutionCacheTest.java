@@ -0,0 +1,159 @@
+package it.unive.lisa.interprocedural.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import it.unive.lisa.program.cfg.statement.call.Call;
+import it.unive.lisa.program.cfg.statement.call.Call.CallType;
+import it.unive.lisa.program.cfg.statement.call.OpenCall;
+import it.unive.lisa.program.cfg.statement.call.UnresolvedCall;
+import it.unive.lisa.type.Type;
+import it.unive.lisa.type.Untyped;
+import it.unive.lisa.type.VoidType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class CallResolutionCacheTest {
+
+	private static final int WORKERS = 8;
+
+	private static final SourceCodeLocation LOC = new SourceCodeLocation("fake", 0, 0);
+
+	private static final Program PROGRAM = new Program(new TestLanguageFeatures(), new TestTypeSystem());
+
+	private static final CFG CFG = new CFG(new CodeMemberDescriptor(LOC, PROGRAM, false, "cfg"));
+
+	private static UnresolvedCall call(
+			int line) {
+		return new UnresolvedCall(CFG, new SourceCodeLocation("fake", line, 0), CallType.STATIC, PROGRAM.getName(),
+				"foo", new VariableRef(CFG, new SourceCodeLocation("fake", line, 1), "x"));
+	}
+
+	private static Set<Type>[] types(
+			Type type) {
+		return new Set[] { Collections.singleton(type) };
+	}
+
+	@Test
+	public void testLookup() {
+		CallResolutionCache cache = new CallResolutionCache();
+		UnresolvedCall call = call(1);
+		Call resolved = new OpenCall(call);
+
+		assertNull(cache.get(call, types(Untyped.INSTANCE)));
+		cache.put(call, types(Untyped.INSTANCE), resolved);
+		assertSame(resolved, cache.get(call, types(Untyped.INSTANCE)));
+		assertNull(cache.get(call, types(VoidType.INSTANCE)));
+		// calls are compared by identity
+		assertNull(cache.get(call(1), types(Untyped.INSTANCE)));
+
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+		assertEquals(0.25, cache.getHitRate(), 0);
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		assertNull(cache.get(call, types(Untyped.INSTANCE)));
+	}
+
+	@Test
+	public void testEviction() {
+		CallResolutionCache cache = new CallResolutionCache(2);
+		UnresolvedCall first = call(1);
+		UnresolvedCall second = call(2);
+		UnresolvedCall third = call(3);
+
+		Call resolved = new OpenCall(first);
+		cache.put(first, types(Untyped.INSTANCE), resolved);
+		cache.put(second, types(Untyped.INSTANCE), new OpenCall(second));
+		// accessing the first entry makes the second one the eldest
+		cache.get(first, types(Untyped.INSTANCE));
+		cache.put(third, types(Untyped.INSTANCE), new OpenCall(third));
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertNull(cache.get(second, types(Untyped.INSTANCE)));
+		assertSame(resolved, cache.get(first, types(Untyped.INSTANCE)));
+	}
+
+	@Test
+	public void testConcurrentAccesses()
+			throws InterruptedException,
+			ExecutionException {
+		CallResolutionCache cache = new CallResolutionCache(64);
+		List<UnresolvedCall> calls = new ArrayList<>();
+		for (int i = 0; i < 256; i++)
+			calls.add(call(i));
+
+		ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int w = 0; w < WORKERS; w++)
+				futures.add(pool.submit(() -> {
+					for (int round = 0; round < 10; round++)
+						for (UnresolvedCall call : calls)
+							if (cache.get(call, types(Untyped.INSTANCE)) == null)
+								cache.putIfAbsent(call, types(Untyped.INSTANCE), new OpenCall(call));
+				}));
+			for (Future<?> future : futures)
+				future.get();
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertTrue(cache.size() <= cache.getCapacity());
+		assertTrue(cache.getEvictions() > 0);
+		assertEquals(WORKERS * 10 * calls.size(), cache.getHits() + cache.getMisses());
+	}
+
+	@Test
+	public void testConcurrentInsertions()
+			throws InterruptedException,
+			ExecutionException {
+		CallResolutionCache cache = new CallResolutionCache();
+		UnresolvedCall call = call(1);
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+		try {
+			List<Future<Call>> futures = new ArrayList<>();
+			for (int w = 0; w < WORKERS; w++)
+				futures.add(pool.submit(() -> {
+					Call mine = new OpenCall(call);
+					start.await();
+					Call previous = cache.putIfAbsent(call, types(Untyped.INSTANCE), mine);
+					return previous == null ? mine : previous;
+				}));
+			start.countDown();
+
+			// all threads agree on the resolution that has been stored
+			for (Future<Call> future : futures)
+				assertSame(futures.get(0).get(), future.get());
+			assertSame(futures.get(0).get(), cache.get(call, types(Untyped.INSTANCE)));
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, cache.size());
+	}
+}
@@ -2,12 +2,17 @@ package it.unive.lisa.outputs;
 
 import static org.junit.Assert.assertEquals;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 import it.unive.lisa.TestLanguageFeatures;
 import it.unive.lisa.TestTypeSystem;
 import it.unive.lisa.outputs.serializableGraph.SerializableCFG;
 import it.unive.lisa.outputs.serializableGraph.SerializableEdge;
 import it.unive.lisa.outputs.serializableGraph.SerializableGraph;
 import it.unive.lisa.outputs.serializableGraph.SerializableNode;
+import it.unive.lisa.outputs.serializableGraph.SerializableNodeDescription;
+import it.unive.lisa.outputs.serializableGraph.SerializableString;
 import it.unive.lisa.program.ClassUnit;
 import it.unive.lisa.program.Program;
 import it.unive.lisa.program.SyntheticLocation;
@@ -21,10 +26,14 @@ import it.unive.lisa.program.cfg.statement.Assignment;
 import it.unive.lisa.program.cfg.statement.Return;
 import it.unive.lisa.program.cfg.statement.Statement;
 import it.unive.lisa.program.cfg.statement.VariableRef;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import org.junit.Test;
 
@@ -454,4 +463,38 @@ public class SerializableGraphTest {
 		assertEquals(expected, graph);
 	}
 
+
+	@Test
+	public void testStreamingDumpMatchesDatabind() throws IOException {
+		CFG cfg = new CFG(new CodeMemberDescriptor(SyntheticLocation.INSTANCE, unit, false, "dumped"));
+		VariableRef lvar = new VariableRef(cfg, SyntheticLocation.INSTANCE, "l");
+		VariableRef rvar = new VariableRef(cfg, SyntheticLocation.INSTANCE, "r");
+		Assignment a = new Assignment(cfg, SyntheticLocation.INSTANCE, lvar, rvar);
+		Return ret = new Return(cfg, SyntheticLocation.INSTANCE, lvar);
+		cfg.addNode(a, true);
+		cfg.addNode(ret);
+		cfg.addEdge(new SequentialEdge(a, ret));
+
+		SerializableGraph base = SerializableCFG.fromCFG(cfg);
+		SortedSet<SerializableNodeDescription> descriptions = new TreeSet<>();
+		descriptions.add(new SerializableNodeDescription(0,
+				new SerializableString(new TreeMap<>(Collections.singletonMap("prop", "val")), "\"quoted\"")));
+		SerializableGraph graph = new SerializableGraph(base.getName(), "a description", base.getNodes(),
+				base.getEdges(), descriptions);
+
+		for (boolean indent : new boolean[] { false, true }) {
+			if (indent)
+				System.setProperty("lisa.json.indent", "true");
+			try {
+				ObjectMapper mapper = new ObjectMapper();
+				mapper.configure(SerializationFeature.INDENT_OUTPUT, indent);
+				StringWriter streamed = new StringWriter();
+				graph.dump(streamed);
+				assertEquals(mapper.writeValueAsString(graph), streamed.toString());
+				assertEquals(graph, SerializableGraph.readGraph(new StringReader(streamed.toString())));
+			} finally {
+				System.clearProperty("lisa.json.indent");
+			}
+		}
+	}
 }
@@ -0,0 +1,116 @@
+package it.unive.lisa.program.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import it.unive.lisa.TestLanguageFeatures;
+import it.unive.lisa.TestTypeSystem;
+import it.unive.lisa.program.ClassUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.SourceCodeLocation;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Assignment;
+import it.unive.lisa.program.cfg.statement.NoOp;
+import it.unive.lisa.program.cfg.statement.Return;
+import it.unive.lisa.program.cfg.statement.Statement;
+import it.unive.lisa.program.cfg.statement.VariableRef;
+import java.util.List;
+import org.junit.Test;
+
+public class CFGFingerprintTest {
+
+	private static final SourceCodeLocation FIRST = new SourceCodeLocation("fake", 0, 0);
+
+	private static final ClassUnit UNIT = new ClassUnit(FIRST,
+			new Program(new TestLanguageFeatures(), new TestTypeSystem()), "foo", false);
+
+	private static CFG build(
+			String assigned,
+			boolean noop) {
+		return build(assigned, noop, 0);
+	}
+
+	private static CFG build(
+			String assigned,
+			boolean noop,
+			int line) {
+		SourceCodeLocation first = new SourceCodeLocation("fake", line, 0);
+		SourceCodeLocation second = new SourceCodeLocation("fake", line + 1, 0);
+		SourceCodeLocation third = new SourceCodeLocation("fake", line + 2, 0);
+		CFG cfg = new CFG(new CodeMemberDescriptor(first, UNIT, true, "foo"));
+		Assignment assign = new Assignment(cfg, first,
+				new VariableRef(cfg, first, "x"),
+				new VariableRef(cfg, first, assigned));
+		Return ret = new Return(cfg, third, new VariableRef(cfg, third, "x"));
+		cfg.addNode(assign, true);
+		cfg.addNode(ret);
+		if (noop) {
+			NoOp nop = new NoOp(cfg, second);
+			cfg.addNode(nop);
+			cfg.addEdge(new SequentialEdge(assign, nop));
+			cfg.addEdge(new SequentialEdge(nop, ret));
+		} else
+			cfg.addEdge(new SequentialEdge(assign, ret));
+		return cfg;
+	}
+
+	@Test
+	public void testSameStructure() {
+		assertEquals("Identical cfgs have different fingerprints",
+				CFGFingerprint.compute(build("a", false)),
+				CFGFingerprint.compute(build("a", false)));
+		assertEquals("Identical cfgs have different fingerprints",
+				CFGFingerprint.compute(build("a", true)),
+				CFGFingerprint.compute(build("a", true)));
+	}
+
+	@Test
+	public void testDifferentStatements() {
+		assertNotEquals("Different statements yield the same fingerprint",
+				CFGFingerprint.compute(build("a", false)),
+				CFGFingerprint.compute(build("b", false)));
+		assertNotEquals("Additional statements yield the same fingerprint",
+				CFGFingerprint.compute(build("a", false)),
+				CFGFingerprint.compute(build("a", true)));
+	}
+
+	@Test
+	public void testDifferentEdges() {
+		CFG first = build("a", false);
+		CFG second = build("a", false);
+		String before = CFGFingerprint.compute(second);
+		Return ret = (Return) second.getNodes().stream().filter(Return.class::isInstance).findFirst().get();
+		Assignment assign = (Assignment) second.getEntrypoints().iterator().next();
+		second.addEdge(new SequentialEdge(ret, assign));
+		assertEquals("Identical cfgs have different fingerprints", CFGFingerprint.compute(first), before);
+		assertNotEquals("Additional edges yield the same fingerprint", before, CFGFingerprint.compute(second));
+	}
+
+	@Test
+	public void testMovedCode() {
+		assertEquals("Moving a cfg changes its fingerprint",
+				CFGFingerprint.compute(build("a", true)),
+				CFGFingerprint.compute(build("a", true, 10)));
+	}
+
+	@Test
+	public void testCanonicalStatements() {
+		CFG first = build("a", true);
+		CFG second = build("a", true, 10);
+		List<Statement> left = CFGFingerprint.canonicalStatements(first);
+		List<Statement> right = CFGFingerprint.canonicalStatements(second);
+		// 3 nodes, plus the two variables of the assignment and the one of
+		// the return
+		assertEquals(6, left.size());
+		assertEquals(left.size(), right.size());
+		for (int i = 0; i < left.size(); i++) {
+			assertSame(first, left.get(i).getCFG());
+			assertSame(second, right.get(i).getCFG());
+			assertEquals(left.get(i).getClass(), right.get(i).getClass());
+			assertEquals(left.get(i).toString(), right.get(i).toString());
+			assertEquals(((SourceCodeLocation) left.get(i).getLocation()).getLine() + 10,
+					((SourceCodeLocation) right.get(i).getLocation()).getLine());
+		}
+	}
+}
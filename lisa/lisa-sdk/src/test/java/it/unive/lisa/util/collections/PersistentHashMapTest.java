@@ -0,0 +1,290 @@
+package it.unive.lisa.util.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+
+	private static final int SEED = 42;
+
+	/**
+	 * A key whose hash code is shared with many other keys.
+	 */
+	private static class Colliding {
+
+		private final int id;
+
+		private Colliding(
+				int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return id % 3;
+		}
+
+		@Override
+		public boolean equals(
+				Object obj) {
+			return obj instanceof Colliding && ((Colliding) obj).id == id;
+		}
+
+		@Override
+		public String toString() {
+			return "c" + id;
+		}
+	}
+
+	private static Object key(
+			Random random,
+			int bound) {
+		int id = random.nextInt(bound);
+		switch (id % 3) {
+		case 0:
+			return id;
+		case 1:
+			return new Colliding(id);
+		default:
+			return "k" + id;
+		}
+	}
+
+	private static <K, V> void check(
+			Map<K, V> expected,
+			Map<K, V> actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+		for (Entry<K, V> entry : expected.entrySet()) {
+			assertTrue(actual.containsKey(entry.getKey()));
+			assertEquals(entry.getValue(), actual.get(entry.getKey()));
+		}
+		int count = 0;
+		for (Entry<K, V> entry : actual.entrySet()) {
+			assertEquals(expected.get(entry.getKey()), entry.getValue());
+			count++;
+		}
+		assertEquals(expected.size(), count);
+	}
+
+	@Test
+	public void testRandomUpdates() {
+		Random random = new Random(SEED);
+		Map<Object, Integer> expected = new HashMap<>();
+		Map<Object, Integer> actual = new PersistentHashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			Object key = key(random, 2_000);
+			if (random.nextInt(3) == 0)
+				assertEquals(expected.remove(key), actual.remove(key));
+			else
+				assertEquals(expected.put(key, i), actual.put(key, i));
+			if (i % 1_000 == 0)
+				check(expected, actual);
+		}
+		check(expected, actual);
+
+		for (Object key : new ArrayList<>(expected.keySet()))
+			assertEquals(expected.remove(key), actual.remove(key));
+		assertTrue(actual.isEmpty());
+		check(expected, actual);
+	}
+
+	@Test
+	public void testNullKeysAndValues() {
+		Map<String, String> map = new PersistentHashMap<>();
+		map.put(null, "a");
+		map.put("b", null);
+		assertEquals("a", map.get(null));
+		assertNull(map.get("b"));
+		assertTrue(map.containsKey("b"));
+		assertFalse(map.containsKey("c"));
+		assertEquals("d", map.getOrDefault("c", "d"));
+		assertNull(map.getOrDefault("b", "d"));
+		assertEquals("a", map.remove(null));
+		assertFalse(map.containsKey(null));
+	}
+
+	@Test
+	public void testCopiesAreIndependent() {
+		Random random = new Random(SEED);
+		Map<Object, Integer> expected = new HashMap<>();
+		PersistentHashMap<Object, Integer> actual = new PersistentHashMap<>();
+		for (int i = 0; i < 1_000; i++) {
+			Object key = key(random, 1_000);
+			expected.put(key, i);
+			actual.put(key, i);
+		}
+
+		List<Map<Object, Integer>> expectedCopies = new ArrayList<>();
+		List<PersistentHashMap<Object, Integer>> actualCopies = new ArrayList<>();
+		for (int c = 0; c < 10; c++) {
+			int from = random.nextInt(c + 1) - 1;
+			PersistentHashMap<Object, Integer> source = from < 0 ? actual : actualCopies.get(from);
+			Map<Object, Integer> expectedSource = from < 0 ? expected : expectedCopies.get(from);
+			PersistentHashMap<Object, Integer> copy = new PersistentHashMap<>(source);
+			Map<Object, Integer> expectedCopy = new HashMap<>(expectedSource);
+			assertEquals(expectedSource, copy);
+			for (int i = 0; i < 200; i++) {
+				Object key = key(random, 1_000);
+				if (random.nextBoolean()) {
+					copy.put(key, -i);
+					expectedCopy.put(key, -i);
+				} else {
+					copy.remove(key);
+					expectedCopy.remove(key);
+				}
+				// the source is modified too, to check that the shared nodes
+				// are not changed in place
+				key = key(random, 1_000);
+				source.put(key, i);
+				expectedSource.put(key, i);
+			}
+			expectedCopies.add(expectedCopy);
+			actualCopies.add(copy);
+		}
+
+		check(expected, actual);
+		for (int c = 0; c < actualCopies.size(); c++)
+			check(expectedCopies.get(c), actualCopies.get(c));
+	}
+
+	@Test
+	public void testConcurrentCopies()
+			throws Exception {
+		Random random = new Random(SEED);
+		Map<Object, Integer> expected = new HashMap<>();
+		PersistentHashMap<Object, Integer> actual = new PersistentHashMap<>();
+		for (int i = 0; i < 1_000; i++) {
+			Object key = key(random, 1_000);
+			expected.put(key, i);
+			actual.put(key, i);
+		}
+
+		// copying only reads the source, so it can happen in parallel
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<PersistentHashMap<Object, Integer>>> futures = new ArrayList<>();
+		try {
+			for (int c = 0; c < 16; c++)
+				futures.add(executor.submit(() -> new PersistentHashMap<>(actual)));
+			List<PersistentHashMap<Object, Integer>> copies = new ArrayList<>();
+			for (Future<PersistentHashMap<Object, Integer>> future : futures)
+				copies.add(future.get());
+
+			Map<Object, Integer> original = new HashMap<>(expected);
+			for (int i = 0; i < 200; i++) {
+				Object key = key(random, 1_000);
+				actual.put(key, -i);
+				expected.put(key, -i);
+			}
+
+			check(expected, actual);
+			for (PersistentHashMap<Object, Integer> copy : copies)
+				check(original, copy);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testIteratorUpdates() {
+		Random random = new Random(SEED);
+		Map<Object, Integer> expected = new HashMap<>();
+		PersistentHashMap<Object, Integer> actual = new PersistentHashMap<>();
+		for (int i = 0; i < 1_000; i++) {
+			Object key = key(random, 1_000);
+			expected.put(key, i);
+			actual.put(key, i);
+		}
+		PersistentHashMap<Object, Integer> copy = new PersistentHashMap<>(actual);
+		Map<Object, Integer> expectedCopy = new HashMap<>(expected);
+
+		for (Iterator<Entry<Object, Integer>> it = actual.entrySet().iterator(); it.hasNext();) {
+			Entry<Object, Integer> entry = it.next();
+			if (entry.getValue() % 2 == 0) {
+				it.remove();
+				expected.remove(entry.getKey());
+			} else {
+				entry.setValue(entry.getValue() * 10);
+				expected.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		check(expected, actual);
+		check(expectedCopy, copy);
+	}
+
+	@Test
+	public void testDiff() {
+		Random random = new Random(SEED);
+		PersistentHashMap<Object, Integer> first = new PersistentHashMap<>();
+		for (int i = 0; i < 1_000; i++)
+			first.put(key(random, 1_000), i);
+		PersistentHashMap<Object, Integer> second = new PersistentHashMap<>(first);
+
+		Set<Object> onlyFirst = new HashSet<>();
+		Set<Object> onlySecond = new HashSet<>();
+		first.diff(second, onlyFirst, onlySecond);
+		assertTrue(onlyFirst.isEmpty());
+		assertTrue(onlySecond.isEmpty());
+
+		for (int i = 0; i < 100; i++) {
+			Object key = key(random, 2_000);
+			if (random.nextBoolean())
+				second.put(key, -i);
+			else
+				second.remove(key);
+		}
+
+		Set<Object> expectedFirst = new HashSet<>();
+		for (Entry<Object, Integer> entry : first.entrySet())
+			if (!second.containsKey(entry.getKey()) || second.get(entry.getKey()) != entry.getValue())
+				expectedFirst.add(entry.getKey());
+		Set<Object> expectedSecond = new HashSet<>();
+		for (Entry<Object, Integer> entry : second.entrySet())
+			if (!first.containsKey(entry.getKey()) || first.get(entry.getKey()) != entry.getValue())
+				expectedSecond.add(entry.getKey());
+
+		first.diff(second, onlyFirst, onlySecond);
+		assertFalse(onlyFirst.isEmpty() && onlySecond.isEmpty());
+		assertEquals(expectedFirst, onlyFirst);
+		assertEquals(expectedSecond, onlySecond);
+		assertFalse(first.equals(second));
+	}
+
+	@Test
+	public void testEqualsWithDifferentInstances() {
+		PersistentHashMap<String, Integer> first = new PersistentHashMap<>();
+		for (int i = 0; i < 100; i++)
+			first.put("k" + i, i);
+		first.put("big", 5_000);
+		PersistentHashMap<String, Integer> second = new PersistentHashMap<>(first);
+		// boxed values outside of the integer cache are different instances
+		second.put("big", Integer.valueOf(5_000));
+
+		Set<String> onlyFirst = new HashSet<>();
+		first.diff(second, onlyFirst, null);
+		assertEquals(Set.of("big"), onlyFirst);
+		assertEquals(first, second);
+
+		second.put("big", 5_001);
+		assertFalse(first.equals(second));
+	}
+}
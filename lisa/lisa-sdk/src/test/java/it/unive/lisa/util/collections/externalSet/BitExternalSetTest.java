@@ -403,4 +403,56 @@ public class BitExternalSetTest {
 		tmp.removeAll(set2);
 		verify(Set::equals, Pair.of(tmp, eset1.difference(eset2)));
 	}
+
+	@Test
+	public void testHashCodeConsistentWithEquals() {
+		ExternalSetCache<String> cache1 = new ExternalSetCache<>();
+		ExternalSetCache<String> cache2 = new ExternalSetCache<>();
+		// different insertion orders lead to different bits
+		cache2.mkSingletonSet("z");
+		ExternalSet<String> eset1 = cache1.mkEmptySet();
+		ExternalSet<String> eset2 = cache2.mkEmptySet();
+		Set<String> set = new HashSet<>();
+		populateSingle(new Set[] { set, eset1, eset2 });
+
+		verify(Set::equals, Pair.of(set, eset1), Pair.of(eset1, set), Pair.of(eset1, eset2));
+		verify((
+				s1,
+				s2) -> s1.hashCode() == s2.hashCode(), Pair.of(set, eset1), Pair.of(eset1, eset2));
+	}
+
+	@Test
+	public void testHashCodeFollowsModifications() {
+		ExternalSetCache<String> cache = new ExternalSetCache<>();
+		ExternalSet<String> eset = cache.mkEmptySet();
+		Set<String> set = new HashSet<>();
+		populateSingle(new Set[] { set, eset });
+		// the hash code is memoized, and must be updated by each modification
+		assertEquals(set.hashCode(), eset.hashCode());
+
+		removeSingle(new Set[] { set, eset });
+		assertEquals(set.hashCode(), eset.hashCode());
+
+		set.add("added");
+		eset.add("added");
+		assertEquals(set.hashCode(), eset.hashCode());
+
+		ExternalSet<String> copy = eset.copy();
+		copy.addAll(cache.mkSingletonSet("other"));
+		set.add("other");
+		assertEquals(set.hashCode(), copy.hashCode());
+		assertTrue(!copy.equals(eset));
+
+		// results of set operations start from copies of their operands
+		Set<String> expected = new HashSet<>(set);
+		expected.add("third");
+		assertEquals(expected.hashCode(), copy.union(cache.mkSingletonSet("third")).hashCode());
+		expected = new HashSet<>(set);
+		expected.remove("other");
+		assertEquals(expected.hashCode(), copy.difference(cache.mkSingletonSet("other")).hashCode());
+		assertEquals("other".hashCode(), copy.intersection(cache.mkSingletonSet("other")).hashCode());
+
+		eset.clear();
+		assertEquals(0, eset.hashCode());
+	}
 }
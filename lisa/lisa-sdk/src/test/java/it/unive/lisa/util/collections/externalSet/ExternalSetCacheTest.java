@@ -0,0 +1,89 @@
+package it.unive.lisa.util.collections.externalSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ExternalSetCacheTest {
+
+	private static final int ELEMENTS = 10000;
+
+	private static final int THREADS = 8;
+
+	@Test
+	public void testSequentialInterning() {
+		ExternalSetCache<String> cache = new ExternalSetCache<>();
+		for (int i = 0; i < ELEMENTS; i++)
+			assertEquals(i, cache.indexOfOrAdd("e" + i));
+		for (int i = 0; i < ELEMENTS; i++) {
+			assertEquals(i, cache.indexOfOrAdd("e" + i));
+			assertEquals(i, cache.indexOf("e" + i));
+			assertEquals("e" + i, cache.get(i));
+		}
+
+		assertEquals(-1, cache.indexOf(null));
+		assertEquals(ELEMENTS, cache.indexOfOrAdd(null));
+		assertEquals(ELEMENTS, cache.indexOf(null));
+		assertNull(cache.get(ELEMENTS));
+		assertEquals(ELEMENTS + 1, cache.size());
+		assertEquals(ELEMENTS + 1, cache.getAllElements().size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(-1, cache.indexOf("e0"));
+		assertEquals(0, cache.indexOfOrAdd("e1"));
+	}
+
+	@Test
+	public void testConcurrentInterning()
+			throws Exception {
+		ExternalSetCache<String> cache = new ExternalSetCache<>();
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<ExternalSet<String>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int offset = t;
+				futures.add(pool.submit(() -> {
+					start.await();
+					// all threads add the same elements, in different orders
+					ExternalSet<String> set = cache.mkEmptySet();
+					for (int i = 0; i < ELEMENTS; i++)
+						set.add("e" + ((i + offset * 1000) % ELEMENTS));
+					return set;
+				}));
+			}
+			start.countDown();
+
+			List<ExternalSet<String>> sets = new ArrayList<>();
+			for (Future<ExternalSet<String>> future : futures)
+				sets.add(future.get());
+
+			assertEquals(ELEMENTS, cache.size());
+			Set<Integer> indexes = new HashSet<>();
+			for (int i = 0; i < ELEMENTS; i++) {
+				int index = cache.indexOf("e" + i);
+				assertTrue(indexes.add(index));
+				assertEquals("e" + i, cache.get(index));
+			}
+
+			for (ExternalSet<String> set : sets) {
+				assertEquals(ELEMENTS, set.size());
+				assertEquals(sets.get(0), set);
+			}
+			assertEquals(ELEMENTS, cache.mkUniversalSet().size());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
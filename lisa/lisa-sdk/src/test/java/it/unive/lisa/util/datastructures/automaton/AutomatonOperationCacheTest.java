@@ -0,0 +1,149 @@
+package it.unive.lisa.util.datastructures.automaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class AutomatonOperationCacheTest {
+
+	@Test
+	public void testLookup() {
+		AutomatonOperationCache cache = new AutomatonOperationCache();
+		TestAutomaton ab = new TestAutomaton("ab");
+		TestAutomaton cd = new TestAutomaton("cd");
+
+		TestAutomaton union = cache.union(ab, cd);
+		assertEquals(ab.union(cd), union);
+		assertSame(union, cache.union(ab, cd));
+		// operands are compared by equality
+		assertSame(union, cache.union(new TestAutomaton("ab"), new TestAutomaton("cd")));
+		// the order of the operands matters
+		assertNotSame(union, cache.union(cd, ab));
+
+		assertTrue(cache.isContained(ab, union));
+		assertFalse(cache.isContained(union, ab));
+		assertTrue(cache.isContained(ab, union));
+
+		assertEquals(3, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(4, cache.size());
+		assertEquals(3.0 / 7, cache.getHitRate(), 0);
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+
+	@Test
+	public void testParametersAreKeys() {
+		AutomatonOperationCache cache = new AutomatonOperationCache();
+		TestAutomaton a = new TestAutomaton("aaaa").union(new TestAutomaton("ab"));
+		TestAutomaton first = cache.widening(a, 1);
+		assertEquals(a.widening(1), first);
+		assertEquals(a.widening(3), cache.widening(a, 3));
+		assertSame(first, cache.widening(a, 1));
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	public void testEviction() {
+		AutomatonOperationCache cache = new AutomatonOperationCache(2);
+		TestAutomaton first = new TestAutomaton("a");
+		TestAutomaton second = new TestAutomaton("b");
+		TestAutomaton third = new TestAutomaton("c");
+
+		TestAutomaton minimal = cache.minimize(first);
+		cache.minimize(second);
+		// accessing the first entry makes the second one the eldest
+		cache.minimize(first);
+		cache.minimize(third);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertSame(minimal, cache.minimize(first));
+		cache.minimize(second);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+	}
+
+	@Test
+	public void testResultsDoNotRetainOperands()
+			throws InterruptedException {
+		AutomatonOperationCache cache = new AutomatonOperationCache();
+		TestAutomaton first = new TestAutomaton("ab");
+		TestAutomaton second = new TestAutomaton("cd");
+		WeakReference<TestAutomaton> union = new WeakReference<>(cache.union(first, second));
+		assertFalse(cache.isContained(union.get(), first));
+		assertEquals(2, cache.size());
+
+		// the union is now referenced only by the cache, as the result of an
+		// entry and as the operand of another one: both entries are removed
+		// once the garbage collector has enqueued its references
+		for (int i = 0; i < 100 && cache.size() > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(union.get());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testHashFollowsModifications() {
+		TestAutomaton a = new TestAutomaton("ab");
+		TestAutomaton b = new TestAutomaton("ab");
+		assertEquals(a.hashCode(), b.hashCode());
+
+		State last = a.getFinalStates().first();
+		State added = new State(a.getStates().size(), false, true);
+		a.addState(added);
+		a.addTransition(last, added, new TestSymbol("c"));
+		b.addState(added);
+		b.addTransition(last, added, new TestSymbol("c"));
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertNotEquals(new TestAutomaton("ab").hashCode(), a.hashCode());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		AutomatonOperationCache cache = new AutomatonOperationCache(16);
+		List<TestAutomaton> automata = new ArrayList<>();
+		for (int i = 0; i < 32; i++)
+			automata.add(new TestAutomaton("s" + i));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 4; t++)
+				results.add(executor.submit(() -> {
+					boolean ok = true;
+					for (int i = 0; i < 200; i++) {
+						TestAutomaton first = automata.get(i % automata.size());
+						TestAutomaton second = automata.get((i * 7) % automata.size());
+						ok &= cache.isContained(first, cache.union(first, second));
+					}
+					return ok;
+				}));
+			for (Future<Boolean> result : results)
+				assertTrue(result.get());
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1_600, cache.getHits() + cache.getMisses());
+		assertTrue(cache.size() <= 16);
+	}
+}
@@ -0,0 +1,98 @@
+package it.unive.lisa.util.datastructures.automaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class IndexedTransitionsTest {
+
+	private static final int SEED = 42;
+
+	private static void check(
+			SortedSet<Transition<TestSymbol>> expected,
+			IndexedTransitions<TestSymbol> actual,
+			State[] states) {
+		assertEquals(expected, actual);
+		for (State s : states) {
+			assertEquals(expected.stream().filter(t -> t.getSource().equals(s)).collect(Collectors.toSet()),
+					actual.outgoing(s));
+			assertEquals(expected.stream().filter(t -> t.getDestination().equals(s)).collect(Collectors.toSet()),
+					actual.ingoing(s));
+		}
+	}
+
+	@Test
+	public void testRandomUpdates() {
+		Random random = new Random(SEED);
+		State[] states = new State[20];
+		for (int i = 0; i < states.length; i++)
+			states[i] = new State(i, i == 0, i == states.length - 1);
+
+		SortedSet<Transition<TestSymbol>> expected = new TreeSet<>();
+		IndexedTransitions<TestSymbol> actual = new IndexedTransitions<>();
+		for (int i = 0; i < 2_000; i++) {
+			Transition<TestSymbol> t = new Transition<>(
+					states[random.nextInt(states.length)],
+					states[random.nextInt(states.length)],
+					new TestSymbol(String.valueOf((char) ('a' + random.nextInt(3)))));
+			if (random.nextInt(3) == 0)
+				assertEquals(expected.remove(t), actual.remove(t));
+			else
+				assertEquals(expected.add(t), actual.add(t));
+			if (i % 100 == 0)
+				check(expected, actual, states);
+		}
+		check(expected, actual, states);
+
+		for (Iterator<Transition<TestSymbol>> it = actual.iterator(); it.hasNext();)
+			if (it.next().getSource().equals(states[0]))
+				it.remove();
+		expected.removeIf(t -> t.getSource().equals(states[0]));
+		check(expected, actual, states);
+		assertTrue(actual.outgoing(states[0]).isEmpty());
+
+		actual.clear();
+		expected.clear();
+		check(expected, actual, states);
+	}
+
+	@Test
+	public void testAutomatonQueries() {
+		State q0 = new State(0, true, false);
+		State q1 = new State(1, false, false);
+		State q2 = new State(2, false, true);
+		SortedSet<State> states = new TreeSet<>();
+		states.add(q0);
+		states.add(q1);
+		states.add(q2);
+		SortedSet<Transition<TestSymbol>> delta = new IndexedTransitions<>();
+		delta.add(new Transition<>(q0, q1, new TestSymbol("a")));
+		delta.add(new Transition<>(q0, q2, new TestSymbol("b")));
+		delta.add(new Transition<>(q1, q2, new TestSymbol("c")));
+		TestAutomaton a = new TestAutomaton(states, delta);
+
+		assertEquals(2, a.getOutgoingTransitionsFrom(q0).size());
+		assertEquals(2, a.getIngoingTransitionsFrom(q2).size());
+		assertEquals(1, a.getAllTransitionsConnecting(q0, q2).size());
+
+		// the automaton shares the set of transitions
+		delta.add(new Transition<>(q2, q0, new TestSymbol("d")));
+		assertEquals(1, a.getOutgoingTransitionsFrom(q2).size());
+		assertEquals(1, a.getIngoingTransitionsFrom(q0).size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testResultsAreReadOnly() {
+		State q0 = new State(0, true, false);
+		State q1 = new State(1, false, true);
+		IndexedTransitions<TestSymbol> delta = new IndexedTransitions<>();
+		delta.add(new Transition<>(q0, q1, new TestSymbol("a")));
+		delta.outgoing(q0).add(new Transition<>(q0, q0, new TestSymbol("b")));
+	}
+}
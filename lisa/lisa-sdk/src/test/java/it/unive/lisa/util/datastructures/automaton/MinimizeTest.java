@@ -2,8 +2,10 @@ package it.unive.lisa.util.datastructures.automaton;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
+import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import org.junit.Test;
@@ -185,4 +187,52 @@ public class MinimizeTest {
 
 		assertSame(a, a.minimize());
 	}
+
+	static TestAutomaton randomDeterministic(
+			Random random,
+			int size,
+			int symbols) {
+		State[] st = new State[size];
+		SortedSet<State> states = new TreeSet<>();
+		for (int i = 0; i < size; i++) {
+			st[i] = new State(i, i == 0, random.nextInt(3) == 0);
+			states.add(st[i]);
+		}
+
+		SortedSet<Transition<TestSymbol>> delta = new TreeSet<>();
+		for (int i = 0; i < size; i++)
+			for (int c = 0; c < symbols; c++)
+				if (random.nextInt(4) != 0)
+					delta.add(new Transition<>(st[i], st[random.nextInt(size)],
+							new TestSymbol(String.valueOf((char) ('a' + c)))));
+		return new TestAutomaton(states, delta);
+	}
+
+	@Test
+	public void testHopcroftMatchesBrzozowski() {
+		Random random = new Random(42);
+		for (int i = 0; i < 500; i++) {
+			TestAutomaton a = randomDeterministic(random, 1 + random.nextInt(12), 1 + random.nextInt(3));
+			TestAutomaton minimal = a.minimize();
+
+			// on automata without unreachable states, Brzozowski's algorithm
+			// yields the same states, numbered in the same way
+			a = a.removeUnreachableStates();
+			TestAutomaton brzozowski = a.reverse()
+					.determinize()
+					.removeUnreachableStates()
+					.reverse()
+					.determinize()
+					.removeUnreachableStates();
+			if (brzozowski.getFinalStates().isEmpty())
+				assertTrue(a.toString(), a.minimize().acceptsEmptyLanguage());
+			else {
+				assertEquals(a.toString(), brzozowski, a.minimize());
+				// unreachable states do not affect the result, but for the
+				// numbering of its states
+				assertEquals(a.toString(), brzozowski.getStates().size(), minimal.getStates().size());
+				assertEquals(a.toString(), brzozowski.getTransitions().size(), minimal.getTransitions().size());
+			}
+		}
+	}
 }
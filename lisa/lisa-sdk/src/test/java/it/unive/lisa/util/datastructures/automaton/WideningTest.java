@@ -4,6 +4,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import org.junit.Test;
@@ -41,4 +44,42 @@ public class WideningTest {
 		assertEquals(exp, a.widening(2));
 		assertTrue(a.isEqualTo(a.widening(5)));
 	}
+
+	private static TestAutomaton naiveWidening(
+			TestAutomaton a,
+			int n) {
+		Map<SortedSet<TestSymbol>, SortedSet<State>> powerStates = new HashMap<>();
+		for (State s : a.getStates())
+			powerStates.computeIfAbsent(a.getNextSymbols(s, n), k -> new TreeSet<>()).add(s);
+
+		int i = 0;
+		SortedSet<State> newStates = new TreeSet<>();
+		Map<State, State> mapping = new HashMap<>();
+		for (SortedSet<State> ps : powerStates.values()) {
+			State ns = new State(i++, ps.stream().anyMatch(State::isInitial), ps.stream().anyMatch(State::isFinal));
+			newStates.add(ns);
+			for (State s : ps)
+				mapping.put(s, ns);
+		}
+
+		SortedSet<Transition<TestSymbol>> newTransitions = new TreeSet<>();
+		for (Transition<TestSymbol> t : a.getTransitions())
+			newTransitions.add(new Transition<>(
+					mapping.get(t.getSource()),
+					mapping.get(t.getDestination()),
+					t.getSymbol()));
+		return new TestAutomaton(newStates, newTransitions).minimize();
+	}
+
+	@Test
+	public void testPartitionRefinement() {
+		Random random = new Random(42);
+		for (int i = 0; i < 300; i++) {
+			TestAutomaton a = MinimizeTest.randomDeterministic(random, 1 + random.nextInt(10), 1 + random.nextInt(3));
+			int n = random.nextInt(5);
+			TestAutomaton expected = naiveWidening(a, n);
+			TestAutomaton actual = a.widening(n);
+			assertTrue(a.toString(), expected.isContained(actual) && actual.isContained(expected));
+		}
+	}
 }
@@ -7,10 +7,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import it.unive.lisa.program.ProgramValidationException;
+import it.unive.lisa.util.datastructures.graph.AdjacencyMatrix.NodeEdges;
 import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
 import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -603,4 +606,133 @@ public class AdjacencyMatrixTest {
 
 		verify(adj, nodes, edges, matrix, entries, exits, "after removing " + removed.toString());
 	}
+
+	@Test
+	public void testCompactStructure() {
+		Collection<TestNode> nodes = new HashSet<>();
+		Collection<TestEdge> edges = new HashSet<>();
+		Collection<TestNode> entries = new HashSet<>();
+		Collection<TestNode> exits = new HashSet<>();
+		AdjacencyMatrix<TestGraph, TestNode, TestEdge> matrix = new AdjacencyMatrix<>();
+		Map<TestNode, Collection<TestNode>> adj = populate(matrix, nodes, edges, entries, exits);
+		AdjacencyMatrix<TestGraph, TestNode, TestEdge> original = new AdjacencyMatrix<>(matrix);
+
+		matrix.compact();
+		assertTrue("matrix has not been compacted", matrix.isCompact());
+		assertEquals("compacting changed the matrix", original, matrix);
+		assertEquals("compacting changed the matrix", original.hashCode(), matrix.hashCode());
+		verify(adj, nodes, edges, matrix, entries, exits, "after compacting");
+		assertTrue("querying expanded the matrix", matrix.isCompact());
+
+		// adding existing nodes and edges must not expand the matrix
+		for (TestEdge edge : edges)
+			matrix.addEdge(new TestEdge(edge.getSource(), edge.getDestination()));
+		assertTrue("adding existing edges expanded the matrix", matrix.isCompact());
+	}
+
+	@Test
+	public void testCompactQueries()
+			throws ProgramValidationException {
+		Collection<TestNode> nodes = new HashSet<>();
+		Collection<TestEdge> edges = new HashSet<>();
+		Collection<TestNode> entries = new HashSet<>();
+		Collection<TestNode> exits = new HashSet<>();
+		AdjacencyMatrix<TestGraph, TestNode, TestEdge> matrix = new AdjacencyMatrix<>();
+		populate(matrix, nodes, edges, entries, exits);
+		AdjacencyMatrix<TestGraph, TestNode, TestEdge> original = new AdjacencyMatrix<>(matrix);
+		AdjacencyMatrix<TestGraph, TestNode, TestEdge> other = new AdjacencyMatrix<>(matrix);
+		matrix.compact();
+		other.compact();
+
+		assertEquals("compact matrices with the same structure differ", other, matrix);
+		assertEquals("compact matrices with the same structure differ", other.hashCode(), matrix.hashCode());
+		assertEquals("compacting changed the matrix", matrix, original);
+
+		Map<TestNode, NodeEdges<TestGraph, TestNode, TestEdge>> iterated = new HashMap<>();
+		for (Entry<TestNode, NodeEdges<TestGraph, TestNode, TestEdge>> entry : matrix) {
+			assertEquals("wrong edges for " + entry.getKey(),
+					new HashSet<>(original.getIngoingEdges(entry.getKey())), entry.getValue().getIngoing());
+			assertEquals("wrong edges for " + entry.getKey(),
+					new HashSet<>(original.getOutgoingEdges(entry.getKey())), entry.getValue().getOutgoing());
+			iterated.put(entry.getKey(), entry.getValue());
+		}
+		assertTrue(msg("nodes", "while iterating", nodes, iterated.keySet()),
+				isEqualCollection(nodes, iterated.keySet()));
+
+		boolean failed = false;
+		try {
+			iterated.values().iterator().next().getOutgoing().add(edges.iterator().next());
+		} catch (UnsupportedOperationException e) {
+			failed = true;
+		}
+		assertTrue("The edges of a compact matrix can be modified", failed);
+
+		matrix.validate(entries);
+		failed = false;
+		try {
+			matrix.validate(Collections.emptySet());
+		} catch (ProgramValidationException e) {
+			failed = true;
+		}
+		assertTrue("Validation of a matrix with unreachable nodes succeeded", failed);
+		assertTrue("querying expanded the matrix", matrix.isCompact());
+
+		TestNode added = new TestNode(-2);
+		other = new AdjacencyMatrix<>(original);
+		other.addNode(added);
+		other.addEdge(new TestEdge(added, nodes.iterator().next()));
+		assertFalse("matrices with different nodes are equal", matrix.equals(other));
+		other.compact();
+		assertFalse("matrices with different nodes are equal", matrix.equals(other));
+
+		other = new AdjacencyMatrix<>(original);
+		TestEdge removed = edges.iterator().next();
+		other.removeEdge(removed);
+		other.compact();
+		assertFalse("matrices with different edges are equal", matrix.equals(other));
+		assertFalse("matrices with different edges are equal", other.equals(original));
+	}
+
+	@Test
+	public void testCompactModification() {
+		Collection<TestNode> nodes = new HashSet<>();
+		Collection<TestEdge> edges = new HashSet<>();
+		Collection<TestNode> entries = new HashSet<>();
+		Collection<TestNode> exits = new HashSet<>();
+		AdjacencyMatrix<TestGraph, TestNode, TestEdge> matrix = new AdjacencyMatrix<>();
+		Map<TestNode, Collection<TestNode>> adj = populate(matrix, nodes, edges, entries, exits);
+		matrix.compact();
+
+		Collection<TestNode> removed = new HashSet<>();
+		for (int i = 0; i < nodes.size() / 4; i++) {
+			TestNode n = random(nodes);
+			removed.add(n);
+			nodes.remove(n);
+			edges.removeIf(e -> e.getSource() == n || e.getDestination() == n);
+			adj.remove(n);
+			adj.forEach((
+					nn,
+					follows) -> follows.remove(n));
+			matrix.removeNode(n);
+		}
+		assertFalse("removing nodes did not expand the matrix", matrix.isCompact());
+
+		matrix.compact();
+		TestNode added = new TestNode(-2);
+		TestNode target = nodes.iterator().next();
+		TestEdge edge = new TestEdge(added, target);
+		matrix.addNode(added);
+		matrix.addEdge(edge);
+		nodes.add(added);
+		edges.add(edge);
+		adj.computeIfAbsent(added, k -> new HashSet<>()).add(target);
+
+		entries = new HashSet<>(nodes);
+		exits = new HashSet<>(nodes);
+		for (TestEdge e : edges) {
+			entries.remove(e.getDestination());
+			exits.remove(e.getSource());
+		}
+		verify(adj, nodes, edges, matrix, entries, exits, "after removing " + removed.toString());
+	}
 }
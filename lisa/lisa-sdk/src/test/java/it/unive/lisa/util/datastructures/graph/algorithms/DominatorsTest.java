@@ -1,12 +1,19 @@
 package it.unive.lisa.util.datastructures.graph.algorithms;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import it.unive.lisa.util.datastructures.graph.TestGraph;
 import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
 import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Test;
 
@@ -116,4 +123,92 @@ public class DominatorsTest {
 		assertEquals("Fixpoint returned wrong result", exp, res);
 	}
 
+	@Test
+	public void testDominatorTree() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		TestNode five = new TestNode(5);
+		TestNode six = new TestNode(6);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		graph.addNode(five);
+		graph.addNode(six);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(two, four));
+		graph.addEdge(new TestEdge(three, five));
+		graph.addEdge(new TestEdge(four, five));
+		graph.addEdge(new TestEdge(five, two));
+
+		DominatorTree<TestGraph, TestNode, TestEdge> tree = new DominatorTree<>(graph);
+		assertNull(tree.getImmediateDominator(one));
+		assertEquals(one, tree.getImmediateDominator(two));
+		assertEquals(two, tree.getImmediateDominator(three));
+		assertEquals(two, tree.getImmediateDominator(four));
+		assertEquals(two, tree.getImmediateDominator(five));
+		assertTrue(tree.dominates(one, five));
+		assertTrue(tree.dominates(five, five));
+		assertFalse(tree.dominates(three, five));
+		assertFalse(tree.dominates(five, two));
+		// unreachable nodes are not part of the tree
+		assertFalse(tree.contains(six));
+		assertFalse(tree.dominates(one, six));
+		assertNull(tree.getImmediateDominator(six));
+		assertTrue(tree.getDominators(six).isEmpty());
+	}
+
+	private static boolean reachableWithout(
+			TestGraph graph,
+			TestNode target,
+			TestNode removed) {
+		Set<TestNode> seen = new HashSet<>();
+		Deque<TestNode> ws = new ArrayDeque<>();
+		for (TestNode entry : graph.getEntrypoints())
+			if (entry != removed && seen.add(entry))
+				ws.push(entry);
+		while (!ws.isEmpty()) {
+			TestNode current = ws.pop();
+			if (current == target)
+				return true;
+			for (TestNode next : graph.followersOf(current))
+				if (next != removed && seen.add(next))
+					ws.push(next);
+		}
+		return false;
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(42);
+		for (int round = 0; round < 50; round++) {
+			TestGraph graph = new TestGraph();
+			int size = 2 + random.nextInt(30);
+			TestNode[] nodes = new TestNode[size];
+			for (int i = 0; i < size; i++) {
+				nodes[i] = new TestNode(i);
+				graph.addNode(nodes[i], i == 0 || random.nextInt(10) == 0);
+			}
+			for (int i = 0; i < size * 2; i++)
+				graph.addEdge(new TestEdge(nodes[random.nextInt(size)], nodes[random.nextInt(size)]));
+
+			DominatorTree<TestGraph, TestNode, TestEdge> tree = new DominatorTree<>(graph);
+			for (TestNode n : nodes) {
+				boolean reachable = reachableWithout(graph, n, null);
+				assertEquals(reachable, tree.contains(n));
+				if (!reachable)
+					continue;
+				for (TestNode d : nodes) {
+					// d dominates n if n cannot be reached without d
+					boolean expected = d == n || !reachableWithout(graph, n, d);
+					assertEquals(d + " dom " + n + " in " + graph, expected, tree.dominates(d, n));
+					assertEquals(expected, tree.getDominators(n).contains(d));
+				}
+			}
+		}
+	}
 }
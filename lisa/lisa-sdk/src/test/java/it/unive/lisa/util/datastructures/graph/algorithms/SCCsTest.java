@@ -0,0 +1,162 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import static org.junit.Assert.assertEquals;
+
+import it.unive.lisa.util.datastructures.graph.TestGraph;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class SCCsTest {
+
+	private static Set<Set<TestNode>> layer(
+			List<List<Collection<TestNode>>> layers,
+			int index) {
+		Set<Set<TestNode>> res = new HashSet<>();
+		for (Collection<TestNode> scc : layers.get(index))
+			res.add(new HashSet<>(scc));
+		return res;
+	}
+
+	@Test
+	public void testSCCs() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(three, two));
+		graph.addEdge(new TestEdge(three, four));
+		graph.addEdge(new TestEdge(four, four));
+
+		Collection<Collection<TestNode>> all = new SCCs<TestGraph, TestNode, TestEdge>().build(graph);
+		assertEquals("Wrong sccs", Set.of(Set.of(one), Set.of(two, three), Set.of(four)), new HashSet<>(all));
+
+		Collection<Collection<TestNode>> nonTrivial = new SCCs<TestGraph, TestNode, TestEdge>()
+				.buildNonTrivial(graph);
+		assertEquals("Wrong non-trivial sccs", Set.of(Set.of(two, three), Set.of(four)), new HashSet<>(nonTrivial));
+	}
+
+	@Test
+	public void testBottomUpLayers() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		TestNode four = new TestNode(4);
+		TestNode five = new TestNode(5);
+		TestNode six = new TestNode(6);
+		TestNode seven = new TestNode(7);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addNode(four);
+		graph.addNode(five);
+		graph.addNode(six);
+		graph.addNode(seven);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(one, five));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(three, two));
+		graph.addEdge(new TestEdge(three, four));
+		graph.addEdge(new TestEdge(five, four));
+		graph.addEdge(new TestEdge(five, six));
+		graph.addEdge(new TestEdge(six, six));
+
+		List<List<Collection<TestNode>>> layers = new SCCs<TestGraph, TestNode, TestEdge>()
+				.buildBottomUpLayers(graph);
+		assertEquals("Wrong number of layers", 3, layers.size());
+		assertEquals("Wrong first layer", Set.of(Set.of(four), Set.of(six), Set.of(seven)), layer(layers, 0));
+		assertEquals("Wrong second layer", Set.of(Set.of(two, three), Set.of(five)), layer(layers, 1));
+		assertEquals("Wrong third layer", Set.of(Set.of(one)), layer(layers, 2));
+	}
+
+	@Test
+	public void testBottomUpLayersOfChain() {
+		TestGraph graph = new TestGraph();
+		TestNode one = new TestNode(1);
+		TestNode two = new TestNode(2);
+		TestNode three = new TestNode(3);
+		graph.addNode(one, true);
+		graph.addNode(two);
+		graph.addNode(three);
+		graph.addEdge(new TestEdge(one, two));
+		graph.addEdge(new TestEdge(two, three));
+		graph.addEdge(new TestEdge(one, three));
+
+		List<List<Collection<TestNode>>> layers = new SCCs<TestGraph, TestNode, TestEdge>()
+				.buildBottomUpLayers(graph);
+		assertEquals("Wrong number of layers", 3, layers.size());
+		assertEquals("Wrong first layer", Set.of(Set.of(three)), layer(layers, 0));
+		assertEquals("Wrong second layer", Set.of(Set.of(two)), layer(layers, 1));
+		assertEquals("Wrong third layer", Set.of(Set.of(one)), layer(layers, 2));
+	}
+
+	@Test
+	public void testManyNodes() {
+		// more nodes than the ones whose boxed indexes are cached
+		TestGraph graph = new TestGraph();
+		TestNode[] nodes = new TestNode[200];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new TestNode(i);
+			graph.addNode(nodes[i], i == 0);
+		}
+		for (int i = 1; i < nodes.length; i++)
+			graph.addEdge(new TestEdge(nodes[i - 1], nodes[i]));
+
+		Collection<Collection<TestNode>> all = new SCCs<TestGraph, TestNode, TestEdge>().build(graph);
+		assertEquals("Wrong number of sccs", nodes.length, all.size());
+		for (Collection<TestNode> scc : all)
+			assertEquals("Wrong scc " + scc, 1, scc.size());
+
+		List<List<Collection<TestNode>>> layers = new SCCs<TestGraph, TestNode, TestEdge>()
+				.buildBottomUpLayers(graph);
+		assertEquals("Wrong number of layers", nodes.length, layers.size());
+		for (int i = 0; i < nodes.length; i++)
+			assertEquals("Wrong layer " + i, Set.of(Set.of(nodes[nodes.length - 1 - i])), layer(layers, i));
+	}
+
+	@Test
+	public void testManyCycles() {
+		// a chain of 66 two-node cycles
+		TestGraph graph = new TestGraph();
+		TestNode[] nodes = new TestNode[132];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new TestNode(i);
+			graph.addNode(nodes[i], i == 0);
+		}
+		for (int i = 0; i < nodes.length; i += 2) {
+			graph.addEdge(new TestEdge(nodes[i], nodes[i + 1]));
+			graph.addEdge(new TestEdge(nodes[i + 1], nodes[i]));
+			if (i + 2 < nodes.length)
+				graph.addEdge(new TestEdge(nodes[i + 1], nodes[i + 2]));
+		}
+
+		Set<Set<TestNode>> expected = new HashSet<>();
+		for (int i = 0; i < nodes.length; i += 2)
+			expected.add(Set.of(nodes[i], nodes[i + 1]));
+
+		Set<Set<TestNode>> actual = new HashSet<>();
+		for (Collection<TestNode> scc : new SCCs<TestGraph, TestNode, TestEdge>().buildNonTrivial(graph))
+			actual.add(new HashSet<>(scc));
+		assertEquals("Wrong non-trivial sccs", expected, actual);
+
+		List<List<Collection<TestNode>>> layers = new SCCs<TestGraph, TestNode, TestEdge>()
+				.buildBottomUpLayers(graph);
+		assertEquals("Wrong number of layers", nodes.length / 2, layers.size());
+		for (int i = 0; i < layers.size(); i++)
+			assertEquals("Wrong layer " + i,
+					Set.of(Set.of(nodes[nodes.length - 2 - 2 * i], nodes[nodes.length - 1 - 2 * i])),
+					layer(layers, i));
+	}
+}
@@ -0,0 +1,150 @@
+package it.unive.lisa.util.datastructures.graph.algorithms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.util.collections.workset.FIFOWorkingSet;
+import it.unive.lisa.util.datastructures.graph.TestGraph;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestEdge;
+import it.unive.lisa.util.datastructures.graph.TestGraph.TestNode;
+import it.unive.lisa.util.datastructures.graph.algorithms.Fixpoint.FixpointImplementation;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.collections4.SetUtils;
+import org.junit.Test;
+
+public class WeakTopologicalOrderTest {
+
+	private static class CountingTester implements FixpointImplementation<TestNode, TestEdge, Set<TestNode>> {
+
+		private int calls = 0;
+
+		@Override
+		public Set<TestNode> semantics(
+				TestNode node,
+				Set<TestNode> entrystate)
+				throws Exception {
+			calls++;
+			Set<TestNode> res = new HashSet<>(entrystate);
+			res.add(node);
+			return res;
+		}
+
+		@Override
+		public Set<TestNode> traverse(
+				TestEdge edge,
+				Set<TestNode> entrystate)
+				throws Exception {
+			return entrystate;
+		}
+
+		@Override
+		public Set<TestNode> union(
+				TestNode node,
+				Set<TestNode> left,
+				Set<TestNode> right)
+				throws Exception {
+			return SetUtils.union(left, right);
+		}
+
+		@Override
+		public Set<TestNode> operation(
+				TestNode node,
+				Set<TestNode> approx,
+				Set<TestNode> old)
+				throws Exception {
+			return SetUtils.union(approx, old);
+		}
+
+		@Override
+		public boolean equality(
+				TestNode node,
+				Set<TestNode> approx,
+				Set<TestNode> old)
+				throws Exception {
+			return old.containsAll(approx);
+		}
+	}
+
+	private static TestGraph nestedLoops(
+			TestNode... nodes) {
+		// 1 -> 2 -> 3 -> 4 -> 3 -> 5 -> 2 -> 6
+		TestGraph graph = new TestGraph();
+		graph.addNode(nodes[0], true);
+		for (int i = 1; i < nodes.length; i++)
+			graph.addNode(nodes[i]);
+		graph.addEdge(new TestEdge(nodes[0], nodes[1]));
+		graph.addEdge(new TestEdge(nodes[1], nodes[2]));
+		graph.addEdge(new TestEdge(nodes[2], nodes[3]));
+		graph.addEdge(new TestEdge(nodes[3], nodes[2]));
+		graph.addEdge(new TestEdge(nodes[2], nodes[4]));
+		graph.addEdge(new TestEdge(nodes[4], nodes[1]));
+		graph.addEdge(new TestEdge(nodes[1], nodes[5]));
+		return graph;
+	}
+
+	private static TestNode[] nodes(
+			int count) {
+		TestNode[] nodes = new TestNode[count];
+		for (int i = 0; i < count; i++)
+			nodes[i] = new TestNode(i + 1);
+		return nodes;
+	}
+
+	@Test
+	public void testNestedLoops() {
+		TestNode[] nodes = nodes(6);
+		TestGraph graph = nestedLoops(nodes);
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>(graph);
+		assertEquals("Wrong order", "1 (2 (3 4) 5) 6", wto.toString());
+		assertEquals("Wrong heads", Set.of(nodes[1], nodes[2]), wto.getHeads());
+		for (TestNode node : nodes)
+			assertTrue(node + " is not part of the order", wto.contains(node));
+	}
+
+	@Test
+	public void testUnreachableNodes() {
+		TestNode[] nodes = nodes(3);
+		TestGraph graph = new TestGraph();
+		graph.addNode(nodes[0], true);
+		graph.addNode(nodes[1]);
+		graph.addNode(nodes[2]);
+		graph.addEdge(new TestEdge(nodes[0], nodes[0]));
+		graph.addEdge(new TestEdge(nodes[1], nodes[2]));
+
+		WeakTopologicalOrder<TestGraph, TestNode, TestEdge> wto = new WeakTopologicalOrder<>(graph);
+		assertEquals("Wrong order", "(1)", wto.toString());
+		assertFalse("2 should not be part of the order", wto.contains(nodes[1]));
+
+		wto = new WeakTopologicalOrder<>(graph, Set.of(nodes[0], nodes[1]));
+		assertTrue("2 should be part of the order", wto.contains(nodes[1]));
+		assertTrue("3 should be part of the order", wto.contains(nodes[2]));
+	}
+
+	@Test
+	public void testFixpointMatchesWorkingSetOne() throws FixpointException {
+		TestNode[] nodes = nodes(6);
+		TestGraph graph = nestedLoops(nodes);
+
+		CountingTester ws = new CountingTester();
+		Map<TestNode, Set<TestNode>> expected = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false)
+				.fixpoint(Map.of(nodes[0], Set.of()), FIFOWorkingSet.mk(), ws);
+
+		CountingTester wto = new CountingTester();
+		Map<TestNode, Set<TestNode>> actual = new WTOFixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph,
+				false).fixpoint(Map.of(nodes[0], Set.of()), FIFOWorkingSet.mk(), wto);
+
+		assertEquals("Fixpoint returned wrong result", expected, actual);
+		assertTrue("Too many semantics calls: " + wto.calls + " vs " + ws.calls, wto.calls <= ws.calls);
+
+		// starting from a node inside the loops
+		expected = new Fixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false)
+				.fixpoint(Map.of(nodes[3], Set.of()), FIFOWorkingSet.mk(), new CountingTester());
+		actual = new WTOFixpoint<TestGraph, TestNode, TestEdge, Set<TestNode>>(graph, false)
+				.fixpoint(Map.of(nodes[3], Set.of()), FIFOWorkingSet.mk(), new CountingTester());
+		assertEquals("Fixpoint returned wrong result", expected, actual);
+	}
+}
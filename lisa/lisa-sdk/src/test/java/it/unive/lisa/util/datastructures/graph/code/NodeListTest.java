@@ -609,4 +609,41 @@ public class NodeListTest {
 
 		verify(adj, nodes, edges, matrix, entries, exits, "after removing " + removed.toString());
 	}
+
+	@Test
+	public void testQueriesAfterModifications() {
+		NodeList<TestCodeGraph, TestCodeNode, TestCodeEdge> matrix = new NodeList<>(new TestCodeEdge(null, null));
+		TestCodeNode n1 = new TestCodeNode(1);
+		TestCodeNode n2 = new TestCodeNode(2);
+		TestCodeNode n3 = new TestCodeNode(3);
+		TestCodeNode n4 = new TestCodeNode(4);
+		matrix.addNode(n1);
+		matrix.addNode(n2);
+		matrix.addNode(n3);
+		matrix.addEdge(new TestCodeEdge(n1, n2));
+		matrix.addEdge(new TestCodeEdge(n2, n3));
+		assertEquals(Set.of(n2), matrix.followersOf(n1));
+		assertEquals(Set.of(n2), matrix.predecessorsOf(n3));
+
+		matrix.addEdge(new TestCodeEdge(n1, n3));
+		assertEquals(Set.of(n2, n3), matrix.followersOf(n1));
+		assertEquals(Set.of(n1, n2), matrix.predecessorsOf(n3));
+
+		matrix.removeNode(n2);
+		assertFalse(matrix.containsNode(n2));
+		assertEquals(Set.of(n3), matrix.followersOf(n1));
+		assertEquals(Set.of(n1), matrix.predecessorsOf(n3));
+
+		matrix.addNode(n4);
+		assertTrue(matrix.followersOf(n3).isEmpty());
+		assertTrue(matrix.predecessorsOf(n4).isEmpty());
+		matrix.addEdge(new TestCodeEdge(n3, n4));
+		assertEquals(Set.of(n4), matrix.followersOf(n3));
+		assertEquals(Set.of(n3), matrix.predecessorsOf(n4));
+		assertEquals(new TestCodeEdge(n3, n4), matrix.getEdgeConnecting(n3, n4));
+
+		matrix.removeEdge(new TestCodeEdge(n1, n3));
+		assertTrue(matrix.followersOf(n1).isEmpty());
+		assertEquals(Set.of(n4), matrix.followersOf(n3));
+	}
 }
@@ -189,4 +189,10 @@ public class FileManagerTest {
 		assertEquals("FileManager did not track the created file", manager.createdFiles().iterator().next(),
 				file.getName());
 	}
+
+	@Test
+	public void testCleanGraphFileName() {
+		assertEquals("foo.bar_x_y_(int_z)", FileManager.cleanGraphFileName("foo::bar<x:y>(int z)"));
+		assertEquals("foo.bar_x_y_(int_z)", FileManager.cleanGraphFileName("foo.bar_x_y_(int_z)"));
+	}
 }
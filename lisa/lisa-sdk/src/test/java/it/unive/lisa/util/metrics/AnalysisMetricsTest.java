@@ -0,0 +1,90 @@
+package it.unive.lisa.util.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.TestAbstractState;
+import it.unive.lisa.TestHeapDomain;
+import it.unive.lisa.TestTypeDomain;
+import it.unive.lisa.TestValueDomain;
+import it.unive.lisa.analysis.SemanticDomain;
+import it.unive.lisa.util.metrics.AnalysisMetrics.Operation;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Map;
+import org.junit.Test;
+
+public class AnalysisMetricsTest {
+
+	@Test
+	public void testDisabled() {
+		AnalysisMetrics metrics = AnalysisMetrics.DISABLED;
+		assertFalse(metrics.isEnabled());
+		assertEquals(0, metrics.start());
+
+		metrics.operationApplied("domain", Operation.LUB);
+		metrics.interproceduralIteration();
+		metrics.interproceduralFixpointComputed(metrics.start());
+		assertTrue(metrics.toPropertyBag().isEmpty());
+	}
+
+	@Test
+	public void testOperationCounters() throws IOException {
+		AnalysisMetrics metrics = new AnalysisMetrics(true);
+		assertTrue(metrics.isEnabled());
+
+		metrics.operationApplied("domain", Operation.LUB);
+		metrics.operationApplied("other", Operation.LUB);
+		metrics.operationApplied("domain", Operation.LUB);
+		metrics.operationApplied("domain", Operation.WIDENING);
+		metrics.interproceduralIteration();
+		metrics.interproceduralIteration();
+
+		String domain = String.class.getName();
+		Map<String, String> bag = metrics.toPropertyBag();
+		assertEquals("3", bag.get(AnalysisMetrics.PREFIX + "lub." + domain));
+		assertEquals("1", bag.get(AnalysisMetrics.PREFIX + "widening." + domain));
+		assertEquals("0", bag.get(AnalysisMetrics.PREFIX + "lessOrEqual." + domain));
+		assertEquals("2", bag.get(AnalysisMetrics.PREFIX + "interproceduralIterations"));
+		assertEquals("0", bag.get(AnalysisMetrics.PREFIX + "fixpoints"));
+		assertFalse(bag.containsKey(AnalysisMetrics.PREFIX + "slowestCFG"));
+		for (String key : bag.keySet())
+			assertTrue(key.startsWith(AnalysisMetrics.PREFIX));
+
+		StringWriter writer = new StringWriter();
+		metrics.dump(writer);
+		assertTrue(writer.toString().contains("\"" + domain + "\""));
+	}
+
+	private static class CompositeState extends TestAbstractState {
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T extends SemanticDomain<?, ?, ?>> Collection<T> getAllDomainInstances(
+				Class<T> domain) {
+			Collection<T> result = super.getAllDomainInstances(domain);
+			for (Object inner : new Object[] { new TestHeapDomain(), new TestValueDomain(), new TestTypeDomain() })
+				if (domain.isInstance(inner))
+					result.add((T) inner);
+			return result;
+		}
+	}
+
+	@Test
+	public void testSubDomainCounters() {
+		AnalysisMetrics metrics = new AnalysisMetrics(true);
+		metrics.operationApplied(new CompositeState(), Operation.LUB);
+		metrics.operationApplied(new CompositeState(), Operation.LUB);
+		metrics.operationApplied(new CompositeState(), Operation.LESS_OR_EQUAL);
+
+		Map<String, String> bag = metrics.toPropertyBag();
+		for (Class<?> domain : new Class<?>[] { CompositeState.class, TestHeapDomain.class, TestValueDomain.class,
+				TestTypeDomain.class }) {
+			assertEquals("2", bag.get(AnalysisMetrics.PREFIX + "lub." + domain.getName()));
+			assertEquals("0", bag.get(AnalysisMetrics.PREFIX + "widening." + domain.getName()));
+			assertEquals("1", bag.get(AnalysisMetrics.PREFIX + "lessOrEqual." + domain.getName()));
+		}
+	}
+}
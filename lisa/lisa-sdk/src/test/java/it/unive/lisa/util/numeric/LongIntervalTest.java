@@ -0,0 +1,106 @@
+package it.unive.lisa.util.numeric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class LongIntervalTest {
+
+	private static final MathNumber MAX = new MathNumber(Long.MAX_VALUE - 1);
+
+	private static final MathNumber MIN = new MathNumber(Long.MIN_VALUE + 1);
+
+	@Test
+	public void testRepresentation() {
+		assertNotNull(new IntInterval(1, 2).asLongInterval());
+		assertNotNull(new IntInterval(null, 2).asLongInterval());
+		assertNotNull(new IntInterval(MIN, MAX).asLongInterval());
+		assertSame(LongInterval.INFINITY, IntInterval.INFINITY.asLongInterval());
+
+		// bounds that do not fit in a long or that have fractional digits
+		assertNull(new IntInterval(MathNumber.ZERO, new MathNumber(Long.MAX_VALUE)).asLongInterval());
+		assertNull(new IntInterval(MathNumber.ZERO, new MathNumber(new BigDecimal("1.5"))).asLongInterval());
+		assertNull(new IntInterval(MathNumber.ZERO, new MathNumber(1.0)).asLongInterval());
+		assertNull(new IntInterval(MathNumber.NaN, MathNumber.NaN).asLongInterval());
+	}
+
+	@Test
+	public void testEquality() {
+		IntInterval fast = new IntInterval(-5, 7);
+		IntInterval slow = new IntInterval(new MathNumber(new BigDecimal(-5)), new MathNumber(new BigDecimal(7)));
+		assertEquals(fast, slow);
+		assertEquals(fast.hashCode(), slow.hashCode());
+		assertEquals("[-5, 7]", fast.toString());
+		assertEquals(new MathNumber(-5), fast.getLow());
+		assertEquals(new MathNumber(7), fast.getHigh());
+		assertEquals("[-Inf, 7]", new IntInterval(null, 7).toString());
+	}
+
+	@Test
+	public void testPromotionOnOverflow() {
+		IntInterval max = new IntInterval(MAX, MAX);
+		IntInterval sum = max.plus(IntInterval.ONE);
+		assertNull(sum.asLongInterval());
+		assertEquals(new MathNumber(Long.MAX_VALUE), sum.getLow());
+		assertEquals(new MathNumber(new BigDecimal(Long.MAX_VALUE).add(BigDecimal.ONE)),
+				sum.plus(IntInterval.ONE).getLow());
+
+		IntInterval min = new IntInterval(MIN, MIN);
+		IntInterval diff = min.diff(IntInterval.ONE);
+		assertNull(diff.asLongInterval());
+		assertEquals(new MathNumber(Long.MIN_VALUE), diff.getLow());
+
+		IntInterval big = new IntInterval(new MathNumber(1L << 40), new MathNumber(1L << 40));
+		IntInterval square = big.mul(big);
+		assertNull(square.asLongInterval());
+		assertEquals(new MathNumber(new BigDecimal(1L << 40).pow(2)), square.getLow());
+
+		// results that fit again are demoted to the primitive representation
+		assertNotNull(sum.diff(IntInterval.ONE).asLongInterval());
+		assertEquals(max, sum.diff(IntInterval.ONE));
+	}
+
+	@Test
+	public void testInfiniteBounds() {
+		LongInterval pos = LongInterval.of(0, false, 0, true);
+		LongInterval neg = LongInterval.of(0, true, -1, false);
+		LongInterval small = LongInterval.of(-2, 3);
+
+		assertEquals(LongInterval.of(-2, false, 0, true), pos.plus(small));
+		assertEquals(LongInterval.of(0, true, 2, false), neg.diff(LongInterval.of(-3, -3)));
+		assertEquals(LongInterval.of(0, true, 0, true), pos.plus(neg));
+		assertSame(LongInterval.INFINITY, pos.diff(pos));
+
+		assertSame(LongInterval.INFINITY, pos.mul(small));
+		// 0 * -Inf is not a number
+		assertNull(neg.mul(LongInterval.of(0, 3)));
+		assertEquals(LongInterval.of(0, true, -2, false), neg.mul(LongInterval.of(2, 3)));
+		assertEquals(LongInterval.of(2, false, 0, true), neg.mul(LongInterval.of(-3, -2)));
+	}
+
+	@Test
+	public void testLatticeOperations() {
+		LongInterval a = LongInterval.of(0, 5);
+		LongInterval b = LongInterval.of(3, 10);
+		LongInterval c = LongInterval.of(11, 12);
+
+		assertEquals(LongInterval.of(0, 10), a.lub(b));
+		assertEquals(LongInterval.of(3, 5), a.glb(b));
+		assertNull(a.glb(c));
+		assertEquals(LongInterval.of(0, false, 0, true), a.widening(b));
+		assertEquals(a, a.widening(LongInterval.of(1, 4)));
+
+		assertTrue(a.intersects(b));
+		assertFalse(a.intersects(c));
+		assertTrue(a.precedes(c));
+		assertFalse(c.precedes(a));
+		assertTrue(LongInterval.INFINITY.includes(a));
+		assertFalse(a.includes(b));
+	}
+}